@@ -0,0 +1,14 @@
+-- Reference counts of the content-addressed files in the upload directory, keyed by their relative path.
+CREATE TABLE stored_files
+(
+   file_name            VARCHAR(200) PRIMARY KEY,
+   reference_count      INTEGER NOT NULL CHECK (reference_count >= 0),
+   created_at           TIMESTAMPTZ NOT NULL
+);
+
+-- Photos uploaded before content addressing are unique per lot but still counted, so releasing them works the same.
+INSERT INTO stored_files (file_name, reference_count, created_at)
+SELECT photo_url, count(*), now()
+FROM lots
+WHERE photo_url IS NOT NULL
+GROUP BY photo_url;
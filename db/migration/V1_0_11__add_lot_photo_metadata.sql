@@ -0,0 +1,18 @@
+-- Served with every photo, so the photo endpoint needs no filesystem probe to build its headers.
+ALTER TABLE lots
+    ADD COLUMN photo_content_type VARCHAR(100),
+    ADD COLUMN photo_etag VARCHAR(100);
+
+-- Stored files never change in place, so the file name without directories and extension is a strong validator for
+-- both content-addressed and older random names.
+UPDATE lots
+SET photo_etag = regexp_replace(photo_url, '^.*/|\.[^./]*$', '', 'g'),
+    photo_content_type = CASE lower(substring(photo_url FROM '\.([^./]*)$'))
+        WHEN 'jpg' THEN 'image/jpeg'
+        WHEN 'jpeg' THEN 'image/jpeg'
+        WHEN 'png' THEN 'image/png'
+        WHEN 'gif' THEN 'image/gif'
+        WHEN 'webp' THEN 'image/webp'
+        ELSE 'application/octet-stream'
+    END
+WHERE photo_url IS NOT NULL;
@@ -0,0 +1,2 @@
+-- The orphaned photo collector checks batches of stored files against the lots still pointing at them.
+CREATE INDEX lots_photo_url_idx ON lots (photo_url);
@@ -0,0 +1,37 @@
+-- Progress of the scheduled scans over timestamps, so a restart or another instance resumes where the last run stopped.
+CREATE TABLE high_water_marks
+(
+   name                 VARCHAR(50) PRIMARY KEY,
+   mark                 TIMESTAMPTZ NOT NULL
+);
+
+-- Links of payments cancelled here, still live at the gateway until the payment link task cancels them there.
+CREATE TABLE payment_link_cancellations
+(
+   payment              INTEGER PRIMARY KEY REFERENCES payments,
+   link                 VARCHAR(200) NOT NULL
+);
+
+-- Concurrent payment runs used to be able to create a second live payment for the same auction. A done payment is
+-- kept over an open one and the oldest among equals; only open duplicates are cancelled, and their links are queued
+-- unless the kept payment uses the same link. Two done payments for one auction were both paid, are left as they are
+-- and fail the unique index below until one is refunded by hand.
+WITH ranked AS (
+    SELECT id,
+           row_number() OVER live AS rank,
+           first_value(link) OVER live AS kept_link
+    FROM payments
+    WHERE state IN ('CREATED', 'DONE')
+    WINDOW live AS (PARTITION BY auction ORDER BY state = 'DONE' DESC, created_at, id)
+), cancelled AS (
+    UPDATE payments SET state = 'CANCELLED', updated_at = now()
+    FROM ranked
+    WHERE payments.id = ranked.id
+      AND ranked.rank > 1
+      AND payments.state = 'CREATED'
+    RETURNING payments.id, payments.link, ranked.kept_link
+)
+INSERT INTO payment_link_cancellations (payment, link)
+SELECT id, link FROM cancelled WHERE link <> kept_link;
+
+CREATE UNIQUE INDEX payments_auction_live_uidx ON payments (auction) WHERE state IN ('CREATED', 'DONE');
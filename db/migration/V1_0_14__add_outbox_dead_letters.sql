@@ -0,0 +1,8 @@
+-- Failed deliveries of an event are counted; after too many it is set aside so the events behind it keep flowing.
+ALTER TABLE outbox ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE outbox ADD COLUMN last_error TEXT;
+
+ALTER TABLE outbox ADD COLUMN dead_lettered_at TIMESTAMPTZ;
+
+CREATE INDEX outbox_pending_idx ON outbox (id) WHERE dead_lettered_at IS NULL;
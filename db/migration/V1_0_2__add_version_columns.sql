@@ -0,0 +1,3 @@
+ALTER TABLE auctions ADD COLUMN version INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE bids ADD COLUMN version INTEGER NOT NULL DEFAULT 0;
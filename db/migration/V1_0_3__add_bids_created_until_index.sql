@@ -0,0 +1 @@
+CREATE INDEX bids_created_until_idx ON bids (until) WHERE state = 'CREATED';
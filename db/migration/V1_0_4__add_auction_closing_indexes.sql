@@ -0,0 +1,3 @@
+CREATE INDEX auctions_state_stop_time_idx ON auctions (state, stop_time);
+
+CREATE INDEX bids_created_auction_idx ON bids (auction) WHERE state = 'CREATED';
@@ -0,0 +1,3 @@
+CREATE INDEX auctions_closed_updated_at_idx ON auctions (updated_at, id) WHERE state = 'CLOSED';
+
+CREATE INDEX payments_auction_idx ON payments (auction);
@@ -0,0 +1,13 @@
+CREATE INDEX auctions_state_id_idx ON auctions (state, id);
+
+CREATE INDEX auctions_lot_id_idx ON auctions (lot, id);
+
+CREATE INDEX auctions_created_by_id_idx ON auctions (created_by, id);
+
+CREATE INDEX bids_state_id_idx ON bids (state, id);
+
+CREATE INDEX bids_auction_id_idx ON bids (auction, id);
+
+CREATE INDEX bids_created_by_id_idx ON bids (created_by, id);
+
+CREATE INDEX lots_created_by_id_idx ON lots (created_by, id);
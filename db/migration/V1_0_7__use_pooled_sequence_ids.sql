@@ -0,0 +1,10 @@
+-- Hibernate reserves ids in blocks of INCREMENT BY (pooled-lo optimizer); keep it in line with EntityIds.ALLOCATION_SIZE.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE lots_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE auctions_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE bids_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE payments_id_seq INCREMENT BY 50;
@@ -0,0 +1,32 @@
+-- Usernames and emails are checked on every user create and update, and usernames on every login.
+CREATE UNIQUE INDEX users_username_key ON users (username);
+
+CREATE UNIQUE INDEX users_email_key ON users (email);
+
+-- Deleting a user checks its lots, and every foreign key pointing at users, through these columns.
+CREATE INDEX lots_last_modified_by_idx ON lots (last_modified_by);
+
+CREATE INDEX auctions_last_modified_by_idx ON auctions (last_modified_by);
+
+CREATE INDEX bids_last_modified_by_idx ON bids (last_modified_by);
+
+CREATE INDEX payments_created_by_idx ON payments (created_by);
+
+CREATE INDEX payments_last_modified_by_idx ON payments (last_modified_by);
+
+-- The initial tables declared foreign keys as SERIAL, which gave them their own sequence as a default value.
+ALTER TABLE lots ALTER COLUMN created_by DROP DEFAULT, ALTER COLUMN last_modified_by DROP DEFAULT;
+
+ALTER TABLE auctions ALTER COLUMN lot DROP DEFAULT, ALTER COLUMN created_by DROP DEFAULT, ALTER COLUMN last_modified_by DROP DEFAULT;
+
+ALTER TABLE bids ALTER COLUMN auction DROP DEFAULT, ALTER COLUMN created_by DROP DEFAULT, ALTER COLUMN last_modified_by DROP DEFAULT;
+
+ALTER TABLE payments ALTER COLUMN auction DROP DEFAULT, ALTER COLUMN created_by DROP DEFAULT, ALTER COLUMN last_modified_by DROP DEFAULT;
+
+DROP SEQUENCE lots_created_by_seq, lots_last_modified_by_seq;
+
+DROP SEQUENCE auctions_lot_seq, auctions_created_by_seq, auctions_last_modified_by_seq;
+
+DROP SEQUENCE bids_auction_seq, bids_created_by_seq, bids_last_modified_by_seq;
+
+DROP SEQUENCE payments_auction_seq, payments_created_by_seq, payments_last_modified_by_seq;
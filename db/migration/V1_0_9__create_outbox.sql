@@ -0,0 +1,12 @@
+-- Domain events written in the transaction of the state change they describe; the relay deletes them once delivered.
+CREATE SEQUENCE outbox_id_seq INCREMENT BY 50;
+
+CREATE TABLE outbox
+(
+   id                   BIGINT PRIMARY KEY,
+   aggregate_type       VARCHAR(50) NOT NULL,
+   aggregate_id         INTEGER NOT NULL,
+   event_type           VARCHAR(50) NOT NULL,
+   payload              JSONB NOT NULL,
+   created_at           TIMESTAMPTZ NOT NULL
+);
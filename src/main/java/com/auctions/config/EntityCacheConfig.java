@@ -0,0 +1,69 @@
+package com.auctions.config;
+
+import com.auctions.persistence.entity.EntityCacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caffeine caches behind Hibernate's second-level cache, one per region in {@link EntityCacheRegions}. The TTL bounds
+ * how long a row changed outside this node's sessions is served from the cache.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    @Bean
+    public CacheManager entityCacheManager(
+            @Value("${app.entity-cache.users.maximum-size:10000}") long usersMaximumSize,
+            @Value("${app.entity-cache.users.ttl:10m}") Duration usersTtl,
+            @Value("${app.entity-cache.users-by-username.maximum-size:10000}") long usersByUsernameMaximumSize,
+            @Value("${app.entity-cache.users-by-username.ttl:10m}") Duration usersByUsernameTtl,
+            @Value("${app.entity-cache.lots.maximum-size:10000}") long lotsMaximumSize,
+            @Value("${app.entity-cache.lots.ttl:10m}") Duration lotsTtl
+    ) {
+
+        // Cache managers are shared per URI within the JVM; a URI of its own keeps application contexts apart.
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:auctions:entity-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(EntityCacheRegions.USERS, region(usersMaximumSize, usersTtl));
+        cacheManager.createCache(EntityCacheRegions.USERS_BY_USERNAME, region(usersByUsernameMaximumSize, usersByUsernameTtl));
+        cacheManager.createCache(EntityCacheRegions.LOTS, region(lotsMaximumSize, lotsTtl));
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+
+        return hibernateProperties -> {
+
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration ttl) {
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+
+        // Hibernate caches immutable disassembled state, so there is nothing to gain from copying it.
+        configuration.setStoreByValue(false);
+
+        return configuration;
+    }
+}
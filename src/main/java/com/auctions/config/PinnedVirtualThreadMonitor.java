@@ -0,0 +1,64 @@
+package com.auctions.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JDK's {@code jdk.VirtualThreadPinned} events, which fire when a virtual thread blocks inside a
+ * {@code synchronized} section or a native frame and holds its carrier thread. Each one is logged with its top frames
+ * and counted, so a pinning section shows up in production before it starves the carriers.
+ */
+@Slf4j
+public class PinnedVirtualThreadMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final RecordingStream recordingStream = new RecordingStream();
+    private final Counter pinnedThreads;
+
+    public PinnedVirtualThreadMonitor(Duration threshold, MeterRegistry meterRegistry) {
+
+        this.pinnedThreads = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier for longer than the threshold")
+                .register(meterRegistry);
+
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+
+        recordingStream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+
+        recordingStream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+
+        pinnedThreads.increment();
+
+        String frames = event.getStackTrace() == null ? "unknown" : event.getStackTrace().getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(RecordedFrame::getMethod)
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .collect(Collectors.joining(" <- "));
+
+        log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), frames);
+    }
+}
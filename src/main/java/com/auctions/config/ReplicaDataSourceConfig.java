@@ -0,0 +1,99 @@
+package com.auctions.config;
+
+import com.auctions.persistence.datasource.ReadYourWritesGuard;
+import com.auctions.persistence.datasource.ReplicaRoutingDataSource;
+import com.auctions.persistence.datasource.WriteTrackingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Active when {@code app.datasource.replicas.urls} lists at least one replica. Read-only transactions then run on the
+ * replicas and everything else on the primary. The connection is only fetched on first use, once the transaction
+ * manager has marked the transaction read-only; fetching it up front would always pick the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "urls")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReadYourWritesGuard readYourWritesGuard(@Value("${app.datasource.replicas.read-your-writes-window:5s}") Duration window) {
+
+        return new ReadYourWritesGuard(window);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            DataSourceProperties dataSourceProperties,
+            ReadYourWritesGuard readYourWritesGuard,
+            @Value("${app.datasource.replicas.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.username:}") String username,
+            @Value("${app.datasource.replicas.password:}") String password,
+            @Value("${app.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${app.datasource.replicas.connection-timeout:1s}") Duration connectionTimeout,
+            @Value("${app.datasource.replicas.ejection-period:30s}") Duration ejectionPeriod,
+            @Value("${app.datasource.replicas.maximum-lag:5s}") Duration maximumLag,
+            MeterRegistry meterRegistry
+    ) {
+
+        List<DataSource> replicas = IntStream.range(0, urls.size())
+                .mapToObj(index -> {
+
+                    HikariDataSource replica = new HikariDataSource();
+
+                    replica.setPoolName("replica-" + (index + 1));
+                    replica.setJdbcUrl(urls.get(index));
+                    replica.setUsername(username.isEmpty() ? dataSourceProperties.determineUsername() : username);
+                    replica.setPassword(password.isEmpty() ? dataSourceProperties.determinePassword() : password);
+                    replica.setMaximumPoolSize(maximumPoolSize);
+                    replica.setConnectionTimeout(connectionTimeout.toMillis());
+                    replica.setReadOnly(true);
+
+                    // A replica that is down at startup is ejected instead of failing the application.
+                    replica.setInitializationFailTimeout(-1);
+
+                    return (DataSource) replica;
+                })
+                .toList();
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesGuard, ejectionPeriod, maximumLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            ReplicaRoutingDataSource replicaRoutingDataSource,
+            ReadYourWritesGuard readYourWritesGuard
+    ) {
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primaryDataSource, readYourWritesGuard));
+
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+
+        return dataSource;
+    }
+}
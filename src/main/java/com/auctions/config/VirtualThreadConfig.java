@@ -0,0 +1,41 @@
+package com.auctions.config;
+
+import com.auctions.web.filter.JdbcConcurrencyLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Active when {@code spring.threads.virtual.enabled} is set and the JVM is Java 21 or newer; Spring Boot then runs
+ * Tomcat requests, {@code @Scheduled} tasks and async MVC work on virtual threads. Request concurrency is no longer
+ * bounded by the Tomcat pool, so it is limited here against the JDBC pool instead.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public JdbcConcurrencyLimitFilter jdbcConcurrencyLimitFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${app.jdbc-limiter.requests-per-connection:2}") int requestsPerConnection,
+            @Value("${app.jdbc-limiter.acquire-timeout:1s}") Duration acquireTimeout,
+            MeterRegistry meterRegistry
+    ) {
+
+        return new JdbcConcurrencyLimitFilter(maximumPoolSize * requestsPerConnection, acquireTimeout, meterRegistry);
+    }
+
+    @Bean
+    public PinnedVirtualThreadMonitor pinnedVirtualThreadMonitor(
+            @Value("${app.pinned-thread-monitor.threshold:20ms}") Duration threshold,
+            MeterRegistry meterRegistry
+    ) {
+
+        return new PinnedVirtualThreadMonitor(threshold, meterRegistry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.auctions.domain.auction;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static java.time.Instant.now;
+
+@Getter
+@EqualsAndHashCode
+@Builder
+public class AuctionEvent {
+
+    private final AuctionEventType type;
+    private final Integer auctionId;
+    private final AuctionState auctionState;
+    private final Integer bidId;
+    private final BigDecimal bidAmount;
+    private final Instant occurredAt;
+
+    public static AuctionEvent bidEvent(AuctionEventType type, Integer auctionId, Integer bidId, BigDecimal bidAmount) {
+
+        return AuctionEvent.builder()
+                .type(type)
+                .auctionId(auctionId)
+                .bidId(bidId)
+                .bidAmount(bidAmount)
+                .occurredAt(now())
+                .build();
+    }
+
+    public static AuctionEvent auctionStateChanged(Integer auctionId, AuctionState auctionState) {
+
+        return AuctionEvent.builder()
+                .type(AuctionEventType.AUCTION_STATE_CHANGED)
+                .auctionId(auctionId)
+                .auctionState(auctionState)
+                .occurredAt(now())
+                .build();
+    }
+}
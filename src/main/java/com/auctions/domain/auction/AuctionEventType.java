@@ -0,0 +1,9 @@
+package com.auctions.domain.auction;
+
+public enum AuctionEventType {
+    BID_CREATED,
+    BID_ACCEPTED,
+    BID_CANCELLED,
+    BID_OUTDATED,
+    AUCTION_STATE_CHANGED
+}
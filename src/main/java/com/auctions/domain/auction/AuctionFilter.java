@@ -0,0 +1,15 @@
+package com.auctions.domain.auction;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+public class AuctionFilter {
+
+    private final AuctionState state;
+    private final Integer lotId;
+    private final Integer createdByUserId;
+}
@@ -0,0 +1,18 @@
+package com.auctions.domain.auction;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+public class AuctionPrice {
+
+    private final Integer auctionId;
+    private final BigDecimal currentPrice;
+    private final Integer bestBidId;
+    private final long bidCount;
+}
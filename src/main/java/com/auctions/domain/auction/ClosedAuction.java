@@ -0,0 +1,17 @@
+package com.auctions.domain.auction;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+public class ClosedAuction {
+
+    private final Integer id;
+    private final Instant closedAt;
+    private final Integer createdByUserId;
+}
@@ -0,0 +1,15 @@
+package com.auctions.domain.bid;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+public class BidFilter {
+
+    private final BidState state;
+    private final Integer auctionId;
+    private final Integer createdByUserId;
+}
@@ -14,4 +14,5 @@ public class Lot {
     private final String surname;
     private final Integer createdByUserId;
     private final Integer lastModifiedByUserId;
+    private final String photoEtag;
 }
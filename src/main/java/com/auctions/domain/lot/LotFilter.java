@@ -0,0 +1,13 @@
+package com.auctions.domain.lot;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+public class LotFilter {
+
+    private final Integer createdByUserId;
+}
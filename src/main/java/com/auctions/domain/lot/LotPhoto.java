@@ -0,0 +1,25 @@
+package com.auctions.domain.lot;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+@Getter
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+public class LotPhoto {
+
+    private final Path path;
+    private final String contentType;
+    private final String etag;
+    private final Instant lastModified;
+
+    // The ETag of the original photo, which versions its derivatives as well.
+    private final String version;
+
+    // Null for the original upload.
+    private final PhotoSize size;
+}
@@ -0,0 +1,18 @@
+package com.auctions.domain.lot;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Derivative sizes of a lot photo, by the longest edge in pixels.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum PhotoSize {
+
+    SMALL(160),
+    MEDIUM(480),
+    LARGE(1024);
+
+    private final int maxDimension;
+}
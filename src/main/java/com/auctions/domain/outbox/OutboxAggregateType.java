@@ -0,0 +1,6 @@
+package com.auctions.domain.outbox;
+
+public enum OutboxAggregateType {
+
+    AUCTION, BID, PAYMENT;
+}
@@ -0,0 +1,23 @@
+package com.auctions.domain.outbox;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Delivered domain event. The payload is the JSON snapshot of the aggregate as it was written with the change.
+ */
+@Getter
+@EqualsAndHashCode
+@Builder
+public class OutboxEvent {
+
+    private final Long id;
+    private final OutboxAggregateType aggregateType;
+    private final Integer aggregateId;
+    private final OutboxEventType type;
+    private final String payload;
+    private final Instant createdAt;
+}
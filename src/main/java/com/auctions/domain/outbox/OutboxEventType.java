@@ -0,0 +1,17 @@
+package com.auctions.domain.outbox;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OutboxEventType {
+
+    AUCTION_STARTED(OutboxAggregateType.AUCTION),
+    AUCTION_CANCELLED(OutboxAggregateType.AUCTION),
+    AUCTION_CLOSED(OutboxAggregateType.AUCTION),
+    BID_ACCEPTED(OutboxAggregateType.BID),
+    PAYMENT_CREATED(OutboxAggregateType.PAYMENT);
+
+    private final OutboxAggregateType aggregateType;
+}
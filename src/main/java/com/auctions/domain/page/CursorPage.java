@@ -0,0 +1,18 @@
+package com.auctions.domain.page;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+public class CursorPage<T> {
+
+    private final List<T> items;
+
+    // Opaque token to pass back for the following page; null on the last page.
+    private final String nextCursor;
+}
@@ -16,4 +16,5 @@ public class Payment {
     private final PaymentState state;
     private final String link;
     private final BigDecimal amount;
+    private final Integer createdByUserId;
 }
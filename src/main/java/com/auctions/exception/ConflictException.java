@@ -0,0 +1,14 @@
+package com.auctions.exception;
+
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+
+        super(message);
+    }
+
+    public ConflictException() {
+
+        super();
+    }
+}
@@ -1,22 +1,17 @@
 package com.auctions.mapper.auction;
 
 import com.auctions.domain.auction.Auction;
-import com.auctions.domain.user.User;
 import com.auctions.mapper.Mapper;
-import com.auctions.mapper.user.UserEntityToUserMapper;
 import com.auctions.persistence.entity.AuctionEntity;
+import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.entity.LotEntity;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class AuctionEntityToAuctionMapper implements Mapper<AuctionEntity, Auction> {
 
-    private final UserEntityToUserMapper userEntityToUserMapper;
-
     @Override
     public Auction map(AuctionEntity auctionEntity) {
 
@@ -34,8 +29,7 @@ public class AuctionEntityToAuctionMapper implements Mapper<AuctionEntity, Aucti
 
         return Optional.ofNullable(auctionEntity)
                 .map(AuctionEntity::getCreatedBy)
-                .map(userEntityToUserMapper::map)
-                .map(User::getId)
+                .map(UserEntity::getId)
                 .orElse(null);
     }
 
@@ -43,8 +37,7 @@ public class AuctionEntityToAuctionMapper implements Mapper<AuctionEntity, Aucti
 
         return Optional.ofNullable(auctionEntity)
                 .map(AuctionEntity::getLastModifiedBy)
-                .map(userEntityToUserMapper::map)
-                .map(User::getId)
+                .map(UserEntity::getId)
                 .orElse(null);
     }
 
@@ -0,0 +1,23 @@
+package com.auctions.mapper.auction;
+
+import com.auctions.domain.auction.AuctionEvent;
+import com.auctions.mapper.Mapper;
+import com.auctions.web.api.auction.AuctionEventResponse;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuctionEventToAuctionEventResponseMapper implements Mapper<AuctionEvent, AuctionEventResponse> {
+
+    @Override
+    public AuctionEventResponse map(AuctionEvent auctionEvent) {
+
+        return AuctionEventResponse.builder()
+                .type(auctionEvent.getType())
+                .auctionId(auctionEvent.getAuctionId())
+                .auctionState(auctionEvent.getAuctionState())
+                .bidId(auctionEvent.getBidId())
+                .bidAmount(auctionEvent.getBidAmount())
+                .occurredAt(auctionEvent.getOccurredAt())
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.auctions.mapper.auction;
+
+import com.auctions.domain.auction.AuctionPrice;
+import com.auctions.mapper.Mapper;
+import com.auctions.web.api.auction.AuctionPriceResponse;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuctionPriceToAuctionPriceResponseMapper implements Mapper<AuctionPrice, AuctionPriceResponse> {
+
+    @Override
+    public AuctionPriceResponse map(AuctionPrice auctionPrice) {
+
+        return AuctionPriceResponse.builder()
+                .auctionId(auctionPrice.getAuctionId())
+                .currentPrice(auctionPrice.getCurrentPrice())
+                .bestBidId(auctionPrice.getBestBidId())
+                .bidCount(auctionPrice.getBidCount())
+                .build();
+    }
+}
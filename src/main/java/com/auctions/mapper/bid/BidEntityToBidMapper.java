@@ -1,24 +1,17 @@
 package com.auctions.mapper.bid;
 
-import com.auctions.domain.auction.Auction;
 import com.auctions.domain.bid.Bid;
-import com.auctions.domain.user.User;
 import com.auctions.mapper.Mapper;
-import com.auctions.mapper.auction.AuctionEntityToAuctionMapper;
-import com.auctions.mapper.user.UserEntityToUserMapper;
+import com.auctions.persistence.entity.AuctionEntity;
 import com.auctions.persistence.entity.BidEntity;
-import lombok.RequiredArgsConstructor;
+import com.auctions.persistence.entity.UserEntity;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class BidEntityToBidMapper implements Mapper<BidEntity, Bid> {
 
-    private final UserEntityToUserMapper userEntityToUserMapper;
-    private final AuctionEntityToAuctionMapper auctionEntityToAuctionMapper;
-
     @Override
     public Bid map(BidEntity bidEntity) {
 
@@ -36,8 +29,7 @@ public class BidEntityToBidMapper implements Mapper<BidEntity, Bid> {
 
         return Optional.ofNullable(bidEntity)
                 .map(BidEntity::getCreatedBy)
-                .map(userEntityToUserMapper::map)
-                .map(User::getId)
+                .map(UserEntity::getId)
                 .orElse(null);
     }
 
@@ -45,8 +37,7 @@ public class BidEntityToBidMapper implements Mapper<BidEntity, Bid> {
 
         return Optional.ofNullable(bidEntity)
                 .map(BidEntity::getLastModifiedBy)
-                .map(userEntityToUserMapper::map)
-                .map(User::getId)
+                .map(UserEntity::getId)
                 .orElse(null);
     }
 
@@ -54,8 +45,7 @@ public class BidEntityToBidMapper implements Mapper<BidEntity, Bid> {
 
         return Optional.ofNullable(bidEntity)
                 .map(BidEntity::getAuction)
-                .map(auctionEntityToAuctionMapper::map)
-                .map(Auction::getId)
+                .map(AuctionEntity::getId)
                 .orElse(null);
     }
 }
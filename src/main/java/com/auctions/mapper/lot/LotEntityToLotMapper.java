@@ -1,21 +1,16 @@
 package com.auctions.mapper.lot;
 
 import com.auctions.domain.lot.Lot;
-import com.auctions.domain.user.User;
 import com.auctions.persistence.entity.LotEntity;
+import com.auctions.persistence.entity.UserEntity;
 import com.auctions.mapper.Mapper;
-import com.auctions.mapper.user.UserEntityToUserMapper;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class LotEntityToLotMapper implements Mapper<LotEntity, Lot> {
 
-    private final UserEntityToUserMapper userEntityToUserMapper;
-
     @Override
     public Lot map(LotEntity lotEntity) {
 
@@ -25,6 +20,7 @@ public class LotEntityToLotMapper implements Mapper<LotEntity, Lot> {
                 .surname(lotEntity.getSurname())
                 .createdByUserId(getCreatedById(lotEntity))
                 .lastModifiedByUserId(getLastModifiedById(lotEntity))
+                .photoEtag(lotEntity.getPhotoEtag())
                 .build();
     }
 
@@ -32,8 +28,7 @@ public class LotEntityToLotMapper implements Mapper<LotEntity, Lot> {
 
         return Optional.ofNullable(lotEntity)
                 .map(LotEntity::getCreatedBy)
-                .map(userEntityToUserMapper::map)
-                .map(User::getId)
+                .map(UserEntity::getId)
                 .orElse(null);
     }
 
@@ -41,8 +36,7 @@ public class LotEntityToLotMapper implements Mapper<LotEntity, Lot> {
 
         return Optional.ofNullable(lotEntity)
                 .map(LotEntity::getLastModifiedBy)
-                .map(userEntityToUserMapper::map)
-                .map(User::getId)
+                .map(UserEntity::getId)
                 .orElse(null);
     }
 }
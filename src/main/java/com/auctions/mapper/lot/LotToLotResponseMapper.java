@@ -17,6 +17,18 @@ public class LotToLotResponseMapper implements Mapper<Lot, LotResponse> {
                 .surname(lot.getSurname())
                 .createdByUserId(lot.getCreatedByUserId())
                 .lastModifiedByUserId(lot.getLastModifiedByUserId())
+                .photoUrl(getPhotoUrl(lot))
                 .build();
     }
+
+    // Versioned by the photo ETag, so clients may cache it for good and pick up a new photo through a new URL.
+    private String getPhotoUrl(Lot lot) {
+
+        if (lot.getPhotoEtag() == null) {
+
+            return null;
+        }
+
+        return "/api/lots/" + lot.getId() + "/photo?v=" + lot.getPhotoEtag();
+    }
 }
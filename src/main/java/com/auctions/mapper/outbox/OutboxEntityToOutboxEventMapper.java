@@ -0,0 +1,23 @@
+package com.auctions.mapper.outbox;
+
+import com.auctions.domain.outbox.OutboxEvent;
+import com.auctions.mapper.Mapper;
+import com.auctions.persistence.entity.OutboxEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OutboxEntityToOutboxEventMapper implements Mapper<OutboxEntity, OutboxEvent> {
+
+    @Override
+    public OutboxEvent map(OutboxEntity outboxEntity) {
+
+        return OutboxEvent.builder()
+                .id(outboxEntity.getId())
+                .aggregateType(outboxEntity.getAggregateType())
+                .aggregateId(outboxEntity.getAggregateId())
+                .type(outboxEntity.getEventType())
+                .payload(outboxEntity.getPayload())
+                .createdAt(outboxEntity.getCreatedAt())
+                .build();
+    }
+}
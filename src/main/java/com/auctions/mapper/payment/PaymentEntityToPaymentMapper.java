@@ -4,6 +4,7 @@ import com.auctions.domain.payment.Payment;
 import com.auctions.mapper.Mapper;
 import com.auctions.persistence.entity.AuctionEntity;
 import com.auctions.persistence.entity.PaymentEntity;
+import com.auctions.persistence.entity.UserEntity;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -21,9 +22,18 @@ public class PaymentEntityToPaymentMapper implements Mapper<PaymentEntity, Payme
                 .amount(paymentEntity.getAmount())
                 .auctionId(getAuctionId(paymentEntity))
                 .link(paymentEntity.getLink())
+                .createdByUserId(getCreatedByUserId(paymentEntity))
                 .build();
     }
 
+    private Integer getCreatedByUserId(PaymentEntity paymentEntity) {
+
+        return Optional.ofNullable(paymentEntity)
+                .map(PaymentEntity::getCreatedBy)
+                .map(UserEntity::getId)
+                .orElse(null);
+    }
+
     private Integer getAuctionId(PaymentEntity paymentEntity) {
 
         return Optional.ofNullable(paymentEntity)
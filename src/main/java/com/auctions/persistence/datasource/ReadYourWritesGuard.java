@@ -0,0 +1,54 @@
+package com.auctions.persistence.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Remembers which users wrote to the primary within the last {@code window}, so their reads skip replicas that may not
+ * have caught up yet. Work without an authenticated user, such as scheduled tasks, is never pinned.
+ * <p>
+ * The writers are only remembered by the instance that served the write. Behind a load balancer without sticky
+ * sessions, a read that lands on another instance may still hit a replica that has not caught up.
+ */
+public class ReadYourWritesGuard {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesGuard(Duration window) {
+
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void recordWrite() {
+
+        currentCaller().ifPresent(caller -> recentWriters.put(caller, true));
+    }
+
+    public boolean isPinnedToPrimary() {
+
+        return currentCaller()
+                .map(caller -> recentWriters.getIfPresent(caller) != null)
+                .orElse(false);
+    }
+
+    private static Optional<String> currentCaller() {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(authentication.getName());
+    }
+}
@@ -0,0 +1,220 @@
+package com.auctions.persistence.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Hands out read-only connections from the replicas in turn. A replica that fails to give a connection, or that lags
+ * more than {@code maximumLag} behind the primary when {@link #checkHealth()} runs, is left out for the ejection period.
+ * Reads fall back to the primary when no replica is available, or while the caller waits for its own writes to
+ * replicate.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    // Zero when the replica has replayed all the WAL it received; a replay timestamp alone grows while the primary idles.
+    // Null when no WAL receiver is streaming, since a replica cut off from the primary has nothing left to replay and
+    // would look caught up. Without pg_read_all_stats the status reads as null, so only a missing receiver counts then.
+    private static final String REPLICATION_LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE COALESCE(status, 'streaming') = 'streaming') THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END
+            """;
+
+    private final DataSource primaryDataSource;
+    private final List<Replica> replicas;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final Duration ejectionPeriod;
+    private final Duration maximumLag;
+    private final Clock clock;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter ejections;
+    private final Counter primaryFallbacks;
+
+    public ReplicaRoutingDataSource(
+            DataSource primaryDataSource,
+            List<DataSource> replicaDataSources,
+            ReadYourWritesGuard readYourWritesGuard,
+            Duration ejectionPeriod,
+            Duration maximumLag,
+            MeterRegistry meterRegistry
+    ) {
+
+        this(primaryDataSource, replicaDataSources, readYourWritesGuard, ejectionPeriod, maximumLag, meterRegistry, Clock.systemUTC());
+    }
+
+    ReplicaRoutingDataSource(
+            DataSource primaryDataSource,
+            List<DataSource> replicaDataSources,
+            ReadYourWritesGuard readYourWritesGuard,
+            Duration ejectionPeriod,
+            Duration maximumLag,
+            MeterRegistry meterRegistry,
+            Clock clock
+    ) {
+
+        this.primaryDataSource = primaryDataSource;
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.ejectionPeriod = ejectionPeriod;
+        this.maximumLag = maximumLag;
+        this.clock = clock;
+
+        this.replicas = IntStream.range(0, replicaDataSources.size())
+                .mapToObj(index -> new Replica("replica-" + (index + 1), replicaDataSources.get(index)))
+                .toList();
+
+        this.ejections = Counter.builder("datasource.replica.ejections")
+                .description("Replicas taken out of rotation after a failure or too much replication lag")
+                .register(meterRegistry);
+
+        this.primaryFallbacks = Counter.builder("datasource.replica.fallbacks")
+                .description("Read-only connections served by the primary because no replica was available")
+                .register(meterRegistry);
+
+        replicas.forEach(replica -> Gauge.builder("datasource.replica.available", replica, r -> r.isEjected(clock.instant()) ? 0 : 1)
+                .description("Whether the replica is in rotation")
+                .tag("replica", replica.name)
+                .register(meterRegistry));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        if (readYourWritesGuard.isPinnedToPrimary()) {
+
+            return primaryDataSource.getConnection();
+        }
+
+        Instant now = clock.instant();
+
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+
+        for (int i = 0; i < replicas.size(); i++) {
+
+            Replica replica = replicas.get((start + i) % replicas.size());
+
+            if (replica.isEjected(now)) {
+
+                continue;
+            }
+
+            try {
+
+                return replica.dataSource.getConnection();
+
+            } catch (SQLException ex) {
+
+                eject(replica, "connection failed: " + ex.getMessage());
+            }
+        }
+
+        primaryFallbacks.increment();
+
+        return primaryDataSource.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+
+        throw new SQLFeatureNotSupportedException("Replica connections use the credentials of their pools");
+    }
+
+    /**
+     * Probes every replica, ejecting those that fail or lag behind and putting the others back in rotation.
+     */
+    public void checkHealth() {
+
+        for (Replica replica : replicas) {
+
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(REPLICATION_LAG_QUERY)) {
+
+                resultSet.next();
+
+                Duration lag = Duration.ofMillis(Math.round(resultSet.getDouble(1) * 1000));
+
+                if (resultSet.wasNull()) {
+
+                    eject(replica, "not streaming from the primary");
+
+                } else if (lag.compareTo(maximumLag) > 0) {
+
+                    eject(replica, "replication lag of " + lag);
+
+                } else if (replica.ejectedUntil != null) {
+
+                    replica.ejectedUntil = null;
+
+                    log.info("Replica {} is back in rotation", replica.name);
+                }
+
+            } catch (SQLException ex) {
+
+                eject(replica, "health check failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+
+        for (Replica replica : replicas) {
+
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+
+                closeable.close();
+            }
+        }
+    }
+
+    private void eject(Replica replica, String reason) {
+
+        replica.ejectedUntil = clock.instant().plus(ejectionPeriod);
+
+        ejections.increment();
+
+        log.warn("Ejected replica {} for {}: {}", replica.name, ejectionPeriod, reason);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+
+        // Null while the replica is in rotation; an ejected replica is tried again once this has passed.
+        private volatile Instant ejectedUntil;
+
+        private Replica(String name, DataSource dataSource) {
+
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private boolean isEjected(Instant now) {
+
+            Instant until = ejectedUntil;
+
+            return until != null && now.isBefore(until);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.auctions.persistence.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The read-write path to the primary. Handing out a connection pins the caller to the primary, and again once the
+ * transaction completes, so the window covers replication of the commit rather than the start of a long transaction.
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+    private final ReadYourWritesGuard readYourWritesGuard;
+
+    public WriteTrackingDataSource(DataSource primaryDataSource, ReadYourWritesGuard readYourWritesGuard) {
+
+        super(primaryDataSource);
+
+        this.readYourWritesGuard = readYourWritesGuard;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        recordWrite();
+
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+
+        recordWrite();
+
+        return super.getConnection(username, password);
+    }
+
+    private void recordWrite() {
+
+        readYourWritesGuard.recordWrite();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+
+                    readYourWritesGuard.recordWrite();
+                }
+            });
+        }
+    }
+}
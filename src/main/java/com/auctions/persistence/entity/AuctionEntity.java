@@ -4,6 +4,8 @@ import com.auctions.domain.auction.AuctionState;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcType;
+import org.hibernate.dialect.PostgreSQLEnumJdbcType;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -16,7 +18,8 @@ import java.util.List;
 public class AuctionEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auctions_id_seq")
+    @SequenceGenerator(name = "auctions_id_seq", sequenceName = "auctions_id_seq", allocationSize = EntityIds.ALLOCATION_SIZE)
     private Integer id;
 
     @Column(name = "start_time")
@@ -25,7 +28,7 @@ public class AuctionEntity {
     @Column(name = "stop_time")
     private Instant stopTime;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "lot")
     private LotEntity lot;
 
@@ -34,13 +37,14 @@ public class AuctionEntity {
     private List<BidEntity> bids = new ArrayList<>();
 
     @Enumerated(EnumType.STRING)
+    @JdbcType(PostgreSQLEnumJdbcType.class)
     private AuctionState state;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private UserEntity createdBy;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "last_modified_by")
     private UserEntity lastModifiedBy;
 
@@ -50,6 +54,9 @@ public class AuctionEntity {
     @Column(name = "updated_at")
     private Instant updatedAt;
 
+    @Version
+    private Integer version;
+
     @PrePersist
     protected void onPersist() {
 
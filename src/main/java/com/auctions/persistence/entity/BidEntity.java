@@ -4,6 +4,8 @@ import com.auctions.domain.bid.BidState;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcType;
+import org.hibernate.dialect.PostgreSQLEnumJdbcType;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -15,7 +17,8 @@ import java.time.Instant;
 public class BidEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bids_id_seq")
+    @SequenceGenerator(name = "bids_id_seq", sequenceName = "bids_id_seq", allocationSize = EntityIds.ALLOCATION_SIZE)
     private Integer id;
 
     @Column
@@ -24,18 +27,19 @@ public class BidEntity {
     @Column
     private Instant until;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "auction")
     private AuctionEntity auction;
 
     @Enumerated(EnumType.STRING)
+    @JdbcType(PostgreSQLEnumJdbcType.class)
     private BidState state;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private UserEntity createdBy;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "last_modified_by")
     private UserEntity lastModifiedBy;
 
@@ -45,6 +49,9 @@ public class BidEntity {
     @Column(name = "updated_at")
     private Instant updatedAt;
 
+    @Version
+    private Integer version;
+
     @PrePersist
     protected void onPersist() {
 
@@ -0,0 +1,15 @@
+package com.auctions.persistence.entity;
+
+/**
+ * Second-level cache regions. Each one needs a size and TTL under {@code app.entity-cache}; Hibernate refuses to start
+ * with a region that has none, rather than creating an unbounded cache for it.
+ */
+public final class EntityCacheRegions {
+
+    public static final String USERS = "users";
+    public static final String USERS_BY_USERNAME = "users-by-username";
+    public static final String LOTS = "lots";
+
+    private EntityCacheRegions() {
+    }
+}
@@ -0,0 +1,14 @@
+package com.auctions.persistence.entity;
+
+/**
+ * Ids come from the tables' sequences through Hibernate's pooled-lo optimizer: one {@code nextval} reserves a block of
+ * {@link #ALLOCATION_SIZE} ids, so inserts need no round-trip for their id and can be sent as JDBC batches.
+ * Hibernate follows the sequences' {@code INCREMENT BY} when it differs, so a migration is enough to resize blocks.
+ */
+public final class EntityIds {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private EntityIds() {
+    }
+}
@@ -0,0 +1,21 @@
+package com.auctions.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "high_water_marks")
+@Data
+@NoArgsConstructor
+public class HighWaterMarkEntity {
+
+    @Id
+    @Column
+    private String name;
+
+    @Column
+    private Instant mark;
+}
@@ -7,15 +7,19 @@ import java.util.List;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "lots")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.LOTS)
 @Data
 @NoArgsConstructor
 public class LotEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lots_id_seq")
+    @SequenceGenerator(name = "lots_id_seq", sequenceName = "lots_id_seq", allocationSize = EntityIds.ALLOCATION_SIZE)
     private Integer id;
 
     @Column
@@ -27,11 +31,17 @@ public class LotEntity {
     @Column(name = "photo_url")
     private String photoUrl;
 
-    @ManyToOne
+    @Column(name = "photo_content_type")
+    private String photoContentType;
+
+    @Column(name = "photo_etag")
+    private String photoEtag;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private UserEntity createdBy;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "last_modified_by")
     private UserEntity lastModifiedBy;
 
@@ -0,0 +1,47 @@
+package com.auctions.persistence.entity;
+
+import com.auctions.domain.outbox.OutboxAggregateType;
+import com.auctions.domain.outbox.OutboxEventType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "outbox")
+@Data
+@NoArgsConstructor
+public class OutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_id_seq")
+    @SequenceGenerator(name = "outbox_id_seq", sequenceName = "outbox_id_seq", allocationSize = EntityIds.ALLOCATION_SIZE)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type")
+    private OutboxAggregateType aggregateType;
+
+    @Column(name = "aggregate_id")
+    private Integer aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type")
+    private OutboxEventType eventType;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column
+    private String payload;
+
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onPersist() {
+
+        createdAt = Instant.now();
+    }
+}
@@ -0,0 +1,19 @@
+package com.auctions.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "payment_link_cancellations")
+@Data
+@NoArgsConstructor
+public class PaymentLinkCancellationEntity {
+
+    @Id
+    @Column(name = "payment")
+    private Integer paymentId;
+
+    @Column
+    private String link;
+}
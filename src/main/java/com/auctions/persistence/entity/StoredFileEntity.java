@@ -0,0 +1,24 @@
+package com.auctions.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "stored_files")
+@Data
+@NoArgsConstructor
+public class StoredFileEntity {
+
+    @Id
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "reference_count")
+    private Integer referenceCount;
+
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+}
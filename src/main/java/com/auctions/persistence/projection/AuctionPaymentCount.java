@@ -0,0 +1,7 @@
+package com.auctions.persistence.projection;
+
+public interface AuctionPaymentCount {
+
+    Integer getAuctionId();
+    Long getPayments();
+}
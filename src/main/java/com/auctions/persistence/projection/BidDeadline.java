@@ -0,0 +1,9 @@
+package com.auctions.persistence.projection;
+
+import java.time.Instant;
+
+public interface BidDeadline {
+
+    Integer getId();
+    Instant getUntil();
+}
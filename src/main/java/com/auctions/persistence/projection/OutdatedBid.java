@@ -0,0 +1,7 @@
+package com.auctions.persistence.projection;
+
+public interface OutdatedBid {
+
+    Integer getId();
+    Integer getAuctionId();
+}
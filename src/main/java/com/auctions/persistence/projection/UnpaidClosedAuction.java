@@ -0,0 +1,10 @@
+package com.auctions.persistence.projection;
+
+import java.time.Instant;
+
+public interface UnpaidClosedAuction {
+
+    Integer getId();
+    Instant getClosedAt();
+    Integer getCreatedByUserId();
+}
@@ -3,33 +3,64 @@ package com.auctions.persistence.repository;
 import com.auctions.domain.bid.BidState;
 import com.auctions.persistence.entity.AuctionEntity;
 import com.auctions.persistence.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface AuctionRepository extends JpaRepository<AuctionEntity, Integer> {
+public interface AuctionRepository extends JpaRepository<AuctionEntity, Integer>, JpaSpecificationExecutor<AuctionEntity> {
 
     List<AuctionEntity> findByCreatedBy(UserEntity userEntity);
     List<AuctionEntity> findByLastModifiedBy(UserEntity userEntity);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bids"))
     @Modifying
-    @Query(value = "UPDATE bids SET state = :#{#state.name()} WHERE state = 'CREATED' AND bids.auction = :id", nativeQuery = true)
+    @Query(value = "UPDATE bids SET state = :#{#state.name()}, version = version + 1, updated_at = now() WHERE state = 'CREATED' AND bids.auction = :id", nativeQuery = true)
     void updateAuctionCreatedBidsState(@Param("state") BidState bidState, @Param("id") Integer auctionId);
 
-    // TODO
-    /*@Modifying®
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "auctions"))
+    @Modifying
+    @Query(value = "UPDATE auctions SET state = 'CLOSED', version = version + 1, updated_at = now() WHERE id = :id AND state = 'ONGOING' AND version = :version", nativeQuery = true)
+    int updateOngoingAuctionStateToClosed(@Param("id") Integer id, @Param("version") Integer version);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "auctions"))
+    @Modifying
+    @Query(value = "UPDATE auctions SET state = 'CANCELLED', version = version + 1, updated_at = now() WHERE id = :id AND state IN ('CREATED', 'ONGOING') AND version = :version", nativeQuery = true)
+    int updateOpenAuctionStateToCancelled(@Param("id") Integer id, @Param("version") Integer version);
+
+    @Query("SELECT min(a.stopTime) FROM AuctionEntity a WHERE a.state = :#{T(com.auctions.domain.auction.AuctionState).ONGOING}")
+    Optional<Instant> findNextOngoingAuctionStopTime();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "auctions"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bids")
+    })
     @Query(value = """
-            DEFINE now = now();
-            UPDATE bids SET state = 'REJECTED'
-                WHERE state = 'CREATED' AND auction IN
-                    (SELECT id FROM auctions WHERE state = 'ONGOING' AND stop_time < &now);
-            UPDATE auctions SET state = 'CLOSED'
-                WHERE state = 'ONGOING' AND stop_time < &now;
+            WITH due AS (
+                SELECT id FROM auctions
+                    WHERE state = 'ONGOING' AND stop_time <= :now
+                    ORDER BY stop_time
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+            ), closed AS (
+                UPDATE auctions SET state = 'CLOSED', version = version + 1, updated_at = now()
+                    WHERE id IN (SELECT id FROM due)
+                    RETURNING id
+            ), rejected AS (
+                UPDATE bids SET state = 'REJECTED', version = version + 1, updated_at = now()
+                    WHERE state = 'CREATED' AND auction IN (SELECT id FROM closed)
+            )
+            SELECT id FROM closed
             """, nativeQuery = true)
-    int updateAuctionsStateToClosed();*/
+    List<Integer> updateDueAuctionsStateToClosed(@Param("now") Instant now, @Param("limit") int limit);
 }
@@ -2,20 +2,62 @@ package com.auctions.persistence.repository;
 
 import com.auctions.persistence.entity.BidEntity;
 import com.auctions.persistence.entity.UserEntity;
+import com.auctions.persistence.projection.BidDeadline;
+import com.auctions.persistence.projection.OutdatedBid;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BidRepository extends JpaRepository<BidEntity, Integer> {
+public interface BidRepository extends JpaRepository<BidEntity, Integer>, JpaSpecificationExecutor<BidEntity> {
 
     List<BidEntity> findByCreatedBy(UserEntity userEntity);
     List<BidEntity> findByLastModifiedBy(UserEntity userEntity);
+    long countByAuctionId(Integer auctionId);
 
+    @Query("SELECT b FROM BidEntity b WHERE b.auction.id = :auctionId AND b.state = :#{T(com.auctions.domain.bid.BidState).CREATED}")
+    List<BidEntity> findCreatedBidsByAuctionId(@Param("auctionId") Integer auctionId);
+
+    @EntityGraph(attributePaths = "auction")
+    @Query("SELECT b FROM BidEntity b WHERE b.id = :id")
+    Optional<BidEntity> findWithAuctionById(@Param("id") Integer id);
+
+    @Query("SELECT b.auction.id FROM BidEntity b WHERE b.id = :id")
+    Optional<Integer> findAuctionIdById(@Param("id") Integer id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bids"))
     @Modifying
-    @Query(value = "UPDATE bids SET state = 'OUTDATED' WHERE state = 'CREATED' AND until < now()", nativeQuery = true)
+    @Query(value = "UPDATE bids SET state = 'ACCEPTED', version = version + 1, updated_at = now() WHERE id = :id AND state = 'CREATED' AND version = :version", nativeQuery = true)
+    int updateCreatedBidStateToAccepted(@Param("id") Integer id, @Param("version") Integer version);
+
+    @Query("SELECT b.id AS id, b.until AS until FROM BidEntity b WHERE b.state = :#{T(com.auctions.domain.bid.BidState).CREATED} AND b.until IS NOT NULL")
+    List<BidDeadline> findCreatedBidDeadlines();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bids"))
+    @Modifying
+    @Query(value = "UPDATE bids SET state = 'OUTDATED', version = version + 1, updated_at = now() WHERE state = 'CREATED' AND until < now()", nativeQuery = true)
     int updateBidsStateToOutdated();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bids"))
+    @Query(value = """
+            WITH outdated AS (
+                UPDATE bids SET state = 'OUTDATED', version = version + 1, updated_at = now()
+                    WHERE id IN (:ids) AND state = 'CREATED' AND until <= :now
+                    RETURNING id, auction
+            )
+            SELECT id, auction AS "auctionId" FROM outdated
+            """, nativeQuery = true)
+    List<OutdatedBid> updateBidsStateToOutdated(@Param("ids") Collection<Integer> ids, @Param("now") Instant now);
 } 
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.auctions.persistence.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Reads whole tables for export through a forward-only JDBC cursor. The Postgres driver only fetches in chunks of
+ * {@code fetchSize} rows inside a transaction, so callers must run these methods in one; each row is handed to the
+ * callback and dropped, keeping memory flat regardless of table size.
+ */
+@Repository
+public class ExportRepository {
+
+    public static final List<String> AUCTION_COLUMNS = List.of(
+            "id", "state", "startTime", "stopTime", "lotId", "createdByUserId", "lastModifiedByUserId", "createdAt", "updatedAt"
+    );
+
+    public static final List<String> BID_COLUMNS = List.of(
+            "id", "amount", "state", "until", "auctionId", "createdByUserId", "lastModifiedByUserId", "createdAt", "updatedAt"
+    );
+
+    public static final List<String> PAYMENT_COLUMNS = List.of(
+            "id", "state", "link", "amount", "auctionId", "createdByUserId", "lastModifiedByUserId", "createdAt", "updatedAt"
+    );
+
+    private static final String AUCTIONS_QUERY = """
+            SELECT id, state::text, start_time, stop_time, lot, created_by, last_modified_by, created_at, updated_at
+            FROM auctions ORDER BY id
+            """;
+
+    private static final String BIDS_QUERY = """
+            SELECT id, amount, state::text, until, auction, created_by, last_modified_by, created_at, updated_at
+            FROM bids ORDER BY id
+            """;
+
+    private static final String PAYMENTS_QUERY = """
+            SELECT id, state::text, link, amount, auction, created_by, last_modified_by, created_at, updated_at
+            FROM payments ORDER BY id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportRepository(DataSource dataSource, @Value("${app.export.fetch-size:1000}") int fetchSize) {
+
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public void streamAuctions(RowCallback rowCallback) {
+
+        stream(AUCTIONS_QUERY, AUCTION_COLUMNS.size(), rowCallback);
+    }
+
+    public void streamBids(RowCallback rowCallback) {
+
+        stream(BIDS_QUERY, BID_COLUMNS.size(), rowCallback);
+    }
+
+    public void streamPayments(RowCallback rowCallback) {
+
+        stream(PAYMENTS_QUERY, PAYMENT_COLUMNS.size(), rowCallback);
+    }
+
+    private void stream(String query, int columnCount, RowCallback rowCallback) {
+
+        Object[] values = new Object[columnCount];
+
+        jdbcTemplate.query(query, (ResultSet resultSet) -> {
+
+            for (int i = 0; i < columnCount; i++) {
+
+                values[i] = readValue(resultSet, i + 1);
+            }
+
+            try {
+
+                rowCallback.onRow(values);
+
+            } catch (IOException e) {
+
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private Object readValue(ResultSet resultSet, int column) throws SQLException {
+
+        Object value = resultSet.getObject(column);
+
+        return value instanceof Timestamp timestamp ? timestamp.toInstant() : value;
+    }
+
+    /**
+     * Receives the values of one row in column order; the array is reused for the next row.
+     */
+    @FunctionalInterface
+    public interface RowCallback {
+
+        void onRow(Object[] values) throws IOException;
+    }
+}
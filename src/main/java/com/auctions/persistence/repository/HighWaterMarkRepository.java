@@ -0,0 +1,26 @@
+package com.auctions.persistence.repository;
+
+import com.auctions.persistence.entity.HighWaterMarkEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface HighWaterMarkRepository extends JpaRepository<HighWaterMarkEntity, String> {
+
+    // Never moves a mark back, so a slow run finishing after a faster one keeps the furthest progress.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "high_water_marks"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO high_water_marks (name, mark) VALUES (:name, :mark)
+                ON CONFLICT (name) DO UPDATE SET mark = GREATEST(high_water_marks.mark, EXCLUDED.mark)
+            """, nativeQuery = true)
+    void advance(@Param("name") String name, @Param("mark") Instant mark);
+}
@@ -3,13 +3,20 @@ package com.auctions.persistence.repository;
 import com.auctions.persistence.entity.LotEntity;
 import com.auctions.persistence.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface LotRepository extends JpaRepository<LotEntity, Integer> {
+public interface LotRepository extends JpaRepository<LotEntity, Integer>, JpaSpecificationExecutor<LotEntity> {
 
     List<LotEntity> findByCreatedBy(UserEntity userEntity);
     List<LotEntity> findByLastModifiedBy(UserEntity userEntity);
+
+    @Query("SELECT DISTINCT l.photoUrl FROM LotEntity l WHERE l.photoUrl IN :photoUrls")
+    List<String> findReferencedPhotoUrls(@Param("photoUrls") Collection<String> photoUrls);
 } 
\ No newline at end of file
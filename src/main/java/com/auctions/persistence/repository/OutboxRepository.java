@@ -0,0 +1,51 @@
+package com.auctions.persistence.repository;
+
+import com.auctions.persistence.entity.OutboxEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEntity, Long> {
+
+    // Rows claimed by another relay stay locked until it commits, so concurrent relays take disjoint batches.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "outbox"))
+    @Query(value = """
+            SELECT * FROM outbox
+                WHERE id > :afterId AND dead_lettered_at IS NULL
+                ORDER BY id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEntity> findNextBatchForUpdate(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "outbox"))
+    @Query(value = "SELECT * FROM outbox WHERE id = :id AND dead_lettered_at IS NULL FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<OutboxEntity> findPendingByIdForUpdate(@Param("id") Long id);
+
+    // Returns whether the event was dead-lettered by this attempt, or nothing when it is gone.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "outbox"))
+    @Query(value = """
+            WITH failed AS (
+                UPDATE outbox SET attempts = attempts + 1, last_error = :error,
+                        dead_lettered_at = CASE WHEN attempts + 1 >= :maxAttempts THEN now() END
+                    WHERE id = :id
+                    RETURNING dead_lettered_at IS NOT NULL AS dead_lettered
+            )
+            SELECT dead_lettered FROM failed
+            """, nativeQuery = true)
+    Optional<Boolean> recordFailedAttempt(@Param("id") Long id, @Param("error") String error, @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEntity o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
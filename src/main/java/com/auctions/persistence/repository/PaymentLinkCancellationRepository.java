@@ -0,0 +1,9 @@
+package com.auctions.persistence.repository;
+
+import com.auctions.persistence.entity.PaymentLinkCancellationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PaymentLinkCancellationRepository extends JpaRepository<PaymentLinkCancellationEntity, Integer> {
+}
@@ -1,13 +1,46 @@
 package com.auctions.persistence.repository;
 
 import com.auctions.persistence.entity.PaymentEntity;
+import com.auctions.persistence.projection.AuctionPaymentCount;
+import com.auctions.persistence.projection.UnpaidClosedAuction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<PaymentEntity, Integer> {
 
     List<PaymentEntity> findByAuctionId(Integer auctionId);
-} 
\ No newline at end of file
+
+    @Query("""
+            SELECT p.auction.id AS auctionId, count(p) AS payments
+            FROM PaymentEntity p
+            WHERE p.auction.id IN :auctionIds
+            GROUP BY p.auction.id
+            """)
+    List<AuctionPaymentCount> countByAuctionIds(@Param("auctionIds") Collection<Integer> auctionIds);
+
+    @Query("""
+            SELECT a.id AS id, a.updatedAt AS closedAt, a.createdBy.id AS createdByUserId
+            FROM AuctionEntity a
+            WHERE a.state = :#{T(com.auctions.domain.auction.AuctionState).CLOSED}
+                AND (a.updatedAt > :closedAfter OR (a.updatedAt = :closedAfter AND a.id > :afterAuctionId))
+                AND NOT EXISTS (
+                    SELECT 1 FROM PaymentEntity p
+                    WHERE p.auction.id = a.id
+                        AND (p.state = :#{T(com.auctions.domain.payment.PaymentState).CREATED} OR p.state = :#{T(com.auctions.domain.payment.PaymentState).DONE})
+                )
+            ORDER BY a.updatedAt, a.id
+            """)
+    List<UnpaidClosedAuction> findUnpaidClosedAuctions(
+            @Param("closedAfter") Instant closedAfter,
+            @Param("afterAuctionId") Integer afterAuctionId,
+            Limit limit
+    );
+}
@@ -0,0 +1,62 @@
+package com.auctions.persistence.repository;
+
+import com.auctions.persistence.entity.StoredFileEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFileEntity, String> {
+
+    // The row stays locked until the caller commits, which keeps a concurrent unlink of the same file waiting.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stored_files"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO stored_files (file_name, reference_count, created_at) VALUES (:fileName, 1, now())
+                ON CONFLICT (file_name) DO UPDATE SET reference_count = stored_files.reference_count + 1
+            """, nativeQuery = true)
+    void acquireReference(@Param("fileName") String fileName);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stored_files"))
+    @Query(value = """
+            WITH released AS (
+                UPDATE stored_files SET reference_count = reference_count - 1
+                    WHERE file_name = :fileName AND reference_count > 0
+                    RETURNING reference_count
+            )
+            SELECT reference_count FROM released
+            """, nativeQuery = true)
+    Optional<Integer> releaseReference(@Param("fileName") String fileName);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stored_files"))
+    @Modifying
+    @Query(value = "DELETE FROM stored_files WHERE file_name = :fileName AND reference_count = 0", nativeQuery = true)
+    int deleteUnreferenced(@Param("fileName") String fileName);
+
+    // Locks every row of the batch, referenced or not, so an upload taking a reference waits for the collector's decision.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stored_files"))
+    @Query(value = """
+            WITH locked AS (
+                SELECT file_name, reference_count FROM stored_files
+                    WHERE file_name IN (:fileNames)
+                    ORDER BY file_name
+                    FOR UPDATE
+            )
+            SELECT file_name FROM locked WHERE reference_count > 0
+            """, nativeQuery = true)
+    List<String> lockReferencedFiles(@Param("fileNames") Collection<String> fileNames);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stored_files"))
+    @Modifying
+    @Query(value = "DELETE FROM stored_files WHERE file_name IN (:fileNames) AND reference_count = 0", nativeQuery = true)
+    int deleteAllUnreferenced(@Param("fileNames") Collection<String> fileNames);
+}
@@ -0,0 +1,10 @@
+package com.auctions.persistence.repository;
+
+import com.auctions.persistence.entity.UserEntity;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+
+    Optional<UserEntity> findByUsername(String username);
+}
@@ -1,15 +1,16 @@
 package com.auctions.persistence.repository;
 
 import com.auctions.persistence.entity.UserEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, Integer> {
+public interface UserRepository extends JpaRepository<UserEntity, Integer>, UserNaturalIdRepository {
 
-    Optional<UserEntity> findByUsername(String username);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    List<UserEntity> findByIdGreaterThanOrderById(Integer id, Limit limit);
 } 
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.auctions.persistence.specification;
+
+import com.auctions.domain.auction.AuctionFilter;
+import com.auctions.persistence.entity.AuctionEntity;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class AuctionSpecifications {
+
+    private AuctionSpecifications() {
+    }
+
+    /**
+     * Only the filters that are set become predicates, so each combination gets its own plan and index.
+     */
+    public static Specification<AuctionEntity> matching(AuctionFilter filter, Integer afterId) {
+
+        return (root, query, criteriaBuilder) -> {
+
+            List<Predicate> predicates = new ArrayList<>();
+
+            predicates.add(criteriaBuilder.greaterThan(root.get("id"), afterId));
+
+            if (filter.getState() != null) {
+
+                predicates.add(criteriaBuilder.equal(root.get("state"), filter.getState()));
+            }
+
+            if (filter.getLotId() != null) {
+
+                predicates.add(criteriaBuilder.equal(root.get("lot").get("id"), filter.getLotId()));
+            }
+
+            if (filter.getCreatedByUserId() != null) {
+
+                predicates.add(criteriaBuilder.equal(root.get("createdBy").get("id"), filter.getCreatedByUserId()));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.auctions.persistence.specification;
+
+import com.auctions.domain.bid.BidFilter;
+import com.auctions.persistence.entity.BidEntity;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BidSpecifications {
+
+    private BidSpecifications() {
+    }
+
+    public static Specification<BidEntity> matching(BidFilter filter, Integer afterId) {
+
+        return (root, query, criteriaBuilder) -> {
+
+            List<Predicate> predicates = new ArrayList<>();
+
+            predicates.add(criteriaBuilder.greaterThan(root.get("id"), afterId));
+
+            if (filter.getState() != null) {
+
+                predicates.add(criteriaBuilder.equal(root.get("state"), filter.getState()));
+            }
+
+            if (filter.getAuctionId() != null) {
+
+                predicates.add(criteriaBuilder.equal(root.get("auction").get("id"), filter.getAuctionId()));
+            }
+
+            if (filter.getCreatedByUserId() != null) {
+
+                predicates.add(criteriaBuilder.equal(root.get("createdBy").get("id"), filter.getCreatedByUserId()));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
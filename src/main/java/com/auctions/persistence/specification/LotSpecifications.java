@@ -0,0 +1,32 @@
+package com.auctions.persistence.specification;
+
+import com.auctions.domain.lot.LotFilter;
+import com.auctions.persistence.entity.LotEntity;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class LotSpecifications {
+
+    private LotSpecifications() {
+    }
+
+    public static Specification<LotEntity> matching(LotFilter filter, Integer afterId) {
+
+        return (root, query, criteriaBuilder) -> {
+
+            List<Predicate> predicates = new ArrayList<>();
+
+            predicates.add(criteriaBuilder.greaterThan(root.get("id"), afterId));
+
+            if (filter.getCreatedByUserId() != null) {
+
+                predicates.add(criteriaBuilder.equal(root.get("createdBy").get("id"), filter.getCreatedByUserId()));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
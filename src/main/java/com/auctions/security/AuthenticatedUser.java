@@ -0,0 +1,26 @@
+package com.auctions.security;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Security principal that also carries the user id, so requests authenticated from a token can reach the user without
+ * looking it up by username.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class AuthenticatedUser extends User {
+
+    private final Integer id;
+
+    public AuthenticatedUser(Integer id, String username, String password, boolean enabled, Collection<? extends GrantedAuthority> authorities) {
+
+        super(username, password, enabled, true, true, true, authorities);
+
+        this.id = id;
+    }
+}
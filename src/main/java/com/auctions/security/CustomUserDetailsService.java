@@ -33,13 +33,11 @@ public class CustomUserDetailsService implements UserDetailsService {
                     authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
                 }
                 
-                return new org.springframework.security.core.userdetails.User(
+                return new AuthenticatedUser(
+                    user.getId(),
                     user.getUsername(),
                     user.getPassword(),
                     user.isActive(),
-                    true, // account non-expired
-                    true, // credentials non-expired
-                    true, // account non-locked
                     authorities
                 );
             })
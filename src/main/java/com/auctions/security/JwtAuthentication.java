@@ -0,0 +1,67 @@
+package com.auctions.security;
+
+import lombok.EqualsAndHashCode;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authentication built from a verified token. It is immutable, so one instance can be cached and shared by every
+ * request that presents the same token.
+ */
+@EqualsAndHashCode
+public final class JwtAuthentication implements Authentication {
+
+    private final AuthenticatedUser principal;
+    private final List<GrantedAuthority> authorities;
+
+    public JwtAuthentication(AuthenticatedUser principal, Collection<? extends GrantedAuthority> authorities) {
+
+        this.principal = principal;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+
+        return authorities;
+    }
+
+    @Override
+    public Object getCredentials() {
+
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+
+        return null;
+    }
+
+    @Override
+    public AuthenticatedUser getPrincipal() {
+
+        return principal;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+
+        return true;
+    }
+
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) {
+
+        throw new IllegalArgumentException("Token authentication cannot be changed");
+    }
+
+    @Override
+    public String getName() {
+
+        return principal.getUsername();
+    }
+}
@@ -1,43 +1,56 @@
 package com.auctions.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
-import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Date;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    private static final String USER_ID_CLAIM = "uid";
 
-    @Value("${app.jwt.expiration}")
-    private long jwtExpirationInMs;
+    private final long jwtExpirationInMs;
+    private final SecretKey secretKey;
+    private final JwtParser parser;
 
-    private SecretKey secretKey;
+    // Verified tokens by SHA-256, each kept until its expiration so a cached token is never valid for longer.
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
-    @PostConstruct
-    protected void init() {
-        secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    public JwtTokenProvider(
+            @Value("${app.jwt.secret}") String jwtSecret,
+            @Value("${app.jwt.expiration}") long jwtExpirationInMs,
+            @Value("${app.jwt.cache-maximum-size:10000}") long cacheMaximumSize
+    ) {
+
+        this.jwtExpirationInMs = jwtExpirationInMs;
+        this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new TokenExpiry())
+                .build();
     }
 
     public String generateToken(Authentication authentication) {
-        User principal = (User) authentication.getPrincipal();
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
@@ -47,6 +60,7 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .subject(principal.getUsername())
+                .claim(USER_ID_CLAIM, principal.getId())
                 .claim("roles", authorities)
                 .issuedAt(new Date())
                 .expiration(expiryDate)
@@ -54,30 +68,82 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifies the token once and returns its authentication, or empty when the token is invalid or expired.
+     */
+    public Optional<Authentication> authenticate(String token) {
+
+        String tokenHash = hash(token);
+
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(tokenHash);
+
+        if (verifiedToken != null) {
+
+            return Optional.of(verifiedToken.authentication());
+        }
+
+        Claims claims;
+
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        JwtAuthentication authentication = toAuthentication(claims);
+
+        if (claims.getExpiration() != null) {
+
+            verifiedTokens.put(tokenHash, new VerifiedToken(authentication, claims.getExpiration().toInstant()));
+        }
+
+        return Optional.of(authentication);
+    }
 
-        Collection<? extends GrantedAuthority> authorities = Arrays.stream(claims.get("roles").toString().split(","))
+    private JwtAuthentication toAuthentication(Claims claims) {
+
+        List<GrantedAuthority> authorities = Arrays.stream(claims.get("roles").toString().split(","))
                 .filter(auth -> !auth.trim().isEmpty())
                 .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toList());
 
-        User principal = new User(claims.getSubject(), "", authorities);
+        AuthenticatedUser principal = new AuthenticatedUser(claims.get(USER_ID_CLAIM, Integer.class), claims.getSubject(), "", true, authorities);
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        return new JwtAuthentication(principal, authorities);
     }
 
-    public boolean validateToken(String token) {
+    private static String hash(String token) {
+
         try {
-            Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record VerifiedToken(JwtAuthentication authentication, Instant expiration) {
+    }
+
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String tokenHash, VerifiedToken verifiedToken, long currentTime) {
+
+            return Duration.between(Instant.now(), verifiedToken.expiration()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenHash, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String tokenHash, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+
+            return currentDuration;
         }
     }
-} 
\ No newline at end of file
+}
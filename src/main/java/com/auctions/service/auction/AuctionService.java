@@ -1,14 +1,16 @@
 package com.auctions.service.auction;
 
 import com.auctions.domain.auction.Auction;
+import com.auctions.domain.auction.AuctionFilter;
+import com.auctions.domain.auction.AuctionPrice;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.user.User;
 
-import java.util.List;
-
 public interface AuctionService {
 
-    List<Auction> getAllAuctions();
+    CursorPage<Auction> getAuctionPage(AuctionFilter filter, String cursor, Integer limit);
     Auction getAuctionById(Integer id);
+    AuctionPrice getAuctionPrice(Integer id);
     Auction createAuction(Auction auction, User currentUser);
     Auction updateAuctionDetails(Integer id, Auction auction, User currentUser);
     void startAuction(Integer id);
@@ -1,8 +1,12 @@
 package com.auctions.service.auction;
 
 import com.auctions.domain.auction.Auction;
+import com.auctions.domain.auction.AuctionFilter;
+import com.auctions.domain.auction.AuctionPrice;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.user.User;
 import com.auctions.service.auction.component.*;
+import com.auctions.service.sequencer.AuctionSequencer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -18,11 +22,12 @@ public class AuctionServiceImpl implements AuctionService {
     private final StartAuctionServiceComponent startAuctionServiceComponent;
     private final CancelAuctionServiceComponent cancelAuctionServiceComponent;
     private final DeleteAuctionServiceComponent deleteAuctionServiceComponent;
+    private final AuctionSequencer auctionSequencer;
 
     @Override
-    public List<Auction> getAllAuctions() {
+    public CursorPage<Auction> getAuctionPage(AuctionFilter filter, String cursor, Integer limit) {
 
-        return getAuctionServiceComponent.getAllAuctions();
+        return getAuctionServiceComponent.getAuctionPage(filter, cursor, limit);
     }
 
     @Override
@@ -31,6 +36,12 @@ public class AuctionServiceImpl implements AuctionService {
         return getAuctionServiceComponent.getAuctionById(id);
     }
 
+    @Override
+    public AuctionPrice getAuctionPrice(Integer id) {
+
+        return getAuctionServiceComponent.getAuctionPrice(id);
+    }
+
     @Override
     public Auction createAuction(Auction auction, User currentUser) {
 
@@ -40,24 +51,24 @@ public class AuctionServiceImpl implements AuctionService {
     @Override
     public Auction updateAuctionDetails(Integer id, Auction auction, User currentUser) {
 
-        return updateAuctionServiceComponent.updateAuctionDetails(id, auction, currentUser);
+        return auctionSequencer.submit(id, () -> updateAuctionServiceComponent.updateAuctionDetails(id, auction, currentUser));
     }
 
     @Override
     public void startAuction(Integer id) {
 
-        startAuctionServiceComponent.startAuction(id);
+        auctionSequencer.run(id, () -> startAuctionServiceComponent.startAuction(id));
     }
 
     @Override
     public void cancelAuction(Integer id) {
 
-        cancelAuctionServiceComponent.cancelAuction(id);
+        auctionSequencer.run(id, () -> cancelAuctionServiceComponent.cancelAuction(id));
     }
 
     @Override
     public void deleteAuction(Integer id) {
 
-        deleteAuctionServiceComponent.deleteAuction(id);
+        auctionSequencer.run(id, () -> deleteAuctionServiceComponent.deleteAuction(id));
     }
 } 
\ No newline at end of file
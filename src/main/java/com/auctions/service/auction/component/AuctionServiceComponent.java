@@ -1,6 +1,6 @@
 package com.auctions.service.auction.component;
 
-import com.auctions.exception.BusinessException;
+import com.auctions.domain.user.User;
 import com.auctions.exception.ResourceNotFoundException;
 import com.auctions.mapper.auction.AuctionEntityToAuctionMapper;
 import com.auctions.persistence.entity.AuctionEntity;
@@ -9,6 +9,10 @@ import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.repository.AuctionRepository;
 import com.auctions.persistence.repository.LotRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.service.closing.AuctionClosingService;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
@@ -18,15 +22,19 @@ abstract class AuctionServiceComponent {
     final AuctionRepository auctionRepository;
     final LotRepository lotRepository;
     final AuctionEntityToAuctionMapper auctionEntityToAuctionMapper;
+    final OrderBookService orderBookService;
+    final AuctionClosingService auctionClosingService;
+    final AuctionEventService auctionEventService;
+    final OutboxService outboxService;
 
     AuctionEntity findAuctionByIdOrThrowException(Integer id) {
 
         return auctionRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Failed to find auction with id: " + id));
     }
 
-    UserEntity findUserByIdOrThrowException(Integer id) {
+    UserEntity getCurrentUserReference(User currentUser) {
 
-        return userRepository.findById(id).orElseThrow(() -> new BusinessException("Failed to find user with id: " + id));
+        return userRepository.getReferenceById(currentUser.getId());
     }
 
     LotEntity findLotByIdOrThrowException(Integer id) {
@@ -1,14 +1,21 @@
 package com.auctions.service.auction.component;
 
+import com.auctions.domain.auction.AuctionEvent;
 import com.auctions.domain.auction.AuctionState;
 import com.auctions.domain.bid.BidState;
+import com.auctions.domain.outbox.OutboxEventType;
 import com.auctions.exception.BusinessException;
+import com.auctions.exception.ConflictException;
 import com.auctions.exception.InvalidParameterException;
 import com.auctions.mapper.auction.AuctionEntityToAuctionMapper;
 import com.auctions.persistence.entity.AuctionEntity;
 import com.auctions.persistence.repository.AuctionRepository;
 import com.auctions.persistence.repository.LotRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.service.closing.AuctionClosingService;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,8 +26,8 @@ import static java.time.Instant.now;
 @Component
 public class CancelAuctionServiceComponent extends AuctionServiceComponent {
 
-    public CancelAuctionServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, LotRepository lotRepository, AuctionEntityToAuctionMapper auctionEntityToAuctionMapper) {
-        super(userRepository, auctionRepository, lotRepository, auctionEntityToAuctionMapper);
+    public CancelAuctionServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, LotRepository lotRepository, AuctionEntityToAuctionMapper auctionEntityToAuctionMapper, OrderBookService orderBookService, AuctionClosingService auctionClosingService, AuctionEventService auctionEventService, OutboxService outboxService) {
+        super(userRepository, auctionRepository, lotRepository, auctionEntityToAuctionMapper, orderBookService, auctionClosingService, auctionEventService, outboxService);
     }
 
     @Transactional
@@ -44,11 +51,22 @@ public class CancelAuctionServiceComponent extends AuctionServiceComponent {
 
         try {
 
-            auctionEntity.setState(AuctionState.CANCELLED);
+            if (auctionRepository.updateOpenAuctionStateToCancelled(auctionEntity.getId(), auctionEntity.getVersion()) == 0) {
+
+                throw new ConflictException("Auction has been modified concurrently: " + auctionEntity.getId());
+            }
 
             auctionRepository.updateAuctionCreatedBidsState(BidState.CANCELLED, auctionEntity.getId());
 
-            auctionRepository.save(auctionEntity);
+            orderBookService.closeOrderBook(auctionEntity.getId());
+
+            outboxService.append(OutboxEventType.AUCTION_CANCELLED, auctionEntity.getId(), auctionEntityToAuctionMapper.map(auctionEntity).toBuilder().state(AuctionState.CANCELLED).build());
+
+            auctionEventService.publish(AuctionEvent.auctionStateChanged(auctionEntity.getId(), AuctionState.CANCELLED));
+
+        } catch (ConflictException e) {
+
+            throw e;
 
         } catch (Exception e) {
 
@@ -4,7 +4,6 @@ import com.auctions.domain.auction.Auction;
 import com.auctions.domain.auction.AuctionState;
 import com.auctions.domain.user.User;
 import com.auctions.exception.BusinessException;
-import com.auctions.exception.ResourceNotFoundException;
 import com.auctions.mapper.auction.AuctionEntityToAuctionMapper;
 import com.auctions.persistence.entity.AuctionEntity;
 import com.auctions.persistence.entity.LotEntity;
@@ -12,28 +11,24 @@ import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.repository.AuctionRepository;
 import com.auctions.persistence.repository.LotRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.service.closing.AuctionClosingService;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class CreateAuctionServiceComponent extends AuctionServiceComponent {
 
-    public CreateAuctionServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, LotRepository lotRepository, AuctionEntityToAuctionMapper auctionEntityToAuctionMapper) {
-        super(userRepository, auctionRepository, lotRepository, auctionEntityToAuctionMapper);
+    public CreateAuctionServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, LotRepository lotRepository, AuctionEntityToAuctionMapper auctionEntityToAuctionMapper, OrderBookService orderBookService, AuctionClosingService auctionClosingService, AuctionEventService auctionEventService, OutboxService outboxService) {
+        super(userRepository, auctionRepository, lotRepository, auctionEntityToAuctionMapper, orderBookService, auctionClosingService, auctionEventService, outboxService);
     }
 
     @Transactional
     public Auction createAuction(Auction auction, User currentUser) {
 
-        UserEntity currentUserEntity;
-
-        try {
-            currentUserEntity = findUserByIdOrThrowException(currentUser.getId());
-
-        } catch(ResourceNotFoundException e) {
-
-            throw new BusinessException("Failed to create bid: " + e.getMessage());
-        }
+        UserEntity currentUserEntity = getCurrentUserReference(currentUser);
 
         LotEntity lotEntity = findLotByIdOrThrowException(auction.getLotId());
 
@@ -6,14 +6,18 @@ import com.auctions.mapper.auction.AuctionEntityToAuctionMapper;
 import com.auctions.persistence.repository.AuctionRepository;
 import com.auctions.persistence.repository.LotRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.service.closing.AuctionClosingService;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class DeleteAuctionServiceComponent extends AuctionServiceComponent {
 
-    public DeleteAuctionServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, LotRepository lotRepository, AuctionEntityToAuctionMapper auctionEntityToAuctionMapper) {
-        super(userRepository, auctionRepository, lotRepository, auctionEntityToAuctionMapper);
+    public DeleteAuctionServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, LotRepository lotRepository, AuctionEntityToAuctionMapper auctionEntityToAuctionMapper, OrderBookService orderBookService, AuctionClosingService auctionClosingService, AuctionEventService auctionEventService, OutboxService outboxService) {
+        super(userRepository, auctionRepository, lotRepository, auctionEntityToAuctionMapper, orderBookService, auctionClosingService, auctionEventService, outboxService);
     }
 
     @Transactional
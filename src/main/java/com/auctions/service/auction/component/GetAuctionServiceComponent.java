@@ -1,35 +1,73 @@
 package com.auctions.service.auction.component;
 
 import com.auctions.domain.auction.Auction;
+import com.auctions.domain.auction.AuctionFilter;
+import com.auctions.domain.auction.AuctionPrice;
+import com.auctions.domain.auction.AuctionState;
+import com.auctions.domain.page.CursorPage;
+import com.auctions.exception.InvalidParameterException;
 import com.auctions.exception.ResourceNotFoundException;
 import com.auctions.mapper.auction.AuctionEntityToAuctionMapper;
+import com.auctions.persistence.entity.AuctionEntity;
 import com.auctions.persistence.repository.AuctionRepository;
 import com.auctions.persistence.repository.LotRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.persistence.specification.AuctionSpecifications;
+import com.auctions.service.closing.AuctionClosingService;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
+import com.auctions.service.page.PageCursor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 
 @Component
 public class GetAuctionServiceComponent extends AuctionServiceComponent {
 
-    public GetAuctionServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, LotRepository lotRepository, AuctionEntityToAuctionMapper auctionEntityToAuctionMapper) {
-        super(userRepository, auctionRepository, lotRepository, auctionEntityToAuctionMapper);
+    public GetAuctionServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, LotRepository lotRepository, AuctionEntityToAuctionMapper auctionEntityToAuctionMapper, OrderBookService orderBookService, AuctionClosingService auctionClosingService, AuctionEventService auctionEventService, OutboxService outboxService) {
+        super(userRepository, auctionRepository, lotRepository, auctionEntityToAuctionMapper, orderBookService, auctionClosingService, auctionEventService, outboxService);
     }
 
-    public List<Auction> getAllAuctions() {
+    @Transactional(readOnly = true)
+    public CursorPage<Auction> getAuctionPage(AuctionFilter filter, String cursor, Integer limit) {
 
-        return auctionRepository
-                .findAll()
-                .stream()
-                .map(auctionEntityToAuctionMapper::map)
-                .toList();
+        int pageLimit = PageCursor.limit(limit);
+
+        List<AuctionEntity> auctionEntities = auctionRepository.findBy(
+                AuctionSpecifications.matching(filter, PageCursor.decode(cursor)),
+                query -> query.sortBy(PageCursor.SORT).limit(pageLimit + 1).all()
+        );
+
+        return PageCursor.page(auctionEntities, pageLimit, AuctionEntity::getId, auctionEntityToAuctionMapper::map);
     }
 
+    @Transactional(readOnly = true)
     public Auction getAuctionById(Integer id) {
 
         return auctionRepository.findById(id)
                 .map(auctionEntityToAuctionMapper::map)
                 .orElseThrow(() -> new ResourceNotFoundException("Auction not found with id: " + id));
     }
+
+    // Runs on the primary: an order book loaded from a lagging replica would miss the latest bids.
+    @Transactional
+    public AuctionPrice getAuctionPrice(Integer id) {
+
+        return orderBookService.getAuctionPrice(id).orElseGet(() -> {
+
+            AuctionEntity auctionEntity = findAuctionByIdOrThrowException(id);
+
+            if (auctionEntity.getState() != AuctionState.ONGOING) {
+
+                throw new InvalidParameterException("Auction is not ongoing: " + id);
+            }
+
+            orderBookService.openOrderBook(id);
+
+            return orderBookService.getAuctionPrice(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order book not found for auction with id: " + id));
+        });
+    }
 }
@@ -1,6 +1,8 @@
 package com.auctions.service.auction.component;
 
+import com.auctions.domain.auction.AuctionEvent;
 import com.auctions.domain.auction.AuctionState;
+import com.auctions.domain.outbox.OutboxEventType;
 import com.auctions.exception.BusinessException;
 import com.auctions.exception.InvalidParameterException;
 import com.auctions.mapper.auction.AuctionEntityToAuctionMapper;
@@ -8,6 +10,10 @@ import com.auctions.persistence.entity.AuctionEntity;
 import com.auctions.persistence.repository.AuctionRepository;
 import com.auctions.persistence.repository.LotRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.service.closing.AuctionClosingService;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,8 +24,8 @@ import static java.time.Instant.now;
 @Component
 public class StartAuctionServiceComponent extends AuctionServiceComponent {
 
-    public StartAuctionServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, LotRepository lotRepository, AuctionEntityToAuctionMapper auctionEntityToAuctionMapper) {
-        super(userRepository, auctionRepository, lotRepository, auctionEntityToAuctionMapper);
+    public StartAuctionServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, LotRepository lotRepository, AuctionEntityToAuctionMapper auctionEntityToAuctionMapper, OrderBookService orderBookService, AuctionClosingService auctionClosingService, AuctionEventService auctionEventService, OutboxService outboxService) {
+        super(userRepository, auctionRepository, lotRepository, auctionEntityToAuctionMapper, orderBookService, auctionClosingService, auctionEventService, outboxService);
     }
 
     @Transactional
@@ -47,10 +53,16 @@ public class StartAuctionServiceComponent extends AuctionServiceComponent {
 
             auctionEntity.setState(AuctionState.ONGOING);
 
-            // TODO: handle stop time
-
             auctionRepository.save(auctionEntity);
 
+            orderBookService.openOrderBook(auctionEntity.getId());
+
+            auctionClosingService.scheduleAuctionClosing(auctionEntity.getStopTime());
+
+            outboxService.append(OutboxEventType.AUCTION_STARTED, auctionEntity.getId(), auctionEntityToAuctionMapper.map(auctionEntity).toBuilder().state(AuctionState.ONGOING).build());
+
+            auctionEventService.publish(AuctionEvent.auctionStateChanged(auctionEntity.getId(), AuctionState.ONGOING));
+
         } catch (Exception e) {
 
             throw new BusinessException("Failed to start auction: " + e.getMessage());
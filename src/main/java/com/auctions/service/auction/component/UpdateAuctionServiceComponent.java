@@ -11,6 +11,10 @@ import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.repository.AuctionRepository;
 import com.auctions.persistence.repository.LotRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.service.closing.AuctionClosingService;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,8 +27,8 @@ import static java.time.Instant.now;
 @Component
 public class UpdateAuctionServiceComponent extends AuctionServiceComponent {
 
-    public UpdateAuctionServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, LotRepository lotRepository, AuctionEntityToAuctionMapper auctionEntityToAuctionMapper) {
-        super(userRepository, auctionRepository, lotRepository, auctionEntityToAuctionMapper);
+    public UpdateAuctionServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, LotRepository lotRepository, AuctionEntityToAuctionMapper auctionEntityToAuctionMapper, OrderBookService orderBookService, AuctionClosingService auctionClosingService, AuctionEventService auctionEventService, OutboxService outboxService) {
+        super(userRepository, auctionRepository, lotRepository, auctionEntityToAuctionMapper, orderBookService, auctionClosingService, auctionEventService, outboxService);
     }
 
     @Transactional
@@ -99,7 +103,7 @@ public class UpdateAuctionServiceComponent extends AuctionServiceComponent {
 
     private void updateSetLastModifiedBy(AuctionEntity auctionEntity, User currentUser) {
 
-        UserEntity currentUserEntity = findUserByIdOrThrowException(currentUser.getId());
+        UserEntity currentUserEntity = getCurrentUserReference(currentUser);
 
         auctionEntity.setLastModifiedBy(currentUserEntity);
     }
@@ -110,6 +114,11 @@ public class UpdateAuctionServiceComponent extends AuctionServiceComponent {
 
             AuctionEntity updatedAuctionEntity = auctionRepository.save(auctionEntity);
 
+            if (updatedAuctionEntity.getState() == AuctionState.ONGOING) {
+
+                auctionClosingService.scheduleAuctionClosing(updatedAuctionEntity.getStopTime());
+            }
+
             return auctionEntityToAuctionMapper.map(updatedAuctionEntity);
 
         } catch (Exception e) {
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Service;
 import com.auctions.persistence.entity.UserEntity;
 import com.auctions.exception.ResourceNotFoundException;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.security.AuthenticatedUser;
 import com.auctions.security.JwtTokenProvider;
 import com.auctions.domain.user.User;
 
@@ -24,6 +25,7 @@ public class AuthServiceImpl implements AuthService {
     private final JwtTokenProvider tokenProvider;
     private final UserRepository userRepository;
     private final UserEntityToUserMapper userEntityToUserMapper;
+    private final PrincipalCache principalCache;
 
     public String login(String username, String password) {
 
@@ -45,10 +47,23 @@ public class AuthServiceImpl implements AuthService {
 
     public User getCurrentUser() {
 
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-        UserEntity userEntity = userRepository.findByUsername(username).orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
+        if (authentication.getPrincipal() instanceof AuthenticatedUser authenticatedUser && authenticatedUser.getId() != null) {
+
+            return principalCache.get(authenticatedUser.getId(), this::findCurrentUserById);
+        }
+
+        // Tokens issued before they carried the user id only name the user.
+        UserEntity userEntity = userRepository.findByUsername(authentication.getName()).orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
+
+        return userEntityToUserMapper.map(userEntity);
+    }
+
+    private User findCurrentUserById(Integer id) {
+
+        UserEntity userEntity = userRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
 
         return userEntityToUserMapper.map(userEntity);
     }
-} 
\ No newline at end of file
+}
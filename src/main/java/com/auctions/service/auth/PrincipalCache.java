@@ -0,0 +1,120 @@
+package com.auctions.service.auth;
+
+import com.auctions.domain.user.User;
+import com.auctions.service.invalidation.CacheInvalidationHandler;
+import com.auctions.service.invalidation.InvalidationType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Authenticated users by id, kept for the current request and in a bounded node-wide cache with a TTL. Writes to a
+ * user must {@link #evict(Integer)} it; other nodes are told through the cache invalidation service, with the TTL as a backstop.
+ */
+@Component
+public class PrincipalCache implements CacheInvalidationHandler {
+
+    private static final String REQUEST_ATTRIBUTE = PrincipalCache.class.getName() + ".user";
+
+    private final Cache<Integer, User> users;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public PrincipalCache(
+            @Value("${app.principal-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.principal-cache.ttl:5m}") Duration ttl
+    ) {
+
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public User get(Integer userId, Function<Integer, User> loader) {
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User user
+                && user.getId().equals(userId)) {
+
+            return user;
+        }
+
+        User user = users.getIfPresent(userId);
+
+        if (user == null) {
+
+            // Loaded outside the cache's compute lock: a virtual thread blocking on JDBC inside it would pin its carrier.
+            long evictionsBeforeLoad = evictions.get();
+
+            user = loader.apply(userId);
+
+            // A user evicted while it was loading may have been read before the write committed, so it is not cached.
+            if (user != null && evictions.get() == evictionsBeforeLoad) {
+
+                users.put(userId, user);
+            }
+        }
+
+        if (requestAttributes != null) {
+
+            requestAttributes.setAttribute(REQUEST_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return user;
+    }
+
+    public void evict(Integer userId) {
+
+        // Evicting before commit would let a concurrent request reload and cache the old row.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+
+                    invalidate(userId);
+                }
+            });
+
+        } else {
+
+            invalidate(userId);
+        }
+    }
+
+    @Override
+    public void evict(InvalidationType type, Integer id) {
+
+        if (type == InvalidationType.USER) {
+
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public void evictAll() {
+
+        evictions.incrementAndGet();
+
+        users.invalidateAll();
+    }
+
+    private void invalidate(Integer userId) {
+
+        evictions.incrementAndGet();
+
+        users.invalidate(userId);
+    }
+}
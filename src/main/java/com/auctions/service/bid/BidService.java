@@ -1,13 +1,13 @@
 package com.auctions.service.bid;
 
 import com.auctions.domain.bid.Bid;
+import com.auctions.domain.bid.BidFilter;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.user.User;
 
-import java.util.List;
-
 public interface BidService {
 
-    List<Bid> getAllBids();
+    CursorPage<Bid> getBidPage(BidFilter filter, String cursor, Integer limit);
     Bid getBidById(Integer id);
     Bid createBid(Bid bid, User currentUser);
     void acceptBid(Integer id);
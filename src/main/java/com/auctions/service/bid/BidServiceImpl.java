@@ -1,16 +1,18 @@
 package com.auctions.service.bid;
 
 import com.auctions.domain.bid.Bid;
+import com.auctions.domain.bid.BidFilter;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.user.User;
 import com.auctions.service.bid.component.CancelBidServiceComponent;
 import com.auctions.service.bid.component.CreateBidServiceComponent;
 import com.auctions.service.bid.component.GetBidServiceComponent;
 import com.auctions.service.bid.component.UpdateBidServiceComponent;
+import com.auctions.service.expiry.BidExpiryService;
+import com.auctions.service.sequencer.AuctionSequencer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 @RequiredArgsConstructor
 public class BidServiceImpl implements BidService {
@@ -19,11 +21,13 @@ public class BidServiceImpl implements BidService {
     private final CreateBidServiceComponent createBidServiceComponent;
     private final CancelBidServiceComponent cancelBidServiceComponent;
     private final UpdateBidServiceComponent updateBidServiceComponent;
+    private final AuctionSequencer auctionSequencer;
+    private final BidExpiryService bidExpiryService;
 
     @Override
-    public List<Bid> getAllBids() {
+    public CursorPage<Bid> getBidPage(BidFilter filter, String cursor, Integer limit) {
 
-        return getBidServiceComponent.getAllBids();
+        return getBidServiceComponent.getBidPage(filter, cursor, limit);
     }
 
     @Override
@@ -35,13 +39,17 @@ public class BidServiceImpl implements BidService {
     @Override
     public Bid createBid(Bid bid, User currentUser) {
 
-        return createBidServiceComponent.createBid(bid, currentUser);
+        Bid createdBid = auctionSequencer.submit(bid.getAuctionId(), () -> createBidServiceComponent.createBid(bid, currentUser));
+
+        bidExpiryService.scheduleBidExpiry(createdBid);
+
+        return createdBid;
     }
 
     @Override
     public void cancelBid(Integer id) {
 
-        cancelBidServiceComponent.cancelBid(id);
+        auctionSequencer.run(getBidServiceComponent.getBidAuctionId(id), () -> cancelBidServiceComponent.cancelBid(id));
     }
 
     @Override
@@ -53,6 +61,6 @@ public class BidServiceImpl implements BidService {
     @Override
     public void acceptBid(Integer id) {
 
-        updateBidServiceComponent.acceptBid(id);
+        auctionSequencer.run(getBidServiceComponent.getBidAuctionId(id), () -> updateBidServiceComponent.acceptBid(id));
     }
 } 
\ No newline at end of file
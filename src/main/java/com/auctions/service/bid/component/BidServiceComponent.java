@@ -1,5 +1,6 @@
 package com.auctions.service.bid.component;
 
+import com.auctions.domain.user.User;
 import com.auctions.exception.ResourceNotFoundException;
 import com.auctions.mapper.bid.BidEntityToBidMapper;
 import com.auctions.persistence.entity.AuctionEntity;
@@ -8,6 +9,9 @@ import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.repository.AuctionRepository;
 import com.auctions.persistence.repository.BidRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
@@ -17,10 +21,13 @@ abstract class BidServiceComponent {
     final AuctionRepository auctionRepository;
     final BidRepository bidRepository;
     final BidEntityToBidMapper bidEntityToBidMapper;
+    final OrderBookService orderBookService;
+    final AuctionEventService auctionEventService;
+    final OutboxService outboxService;
 
-    UserEntity findUserByIdOrThrowException(Integer id) {
+    UserEntity getCurrentUserReference(User currentUser) {
 
-        return userRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Failed to find user with id: " + id));
+        return userRepository.getReferenceById(currentUser.getId());
     }
 
     AuctionEntity findAuctionByIdOrThrowException(Integer id) {
@@ -32,4 +39,9 @@ abstract class BidServiceComponent {
 
         return bidRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Failed to find bid with id: " + id));
     }
+
+    BidEntity findWithAuctionByIdOrThrowException(Integer id) {
+
+        return bidRepository.findWithAuctionById(id).orElseThrow(() -> new ResourceNotFoundException("Failed to find bid with id: " + id));
+    }
 }
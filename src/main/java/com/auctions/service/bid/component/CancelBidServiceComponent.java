@@ -1,5 +1,7 @@
 package com.auctions.service.bid.component;
 
+import com.auctions.domain.auction.AuctionEvent;
+import com.auctions.domain.auction.AuctionEventType;
 import com.auctions.domain.bid.BidState;
 import com.auctions.exception.BusinessException;
 import com.auctions.exception.InvalidParameterException;
@@ -8,6 +10,9 @@ import com.auctions.persistence.entity.BidEntity;
 import com.auctions.persistence.repository.AuctionRepository;
 import com.auctions.persistence.repository.BidRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,8 +23,8 @@ import static java.time.Instant.now;
 @Component
 public class CancelBidServiceComponent extends BidServiceComponent {
 
-    public CancelBidServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, BidRepository bidRepository, BidEntityToBidMapper bidEntityToBidMapper) {
-        super(userRepository, auctionRepository, bidRepository, bidEntityToBidMapper);
+    public CancelBidServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, BidRepository bidRepository, BidEntityToBidMapper bidEntityToBidMapper, OrderBookService orderBookService, AuctionEventService auctionEventService, OutboxService outboxService) {
+        super(userRepository, auctionRepository, bidRepository, bidEntityToBidMapper, orderBookService, auctionEventService, outboxService);
     }
 
     @Transactional
@@ -47,6 +52,10 @@ public class CancelBidServiceComponent extends BidServiceComponent {
 
             bidRepository.save(bidEntity);
 
+            orderBookService.removeBid(bidEntity.getAuction().getId(), bidEntity.getId());
+
+            auctionEventService.publish(AuctionEvent.bidEvent(AuctionEventType.BID_CANCELLED, bidEntity.getAuction().getId(), bidEntity.getId(), bidEntity.getAmount()));
+
         } catch (Exception e) {
 
             throw new BusinessException("Failed to cancel bid: " + e.getMessage());
@@ -1,12 +1,13 @@
 package com.auctions.service.bid.component;
 
+import com.auctions.domain.auction.AuctionEvent;
+import com.auctions.domain.auction.AuctionEventType;
 import com.auctions.domain.auction.AuctionState;
 import com.auctions.domain.bid.Bid;
 import com.auctions.domain.bid.BidState;
 import com.auctions.domain.user.User;
 import com.auctions.exception.BusinessException;
 import com.auctions.exception.InvalidParameterException;
-import com.auctions.exception.ResourceNotFoundException;
 import com.auctions.mapper.bid.BidEntityToBidMapper;
 import com.auctions.persistence.entity.AuctionEntity;
 import com.auctions.persistence.entity.BidEntity;
@@ -14,35 +15,27 @@ import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.repository.AuctionRepository;
 import com.auctions.persistence.repository.BidRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class CreateBidServiceComponent extends BidServiceComponent {
 
-    public CreateBidServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, BidRepository bidRepository, BidEntityToBidMapper bidEntityToBidMapper) {
-        super(userRepository, auctionRepository, bidRepository, bidEntityToBidMapper);
+    public CreateBidServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, BidRepository bidRepository, BidEntityToBidMapper bidEntityToBidMapper, OrderBookService orderBookService, AuctionEventService auctionEventService, OutboxService outboxService) {
+        super(userRepository, auctionRepository, bidRepository, bidEntityToBidMapper, orderBookService, auctionEventService, outboxService);
     }
 
     @Transactional
     public Bid createBid(Bid bid, User currentUser) {
 
-        UserEntity currentUserEntity;
+        UserEntity currentUserEntity = getCurrentUserReference(currentUser);
 
-        try {
-            currentUserEntity = findUserByIdOrThrowException(currentUser.getId());
-
-        } catch(ResourceNotFoundException e) {
+        AuctionEntity auctionEntity = findOngoingAuction(bid.getAuctionId());
 
-            throw new BusinessException("Failed to create bid: " + e.getMessage());
-        }
-
-        AuctionEntity auctionEntity = findAuctionByIdOrThrowException(bid.getAuctionId());
-
-        if (auctionEntity.getState() != AuctionState.ONGOING) {
-
-            throw new InvalidParameterException("Auction is not ongoing: " + auctionEntity.getId());
-        }
+        orderBookService.validateBidAmount(bid.getAuctionId(), bid.getAmount());
 
         BidEntity bidEntity = new BidEntity();
 
@@ -57,11 +50,35 @@ public class CreateBidServiceComponent extends BidServiceComponent {
 
             BidEntity newBidEntitySaved = bidRepository.save(bidEntity);
 
-            return bidEntityToBidMapper.map(newBidEntitySaved);
+            Bid newBid = bidEntityToBidMapper.map(newBidEntitySaved);
+
+            orderBookService.addBid(newBid);
+
+            auctionEventService.publish(AuctionEvent.bidEvent(AuctionEventType.BID_CREATED, newBid.getAuctionId(), newBid.getId(), newBid.getAmount()));
+
+            return newBid;
 
         } catch (Exception e) {
 
             throw new BusinessException("Failed to create bid: " + e.getMessage());
         }
     }
+
+    private AuctionEntity findOngoingAuction(Integer auctionId) {
+
+        // The order book only lives on this node and may not have seen another node close the auction.
+        AuctionEntity auctionEntity = findAuctionByIdOrThrowException(auctionId);
+
+        if (auctionEntity.getState() != AuctionState.ONGOING) {
+
+            throw new InvalidParameterException("Auction is not ongoing: " + auctionEntity.getId());
+        }
+
+        if (!orderBookService.isOrderBookOpen(auctionId)) {
+
+            orderBookService.openOrderBook(auctionId);
+        }
+
+        return auctionEntity;
+    }
 }
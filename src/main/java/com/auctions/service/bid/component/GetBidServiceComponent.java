@@ -1,35 +1,56 @@
 package com.auctions.service.bid.component;
 
 import com.auctions.domain.bid.Bid;
+import com.auctions.domain.bid.BidFilter;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.exception.ResourceNotFoundException;
 import com.auctions.mapper.bid.BidEntityToBidMapper;
+import com.auctions.persistence.entity.BidEntity;
 import com.auctions.persistence.repository.AuctionRepository;
 import com.auctions.persistence.repository.BidRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.persistence.specification.BidSpecifications;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
+import com.auctions.service.page.PageCursor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Component
 public class GetBidServiceComponent extends BidServiceComponent {
 
-    public GetBidServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, BidRepository bidRepository, BidEntityToBidMapper bidEntityToBidMapper) {
-        super(userRepository, auctionRepository, bidRepository, bidEntityToBidMapper);
+    public GetBidServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, BidRepository bidRepository, BidEntityToBidMapper bidEntityToBidMapper, OrderBookService orderBookService, AuctionEventService auctionEventService, OutboxService outboxService) {
+        super(userRepository, auctionRepository, bidRepository, bidEntityToBidMapper, orderBookService, auctionEventService, outboxService);
     }
 
-    public List<Bid> getAllBids() {
+    @Transactional(readOnly = true)
+    public CursorPage<Bid> getBidPage(BidFilter filter, String cursor, Integer limit) {
 
-        return bidRepository
-                .findAll()
-                .stream()
-                .map(bidEntityToBidMapper::map)
-                .toList();
+        int pageLimit = PageCursor.limit(limit);
+
+        List<BidEntity> bidEntities = bidRepository.findBy(
+                BidSpecifications.matching(filter, PageCursor.decode(cursor)),
+                query -> query.sortBy(PageCursor.SORT).limit(pageLimit + 1).all()
+        );
+
+        return PageCursor.page(bidEntities, pageLimit, BidEntity::getId, bidEntityToBidMapper::map);
     }
 
+    @Transactional(readOnly = true)
     public Bid getBidById(Integer id) {
 
         return bidRepository.findById(id)
                 .map(bidEntityToBidMapper::map)
                 .orElseThrow(() -> new ResourceNotFoundException("Bid not found with id: " + id));
     }
+
+    @Transactional(readOnly = true)
+    public Integer getBidAuctionId(Integer id) {
+
+        return bidRepository.findAuctionIdById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Bid not found with id: " + id));
+    }
 }
@@ -1,8 +1,13 @@
 package com.auctions.service.bid.component;
 
+import com.auctions.domain.auction.Auction;
+import com.auctions.domain.auction.AuctionEvent;
+import com.auctions.domain.auction.AuctionEventType;
 import com.auctions.domain.auction.AuctionState;
 import com.auctions.domain.bid.BidState;
+import com.auctions.domain.outbox.OutboxEventType;
 import com.auctions.exception.BusinessException;
+import com.auctions.exception.ConflictException;
 import com.auctions.exception.InvalidParameterException;
 import com.auctions.mapper.bid.BidEntityToBidMapper;
 import com.auctions.persistence.entity.AuctionEntity;
@@ -10,6 +15,9 @@ import com.auctions.persistence.entity.BidEntity;
 import com.auctions.persistence.repository.AuctionRepository;
 import com.auctions.persistence.repository.BidRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,14 +26,14 @@ import static java.time.Instant.now;
 @Component
 public class UpdateBidServiceComponent extends BidServiceComponent {
 
-    public UpdateBidServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, BidRepository bidRepository, BidEntityToBidMapper bidEntityToBidMapper) {
-        super(userRepository, auctionRepository, bidRepository, bidEntityToBidMapper);
+    public UpdateBidServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, BidRepository bidRepository, BidEntityToBidMapper bidEntityToBidMapper, OrderBookService orderBookService, AuctionEventService auctionEventService, OutboxService outboxService) {
+        super(userRepository, auctionRepository, bidRepository, bidEntityToBidMapper, orderBookService, auctionEventService, outboxService);
     }
 
     @Transactional
     public void acceptBid(Integer id) {
 
-        BidEntity bidEntity = findByIdOrThrowException(id);
+        BidEntity bidEntity = findWithAuctionByIdOrThrowException(id);
 
         if (bidEntity.getState() == BidState.ACCEPTED) {
 
@@ -37,7 +45,7 @@ public class UpdateBidServiceComponent extends BidServiceComponent {
             throw new InvalidParameterException("Only bids in created state can be accepted. Bid state is " + bidEntity.getState());
         }
 
-        if (bidEntity.getUntil().isBefore(now())) {
+        if (bidEntity.getUntil() != null && bidEntity.getUntil().isBefore(now())) {
 
             throw new InvalidParameterException("Bid is outdated. Bid is until " + bidEntity.getUntil());
         }
@@ -51,15 +59,29 @@ public class UpdateBidServiceComponent extends BidServiceComponent {
 
         try {
 
-            bidEntity.setState(BidState.ACCEPTED);
+            if (auctionRepository.updateOngoingAuctionStateToClosed(auction.getId(), auction.getVersion()) == 0) {
 
-            auction.setState(AuctionState.CLOSED);
+                throw new ConflictException("Auction has been modified concurrently: " + auction.getId());
+            }
 
-            auctionRepository.save(auction);
+            if (bidRepository.updateCreatedBidStateToAccepted(bidEntity.getId(), bidEntity.getVersion()) == 0) {
+
+                throw new ConflictException("Bid has been modified concurrently: " + bidEntity.getId());
+            }
 
             auctionRepository.updateAuctionCreatedBidsState(BidState.REJECTED, auction.getId());
 
-            bidRepository.save(bidEntity);
+            orderBookService.closeOrderBook(auction.getId());
+
+            outboxService.append(OutboxEventType.BID_ACCEPTED, bidEntity.getId(), bidEntityToBidMapper.map(bidEntity).toBuilder().state(BidState.ACCEPTED).build());
+            outboxService.append(OutboxEventType.AUCTION_CLOSED, auction.getId(), Auction.builder().id(auction.getId()).state(AuctionState.CLOSED).build());
+
+            auctionEventService.publish(AuctionEvent.bidEvent(AuctionEventType.BID_ACCEPTED, auction.getId(), bidEntity.getId(), bidEntity.getAmount()));
+            auctionEventService.publish(AuctionEvent.auctionStateChanged(auction.getId(), AuctionState.CLOSED));
+
+        } catch (ConflictException e) {
+
+            throw e;
 
         } catch (Exception e) {
 
@@ -70,6 +92,10 @@ public class UpdateBidServiceComponent extends BidServiceComponent {
     @Transactional
     public int updateBidsStateToOutdated() {
 
-        return bidRepository.updateBidsStateToOutdated();
+        int updatedBids = bidRepository.updateBidsStateToOutdated();
+
+        orderBookService.removeBidsOutdatedBefore(now());
+
+        return updatedBids;
     }
 }
@@ -0,0 +1,10 @@
+package com.auctions.service.closing;
+
+import java.time.Instant;
+
+public interface AuctionClosingService {
+
+    void scheduleNextAuctionClosing();
+    void scheduleAuctionClosing(Instant stopTime);
+    int closeDueAuctions();
+}
@@ -0,0 +1,179 @@
+package com.auctions.service.closing;
+
+import com.auctions.domain.auction.Auction;
+import com.auctions.domain.auction.AuctionEvent;
+import com.auctions.domain.auction.AuctionState;
+import com.auctions.domain.outbox.OutboxEventType;
+import com.auctions.persistence.repository.AuctionRepository;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.time.Instant.now;
+
+/**
+ * Closes ongoing auctions when their stop time is reached. Only the earliest stop time is kept armed on the task
+ * scheduler; when it fires, due auctions are closed in bounded batches and the next stop time is armed.
+ */
+@Service
+@Slf4j
+public class AuctionClosingServiceImpl implements AuctionClosingService {
+
+    private static final Duration OVERDUE_RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final AuctionRepository auctionRepository;
+    private final OrderBookService orderBookService;
+    private final AuctionEventService auctionEventService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final int batchSize;
+
+    private ScheduledFuture<?> nextClosing;
+    private Instant nextClosingTime;
+
+    public AuctionClosingServiceImpl(
+            AuctionRepository auctionRepository,
+            OrderBookService orderBookService,
+            AuctionEventService auctionEventService,
+            OutboxService outboxService,
+            TransactionTemplate transactionTemplate,
+            TaskScheduler taskScheduler,
+            @Value("${app.auction-closing.batch-size:500}") int batchSize
+    ) {
+
+        this.auctionRepository = auctionRepository;
+        this.orderBookService = orderBookService;
+        this.auctionEventService = auctionEventService;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleNextAuctionClosing() {
+
+        auctionRepository.findNextOngoingAuctionStopTime().ifPresent(this::scheduleAuctionClosing);
+    }
+
+    @Override
+    public void scheduleAuctionClosing(Instant stopTime) {
+
+        if (stopTime == null) {
+
+            return;
+        }
+
+        // Arming before commit could fire while the auction is not visible yet, and the closing would be missed.
+        afterCommit(() -> arm(stopTime));
+    }
+
+    @Override
+    public int closeDueAuctions() {
+
+        Instant now = now();
+
+        disarmIfDue(now);
+
+        int closedAuctions = 0;
+
+        List<Integer> closedAuctionIds;
+
+        do {
+
+            closedAuctionIds = transactionTemplate.execute(status -> {
+
+                List<Integer> auctionIds = auctionRepository.updateDueAuctionsStateToClosed(now, batchSize);
+
+                auctionIds.forEach(auctionId -> outboxService.append(
+                        OutboxEventType.AUCTION_CLOSED, auctionId, Auction.builder().id(auctionId).state(AuctionState.CLOSED).build()
+                ));
+
+                return auctionIds;
+            });
+
+            closedAuctionIds.forEach(auctionId -> {
+
+                orderBookService.closeOrderBook(auctionId);
+
+                auctionEventService.publish(AuctionEvent.auctionStateChanged(auctionId, AuctionState.CLOSED));
+            });
+
+            closedAuctions += closedAuctionIds.size();
+
+        } while (closedAuctionIds.size() == batchSize);
+
+        if (closedAuctions > 0) {
+
+            log.info("Closed {} auctions at stop time", closedAuctions);
+        }
+
+        scheduleNextAuctionClosing();
+
+        return closedAuctions;
+    }
+
+    private synchronized void arm(Instant stopTime) {
+
+        if (nextClosingTime != null && !stopTime.isBefore(nextClosingTime)) {
+
+            return;
+        }
+
+        if (nextClosing != null) {
+
+            nextClosing.cancel(false);
+        }
+
+        nextClosingTime = stopTime;
+
+        // A stop time already in the past was skipped by the last run (e.g. rows locked elsewhere); retry it shortly instead of spinning.
+        Instant fireAt = stopTime.isAfter(now()) ? stopTime : now().plus(OVERDUE_RETRY_DELAY);
+
+        nextClosing = taskScheduler.schedule(this::closeDueAuctions, fireAt);
+    }
+
+    private void afterCommit(Runnable runnable) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            runnable.run();
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+
+                runnable.run();
+            }
+        });
+    }
+
+    private synchronized void disarmIfDue(Instant now) {
+
+        if (nextClosingTime != null && !nextClosingTime.isAfter(now)) {
+
+            nextClosingTime = null;
+            nextClosing = null;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.auctions.service.event;
+
+import com.auctions.domain.auction.AuctionEvent;
+
+public interface AuctionEventService {
+
+    void publish(AuctionEvent auctionEvent);
+    Runnable subscribe(Integer auctionId, AuctionEventSink sink);
+    int getSubscriberCount();
+}
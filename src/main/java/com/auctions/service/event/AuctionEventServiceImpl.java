@@ -0,0 +1,182 @@
+package com.auctions.service.event;
+
+import com.auctions.domain.auction.AuctionEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed auction events out to the subscribers of each auction. Publishing only buffers the event per
+ * subscriber; a small dispatcher pool drains the buffers, so a slow connection delays nobody but itself. One timer
+ * sends heartbeats, and only to subscribers that sent nothing during the last interval.
+ */
+@Service
+@Slf4j
+public class AuctionEventServiceImpl implements AuctionEventService {
+
+    private final Map<Integer, Set<AuctionEventSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService dispatcher;
+    private final TaskScheduler taskScheduler;
+    private final int bufferCapacity;
+    private final Duration heartbeatInterval;
+    private final Counter droppedEvents;
+
+    public AuctionEventServiceImpl(
+            TaskScheduler taskScheduler,
+            MeterRegistry meterRegistry,
+            @Value("${app.auction-events.dispatcher-threads:4}") int dispatcherThreads,
+            @Value("${app.auction-events.buffer-capacity:64}") int bufferCapacity,
+            @Value("${app.auction-events.heartbeat-interval:15s}") Duration heartbeatInterval
+    ) {
+
+        this.taskScheduler = taskScheduler;
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads);
+        this.bufferCapacity = bufferCapacity;
+        this.heartbeatInterval = heartbeatInterval;
+
+        this.droppedEvents = Counter.builder("auctions.events.dropped")
+                .description("Auction events dropped from the buffer of a subscriber that fell behind")
+                .register(meterRegistry);
+
+        Gauge.builder("auctions.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open auction event subscriptions")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleHeartbeats() {
+
+        taskScheduler.scheduleAtFixedRate(this::sendHeartbeats, heartbeatInterval);
+    }
+
+    @Override
+    public void publish(AuctionEvent auctionEvent) {
+
+        // Subscribers must only see committed changes; a rolled-back bid is never announced.
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            dispatch(auctionEvent);
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+
+                dispatch(auctionEvent);
+            }
+        });
+    }
+
+    @Override
+    public Runnable subscribe(Integer auctionId, AuctionEventSink sink) {
+
+        AuctionEventSubscriber subscriber = new AuctionEventSubscriber(auctionId, sink, bufferCapacity, droppedEvents);
+
+        // Added inside compute so a concurrent unsubscribe cannot remove the set in between.
+        subscribers.compute(auctionId, (id, auctionSubscribers) -> {
+
+            Set<AuctionEventSubscriber> updatedSubscribers = auctionSubscribers == null ? ConcurrentHashMap.newKeySet() : auctionSubscribers;
+
+            updatedSubscribers.add(subscriber);
+
+            return updatedSubscribers;
+        });
+
+        subscriberCount.incrementAndGet();
+
+        return () -> unsubscribe(subscriber);
+    }
+
+    @Override
+    public int getSubscriberCount() {
+
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        dispatcher.shutdownNow();
+    }
+
+    void sendHeartbeats() {
+
+        long idleSinceNanos = System.nanoTime() - heartbeatInterval.toNanos();
+
+        subscribers.values().forEach(auctionSubscribers -> auctionSubscribers.forEach(subscriber -> {
+
+            if (subscriber.requestHeartbeat(idleSinceNanos)) {
+
+                dispatcher.execute(() -> drain(subscriber));
+            }
+        }));
+    }
+
+    private void dispatch(AuctionEvent auctionEvent) {
+
+        Set<AuctionEventSubscriber> auctionSubscribers = subscribers.get(auctionEvent.getAuctionId());
+
+        if (auctionSubscribers == null) {
+
+            return;
+        }
+
+        auctionSubscribers.forEach(subscriber -> {
+
+            if (subscriber.offer(auctionEvent)) {
+
+                dispatcher.execute(() -> drain(subscriber));
+            }
+        });
+    }
+
+    private void drain(AuctionEventSubscriber subscriber) {
+
+        try {
+
+            subscriber.drain();
+
+        } catch (Exception e) {
+
+            log.debug("Dropping auction {} subscriber: {}", subscriber.getAuctionId(), e.getMessage());
+
+            unsubscribe(subscriber);
+
+            subscriber.close(e);
+        }
+    }
+
+    private void unsubscribe(AuctionEventSubscriber subscriber) {
+
+        subscribers.computeIfPresent(subscriber.getAuctionId(), (auctionId, auctionSubscribers) -> {
+
+            if (auctionSubscribers.remove(subscriber)) {
+
+                subscriberCount.decrementAndGet();
+            }
+
+            return auctionSubscribers.isEmpty() ? null : auctionSubscribers;
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.auctions.service.event;
+
+import com.auctions.domain.auction.AuctionEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Connection of one subscriber. Calls for a subscriber never overlap; a failing call ends its subscription and the
+ * connection is then closed with the failure.
+ */
+public interface AuctionEventSink {
+
+    void send(List<AuctionEvent> events, int droppedEvents) throws IOException;
+    void heartbeat() throws IOException;
+    void close(Exception cause);
+}
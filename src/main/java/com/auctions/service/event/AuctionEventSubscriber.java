@@ -0,0 +1,146 @@
+package com.auctions.service.event;
+
+import com.auctions.domain.auction.AuctionEvent;
+import io.micrometer.core.instrument.Counter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded buffer of one subscriber. When the subscriber falls behind, the oldest events are dropped and counted. At
+ * most one drain is scheduled at a time, so an idle subscriber holds no thread and no task.
+ */
+class AuctionEventSubscriber {
+
+    private final Integer auctionId;
+    private final AuctionEventSink sink;
+    private final int bufferCapacity;
+    private final ArrayDeque<AuctionEvent> buffer;
+    private final Counter droppedEventsCounter;
+
+    private int droppedEvents;
+    private boolean heartbeatDue;
+    private boolean drainScheduled;
+    private volatile long lastSentNanos = System.nanoTime();
+
+    AuctionEventSubscriber(Integer auctionId, AuctionEventSink sink, int bufferCapacity, Counter droppedEventsCounter) {
+
+        this.auctionId = auctionId;
+        this.sink = sink;
+        this.bufferCapacity = bufferCapacity;
+        this.buffer = new ArrayDeque<>(Math.min(bufferCapacity, 16));
+        this.droppedEventsCounter = droppedEventsCounter;
+    }
+
+    Integer getAuctionId() {
+
+        return auctionId;
+    }
+
+    /**
+     * Buffers the event and returns whether the caller has to schedule a drain.
+     */
+    synchronized boolean offer(AuctionEvent auctionEvent) {
+
+        if (buffer.size() == bufferCapacity) {
+
+            buffer.pollFirst();
+
+            droppedEvents++;
+
+            droppedEventsCounter.increment();
+        }
+
+        buffer.addLast(auctionEvent);
+
+        return scheduleDrain();
+    }
+
+    /**
+     * Requests a heartbeat if nothing was sent since {@code idleSinceNanos}, and returns whether the caller has to
+     * schedule a drain. A subscriber that is sending events anyway gets no heartbeat.
+     */
+    synchronized boolean requestHeartbeat(long idleSinceNanos) {
+
+        if (lastSentNanos - idleSinceNanos > 0 || drainScheduled) {
+
+            return false;
+        }
+
+        heartbeatDue = true;
+
+        return scheduleDrain();
+    }
+
+    /**
+     * Sends everything buffered until the buffer is empty. Failures propagate so the caller can drop the subscriber.
+     */
+    void drain() throws Exception {
+
+        while (true) {
+
+            List<AuctionEvent> events;
+            int dropped;
+            boolean heartbeat;
+
+            synchronized (this) {
+
+                if (buffer.isEmpty() && !heartbeatDue) {
+
+                    drainScheduled = false;
+
+                    return;
+                }
+
+                events = new ArrayList<>(buffer);
+                dropped = droppedEvents;
+                heartbeat = heartbeatDue;
+
+                buffer.clear();
+                droppedEvents = 0;
+                heartbeatDue = false;
+            }
+
+            try {
+
+                if (!events.isEmpty() || dropped > 0) {
+
+                    sink.send(events, dropped);
+
+                } else if (heartbeat) {
+
+                    sink.heartbeat();
+                }
+
+            } catch (Exception e) {
+
+                synchronized (this) {
+
+                    drainScheduled = false;
+                }
+
+                throw e;
+            }
+
+            lastSentNanos = System.nanoTime();
+        }
+    }
+
+    void close(Exception cause) {
+
+        sink.close(cause);
+    }
+
+    private boolean scheduleDrain() {
+
+        if (drainScheduled) {
+
+            return false;
+        }
+
+        drainScheduled = true;
+
+        return true;
+    }
+}
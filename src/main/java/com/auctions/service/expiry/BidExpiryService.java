@@ -0,0 +1,10 @@
+package com.auctions.service.expiry;
+
+import com.auctions.domain.bid.Bid;
+
+public interface BidExpiryService {
+
+    void loadPendingBidExpiries();
+    void scheduleBidExpiry(Bid bid);
+    int expireDueBids();
+}
@@ -0,0 +1,144 @@
+package com.auctions.service.expiry;
+
+import com.auctions.domain.auction.AuctionEvent;
+import com.auctions.domain.auction.AuctionEventType;
+import com.auctions.domain.bid.Bid;
+import com.auctions.persistence.projection.BidDeadline;
+import com.auctions.persistence.projection.OutdatedBid;
+import com.auctions.persistence.repository.BidRepository;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.timer.HierarchicalTimingWheel;
+import com.auctions.service.timer.HierarchicalTimingWheel.Timeout;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static java.time.Instant.now;
+
+/**
+ * Expires bids at their {@code until} deadline from an in-memory timing wheel, so only the bids that are due are
+ * touched, by id, in small batches. The periodic full sweep in {@code BidTask} remains as a backstop.
+ * <p>
+ * The wheel is per node: it is loaded with every pending deadline on startup, but afterwards only learns about bids
+ * created on this node. Bids of a node that went away are expired by the {@code BidTask} sweep.
+ */
+@Service
+@Slf4j
+public class BidExpiryServiceImpl implements BidExpiryService {
+
+    private final BidRepository bidRepository;
+    private final OrderBookService orderBookService;
+    private final AuctionEventService auctionEventService;
+    private final TransactionTemplate transactionTemplate;
+    private final HierarchicalTimingWheel<Integer> timingWheel;
+    private final int batchSize;
+    private final Timer expiryLag;
+    private final DistributionSummary expiredRowsPerTick;
+
+    public BidExpiryServiceImpl(
+            BidRepository bidRepository,
+            OrderBookService orderBookService,
+            AuctionEventService auctionEventService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${task.bid-expiry.fixed-delay:100}") long tickMillis,
+            @Value("${app.bid-expiry.wheel-size:64}") int wheelSize,
+            @Value("${app.bid-expiry.batch-size:500}") int batchSize
+    ) {
+
+        this.bidRepository = bidRepository;
+        this.orderBookService = orderBookService;
+        this.auctionEventService = auctionEventService;
+        this.transactionTemplate = transactionTemplate;
+        this.timingWheel = new HierarchicalTimingWheel<>(tickMillis, wheelSize, now());
+        this.batchSize = batchSize;
+
+        this.expiryLag = Timer.builder("bids.expiry.lag")
+                .description("Delay between a bid deadline and the moment it was expired")
+                .register(meterRegistry);
+
+        this.expiredRowsPerTick = DistributionSummary.builder("bids.expiry.rows")
+                .description("Bids updated to outdated per timing wheel tick")
+                .register(meterRegistry);
+
+        Gauge.builder("bids.expiry.pending", timingWheel, HierarchicalTimingWheel::size)
+                .description("Bid deadlines waiting in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingBidExpiries() {
+
+        List<BidDeadline> bidDeadlines = bidRepository.findCreatedBidDeadlines();
+
+        bidDeadlines.forEach(bidDeadline -> timingWheel.schedule(bidDeadline.getId(), bidDeadline.getUntil()));
+
+        log.info("Loaded {} pending bid expiries", bidDeadlines.size());
+    }
+
+    @Override
+    public void scheduleBidExpiry(Bid bid) {
+
+        if (bid.getUntil() == null) {
+
+            return;
+        }
+
+        timingWheel.schedule(bid.getId(), bid.getUntil());
+    }
+
+    @Override
+    public int expireDueBids() {
+
+        Instant now = now();
+
+        List<Timeout<Integer>> dueBids = timingWheel.advance(now);
+
+        if (dueBids.isEmpty()) {
+
+            return 0;
+        }
+
+        int expiredBids = 0;
+
+        for (int from = 0; from < dueBids.size(); from += batchSize) {
+
+            List<Integer> bidIds = dueBids.subList(from, Math.min(from + batchSize, dueBids.size())).stream()
+                    .map(Timeout::item)
+                    .toList();
+
+            List<OutdatedBid> outdatedBids = transactionTemplate.execute(status -> bidRepository.updateBidsStateToOutdated(bidIds, now));
+
+            outdatedBids.forEach(outdatedBid -> auctionEventService.publish(
+                    AuctionEvent.bidEvent(AuctionEventType.BID_OUTDATED, outdatedBid.getAuctionId(), outdatedBid.getId(), null)
+            ));
+
+            expiredBids += outdatedBids.size();
+        }
+
+        orderBookService.removeBidsOutdatedBefore(now);
+
+        Instant expiredAt = now();
+
+        dueBids.forEach(dueBid -> expiryLag.record(Duration.between(dueBid.deadline(), expiredAt)));
+
+        expiredRowsPerTick.record(expiredBids);
+
+        log.debug("Expired {} of {} due bids", expiredBids, dueBids.size());
+
+        return expiredBids;
+    }
+}
@@ -0,0 +1,63 @@
+package com.auctions.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV with a header row; values containing separators, quotes or line breaks are quoted.
+ */
+public class CsvExportWriter implements ExportWriter {
+
+    private final Writer writer;
+
+    public CsvExportWriter(OutputStream outputStream, List<String> columns) throws IOException {
+
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        writeRow(columns.toArray());
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+
+        for (int i = 0; i < values.length; i++) {
+
+            if (i > 0) {
+
+                writer.write(',');
+            }
+
+            if (values[i] != null) {
+
+                writeValue(values[i].toString());
+            }
+        }
+
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+
+        writer.flush();
+    }
+
+    private void writeValue(String value) throws IOException {
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+
+            writer.write(value);
+
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,10 @@
+package com.auctions.service.export;
+
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    void exportAuctions(ExportFormat format, OutputStream outputStream);
+    void exportBids(ExportFormat format, OutputStream outputStream);
+    void exportPayments(ExportFormat format, OutputStream outputStream);
+}
@@ -0,0 +1,80 @@
+package com.auctions.service.export;
+
+import com.auctions.exception.BusinessException;
+import com.auctions.persistence.repository.ExportRepository;
+import com.auctions.persistence.repository.ExportRepository.RowCallback;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private final ExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAuctions(ExportFormat format, OutputStream outputStream) {
+
+        export("auctions", format, outputStream, ExportRepository.AUCTION_COLUMNS, exportRepository::streamAuctions);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBids(ExportFormat format, OutputStream outputStream) {
+
+        export("bids", format, outputStream, ExportRepository.BID_COLUMNS, exportRepository::streamBids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportPayments(ExportFormat format, OutputStream outputStream) {
+
+        export("payments", format, outputStream, ExportRepository.PAYMENT_COLUMNS, exportRepository::streamPayments);
+    }
+
+    private void export(String name, ExportFormat format, OutputStream outputStream, List<String> columns, Consumer<RowCallback> rows) {
+
+        try {
+
+            ExportWriter exportWriter = createExportWriter(format, outputStream, columns);
+
+            long[] rowCount = {0};
+
+            rows.accept(values -> {
+
+                exportWriter.writeRow(values);
+
+                rowCount[0]++;
+            });
+
+            exportWriter.finish();
+
+            log.info("Exported {} {} as {}", rowCount[0], name, format);
+
+        } catch (IOException | UncheckedIOException e) {
+
+            // Usually the client went away; the transaction is rolled back and the cursor closed.
+            throw new BusinessException("Failed to export " + name + ": " + e.getMessage());
+        }
+    }
+
+    private ExportWriter createExportWriter(ExportFormat format, OutputStream outputStream, List<String> columns) throws IOException {
+
+        return switch (format) {
+            case NDJSON -> new NdjsonExportWriter(objectMapper.getFactory(), outputStream, columns);
+            case CSV -> new CsvExportWriter(outputStream, columns);
+        };
+    }
+}
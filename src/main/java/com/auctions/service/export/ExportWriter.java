@@ -0,0 +1,13 @@
+package com.auctions.service.export;
+
+import java.io.IOException;
+
+/**
+ * Writes exported rows one at a time; nothing but the current row is held in memory.
+ */
+public interface ExportWriter {
+
+    void writeRow(Object[] values) throws IOException;
+
+    void finish() throws IOException;
+}
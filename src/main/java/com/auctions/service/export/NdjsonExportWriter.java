@@ -0,0 +1,72 @@
+package com.auctions.service.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+
+public class NdjsonExportWriter implements ExportWriter {
+
+    private final JsonGenerator jsonGenerator;
+    private final List<String> columns;
+
+    public NdjsonExportWriter(JsonFactory jsonFactory, OutputStream outputStream, List<String> columns) throws IOException {
+
+        this.jsonGenerator = jsonFactory.createGenerator(outputStream).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.jsonGenerator.setRootValueSeparator(null);
+        this.columns = columns;
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+
+        jsonGenerator.writeStartObject();
+
+        for (int i = 0; i < columns.size(); i++) {
+
+            jsonGenerator.writeFieldName(columns.get(i));
+
+            writeValue(values[i]);
+        }
+
+        jsonGenerator.writeEndObject();
+        jsonGenerator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+
+        jsonGenerator.close();
+    }
+
+    private void writeValue(Object value) throws IOException {
+
+        if (value == null) {
+
+            jsonGenerator.writeNull();
+
+        } else if (value instanceof Integer number) {
+
+            jsonGenerator.writeNumber(number);
+
+        } else if (value instanceof Long number) {
+
+            jsonGenerator.writeNumber(number);
+
+        } else if (value instanceof BigDecimal number) {
+
+            jsonGenerator.writeNumber(number);
+
+        } else if (value instanceof Boolean flag) {
+
+            jsonGenerator.writeBoolean(flag);
+
+        } else {
+
+            jsonGenerator.writeString(value.toString());
+        }
+    }
+}
@@ -1,12 +1,28 @@
 package com.auctions.service.filestorage;
 
-import org.springframework.web.multipart.MultipartFile;
-
+import java.io.InputStream;
 import java.nio.file.Path;
 
 public interface FileStorageService {
 
-    String storeFile(MultipartFile file);
-    void deleteFile(String fileName);
+    /**
+     * Streams an image to a temporary file, checking its type from the first bytes and its size while it arrives. Meant
+     * to run outside of transactions, since uploads can be slow; the result must be closed once it is stored.
+     *
+     * @param contentLength the declared length, or -1 when unknown
+     */
+    StagedFile stageFile(InputStream content, long contentLength);
+
+    /**
+     * Moves a staged file into place, or reuses an identical one already stored, and takes a reference to it. Must run
+     * in the transaction that saves the returned file name.
+     */
+    StoredFile storeFile(StagedFile stagedFile);
+
+    /**
+     * Drops a reference taken by {@link #storeFile}. The file is unlinked after commit once no reference is left.
+     */
+    void releaseFile(String fileName);
+
     Path getFilePath(String fileName);
 }
@@ -1,24 +1,72 @@
 package com.auctions.service.filestorage;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
+import com.auctions.exception.InvalidParameterException;
+import com.auctions.persistence.repository.StoredFileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
 
+/**
+ * Stores uploads under the SHA-256 of their content, sharded two levels deep ({@code ab/cd/abcd...ef.jpg}) so no
+ * directory grows past a few thousand entries. An upload is read once, hashed while it is written to a temporary file,
+ * and then either renamed into place or dropped when its content is already stored. The {@code stored_files} reference
+ * count decides when the last lot let go of a file.
+ */
 @Service
+@Slf4j
 public class FileStorageServiceImpl implements FileStorageService {
 
+    private static final String FILE_TOO_LARGE = "Uploaded file exceeds the maximum allowed size";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final Path fileStorageLocation;
+    private final StoredFileRepository storedFileRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSize maxFileSize;
+
+    @Autowired
+    public FileStorageServiceImpl(
+            StoredFileRepository storedFileRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.file-storage-location:uploads}") String uploadDir,
+            @Value("${spring.servlet.multipart.max-file-size:10MB}") DataSize maxFileSize
+    ) {
 
-    public FileStorageServiceImpl(@Value("${app.file-storage-location:uploads}") String uploadDir) {
+        this(storedFileRepository, requiresNew(transactionManager), uploadDir, maxFileSize);
+    }
+
+    FileStorageServiceImpl(
+            StoredFileRepository storedFileRepository,
+            TransactionTemplate transactionTemplate,
+            String uploadDir,
+            DataSize maxFileSize
+    ) {
 
+        this.storedFileRepository = storedFileRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxFileSize = maxFileSize;
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
 
         try {
@@ -31,50 +79,195 @@ public class FileStorageServiceImpl implements FileStorageService {
         }
     }
 
-    public String storeFile(MultipartFile file) {
+    @Override
+    public StagedFile stageFile(InputStream content, long contentLength) {
 
-        String fileName = StringUtils.cleanPath(file.getOriginalFilename());
+        if (contentLength > maxFileSize.toBytes()) {
+
+            throw new InvalidParameterException(FILE_TOO_LARGE);
+        }
 
         try {
 
-            if (fileName.contains("..")) {
-                throw new RuntimeException("Invalid file path sequence in filename: " + fileName);
-            }
+            byte[] header = content.readNBytes(ImageFormat.SIGNATURE_LENGTH);
 
-            String fileExtension = "";
-            if (fileName.contains(".")) {
-                fileExtension = fileName.substring(fileName.lastIndexOf("."));
-            }
+            // Rejected before anything touches the disk.
+            ImageFormat format = ImageFormat.detect(header)
+                    .orElseThrow(() -> new InvalidParameterException("Unsupported image type. Expected a JPEG, PNG, GIF or WebP image."));
+
+            MessageDigest messageDigest = createMessageDigest();
+
+            Path temporaryFile = Files.createTempFile(fileStorageLocation, ".upload-", ".tmp");
 
-            String newFileName = UUID.randomUUID() + fileExtension;
-            Path targetLocation = this.fileStorageLocation.resolve(newFileName);
+            try (OutputStream outputStream = new DigestOutputStream(Files.newOutputStream(temporaryFile), messageDigest)) {
 
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+                outputStream.write(header);
 
-            return newFileName;
+                copy(content, outputStream, maxFileSize.toBytes() - header.length);
+
+            } catch (IOException | RuntimeException ex) {
+
+                Files.deleteIfExists(temporaryFile);
+
+                throw ex;
+            }
+
+            return new StagedFile(temporaryFile, HexFormat.of().formatHex(messageDigest.digest()), format);
 
         } catch (IOException ex) {
 
-            throw new RuntimeException("Could not store file " + fileName + ". Please try again!", ex);
+            throw new RuntimeException("Could not receive the uploaded file. Please try again!", ex);
         }
     }
 
-    public void deleteFile(String fileName) {
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public StoredFile storeFile(StagedFile stagedFile) {
+
+        String fileName = getShardedFileName(stagedFile.getHash(), stagedFile.getFormat().getExtension());
+
+        // Taken before the existence check: an unlink of the same file waits for this transaction to finish.
+        storedFileRepository.acquireReference(fileName);
+
+        Path targetLocation = getFilePath(fileName);
 
         try {
 
-            Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
+            if (!Files.exists(targetLocation)) {
 
-            Files.deleteIfExists(filePath);
+                Files.createDirectories(targetLocation.getParent());
+
+                // Readers see either no file or the complete one.
+                Files.move(stagedFile.getPath(), targetLocation, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
 
         } catch (IOException ex) {
 
-            throw new RuntimeException("Could not delete file " + fileName + ". Please try again!", ex);
+            throw new RuntimeException("Could not store file " + fileName + ". Please try again!", ex);
         }
+
+        return new StoredFile(fileName, stagedFile.getFormat().getContentType(), stagedFile.getHash());
     }
 
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseFile(String fileName) {
+
+        boolean lastReference = storedFileRepository.releaseReference(fileName)
+                .map(referenceCount -> referenceCount == 0)
+                .orElse(false);
+
+        if (!lastReference) {
+
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            deleteUnreferencedFile(fileName);
+
+            return;
+        }
+
+        // Unlinking before commit would lose the file if the lot change rolled back.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+
+                deleteUnreferencedFile(fileName);
+            }
+        });
+    }
+
+    @Override
     public Path getFilePath(String fileName) {
 
         return this.fileStorageLocation.resolve(fileName).normalize();
     }
-}
\ No newline at end of file
+
+    void deleteUnreferencedFile(String fileName) {
+
+        try {
+
+            // Deleting the row and unlinking in one transaction keeps a concurrent upload of the same content from
+            // seeing the file before it is gone; that upload then writes it again.
+            transactionTemplate.execute(status -> {
+
+                if (storedFileRepository.deleteUnreferenced(fileName) > 0) {
+
+                    unlink(fileName);
+                }
+
+                return null;
+            });
+
+        } catch (RuntimeException ex) {
+
+            // The row keeps its zero count, so the file is retried by the next release or left to the orphan scan.
+            log.warn("Failed to delete unreferenced file {}", fileName, ex);
+        }
+    }
+
+    // Runs after the releasing transaction committed, while its resources are still bound: joining it would run the
+    // delete without a transaction.
+    private static TransactionTemplate requiresNew(PlatformTransactionManager transactionManager) {
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        return transactionTemplate;
+    }
+
+    private void unlink(String fileName) {
+
+        try {
+
+            Files.deleteIfExists(getFilePath(fileName));
+
+        } catch (IOException ex) {
+
+            throw new RuntimeException("Could not delete file " + fileName, ex);
+        }
+    }
+
+    private static void copy(InputStream inputStream, OutputStream outputStream, long limit) throws IOException {
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        long remaining = limit;
+
+        int read;
+
+        while ((read = inputStream.read(buffer)) != -1) {
+
+            remaining -= read;
+
+            // Checked as the bytes arrive, since a chunked upload declares no length up front.
+            if (remaining < 0) {
+
+                throw new InvalidParameterException(FILE_TOO_LARGE);
+            }
+
+            outputStream.write(buffer, 0, read);
+        }
+    }
+
+    private static String getShardedFileName(String hash, String extension) {
+
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + extension;
+    }
+
+    private static MessageDigest createMessageDigest() {
+
+        try {
+
+            return MessageDigest.getInstance("SHA-256");
+
+        } catch (NoSuchAlgorithmException ex) {
+
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
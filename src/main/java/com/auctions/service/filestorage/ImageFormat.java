@@ -0,0 +1,61 @@
+package com.auctions.service.filestorage;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Image formats accepted as lot photos, recognised by their magic bytes rather than by file name or declared type.
+ */
+@Getter
+public enum ImageFormat {
+
+    JPEG("image/jpeg", ".jpg", Map.of(0, new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF})),
+    PNG("image/png", ".png", Map.of(0, new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'})),
+    GIF("image/gif", ".gif", Map.of(0, ascii("GIF8"))),
+    WEBP("image/webp", ".webp", Map.of(0, ascii("RIFF"), 8, ascii("WEBP")));
+
+    /**
+     * Leading bytes that are enough to tell every format apart.
+     */
+    public static final int SIGNATURE_LENGTH = 12;
+
+    private final String contentType;
+    private final String extension;
+    private final Map<Integer, byte[]> signature;
+
+    ImageFormat(String contentType, String extension, Map<Integer, byte[]> signature) {
+
+        this.contentType = contentType;
+        this.extension = extension;
+        this.signature = signature;
+    }
+
+    public static Optional<ImageFormat> detect(byte[] header) {
+
+        return Arrays.stream(values())
+                .filter(format -> format.matches(header))
+                .findFirst();
+    }
+
+    private boolean matches(byte[] header) {
+
+        return signature.entrySet().stream().allMatch(part -> {
+
+            int offset = part.getKey();
+
+            byte[] expected = part.getValue();
+
+            return header.length >= offset + expected.length
+                    && Arrays.equals(header, offset, offset + expected.length, expected, 0, expected.length);
+        });
+    }
+
+    private static byte[] ascii(String signature) {
+
+        return signature.getBytes(StandardCharsets.US_ASCII);
+    }
+}
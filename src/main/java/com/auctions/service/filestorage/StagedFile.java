@@ -0,0 +1,41 @@
+package com.auctions.service.filestorage;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An upload written to a temporary file in the storage root but not stored yet. Closing it removes whatever
+ * {@link FileStorageService#storeFile} did not move into place.
+ */
+@Getter
+@Slf4j
+public class StagedFile implements AutoCloseable {
+
+    private final Path path;
+    private final String hash;
+    private final ImageFormat format;
+
+    StagedFile(Path path, String hash, ImageFormat format) {
+
+        this.path = path;
+        this.hash = hash;
+        this.format = format;
+    }
+
+    @Override
+    public void close() {
+
+        try {
+
+            Files.deleteIfExists(path);
+
+        } catch (IOException ex) {
+
+            log.warn("Failed to delete staged upload {}", path, ex);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.auctions.service.filestorage;
+
+/**
+ * A stored upload: its name relative to the storage root, its content type and the content hash used as ETag.
+ */
+public record StoredFile(String fileName, String contentType, String etag) {
+}
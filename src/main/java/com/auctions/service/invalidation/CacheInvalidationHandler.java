@@ -0,0 +1,10 @@
+package com.auctions.service.invalidation;
+
+/**
+ * A node-local cache that drops entries when another node changes the rows behind them.
+ */
+public interface CacheInvalidationHandler {
+
+    void evict(InvalidationType type, Integer id);
+    void evictAll();
+}
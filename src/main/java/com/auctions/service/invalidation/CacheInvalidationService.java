@@ -0,0 +1,6 @@
+package com.auctions.service.invalidation;
+
+public interface CacheInvalidationService {
+
+    void publish(InvalidationType type, Integer id);
+}
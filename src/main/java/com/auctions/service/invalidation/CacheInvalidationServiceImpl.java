@@ -0,0 +1,425 @@
+package com.auctions.service.invalidation;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps node-local caches in line across instances through Postgres {@code LISTEN/NOTIFY}. Committed changes are sent
+ * in batches by a publisher thread, and a listener thread on a dedicated connection hands the changes made by other
+ * nodes to every {@link CacheInvalidationHandler}. Notifications sent while the listener was disconnected are lost, so
+ * each (re)connect flushes the caches entirely.
+ * <p>
+ * The listener connection is opened outside the connection pool: it is held for the lifetime of the instance, and
+ * taking it from the pool would leave one connection fewer than {@code JdbcConcurrencyLimitFilter} admits requests for.
+ */
+@Service
+@Slf4j
+public class CacheInvalidationServiceImpl implements CacheInvalidationService {
+
+    static final String FLUSH_ALL = "*";
+
+    // Postgres rejects payloads of 8000 bytes or more.
+    static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    private final DataSource listenerDataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<CacheInvalidationHandler> handlers;
+    private final String channel;
+    private final Duration pollTimeout;
+    private final Duration retryDelay;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final BlockingQueue<String> pending;
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+    private final Counter published;
+    private final Counter received;
+    private final Counter flushes;
+    private final Counter publishFailures;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+    private Thread publisherThread;
+
+    @Autowired
+    public CacheInvalidationServiceImpl(
+            DataSource dataSource,
+            ObjectProvider<HikariDataSource> connectionPool,
+            JdbcTemplate jdbcTemplate,
+            ObjectProvider<CacheInvalidationHandler> handlers,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache-invalidation.channel:cache_invalidation}") String channel,
+            @Value("${app.cache-invalidation.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.cache-invalidation.poll-timeout:5s}") Duration pollTimeout,
+            @Value("${app.cache-invalidation.retry-delay:5s}") Duration retryDelay
+    ) {
+
+        this(listenerDataSource(dataSource, connectionPool.getIfUnique()), jdbcTemplate, handlers, meterRegistry, channel,
+                queueCapacity, pollTimeout, retryDelay);
+    }
+
+    CacheInvalidationServiceImpl(
+            DataSource listenerDataSource,
+            JdbcTemplate jdbcTemplate,
+            ObjectProvider<CacheInvalidationHandler> handlers,
+            MeterRegistry meterRegistry,
+            String channel,
+            int queueCapacity,
+            Duration pollTimeout,
+            Duration retryDelay
+    ) {
+
+        this.listenerDataSource = listenerDataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.handlers = handlers;
+        this.channel = channel;
+        this.pollTimeout = pollTimeout;
+        this.retryDelay = retryDelay;
+        this.pending = new LinkedBlockingQueue<>(queueCapacity);
+
+        this.published = Counter.builder("cache.invalidation.published")
+                .description("Invalidations sent to other nodes")
+                .register(meterRegistry);
+
+        this.received = Counter.builder("cache.invalidation.received")
+                .description("Invalidations received from other nodes")
+                .register(meterRegistry);
+
+        this.flushes = Counter.builder("cache.invalidation.flushes")
+                .description("Full flushes of the local caches after a reconnect or a lost invalidation")
+                .register(meterRegistry);
+
+        this.publishFailures = Counter.builder("cache.invalidation.publish.failures")
+                .description("Invalidation batches that could not be sent")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+
+        running = true;
+
+        listenerThread = daemon(this::listen, "cache-invalidation-listener");
+        publisherThread = daemon(this::publishPending, "cache-invalidation-publisher");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        running = false;
+
+        if (listenerThread != null) {
+
+            listenerThread.interrupt();
+            publisherThread.interrupt();
+        }
+    }
+
+    @Override
+    public void publish(InvalidationType type, Integer id) {
+
+        String key = type + ":" + id;
+
+        // Sent after commit, so that a node reloading on receipt cannot read the old row.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+
+                    enqueue(key);
+                }
+            });
+
+        } else {
+
+            enqueue(key);
+        }
+    }
+
+    void enqueue(String key) {
+
+        if (!pending.offer(key)) {
+
+            overflowed.set(true);
+        }
+    }
+
+    /**
+     * Sends the given keys and whatever else is pending as few notifications as fit. Returns false if they could not be
+     * sent; the next batch then tells the other nodes to flush everything instead.
+     */
+    boolean sendPending(Set<String> keys) {
+
+        pending.drainTo(keys);
+
+        // Invalidations were dropped, so only a full flush is safe.
+        Set<String> batch = overflowed.getAndSet(false) ? Set.of(FLUSH_ALL) : keys;
+
+        if (batch.isEmpty()) {
+
+            return true;
+        }
+
+        try {
+
+            for (String payload : toPayloads(batch)) {
+
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> {}, channel, payload);
+            }
+
+            published.increment(batch.size());
+
+            return true;
+
+        } catch (DataAccessException ex) {
+
+            overflowed.set(true);
+
+            publishFailures.increment();
+
+            log.warn("Failed to publish {} cache invalidations, other nodes will be flushed: {}", batch.size(), ex.getMessage());
+
+            return false;
+        }
+    }
+
+    List<String> toPayloads(Set<String> keys) {
+
+        List<String> payloads = new ArrayList<>();
+
+        StringBuilder payload = new StringBuilder(nodeId).append('|');
+
+        int emptyLength = payload.length();
+
+        for (String key : keys) {
+
+            if (payload.length() > emptyLength && payload.length() + 1 + key.length() > MAX_PAYLOAD_LENGTH) {
+
+                payloads.add(payload.toString());
+
+                payload.setLength(emptyLength);
+            }
+
+            if (payload.length() > emptyLength) {
+
+                payload.append(',');
+            }
+
+            payload.append(key);
+        }
+
+        payloads.add(payload.toString());
+
+        return payloads;
+    }
+
+    void receive(String payload) {
+
+        int separator = payload.indexOf('|');
+
+        if (separator < 0) {
+
+            flushAll("malformed invalidation " + payload);
+
+            return;
+        }
+
+        // The listener also hears this node's own notifications; its caches are already up to date.
+        if (payload.substring(0, separator).equals(nodeId)) {
+
+            return;
+        }
+
+        String body = payload.substring(separator + 1);
+
+        if (body.equals(FLUSH_ALL)) {
+
+            flushAll("requested by another node");
+
+            return;
+        }
+
+        for (String key : body.split(",")) {
+
+            int colon = key.indexOf(':');
+
+            try {
+
+                InvalidationType type = InvalidationType.valueOf(key.substring(0, Math.max(colon, 0)));
+                Integer id = Integer.valueOf(key.substring(colon + 1));
+
+                handlers.orderedStream().forEach(handler -> handler.evict(type, id));
+
+                received.increment();
+
+            } catch (IllegalArgumentException ex) {
+
+                flushAll("malformed invalidation " + key);
+
+                return;
+            }
+        }
+    }
+
+    void flushAll(String reason) {
+
+        handlers.orderedStream().forEach(CacheInvalidationHandler::evictAll);
+
+        flushes.increment();
+
+        log.info("Flushed local caches: {}", reason);
+    }
+
+    private void listen() {
+
+        while (running) {
+
+            try (Connection connection = listenerDataSource.getConnection()) {
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                try (Statement statement = connection.createStatement()) {
+
+                    statement.execute("LISTEN \"" + channel + "\"");
+                }
+
+                // Anything changed while not listening went unnoticed.
+                flushAll("listening on " + channel);
+
+                while (running) {
+
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+
+                    if (notifications == null || notifications.length == 0) {
+
+                        // A connection dropped without a FIN would otherwise leave the listener waiting forever.
+                        if (!connection.isValid((int) Math.max(1, pollTimeout.toSeconds()))) {
+
+                            throw new SQLException("Listener connection is no longer valid");
+                        }
+
+                        continue;
+                    }
+
+                    for (PGNotification notification : notifications) {
+
+                        receive(notification.getParameter());
+                    }
+                }
+
+            } catch (SQLException | RuntimeException ex) {
+
+                if (!running) {
+
+                    return;
+                }
+
+                log.warn("Cache invalidation listener disconnected, retrying in {}: {}", retryDelay, ex.getMessage());
+
+                sleep(retryDelay);
+            }
+        }
+    }
+
+    private void publishPending() {
+
+        while (running) {
+
+            try {
+
+                String key = pending.poll(pollTimeout.toMillis(), TimeUnit.MILLISECONDS);
+
+                if (key == null && !overflowed.get()) {
+
+                    continue;
+                }
+
+                Set<String> keys = new LinkedHashSet<>();
+
+                if (key != null) {
+
+                    keys.add(key);
+                }
+
+                if (!sendPending(keys)) {
+
+                    sleep(retryDelay);
+                }
+
+            } catch (InterruptedException ex) {
+
+                Thread.currentThread().interrupt();
+
+                return;
+            }
+        }
+    }
+
+    // Connects to the pool's database without going through the pool; without a pool, e.g. on an embedded test database, through the data source.
+    private static DataSource listenerDataSource(DataSource dataSource, HikariDataSource pool) {
+
+        if (pool == null || pool.getJdbcUrl() == null) {
+
+            return dataSource;
+        }
+
+        DriverManagerDataSource listenerDataSource = new DriverManagerDataSource(pool.getJdbcUrl(), pool.getUsername(), pool.getPassword());
+
+        listenerDataSource.setConnectionProperties(pool.getDataSourceProperties());
+
+        return listenerDataSource;
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+
+        Thread thread = new Thread(runnable, name);
+
+        thread.setDaemon(true);
+        thread.start();
+
+        return thread;
+    }
+
+    private static void sleep(Duration duration) {
+
+        try {
+
+            Thread.sleep(duration.toMillis());
+
+        } catch (InterruptedException ex) {
+
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.auctions.service.invalidation;
+
+import com.auctions.persistence.entity.LotEntity;
+import com.auctions.persistence.entity.UserEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts users and lots changed by other nodes from the Hibernate second-level cache.
+ */
+@Component
+public class EntityCacheInvalidationHandler implements CacheInvalidationHandler {
+
+    private final Cache cache;
+
+    public EntityCacheInvalidationHandler(EntityManagerFactory entityManagerFactory) {
+
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @Override
+    public void evict(InvalidationType type, Integer id) {
+
+        if (type == InvalidationType.USER) {
+
+            cache.evictEntityData(UserEntity.class, id);
+
+            // The old username cannot be looked up by id, so the whole username region goes.
+            cache.evictNaturalIdData(UserEntity.class);
+
+        } else if (type == InvalidationType.LOT) {
+
+            cache.evictEntityData(LotEntity.class, id);
+        }
+    }
+
+    @Override
+    public void evictAll() {
+
+        cache.evictEntityData(UserEntity.class);
+        cache.evictNaturalIdData(UserEntity.class);
+        cache.evictEntityData(LotEntity.class);
+    }
+}
@@ -0,0 +1,9 @@
+package com.auctions.service.invalidation;
+
+public enum InvalidationType {
+
+    USER,
+    LOT,
+    AUCTION,
+    BID
+}
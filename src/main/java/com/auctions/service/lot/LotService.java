@@ -1,19 +1,21 @@
 package com.auctions.service.lot;
 
 import com.auctions.domain.lot.Lot;
+import com.auctions.domain.lot.LotFilter;
+import com.auctions.domain.lot.LotPhoto;
+import com.auctions.domain.lot.PhotoSize;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.user.User;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.nio.file.Path;
-import java.util.List;
+import java.io.InputStream;
 
 public interface LotService {
 
-    List<Lot> getAllLots();
+    CursorPage<Lot> getLotPage(LotFilter filter, String cursor, Integer limit);
     Lot getLotById(Integer id);
     Lot createLot(Lot lot, User currentUser);
     Lot updateLotDetails(Integer id, Lot lot, User currentUser);
-    void updateLotPhoto(Integer id, MultipartFile photo, User currentUser);
-    Path getLotPhotoPath(Integer id);
+    void updateLotPhoto(Integer id, InputStream photo, long contentLength, User currentUser);
+    LotPhoto getLotPhoto(Integer id, PhotoSize size);
     void deleteLot(Integer id);
 }
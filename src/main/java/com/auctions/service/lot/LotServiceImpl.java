@@ -1,19 +1,23 @@
 package com.auctions.service.lot;
 
-import java.nio.file.Path;
-import java.util.List;
-
 import com.auctions.domain.lot.Lot;
+import com.auctions.domain.lot.LotFilter;
+import com.auctions.domain.lot.LotPhoto;
+import com.auctions.domain.lot.PhotoSize;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.user.User;
+import com.auctions.service.filestorage.FileStorageService;
+import com.auctions.service.filestorage.StagedFile;
 import com.auctions.service.lot.component.CreateLotServiceComponent;
 import com.auctions.service.lot.component.DeleteLotServiceComponent;
 import com.auctions.service.lot.component.GetLotServiceComponent;
 import com.auctions.service.lot.component.UpdateLotServiceComponent;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import lombok.RequiredArgsConstructor;
 
+import java.io.InputStream;
+
 @Service
 @RequiredArgsConstructor
 public class LotServiceImpl implements LotService {
@@ -22,11 +26,12 @@ public class LotServiceImpl implements LotService {
     private final DeleteLotServiceComponent deleteLotServiceComponent;
     private final GetLotServiceComponent getLotServiceComponent;
     private final UpdateLotServiceComponent updateLotServiceComponent;
+    private final FileStorageService fileStorageService;
 
     @Override
-    public List<Lot> getAllLots() {
+    public CursorPage<Lot> getLotPage(LotFilter filter, String cursor, Integer limit) {
 
-        return getLotServiceComponent.getAllLots();
+        return getLotServiceComponent.getLotPage(filter, cursor, limit);
     }
 
     @Override
@@ -36,9 +41,9 @@ public class LotServiceImpl implements LotService {
     }
 
     @Override
-    public Path getLotPhotoPath(Integer id) {
+    public LotPhoto getLotPhoto(Integer id, PhotoSize size) {
 
-        return getLotServiceComponent.getLotPhotoPath(id);
+        return getLotServiceComponent.getLotPhoto(id, size);
     }
 
     @Override
@@ -54,9 +59,13 @@ public class LotServiceImpl implements LotService {
     }
 
     @Override
-    public void updateLotPhoto(Integer id, MultipartFile photo, User currentUser) {
+    public void updateLotPhoto(Integer id, InputStream photo, long contentLength, User currentUser) {
+
+        // Received before the transaction starts, so a slow upload never holds a database connection.
+        try (StagedFile stagedPhoto = fileStorageService.stageFile(photo, contentLength)) {
 
-        updateLotServiceComponent.updateLotPhoto(id, photo, currentUser);
+            updateLotServiceComponent.updateLotPhoto(id, stagedPhoto, currentUser);
+        }
     }
 
     @Override
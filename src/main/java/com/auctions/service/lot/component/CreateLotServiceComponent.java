@@ -9,20 +9,22 @@ import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.repository.LotRepository;
 import com.auctions.persistence.repository.UserRepository;
 import com.auctions.service.filestorage.FileStorageService;
+import com.auctions.service.invalidation.CacheInvalidationService;
+import com.auctions.service.photo.PhotoDerivativeService;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class CreateLotServiceComponent extends LotServiceComponent {
 
-    public CreateLotServiceComponent(UserRepository userRepository, LotRepository lotRepository, FileStorageService fileStorageService, LotEntityToLotMapper lotEntityToLotMapper) {
-        super(userRepository, lotRepository, fileStorageService, lotEntityToLotMapper);
+    public CreateLotServiceComponent(UserRepository userRepository, LotRepository lotRepository, FileStorageService fileStorageService, PhotoDerivativeService photoDerivativeService, LotEntityToLotMapper lotEntityToLotMapper, CacheInvalidationService cacheInvalidationService) {
+        super(userRepository, lotRepository, fileStorageService, photoDerivativeService, lotEntityToLotMapper, cacheInvalidationService);
     }
 
     @Transactional
     public Lot createLot(Lot lot, User currentUser) {
 
-        UserEntity currentUserEntity = findUserByIdOrThrowException(currentUser.getId());
+        UserEntity currentUserEntity = getCurrentUserReference(currentUser);
 
         LotEntity lotEntity = new LotEntity();
 
@@ -8,6 +8,9 @@ import com.auctions.persistence.entity.LotEntity;
 import com.auctions.persistence.repository.LotRepository;
 import com.auctions.persistence.repository.UserRepository;
 import com.auctions.service.filestorage.FileStorageService;
+import com.auctions.service.invalidation.CacheInvalidationService;
+import com.auctions.service.invalidation.InvalidationType;
+import com.auctions.service.photo.PhotoDerivativeService;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,8 +19,8 @@ import java.util.Optional;
 @Component
 public class DeleteLotServiceComponent extends LotServiceComponent {
 
-    public DeleteLotServiceComponent(UserRepository userRepository, LotRepository lotRepository, FileStorageService fileStorageService, LotEntityToLotMapper lotEntityToLotMapper) {
-        super(userRepository, lotRepository, fileStorageService, lotEntityToLotMapper);
+    public DeleteLotServiceComponent(UserRepository userRepository, LotRepository lotRepository, FileStorageService fileStorageService, PhotoDerivativeService photoDerivativeService, LotEntityToLotMapper lotEntityToLotMapper, CacheInvalidationService cacheInvalidationService) {
+        super(userRepository, lotRepository, fileStorageService, photoDerivativeService, lotEntityToLotMapper, cacheInvalidationService);
     }
 
     @Transactional
@@ -43,7 +46,9 @@ public class DeleteLotServiceComponent extends LotServiceComponent {
 
             lotRepository.deleteById(id);
 
-            Optional.ofNullable(lotEntity.getPhotoUrl()).ifPresent(fileStorageService::deleteFile);
+            cacheInvalidationService.publish(InvalidationType.LOT, id);
+
+            Optional.ofNullable(lotEntity.getPhotoUrl()).ifPresent(fileStorageService::releaseFile);
 
         } catch (Exception e) {
 
@@ -1,33 +1,46 @@
 package com.auctions.service.lot.component;
 
 import com.auctions.domain.lot.Lot;
+import com.auctions.domain.lot.LotFilter;
+import com.auctions.domain.lot.LotPhoto;
+import com.auctions.domain.lot.PhotoSize;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.exception.ResourceNotFoundException;
 import com.auctions.mapper.lot.LotEntityToLotMapper;
 import com.auctions.persistence.entity.LotEntity;
 import com.auctions.persistence.repository.LotRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.persistence.specification.LotSpecifications;
 import com.auctions.service.filestorage.FileStorageService;
+import com.auctions.service.invalidation.CacheInvalidationService;
+import com.auctions.service.page.PageCursor;
+import com.auctions.service.photo.PhotoDerivativeService;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.file.Path;
 import java.util.List;
 
 @Component
 public class GetLotServiceComponent extends LotServiceComponent {
 
-    public GetLotServiceComponent(UserRepository userRepository, LotRepository lotRepository, FileStorageService fileStorageService, LotEntityToLotMapper lotEntityToLotMapper) {
-        super(userRepository, lotRepository, fileStorageService, lotEntityToLotMapper);
+    public GetLotServiceComponent(UserRepository userRepository, LotRepository lotRepository, FileStorageService fileStorageService, PhotoDerivativeService photoDerivativeService, LotEntityToLotMapper lotEntityToLotMapper, CacheInvalidationService cacheInvalidationService) {
+        super(userRepository, lotRepository, fileStorageService, photoDerivativeService, lotEntityToLotMapper, cacheInvalidationService);
     }
 
-    public List<Lot> getAllLots() {
+    @Transactional(readOnly = true)
+    public CursorPage<Lot> getLotPage(LotFilter filter, String cursor, Integer limit) {
 
-        return lotRepository
-                .findAll()
-                .stream()
-                .map(lotEntityToLotMapper::map)
-                .toList();
+        int pageLimit = PageCursor.limit(limit);
+
+        List<LotEntity> lotEntities = lotRepository.findBy(
+                LotSpecifications.matching(filter, PageCursor.decode(cursor)),
+                query -> query.sortBy(PageCursor.SORT).limit(pageLimit + 1).all()
+        );
+
+        return PageCursor.page(lotEntities, pageLimit, LotEntity::getId, lotEntityToLotMapper::map);
     }
 
+    @Transactional(readOnly = true)
     public Lot getLotById(Integer id) {
 
         return lotRepository.findById(id)
@@ -35,11 +48,21 @@ public class GetLotServiceComponent extends LotServiceComponent {
                 .orElseThrow(() -> new ResourceNotFoundException("Lot not found with id: " + id));
     }
 
-    public Path getLotPhotoPath(Integer id) {
+    @Transactional(readOnly = true)
+    public LotPhoto getLotPhoto(Integer id, PhotoSize size) {
 
-        return lotRepository.findById(id)
-                .map(LotEntity::getPhotoUrl)
-                .map(fileStorageService::getFilePath)
-                .orElseThrow(() -> new ResourceNotFoundException("Photo path not found for lot with id: " + id));
+        LotEntity lotEntity = lotRepository.findById(id)
+                .filter(lot -> lot.getPhotoUrl() != null)
+                .orElseThrow(() -> new ResourceNotFoundException("Photo not found for lot with id: " + id));
+
+        LotPhoto photo = LotPhoto.builder()
+                .path(fileStorageService.getFilePath(lotEntity.getPhotoUrl()))
+                .contentType(lotEntity.getPhotoContentType())
+                .etag(lotEntity.getPhotoEtag())
+                .lastModified(lotEntity.getUpdatedAt())
+                .version(lotEntity.getPhotoEtag())
+                .build();
+
+        return size == null ? photo : photoDerivativeService.getDerivative(lotEntity.getPhotoUrl(), photo, size);
     }
 }
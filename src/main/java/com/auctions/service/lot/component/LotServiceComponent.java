@@ -1,5 +1,6 @@
 package com.auctions.service.lot.component;
 
+import com.auctions.domain.user.User;
 import com.auctions.exception.ResourceNotFoundException;
 import com.auctions.mapper.lot.LotEntityToLotMapper;
 import com.auctions.persistence.entity.LotEntity;
@@ -7,6 +8,8 @@ import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.repository.LotRepository;
 import com.auctions.persistence.repository.UserRepository;
 import com.auctions.service.filestorage.FileStorageService;
+import com.auctions.service.invalidation.CacheInvalidationService;
+import com.auctions.service.photo.PhotoDerivativeService;
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
@@ -15,11 +18,13 @@ abstract class LotServiceComponent {
     private final UserRepository userRepository;
     final LotRepository lotRepository;
     final FileStorageService fileStorageService;
+    final PhotoDerivativeService photoDerivativeService;
     final LotEntityToLotMapper lotEntityToLotMapper;
+    final CacheInvalidationService cacheInvalidationService;
 
-    UserEntity findUserByIdOrThrowException(Integer id) {
+    UserEntity getCurrentUserReference(User currentUser) {
 
-        return userRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Failed to find user with id: " + id));
+        return userRepository.getReferenceById(currentUser.getId());
     }
 
     LotEntity findLotByIdOrThrowException(Integer id) {
@@ -9,17 +9,21 @@ import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.repository.LotRepository;
 import com.auctions.persistence.repository.UserRepository;
 import com.auctions.service.filestorage.FileStorageService;
+import com.auctions.service.invalidation.CacheInvalidationService;
+import com.auctions.service.invalidation.InvalidationType;
+import com.auctions.service.filestorage.StagedFile;
+import com.auctions.service.filestorage.StoredFile;
+import com.auctions.service.photo.PhotoDerivativeService;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.util.Optional;
 
 @Component
 public class UpdateLotServiceComponent extends LotServiceComponent {
 
-    public UpdateLotServiceComponent(UserRepository userRepository, LotRepository lotRepository, FileStorageService fileStorageService, LotEntityToLotMapper lotEntityToLotMapper) {
-        super(userRepository, lotRepository, fileStorageService, lotEntityToLotMapper);
+    public UpdateLotServiceComponent(UserRepository userRepository, LotRepository lotRepository, FileStorageService fileStorageService, PhotoDerivativeService photoDerivativeService, LotEntityToLotMapper lotEntityToLotMapper, CacheInvalidationService cacheInvalidationService) {
+        super(userRepository, lotRepository, fileStorageService, photoDerivativeService, lotEntityToLotMapper, cacheInvalidationService);
     }
 
     @Transactional
@@ -31,7 +35,7 @@ public class UpdateLotServiceComponent extends LotServiceComponent {
 
         Optional.ofNullable(lot.getSurname()).ifPresent(lotEntity::setSurname);
 
-        UserEntity currentUserEntity = findUserByIdOrThrowException(currentUser.getId());
+        UserEntity currentUserEntity = getCurrentUserReference(currentUser);
 
         lotEntity.setLastModifiedBy(currentUserEntity);
 
@@ -39,6 +43,8 @@ public class UpdateLotServiceComponent extends LotServiceComponent {
 
             LotEntity updatedLotEntity = lotRepository.save(lotEntity);
 
+            cacheInvalidationService.publish(InvalidationType.LOT, id);
+
             return lotEntityToLotMapper.map(updatedLotEntity);
 
         } catch (Exception e) {
@@ -48,41 +54,39 @@ public class UpdateLotServiceComponent extends LotServiceComponent {
     }
 
     @Transactional
-    public void updateLotPhoto(Integer id, MultipartFile photo, User currentUser) {
-
-        String oldPhotoUrl = null;
+    public void updateLotPhoto(Integer id, StagedFile photo, User currentUser) {
 
         LotEntity lotEntity = findLotByIdOrThrowException(id);
 
         try {
 
-            oldPhotoUrl = lotEntity.getPhotoUrl();
+            String oldPhotoUrl = lotEntity.getPhotoUrl();
 
-            if (photo != null && !photo.isEmpty()) {
+            StoredFile storedPhoto = fileStorageService.storeFile(photo);
 
-                String photoUrl = fileStorageService.storeFile(photo);
-                lotEntity.setPhotoUrl(photoUrl);
-            }
+            lotEntity.setPhotoUrl(storedPhoto.fileName());
+            lotEntity.setPhotoContentType(storedPhoto.contentType());
+            lotEntity.setPhotoEtag(storedPhoto.etag());
 
-            UserEntity currentUserEntity = findUserByIdOrThrowException(currentUser.getId());
+            UserEntity currentUserEntity = getCurrentUserReference(currentUser);
 
             lotEntity.setLastModifiedBy(currentUserEntity);
 
-            LotEntity updatedLotEntity = lotRepository.save(lotEntity);
+            lotRepository.save(lotEntity);
 
-            // Delete old photo if new one was uploaded successfully
-            if (oldPhotoUrl != null && !oldPhotoUrl.equals(updatedLotEntity.getPhotoUrl())) {
-                fileStorageService.deleteFile(oldPhotoUrl);
-            }
-        } catch (Exception e) {
+            cacheInvalidationService.publish(InvalidationType.LOT, id);
 
-            // Rollback photo changes if something went wrong
-            if (lotEntity != null && lotEntity.getPhotoUrl() != null && !lotEntity.getPhotoUrl().equals(oldPhotoUrl)) {
+            // Released even when the same content was uploaded again, since storing it took a second reference.
+            if (oldPhotoUrl != null) {
 
-                fileStorageService.deleteFile(lotEntity.getPhotoUrl());
-                lotEntity.setPhotoUrl(oldPhotoUrl);
+                fileStorageService.releaseFile(oldPhotoUrl);
             }
 
+            photoDerivativeService.createDerivatives(storedPhoto.fileName());
+
+        } catch (Exception e) {
+
+            // The reference taken by storeFile rolls back with the transaction; the old photo is only unlinked after commit.
             throw new BusinessException("Failed to update lot photo: " + e.getMessage());
         }
     }
@@ -0,0 +1,97 @@
+package com.auctions.service.orderbook;
+
+import com.auctions.domain.auction.AuctionPrice;
+import com.auctions.domain.bid.Bid;
+
+import java.time.Instant;
+import java.util.*;
+
+class AuctionOrderBook {
+
+    private static final Comparator<Bid> BEST_BID_FIRST = Comparator
+            .comparing(Bid::getAmount)
+            .reversed()
+            .thenComparing(Bid::getId);
+
+    private final Integer auctionId;
+    private final NavigableSet<Bid> liveBids = new TreeSet<>(BEST_BID_FIRST);
+    private final Map<Integer, Bid> liveBidsById = new HashMap<>();
+    private long bidCount;
+
+    AuctionOrderBook(Integer auctionId, Collection<Bid> createdBids, long bidCount) {
+
+        this.auctionId = auctionId;
+        this.bidCount = bidCount;
+
+        createdBids.forEach(this::index);
+    }
+
+    synchronized void add(Bid bid) {
+
+        if (index(bid)) {
+
+            bidCount++;
+        }
+    }
+
+    synchronized void remove(Integer bidId) {
+
+        Optional.ofNullable(liveBidsById.remove(bidId)).ifPresent(liveBids::remove);
+    }
+
+    synchronized int removeOutdatedBefore(Instant instant) {
+
+        List<Bid> outdatedBids = liveBids.stream()
+                .filter(bid -> isOutdated(bid, instant))
+                .toList();
+
+        outdatedBids.forEach(bid -> remove(bid.getId()));
+
+        return outdatedBids.size();
+    }
+
+    synchronized Optional<Bid> getBestBid(Instant now) {
+
+        // Bids past their deadline are pruned lazily, so reads never return a bid the sweep has not caught up with yet.
+        while (!liveBids.isEmpty() && isOutdated(liveBids.first(), now)) {
+
+            remove(liveBids.first().getId());
+        }
+
+        return liveBids.isEmpty() ? Optional.empty() : Optional.of(liveBids.first());
+    }
+
+    synchronized AuctionPrice getPrice(Instant now) {
+
+        Optional<Bid> bestBid = getBestBid(now);
+
+        return AuctionPrice.builder()
+                .auctionId(auctionId)
+                .currentPrice(bestBid.map(Bid::getAmount).orElse(null))
+                .bestBidId(bestBid.map(Bid::getId).orElse(null))
+                .bidCount(bidCount)
+                .build();
+    }
+
+    synchronized int size() {
+
+        return liveBids.size();
+    }
+
+    private boolean index(Bid bid) {
+
+        if (liveBidsById.putIfAbsent(bid.getId(), bid) != null) {
+
+            return false;
+        }
+
+        liveBids.add(bid);
+
+        return true;
+    }
+
+    private static boolean isOutdated(Bid bid, Instant instant) {
+
+        return bid.getUntil() != null && bid.getUntil().isBefore(instant);
+    }
+}
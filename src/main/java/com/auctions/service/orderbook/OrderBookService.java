@@ -0,0 +1,20 @@
+package com.auctions.service.orderbook;
+
+import com.auctions.domain.auction.AuctionPrice;
+import com.auctions.domain.bid.Bid;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+
+public interface OrderBookService {
+
+    void openOrderBook(Integer auctionId);
+    boolean isOrderBookOpen(Integer auctionId);
+    void validateBidAmount(Integer auctionId, BigDecimal amount);
+    void addBid(Bid bid);
+    void removeBid(Integer auctionId, Integer bidId);
+    void removeBidsOutdatedBefore(Instant instant);
+    void closeOrderBook(Integer auctionId);
+    Optional<AuctionPrice> getAuctionPrice(Integer auctionId);
+}
@@ -0,0 +1,232 @@
+package com.auctions.service.orderbook;
+
+import com.auctions.domain.auction.AuctionPrice;
+import com.auctions.domain.bid.Bid;
+import com.auctions.domain.bid.BidState;
+import com.auctions.exception.InvalidParameterException;
+import com.auctions.mapper.bid.BidEntityToBidMapper;
+import com.auctions.persistence.repository.BidRepository;
+import com.auctions.service.invalidation.CacheInvalidationHandler;
+import com.auctions.service.invalidation.CacheInvalidationService;
+import com.auctions.service.invalidation.InvalidationType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.time.Instant.now;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderBookServiceImpl implements OrderBookService, CacheInvalidationHandler {
+
+    private final BidRepository bidRepository;
+    private final BidEntityToBidMapper bidEntityToBidMapper;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Integer, AuctionOrderBook> orderBooks = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Override
+    public void openOrderBook(Integer auctionId) {
+
+        // Loaded outside the map's bin lock: a virtual thread blocking on JDBC inside computeIfAbsent would pin its carrier.
+        while (!orderBooks.containsKey(auctionId)) {
+
+            long evictionsBeforeLoad = evictions.get();
+
+            AuctionOrderBook orderBook = loadOrderBook(auctionId);
+
+            // A change from another node arriving while loading found no book to apply to and may be missing from the load.
+            if (evictions.get() == evictionsBeforeLoad) {
+
+                orderBooks.putIfAbsent(auctionId, orderBook);
+            }
+        }
+
+        onRollback(() -> orderBooks.remove(auctionId));
+    }
+
+    @Override
+    public boolean isOrderBookOpen(Integer auctionId) {
+
+        return orderBooks.containsKey(auctionId);
+    }
+
+    @Override
+    public void validateBidAmount(Integer auctionId, BigDecimal amount) {
+
+        if (amount == null || amount.signum() <= 0) {
+
+            throw new InvalidParameterException("Bid amount must be positive: " + amount);
+        }
+
+        Optional.ofNullable(orderBooks.get(auctionId))
+                .flatMap(orderBook -> orderBook.getBestBid(now()))
+                .map(Bid::getAmount)
+                .filter(bestAmount -> amount.compareTo(bestAmount) <= 0)
+                .ifPresent(bestAmount -> {
+                    throw new InvalidParameterException("Bid amount must be higher than current price: " + bestAmount);
+                });
+    }
+
+    @Override
+    public void addBid(Bid bid) {
+
+        cacheInvalidationService.publish(InvalidationType.BID, bid.getId());
+
+        afterCommit(() -> Optional.ofNullable(orderBooks.get(bid.getAuctionId())).ifPresent(orderBook -> orderBook.add(bid)));
+    }
+
+    @Override
+    public void removeBid(Integer auctionId, Integer bidId) {
+
+        cacheInvalidationService.publish(InvalidationType.BID, bidId);
+
+        afterCommit(() -> Optional.ofNullable(orderBooks.get(auctionId)).ifPresent(orderBook -> orderBook.remove(bidId)));
+    }
+
+    @Override
+    public void removeBidsOutdatedBefore(Instant instant) {
+
+        afterCommit(() -> {
+
+            int removed = orderBooks.values().stream().mapToInt(orderBook -> orderBook.removeOutdatedBefore(instant)).sum();
+
+            log.debug("Removed {} outdated bids from order books", removed);
+        });
+    }
+
+    @Override
+    public void closeOrderBook(Integer auctionId) {
+
+        cacheInvalidationService.publish(InvalidationType.AUCTION, auctionId);
+
+        afterCommit(() -> orderBooks.remove(auctionId));
+    }
+
+    @Override
+    public Optional<AuctionPrice> getAuctionPrice(Integer auctionId) {
+
+        return Optional.ofNullable(orderBooks.get(auctionId)).map(orderBook -> orderBook.getPrice(now()));
+    }
+
+    // Another node closed or cancelled the auction, or took or cancelled one of its bids.
+    @Override
+    public void evict(InvalidationType type, Integer id) {
+
+        evictions.incrementAndGet();
+
+        if (type == InvalidationType.AUCTION) {
+
+            orderBooks.remove(id);
+
+        } else if (type == InvalidationType.BID && !orderBooks.isEmpty()) {
+
+            applyBidChange(id);
+        }
+    }
+
+    @Override
+    public void evictAll() {
+
+        evictions.incrementAndGet();
+
+        orderBooks.clear();
+    }
+
+    /**
+     * Applies one bid changed by another node to the open book of its auction, instead of reloading the whole book.
+     * Read in a read-write transaction so that it comes from the primary, where the change is already committed.
+     */
+    private void applyBidChange(Integer bidId) {
+
+        Optional<Bid> changedBid = transactionTemplate.execute(status -> bidRepository.findById(bidId).map(bidEntityToBidMapper::map));
+
+        if (changedBid.isEmpty()) {
+
+            orderBooks.values().forEach(orderBook -> orderBook.remove(bidId));
+
+            return;
+        }
+
+        Bid bid = changedBid.get();
+
+        Optional.ofNullable(orderBooks.get(bid.getAuctionId())).ifPresent(orderBook -> {
+
+            if (bid.getState() == BidState.CREATED) {
+
+                orderBook.add(bid);
+
+            } else {
+
+                orderBook.remove(bid.getId());
+            }
+        });
+    }
+
+    private AuctionOrderBook loadOrderBook(Integer auctionId) {
+
+        List<Bid> createdBids = bidRepository.findCreatedBidsByAuctionId(auctionId)
+                .stream()
+                .map(bidEntityToBidMapper::map)
+                .toList();
+
+        long bidCount = bidRepository.countByAuctionId(auctionId);
+
+        log.debug("Loaded order book for auction id {} with {} live bids", auctionId, createdBids.size());
+
+        return new AuctionOrderBook(auctionId, createdBids, bidCount);
+    }
+
+    private void afterCommit(Runnable runnable) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            runnable.run();
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+
+                runnable.run();
+            }
+        });
+    }
+
+    private void onRollback(Runnable runnable) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCompletion(int status) {
+
+                if (status != STATUS_COMMITTED) {
+
+                    runnable.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,6 @@
+package com.auctions.service.outbox;
+
+public interface OutboxRelay {
+
+    int relay();
+}
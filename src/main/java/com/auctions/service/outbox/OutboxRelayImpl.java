@@ -0,0 +1,193 @@
+package com.auctions.service.outbox;
+
+import com.auctions.domain.outbox.OutboxAggregateType;
+import com.auctions.domain.outbox.OutboxEvent;
+import com.auctions.mapper.outbox.OutboxEntityToOutboxEventMapper;
+import com.auctions.persistence.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.time.Instant.now;
+
+/**
+ * Drains the outbox in id order. Each batch is claimed with {@code FOR UPDATE SKIP LOCKED}, handed to the in-process
+ * listeners of {@link OutboxEvent} and to every {@link OutboxSink}, and deleted in the same transaction. When a batch
+ * fails, its events are relayed one by one, so only the failing ones stay behind; they are retried on the next run and
+ * dead-lettered after {@code app.outbox.max-attempts} failures. The later events of an aggregate with a failed event stay
+ * behind with it for the rest of the run, so consumers still get every aggregate's events in order.
+ */
+@Service
+@Slf4j
+public class OutboxRelayImpl implements OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxEntityToOutboxEventMapper outboxEntityToOutboxEventMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final List<OutboxSink> outboxSinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Timer relayLag;
+    private final Counter deadLetters;
+
+    public OutboxRelayImpl(
+            OutboxRepository outboxRepository,
+            OutboxEntityToOutboxEventMapper outboxEntityToOutboxEventMapper,
+            ApplicationEventPublisher applicationEventPublisher,
+            ObjectProvider<OutboxSink> outboxSinks,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.batch-size:500}") int batchSize,
+            @Value("${app.outbox.max-attempts:10}") int maxAttempts
+    ) {
+
+        this.outboxRepository = outboxRepository;
+        this.outboxEntityToOutboxEventMapper = outboxEntityToOutboxEventMapper;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.outboxSinks = outboxSinks.orderedStream().toList();
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+
+        this.relayLag = Timer.builder("outbox.relay.lag")
+                .description("Delay between writing an outbox event and relaying it")
+                .register(meterRegistry);
+
+        this.deadLetters = Counter.builder("outbox.relay.dead.letters")
+                .description("Outbox events set aside after failing to be relayed too often")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int relay() {
+
+        int relayedEvents = 0;
+        long afterId = 0;
+        List<OutboxEvent> claimedEvents;
+        Set<Aggregate> failedAggregates = new HashSet<>();
+
+        do {
+
+            claimedEvents = new ArrayList<>();
+
+            List<OutboxEvent> batchEvents = claimedEvents;
+            long batchAfterId = afterId;
+
+            try {
+
+                relayedEvents += transactionTemplate.execute(status -> relayBatch(batchAfterId, batchEvents, failedAggregates));
+
+            } catch (RuntimeException e) {
+
+                log.warn("Failed to relay {} outbox events at once, relaying them one by one: {}", batchEvents.size(), e.getMessage());
+
+                relayedEvents += (int) batchEvents.stream()
+                        .filter(event -> !failedAggregates.contains(Aggregate.of(event)))
+                        .filter(event -> relayEvent(event, failedAggregates))
+                        .count();
+            }
+
+            if (!claimedEvents.isEmpty()) {
+
+                // Events that failed again are left for the next run instead of being claimed over and over.
+                afterId = claimedEvents.get(claimedEvents.size() - 1).getId();
+            }
+
+        } while (claimedEvents.size() == batchSize);
+
+        return relayedEvents;
+    }
+
+    private int relayBatch(long afterId, List<OutboxEvent> claimedEvents, Set<Aggregate> failedAggregates) {
+
+        outboxRepository.findNextBatchForUpdate(afterId, batchSize)
+                .stream()
+                .map(outboxEntityToOutboxEventMapper::map)
+                .forEach(claimedEvents::add);
+
+        List<OutboxEvent> events = claimedEvents.stream()
+                .filter(event -> !failedAggregates.contains(Aggregate.of(event)))
+                .toList();
+
+        if (events.isEmpty()) {
+
+            return 0;
+        }
+
+        deliver(events);
+
+        log.debug("Relayed {} outbox events", events.size());
+
+        return events.size();
+    }
+
+    private boolean relayEvent(OutboxEvent claimedEvent, Set<Aggregate> failedAggregates) {
+
+        Long id = claimedEvent.getId();
+
+        try {
+
+            return transactionTemplate.execute(status -> outboxRepository.findPendingByIdForUpdate(id)
+                    .map(outboxEntityToOutboxEventMapper::map)
+                    .map(event -> {
+
+                        deliver(List.of(event));
+
+                        return true;
+                    })
+                    .orElse(false));
+
+        } catch (RuntimeException e) {
+
+            failedAggregates.add(Aggregate.of(claimedEvent));
+
+            boolean deadLettered = transactionTemplate.execute(status -> outboxRepository.recordFailedAttempt(id, e.toString(), maxAttempts))
+                    .orElse(false);
+
+            if (deadLettered) {
+
+                deadLetters.increment();
+
+                log.error("Dead-lettered outbox event {} after {} failed attempts: {}", id, maxAttempts, e.getMessage());
+
+            } else {
+
+                log.warn("Failed to relay outbox event {}: {}", id, e.getMessage());
+            }
+
+            return false;
+        }
+    }
+
+    private void deliver(List<OutboxEvent> events) {
+
+        events.forEach(applicationEventPublisher::publishEvent);
+
+        outboxSinks.forEach(outboxSink -> outboxSink.deliver(events));
+
+        outboxRepository.deleteByIdIn(events.stream().map(OutboxEvent::getId).toList());
+
+        events.forEach(event -> relayLag.record(Duration.between(event.getCreatedAt(), now())));
+    }
+
+    private record Aggregate(OutboxAggregateType type, Integer id) {
+
+        static Aggregate of(OutboxEvent event) {
+
+            return new Aggregate(event.getAggregateType(), event.getAggregateId());
+        }
+    }
+}
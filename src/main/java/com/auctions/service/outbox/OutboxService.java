@@ -0,0 +1,8 @@
+package com.auctions.service.outbox;
+
+import com.auctions.domain.outbox.OutboxEventType;
+
+public interface OutboxService {
+
+    void append(OutboxEventType type, Integer aggregateId, Object payload);
+}
@@ -0,0 +1,47 @@
+package com.auctions.service.outbox;
+
+import com.auctions.domain.outbox.OutboxEventType;
+import com.auctions.exception.BusinessException;
+import com.auctions.persistence.entity.OutboxEntity;
+import com.auctions.persistence.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    // An event must commit or roll back with the change it describes, so it never starts a transaction of its own.
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxEventType type, Integer aggregateId, Object payload) {
+
+        OutboxEntity outboxEntity = new OutboxEntity();
+
+        outboxEntity.setAggregateType(type.getAggregateType());
+        outboxEntity.setAggregateId(aggregateId);
+        outboxEntity.setEventType(type);
+        outboxEntity.setPayload(toJson(payload));
+
+        outboxRepository.save(outboxEntity);
+    }
+
+    private String toJson(Object payload) {
+
+        try {
+
+            return objectMapper.writeValueAsString(payload);
+
+        } catch (JsonProcessingException e) {
+
+            throw new BusinessException("Failed to serialize outbox payload: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.auctions.service.outbox;
+
+import com.auctions.domain.outbox.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Downstream destination of relayed events. Events arrive in id order and at least once: a failing sink leaves the
+ * batch in the outbox for the next run, including for the sinks that already received it.
+ */
+public interface OutboxSink {
+
+    void deliver(List<OutboxEvent> events);
+}
@@ -0,0 +1,76 @@
+package com.auctions.service.page;
+
+import com.auctions.domain.page.CursorPage;
+import com.auctions.exception.InvalidParameterException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination over ascending ids. A cursor is the opaque encoding of the last id of a page, so the next page is
+ * an index range scan starting right after it instead of an offset that has to skip every preceding row.
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+    public static final Sort SORT = Sort.by("id");
+
+    private PageCursor() {
+    }
+
+    public static Integer decode(String cursor) {
+
+        if (cursor == null || cursor.isBlank()) {
+
+            return 0;
+        }
+
+        try {
+
+            return Integer.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+
+        } catch (IllegalArgumentException e) {
+
+            throw new InvalidParameterException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    public static String encode(Integer id) {
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int limit(Integer limit) {
+
+        if (limit == null) {
+
+            return DEFAULT_LIMIT;
+        }
+
+        if (limit < 1) {
+
+            throw new InvalidParameterException("Page limit must be positive: " + limit);
+        }
+
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1}; the extra row only tells that another page exists.
+     */
+    public static <E, T> CursorPage<T> page(List<E> rows, int limit, Function<E, Integer> id, Function<E, T> mapper) {
+
+        boolean hasNext = rows.size() > limit;
+
+        List<E> pageRows = hasNext ? rows.subList(0, limit) : rows;
+
+        return CursorPage.<T>builder()
+                .items(pageRows.stream().map(mapper).toList())
+                .nextCursor(hasNext ? encode(id.apply(pageRows.get(limit - 1))) : null)
+                .build();
+    }
+}
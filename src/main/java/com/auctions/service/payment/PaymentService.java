@@ -1,8 +1,10 @@
 package com.auctions.service.payment;
 
+import com.auctions.domain.auction.ClosedAuction;
 import com.auctions.domain.payment.Payment;
 import com.auctions.domain.user.User;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface PaymentService {
@@ -10,5 +12,10 @@ public interface PaymentService {
     Payment createPayment(Payment payment, User currentUser);
     Payment getPaymentById(Integer id);
     void cancelPayment(Integer id);
+    int cancelQueuedPaymentLinks();
     List<Payment> getPaymentsByAuctionId(Integer id);
+    List<ClosedAuction> getUnpaidClosedAuctions(Instant closedAfter, Integer afterAuctionId, int limit);
+    List<Payment> createPayments(List<Payment> payments);
+    Instant getPaymentHighWaterMark();
+    void advancePaymentHighWaterMark(Instant highWaterMark);
 }
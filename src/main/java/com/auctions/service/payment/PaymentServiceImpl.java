@@ -1,15 +1,29 @@
 package com.auctions.service.payment;
 
+import com.auctions.domain.auction.ClosedAuction;
 import com.auctions.domain.payment.Payment;
 import com.auctions.domain.user.User;
+import com.auctions.exception.BusinessException;
 import com.auctions.service.payment.component.CancelPaymentServiceComponent;
 import com.auctions.service.payment.component.CreatePaymentServiceComponent;
 import com.auctions.service.payment.component.GetPaymentServiceComponent;
+import com.auctions.service.payment.gateway.PaymentGatewayClient;
+import com.auctions.service.payment.gateway.PaymentLinkRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
 
+/**
+ * Talks to the payment gateway outside of any transaction: links are created before the payment rows are written and
+ * cancelled before the cancellation is stored, so a slow provider never holds a database connection. A link whose
+ * payment could not be stored is kept, since a retry, or a concurrent run that stored it, gets the same link back.
+ */
 @Service
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
@@ -17,11 +31,16 @@ public class PaymentServiceImpl implements PaymentService {
     private final CreatePaymentServiceComponent createPaymentServiceComponent;
     private final GetPaymentServiceComponent getPaymentServiceComponent;
     private final CancelPaymentServiceComponent cancelPaymentServiceComponent;
+    private final PaymentGatewayClient paymentGatewayClient;
 
     @Override
     public Payment createPayment(Payment payment, User currentUser) {
 
-        return createPaymentServiceComponent.createPayment(payment, currentUser);
+        PaymentLinkRequest request = createPaymentLinkRequests(List.of(payment)).get(0);
+
+        String link = join(paymentGatewayClient.createPaymentLink(request), "create payment");
+
+        return createPaymentServiceComponent.createPayment(payment.toBuilder().link(link).build(), currentUser);
     }
 
     @Override
@@ -36,9 +55,89 @@ public class PaymentServiceImpl implements PaymentService {
         return getPaymentServiceComponent.getPaymentsByAuctionId(id);
     }
 
+    @Override
+    public List<ClosedAuction> getUnpaidClosedAuctions(Instant closedAfter, Integer afterAuctionId, int limit) {
+
+        return getPaymentServiceComponent.getUnpaidClosedAuctions(closedAfter, afterAuctionId, limit);
+    }
+
+    @Override
+    public List<Payment> createPayments(List<Payment> payments) {
+
+        List<PaymentLinkRequest> requests = createPaymentLinkRequests(payments);
+
+        List<String> links = join(paymentGatewayClient.createPaymentLinks(requests), "create payments");
+
+        List<Payment> linkedPayments = IntStream.range(0, payments.size())
+                .mapToObj(i -> payments.get(i).toBuilder().link(links.get(i)).build())
+                .toList();
+
+        return createPaymentServiceComponent.createPayments(linkedPayments);
+    }
+
+    @Override
+    public Instant getPaymentHighWaterMark() {
+
+        return getPaymentServiceComponent.getPaymentHighWaterMark();
+    }
+
+    @Override
+    public void advancePaymentHighWaterMark(Instant highWaterMark) {
+
+        createPaymentServiceComponent.advancePaymentHighWaterMark(highWaterMark);
+    }
+
     @Override
     public void cancelPayment(Integer id) {
 
-        cancelPaymentServiceComponent.cancelPayment(id);
+        cancelPaymentServiceComponent.getCancellablePayment(id).ifPresent(payment -> {
+
+            join(paymentGatewayClient.cancelPayment(payment.getLink(), "cancel-payment-" + id), "cancel payment");
+
+            cancelPaymentServiceComponent.markPaymentCancelled(id);
+        });
+    }
+
+    @Override
+    public int cancelQueuedPaymentLinks() {
+
+        Map<Integer, String> links = cancelPaymentServiceComponent.getQueuedPaymentLinks();
+
+        links.forEach((id, link) -> {
+
+            join(paymentGatewayClient.cancelPayment(link, "cancel-payment-" + id), "cancel payment link");
+
+            cancelPaymentServiceComponent.removeQueuedPaymentLink(id);
+        });
+
+        return links.size();
+    }
+
+    private List<PaymentLinkRequest> createPaymentLinkRequests(List<Payment> payments) {
+
+        Map<Integer, Long> paymentCounts = getPaymentServiceComponent.getPaymentCountsByAuctionIds(payments.stream().map(Payment::getAuctionId).toList());
+
+        return payments.stream()
+                .map(payment -> createPaymentLinkRequest(payment, paymentCounts.getOrDefault(payment.getAuctionId(), 0L)))
+                .toList();
+    }
+
+    private PaymentLinkRequest createPaymentLinkRequest(Payment payment, long previousPayments) {
+
+        // Every attempt and every instance paying the same auction uses the same key, so the provider creates the link
+        // only once; a payment replacing a cancelled one counts one more previous payment and gets a new link.
+        return new PaymentLinkRequest("payment-" + payment.getAuctionId() + "-" + previousPayments, payment.getAmount());
+    }
+
+    private static <T> T join(CompletableFuture<T> future, String action) {
+
+        try {
+
+            return future.join();
+
+        } catch (CompletionException e) {
+
+            throw new BusinessException("Failed to " + action + ": " + e.getCause().getMessage());
+        }
     }
 }
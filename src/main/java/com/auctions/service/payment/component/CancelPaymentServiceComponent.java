@@ -1,43 +1,64 @@
 package com.auctions.service.payment.component;
 
+import com.auctions.domain.payment.Payment;
 import com.auctions.domain.payment.PaymentState;
 import com.auctions.exception.BusinessException;
 import com.auctions.exception.InvalidParameterException;
 import com.auctions.mapper.payment.PaymentEntityToPaymentMapper;
 import com.auctions.persistence.entity.PaymentEntity;
+import com.auctions.persistence.entity.PaymentLinkCancellationEntity;
 import com.auctions.persistence.repository.AuctionRepository;
+import com.auctions.persistence.repository.HighWaterMarkRepository;
+import com.auctions.persistence.repository.PaymentLinkCancellationRepository;
 import com.auctions.persistence.repository.PaymentRepository;
 import com.auctions.persistence.repository.UserRepository;
-import com.auctions.service.payment.gateway.PaymentGateway;
+import com.auctions.service.outbox.OutboxService;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
 @Component
 public class CancelPaymentServiceComponent extends PaymentServiceComponent {
 
-    public CancelPaymentServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, PaymentRepository paymentRepository, PaymentEntityToPaymentMapper paymentEntityToPaymentMapper, PaymentGateway paymentGateway) {
-        super(userRepository, auctionRepository, paymentRepository, paymentEntityToPaymentMapper, paymentGateway);
+    private final PaymentLinkCancellationRepository paymentLinkCancellationRepository;
+
+    public CancelPaymentServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, PaymentRepository paymentRepository, HighWaterMarkRepository highWaterMarkRepository, PaymentEntityToPaymentMapper paymentEntityToPaymentMapper, OutboxService outboxService, PaymentLinkCancellationRepository paymentLinkCancellationRepository) {
+        super(userRepository, auctionRepository, paymentRepository, highWaterMarkRepository, paymentEntityToPaymentMapper, outboxService);
+        this.paymentLinkCancellationRepository = paymentLinkCancellationRepository;
     }
 
-    @Transactional
-    public void cancelPayment(Integer id) {
+    /**
+     * Returns the payment whose link has to be cancelled at the gateway, or nothing when it is already cancelled.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Payment> getCancellablePayment(Integer id) {
 
         PaymentEntity paymentEntity = findPaymentByIdOrThrowException(id);
 
-        if (paymentEntity.getState() == PaymentState.CANCELLED) {
+        if (!isCancellable(paymentEntity)) {
 
-            return;
+            return Optional.empty();
         }
 
-        if (paymentEntity.getState() == PaymentState.DONE) {
+        return Optional.of(paymentEntityToPaymentMapper.map(paymentEntity));
+    }
 
-            throw new InvalidParameterException("Payment has been done, thus cannot be cancelled.");
+    @Transactional
+    public void markPaymentCancelled(Integer id) {
+
+        PaymentEntity paymentEntity = findPaymentByIdOrThrowException(id);
+
+        if (!isCancellable(paymentEntity)) {
+
+            return;
         }
 
         try {
 
-            paymentGateway.cancelPayment(paymentEntity.getLink());
-
             paymentEntity.setState(PaymentState.CANCELLED);
 
             paymentRepository.save(paymentEntity);
@@ -47,4 +68,30 @@ public class CancelPaymentServiceComponent extends PaymentServiceComponent {
             throw new BusinessException("Failed to cancel payment: " + e.getMessage());
         }
     }
+
+    /**
+     * Returns the links, by payment id, of payments already cancelled in the database but not yet at the gateway.
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, String> getQueuedPaymentLinks() {
+
+        return paymentLinkCancellationRepository.findAll().stream()
+                .collect(Collectors.toMap(PaymentLinkCancellationEntity::getPaymentId, PaymentLinkCancellationEntity::getLink, (first, second) -> first, LinkedHashMap::new));
+    }
+
+    @Transactional
+    public void removeQueuedPaymentLink(Integer id) {
+
+        paymentLinkCancellationRepository.deleteById(id);
+    }
+
+    private static boolean isCancellable(PaymentEntity paymentEntity) {
+
+        if (paymentEntity.getState() == PaymentState.DONE) {
+
+            throw new InvalidParameterException("Payment has been done, thus cannot be cancelled.");
+        }
+
+        return paymentEntity.getState() != PaymentState.CANCELLED;
+    }
 }
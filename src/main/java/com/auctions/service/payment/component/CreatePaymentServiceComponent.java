@@ -1,5 +1,6 @@
 package com.auctions.service.payment.component;
 
+import com.auctions.domain.outbox.OutboxEventType;
 import com.auctions.domain.payment.Payment;
 import com.auctions.domain.payment.PaymentState;
 import com.auctions.domain.user.User;
@@ -9,31 +10,32 @@ import com.auctions.persistence.entity.AuctionEntity;
 import com.auctions.persistence.entity.PaymentEntity;
 import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.repository.AuctionRepository;
+import com.auctions.persistence.repository.HighWaterMarkRepository;
 import com.auctions.persistence.repository.PaymentRepository;
 import com.auctions.persistence.repository.UserRepository;
-import com.auctions.service.payment.gateway.PaymentGateway;
+import com.auctions.service.outbox.OutboxService;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
 
 @Component
 public class CreatePaymentServiceComponent extends PaymentServiceComponent {
 
-    public CreatePaymentServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, PaymentRepository paymentRepository, PaymentEntityToPaymentMapper paymentEntityToPaymentMapper, PaymentGateway paymentGateway) {
-        super(userRepository, auctionRepository, paymentRepository, paymentEntityToPaymentMapper, paymentGateway);
+    public CreatePaymentServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, PaymentRepository paymentRepository, HighWaterMarkRepository highWaterMarkRepository, PaymentEntityToPaymentMapper paymentEntityToPaymentMapper, OutboxService outboxService) {
+        super(userRepository, auctionRepository, paymentRepository, highWaterMarkRepository, paymentEntityToPaymentMapper, outboxService);
     }
 
+    /**
+     * Stores a payment whose link the gateway already created, so no connection is held during the gateway call.
+     */
     @Transactional
     public Payment createPayment(Payment payment, User currentUser) {
 
         try {
 
-            UserEntity currentUserEntity = findUserByIdOrThrowException(currentUser.getId());
-
-            BigDecimal amount = payment.getAmount();
-
-            String link = paymentGateway.createPaymentLink(amount);
+            UserEntity currentUserEntity = getCurrentUserReference(currentUser);
 
             AuctionEntity auctionEntity = findAuctionByIdOrThrowException(payment.getAuctionId());
 
@@ -41,18 +43,67 @@ public class CreatePaymentServiceComponent extends PaymentServiceComponent {
 
             paymentEntity.setState(PaymentState.CREATED);
             paymentEntity.setAuction(auctionEntity);
-            paymentEntity.setLink(link);
-            paymentEntity.setAmount(amount);
+            paymentEntity.setLink(payment.getLink());
+            paymentEntity.setAmount(payment.getAmount());
             paymentEntity.setCreatedBy(currentUserEntity);
             paymentEntity.setLastModifiedBy(currentUserEntity);
 
-            PaymentEntity paymentEntitySaved = paymentRepository.save(paymentEntity);
+            Payment paymentSaved = paymentEntityToPaymentMapper.map(paymentRepository.save(paymentEntity));
 
-            return paymentEntityToPaymentMapper.map(paymentEntitySaved);
+            outboxService.append(OutboxEventType.PAYMENT_CREATED, paymentSaved.getId(), paymentSaved);
+
+            return paymentSaved;
 
         } catch (Exception e) {
 
             throw new BusinessException("Failed to create payment: " + e.getMessage());
         }
     }
+
+    @Transactional
+    public List<Payment> createPayments(List<Payment> payments) {
+
+        try {
+
+            List<PaymentEntity> paymentEntities = payments.stream()
+                    .map(this::createPaymentEntity)
+                    .toList();
+
+            List<Payment> paymentsSaved = paymentRepository.saveAll(paymentEntities)
+                    .stream()
+                    .map(paymentEntityToPaymentMapper::map)
+                    .toList();
+
+            paymentsSaved.forEach(paymentSaved -> outboxService.append(OutboxEventType.PAYMENT_CREATED, paymentSaved.getId(), paymentSaved));
+
+            return paymentsSaved;
+
+        } catch (Exception e) {
+
+            throw new BusinessException("Failed to create payments: " + e.getMessage());
+        }
+    }
+
+    @Transactional
+    public void advancePaymentHighWaterMark(Instant highWaterMark) {
+
+        highWaterMarkRepository.advance(PAYMENT_CREATE_HIGH_WATER_MARK, highWaterMark);
+    }
+
+    private PaymentEntity createPaymentEntity(Payment payment) {
+
+        // References avoid loading the auction and its creator for every payment of the chunk.
+        UserEntity createdBy = userRepository.getReferenceById(payment.getCreatedByUserId());
+
+        PaymentEntity paymentEntity = new PaymentEntity();
+
+        paymentEntity.setState(PaymentState.CREATED);
+        paymentEntity.setAuction(auctionRepository.getReferenceById(payment.getAuctionId()));
+        paymentEntity.setLink(payment.getLink());
+        paymentEntity.setAmount(payment.getAmount());
+        paymentEntity.setCreatedBy(createdBy);
+        paymentEntity.setLastModifiedBy(createdBy);
+
+        return paymentEntity;
+    }
 }
@@ -1,23 +1,34 @@
 package com.auctions.service.payment.component;
 
+import com.auctions.domain.auction.ClosedAuction;
 import com.auctions.domain.payment.Payment;
 import com.auctions.exception.ResourceNotFoundException;
 import com.auctions.mapper.payment.PaymentEntityToPaymentMapper;
+import com.auctions.persistence.entity.HighWaterMarkEntity;
+import com.auctions.persistence.projection.AuctionPaymentCount;
 import com.auctions.persistence.repository.AuctionRepository;
+import com.auctions.persistence.repository.HighWaterMarkRepository;
 import com.auctions.persistence.repository.PaymentRepository;
 import com.auctions.persistence.repository.UserRepository;
-import com.auctions.service.payment.gateway.PaymentGateway;
+import com.auctions.service.outbox.OutboxService;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Component
 public class GetPaymentServiceComponent extends PaymentServiceComponent {
 
-    public GetPaymentServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, PaymentRepository paymentRepository, PaymentEntityToPaymentMapper paymentEntityToPaymentMapper, PaymentGateway paymentGateway) {
-        super(userRepository, auctionRepository, paymentRepository, paymentEntityToPaymentMapper, paymentGateway);
+    public GetPaymentServiceComponent(UserRepository userRepository, AuctionRepository auctionRepository, PaymentRepository paymentRepository, HighWaterMarkRepository highWaterMarkRepository, PaymentEntityToPaymentMapper paymentEntityToPaymentMapper, OutboxService outboxService) {
+        super(userRepository, auctionRepository, paymentRepository, highWaterMarkRepository, paymentEntityToPaymentMapper, outboxService);
     }
 
+    @Transactional(readOnly = true)
     public Payment getPaymentById(Integer id) {
 
         return paymentRepository.findById(id)
@@ -25,6 +36,7 @@ public class GetPaymentServiceComponent extends PaymentServiceComponent {
                 .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public List<Payment> getPaymentsByAuctionId(Integer id) {
 
         return paymentRepository.findByAuctionId(id)
@@ -32,4 +44,38 @@ public class GetPaymentServiceComponent extends PaymentServiceComponent {
                 .map(paymentEntityToPaymentMapper::map)
                 .toList();
     }
+
+    // Runs on the primary: a lagging replica would miss a cancelled payment, and its link would be handed out again.
+    @Transactional
+    public Map<Integer, Long> getPaymentCountsByAuctionIds(Collection<Integer> auctionIds) {
+
+        return paymentRepository.countByAuctionIds(auctionIds)
+                .stream()
+                .collect(Collectors.toMap(AuctionPaymentCount::getAuctionId, AuctionPaymentCount::getPayments));
+    }
+
+    // Runs on the primary: a lagging replica would show auctions paid by the previous run as unpaid.
+    @Transactional
+    public List<ClosedAuction> getUnpaidClosedAuctions(Instant closedAfter, Integer afterAuctionId, int limit) {
+
+        return paymentRepository.findUnpaidClosedAuctions(closedAfter, afterAuctionId, Limit.of(limit))
+                .stream()
+                .map(unpaidClosedAuction -> ClosedAuction.builder()
+                        .id(unpaidClosedAuction.getId())
+                        .closedAt(unpaidClosedAuction.getClosedAt())
+                        .createdByUserId(unpaidClosedAuction.getCreatedByUserId())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Returns the instant before which every closed auction already got a payment, or the epoch before the first run.
+     */
+    @Transactional(readOnly = true)
+    public Instant getPaymentHighWaterMark() {
+
+        return highWaterMarkRepository.findById(PAYMENT_CREATE_HIGH_WATER_MARK)
+                .map(HighWaterMarkEntity::getMark)
+                .orElse(Instant.EPOCH);
+    }
 }
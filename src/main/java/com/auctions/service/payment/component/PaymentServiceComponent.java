@@ -1,29 +1,33 @@
 package com.auctions.service.payment.component;
 
-import com.auctions.exception.BusinessException;
+import com.auctions.domain.user.User;
 import com.auctions.exception.ResourceNotFoundException;
 import com.auctions.mapper.payment.PaymentEntityToPaymentMapper;
 import com.auctions.persistence.entity.AuctionEntity;
 import com.auctions.persistence.entity.PaymentEntity;
 import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.repository.AuctionRepository;
+import com.auctions.persistence.repository.HighWaterMarkRepository;
 import com.auctions.persistence.repository.PaymentRepository;
 import com.auctions.persistence.repository.UserRepository;
-import com.auctions.service.payment.gateway.PaymentGateway;
+import com.auctions.service.outbox.OutboxService;
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
 abstract class PaymentServiceComponent {
 
+    static final String PAYMENT_CREATE_HIGH_WATER_MARK = "payment-create";
+
     final UserRepository userRepository;
     final AuctionRepository auctionRepository;
     final PaymentRepository paymentRepository;
+    final HighWaterMarkRepository highWaterMarkRepository;
     final PaymentEntityToPaymentMapper paymentEntityToPaymentMapper;
-    final PaymentGateway paymentGateway;
+    final OutboxService outboxService;
 
-    UserEntity findUserByIdOrThrowException(Integer id) {
+    UserEntity getCurrentUserReference(User currentUser) {
 
-        return userRepository.findById(id).orElseThrow(() -> new BusinessException("Failed to find user with id: " + id));
+        return userRepository.getReferenceById(currentUser.getId());
     }
 
     AuctionEntity findAuctionByIdOrThrowException(Integer id) {
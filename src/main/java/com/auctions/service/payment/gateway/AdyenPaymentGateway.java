@@ -1,14 +1,14 @@
 package com.auctions.service.payment.gateway;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-
 @Component
+@ConditionalOnProperty(name = "app.payment-gateway.type", havingValue = "adyen", matchIfMissing = true)
 class AdyenPaymentGateway implements PaymentGateway {
 
     @Override
-    public String createPaymentLink(BigDecimal amount) {
+    public String createPaymentLink(PaymentLinkRequest request) {
 
         // TODO
 
@@ -16,7 +16,7 @@ class AdyenPaymentGateway implements PaymentGateway {
     }
 
     @Override
-    public void cancelPayment(String link) {
+    public void cancelPayment(String link, String idempotencyKey) {
 
         // TODO
     }
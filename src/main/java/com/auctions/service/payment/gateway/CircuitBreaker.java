@@ -0,0 +1,81 @@
+package com.auctions.service.payment.gateway;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Consecutive-failure circuit breaker. After {@code failureThreshold} failures in a row the circuit opens and calls
+ * are refused for {@code openDuration}; then a single probe is let through, which closes the circuit on success and
+ * opens it again on failure.
+ */
+class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean probeInFlight;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    synchronized boolean tryAcquire() {
+
+        if (state == State.OPEN) {
+
+            if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+
+                return false;
+            }
+
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+
+        if (state == State.HALF_OPEN) {
+
+            if (probeInFlight) {
+
+                return false;
+            }
+
+            probeInFlight = true;
+        }
+
+        return true;
+    }
+
+    synchronized void onSuccess() {
+
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    synchronized void onFailure() {
+
+        consecutiveFailures++;
+
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+
+            state = State.OPEN;
+            openedAt = clock.instant();
+            probeInFlight = false;
+        }
+    }
+
+    synchronized State getState() {
+
+        return state;
+    }
+}
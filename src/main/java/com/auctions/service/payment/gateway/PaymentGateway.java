@@ -1,9 +1,19 @@
 package com.auctions.service.payment.gateway;
 
-import java.math.BigDecimal;
+import java.util.List;
 
 public interface PaymentGateway {
 
-    String createPaymentLink(BigDecimal amount);
-    void cancelPayment(String link);
+    String createPaymentLink(PaymentLinkRequest request);
+    void cancelPayment(String link, String idempotencyKey);
+
+    /**
+     * Creates the links in request order. Providers with a batch endpoint override this to make one round trip.
+     */
+    default List<String> createPaymentLinks(List<PaymentLinkRequest> requests) {
+
+        return requests.stream()
+                .map(this::createPaymentLink)
+                .toList();
+    }
 }
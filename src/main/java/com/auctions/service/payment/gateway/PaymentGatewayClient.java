@@ -0,0 +1,15 @@
+package com.auctions.service.payment.gateway;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Calls the {@link PaymentGateway} off the caller's thread. The futures fail with a
+ * {@link com.auctions.exception.BusinessException} once the call was refused or every attempt failed.
+ */
+public interface PaymentGatewayClient {
+
+    CompletableFuture<String> createPaymentLink(PaymentLinkRequest request);
+    CompletableFuture<List<String>> createPaymentLinks(List<PaymentLinkRequest> requests);
+    CompletableFuture<Void> cancelPayment(String link, String idempotencyKey);
+}
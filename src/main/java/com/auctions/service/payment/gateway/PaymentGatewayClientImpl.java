@@ -0,0 +1,280 @@
+package com.auctions.service.payment.gateway;
+
+import com.auctions.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs gateway calls on a bounded pool, so a slow provider ties up at most {@code threads} threads and
+ * {@code queue-capacity} waiting calls instead of request threads and their database connections. Every attempt has
+ * its own timeout, started once it holds a bulkhead thread; failed attempts are retried with exponential backoff and
+ * full jitter under the same idempotency key, and a circuit breaker stops calling a provider that keeps failing. Calls
+ * the bulkhead turns away, because its queue is full or they waited longer than {@code queue-timeout}, are counted
+ * apart and never count against the provider.
+ */
+@Service
+@Slf4j
+public class PaymentGatewayClientImpl implements PaymentGatewayClient {
+
+    private final PaymentGateway paymentGateway;
+    private final ThreadPoolExecutor bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration timeout;
+    private final Duration queueTimeout;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public PaymentGatewayClientImpl(
+            PaymentGateway paymentGateway,
+            MeterRegistry meterRegistry,
+            @Value("${app.payment-gateway.threads:8}") int threads,
+            @Value("${app.payment-gateway.queue-capacity:100}") int queueCapacity,
+            @Value("${app.payment-gateway.timeout:5s}") Duration timeout,
+            @Value("${app.payment-gateway.queue-timeout:5s}") Duration queueTimeout,
+            @Value("${app.payment-gateway.max-attempts:3}") int maxAttempts,
+            @Value("${app.payment-gateway.initial-backoff:200ms}") Duration initialBackoff,
+            @Value("${app.payment-gateway.max-backoff:2s}") Duration maxBackoff,
+            @Value("${app.payment-gateway.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${app.payment-gateway.circuit-breaker.open-duration:30s}") Duration openDuration
+    ) {
+
+        this(paymentGateway, meterRegistry, threads, queueCapacity, timeout, queueTimeout, maxAttempts, initialBackoff, maxBackoff,
+                new CircuitBreaker(failureThreshold, openDuration, Clock.systemUTC()));
+    }
+
+    PaymentGatewayClientImpl(
+            PaymentGateway paymentGateway,
+            MeterRegistry meterRegistry,
+            int threads,
+            int queueCapacity,
+            Duration timeout,
+            Duration queueTimeout,
+            int maxAttempts,
+            Duration initialBackoff,
+            Duration maxBackoff,
+            CircuitBreaker circuitBreaker
+    ) {
+
+        this.paymentGateway = paymentGateway;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        this.queueTimeout = queueTimeout;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.circuitBreaker = circuitBreaker;
+
+        this.bulkhead = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "payment-gateway");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+
+        Gauge.builder("payment.gateway.bulkhead.queued", bulkhead, executor -> executor.getQueue().size())
+                .description("Payment gateway calls waiting for a bulkhead thread")
+                .register(meterRegistry);
+
+        Gauge.builder("payment.gateway.circuit.open", circuitBreaker, breaker -> breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("Whether the payment gateway circuit breaker refuses calls")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<String> createPaymentLink(PaymentLinkRequest request) {
+
+        return call("create", () -> paymentGateway.createPaymentLink(request));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> createPaymentLinks(List<PaymentLinkRequest> requests) {
+
+        return call("create-batch", () -> paymentGateway.createPaymentLinks(requests));
+    }
+
+    @Override
+    public CompletableFuture<Void> cancelPayment(String link, String idempotencyKey) {
+
+        return call("cancel", () -> {
+
+            paymentGateway.cancelPayment(link, idempotencyKey);
+
+            return null;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        bulkhead.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> call(String operation, Supplier<T> call) {
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        attempt(operation, call, 1, result);
+
+        return result.whenComplete((value, failure) -> sample.stop(Timer.builder("payment.gateway.calls")
+                .description("Payment gateway calls including retries and backoff")
+                .tag("operation", operation)
+                .tag("outcome", failure == null ? "success" : failure instanceof CallRefusedException ? "refused" : "failure")
+                .register(meterRegistry)));
+    }
+
+    private <T> void attempt(String operation, Supplier<T> call, int attempt, CompletableFuture<T> result) {
+
+        CompletableFuture<T> attemptResult = new CompletableFuture<>();
+        AtomicBoolean started = new AtomicBoolean();
+
+        Future<?> task;
+
+        try {
+
+            // The breaker is asked on the bulkhead thread, so a queued call cannot hold the half-open probe.
+            task = bulkhead.submit(() -> {
+
+                if (!started.compareAndSet(false, true)) {
+
+                    return;
+                }
+
+                if (!circuitBreaker.tryAcquire()) {
+
+                    attemptResult.completeExceptionally(new CallRefusedException("Payment gateway circuit breaker is open"));
+
+                    return;
+                }
+
+                // Timed from here: time spent queued behind other calls says nothing about the provider.
+                attemptResult.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+                try {
+
+                    attemptResult.complete(call.get());
+
+                } catch (Exception e) {
+
+                    attemptResult.completeExceptionally(e);
+                }
+            });
+
+        } catch (RejectedExecutionException e) {
+
+            rejectByBulkhead(operation, "full");
+
+            result.completeExceptionally(new CallRefusedException("Too many pending payment gateway calls"));
+
+            return;
+        }
+
+        CompletableFuture.delayedExecutor(queueTimeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+
+            if (started.compareAndSet(false, true)) {
+
+                bulkhead.remove((Runnable) task);
+
+                rejectByBulkhead(operation, "queue-timeout");
+
+                attemptResult.completeExceptionally(new CallRefusedException("Timed out waiting for a payment gateway thread after " + queueTimeout));
+            }
+        });
+
+        attemptResult.whenComplete((value, failure) -> {
+
+            if (failure == null) {
+
+                circuitBreaker.onSuccess();
+
+                result.complete(value);
+
+                return;
+            }
+
+            if (failure instanceof CallRefusedException) {
+
+                result.completeExceptionally(failure);
+
+                return;
+            }
+
+            if (failure instanceof TimeoutException) {
+
+                task.cancel(true);
+            }
+
+            circuitBreaker.onFailure();
+
+            String reason = failure instanceof TimeoutException ? "timed out after " + timeout : String.valueOf(failure.getMessage());
+
+            if (attempt >= maxAttempts) {
+
+                result.completeExceptionally(new BusinessException("Payment gateway " + operation + " failed after " + attempt + " attempts: " + reason));
+
+                return;
+            }
+
+            log.warn("Payment gateway {} attempt {} failed: {}", operation, attempt, reason);
+
+            Counter.builder("payment.gateway.retries")
+                    .description("Payment gateway attempts retried after a failure or timeout")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .increment();
+
+            CompletableFuture.delayedExecutor(backoff(attempt).toMillis(), TimeUnit.MILLISECONDS)
+                    .execute(() -> attempt(operation, call, attempt + 1, result));
+        });
+    }
+
+    private void rejectByBulkhead(String operation, String reason) {
+
+        Counter.builder("payment.gateway.bulkhead.rejected")
+                .description("Payment gateway calls turned away by the bulkhead, not counted as provider failures")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Duration backoff(int attempt) {
+
+        // Full jitter: a random delay up to the exponential cap spreads the retries of many callers apart.
+        long cap = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    private static class CallRefusedException extends BusinessException {
+
+        CallRefusedException(String message) {
+
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.auctions.service.payment.gateway;
+
+import java.math.BigDecimal;
+
+/**
+ * A payment link to create. The provider returns the same link for a repeated idempotency key, so a retried call never
+ * charges twice.
+ */
+public record PaymentLinkRequest(String idempotencyKey, BigDecimal amount) {
+}
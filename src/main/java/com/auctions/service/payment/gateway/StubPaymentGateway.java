@@ -0,0 +1,70 @@
+package com.auctions.service.payment.gateway;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local gateway that answers after a fixed latency, for load tests that must not reach a real provider. Links are
+ * remembered per idempotency key like a real provider would, and a batch costs a single round trip.
+ */
+@Component
+@ConditionalOnProperty(name = "app.payment-gateway.type", havingValue = "stub")
+public class StubPaymentGateway implements PaymentGateway {
+
+    private final Map<String, String> links = new ConcurrentHashMap<>();
+    private final Duration latency;
+
+    public StubPaymentGateway(@Value("${app.payment-gateway.stub.latency:200ms}") Duration latency) {
+
+        this.latency = latency;
+    }
+
+    @Override
+    public String createPaymentLink(PaymentLinkRequest request) {
+
+        sleep();
+
+        return link(request);
+    }
+
+    @Override
+    public List<String> createPaymentLinks(List<PaymentLinkRequest> requests) {
+
+        sleep();
+
+        return requests.stream()
+                .map(this::link)
+                .toList();
+    }
+
+    @Override
+    public void cancelPayment(String link, String idempotencyKey) {
+
+        sleep();
+    }
+
+    private String link(PaymentLinkRequest request) {
+
+        return links.computeIfAbsent(request.idempotencyKey(), key -> "https://stub.payments.local/" + key);
+    }
+
+    private void sleep() {
+
+        try {
+
+            Thread.sleep(latency.toMillis());
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException("Interrupted while waiting for the stub payment gateway", e);
+        }
+    }
+}
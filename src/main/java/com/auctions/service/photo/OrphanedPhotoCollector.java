@@ -0,0 +1,9 @@
+package com.auctions.service.photo;
+
+public interface OrphanedPhotoCollector {
+
+    /**
+     * Scans the next slice of the upload directory and of the quarantine, returning the number of bytes reclaimed.
+     */
+    long collect();
+}
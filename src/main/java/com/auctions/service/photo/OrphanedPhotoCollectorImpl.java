@@ -0,0 +1,496 @@
+package com.auctions.service.photo;
+
+import com.auctions.persistence.repository.LotRepository;
+import com.auctions.persistence.repository.StoredFileRepository;
+import com.auctions.service.filestorage.FileStorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Finds files in the upload directory that no lot points at any more, such as those left behind by a rolled back photo
+ * update. Each run walks one slice of the tree in path order and resumes after it on the next run, so a large directory
+ * is never walked in one go. Orphans are moved to a quarantine first and deleted only once nothing referenced them for
+ * the quarantine period; a file that gets referenced again meanwhile is put back.
+ */
+@Service
+@Slf4j
+public class OrphanedPhotoCollectorImpl implements OrphanedPhotoCollector {
+
+    static final String QUARANTINE_DIRECTORY = ".quarantine";
+
+    // Orders a directory before its contents and keeps those contents together, unlike plain string order.
+    private static final Comparator<Path> PATH_ORDER = (first, second) -> {
+
+        int nameCount = Math.min(first.getNameCount(), second.getNameCount());
+
+        for (int i = 0; i < nameCount; i++) {
+
+            int comparison = first.getName(i).toString().compareTo(second.getName(i).toString());
+
+            if (comparison != 0) {
+
+                return comparison;
+            }
+        }
+
+        return Integer.compare(first.getNameCount(), second.getNameCount());
+    };
+
+    private final LotRepository lotRepository;
+    private final StoredFileRepository storedFileRepository;
+    private final PhotoDerivativeService photoDerivativeService;
+    private final TransactionTemplate transactionTemplate;
+    private final Path storageRoot;
+    private final Path quarantineRoot;
+    private final int sliceSize;
+    private final int batchSize;
+    private final Duration minimumAge;
+    private final Duration quarantinePeriod;
+    private final Clock clock;
+    private final Counter scannedFiles;
+    private final Counter quarantinedFiles;
+    private final Counter reclaimedBytes;
+    private final Timer scanTimer;
+
+    // Last path of the previous slice in each tree, null to start over.
+    private Path storageCursor;
+    private Path quarantineCursor;
+
+    private volatile double scanRate;
+
+    @Autowired
+    public OrphanedPhotoCollectorImpl(
+            LotRepository lotRepository,
+            StoredFileRepository storedFileRepository,
+            FileStorageService fileStorageService,
+            PhotoDerivativeService photoDerivativeService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.photo-gc.slice-size:5000}") int sliceSize,
+            @Value("${app.photo-gc.batch-size:500}") int batchSize,
+            @Value("${app.photo-gc.minimum-age:1h}") Duration minimumAge,
+            @Value("${app.photo-gc.quarantine-period:24h}") Duration quarantinePeriod
+    ) {
+
+        this(lotRepository, storedFileRepository, fileStorageService, photoDerivativeService, transactionTemplate, meterRegistry,
+                sliceSize, batchSize, minimumAge, quarantinePeriod, Clock.systemUTC());
+    }
+
+    OrphanedPhotoCollectorImpl(
+            LotRepository lotRepository,
+            StoredFileRepository storedFileRepository,
+            FileStorageService fileStorageService,
+            PhotoDerivativeService photoDerivativeService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            int sliceSize,
+            int batchSize,
+            Duration minimumAge,
+            Duration quarantinePeriod,
+            Clock clock
+    ) {
+
+        this.lotRepository = lotRepository;
+        this.storedFileRepository = storedFileRepository;
+        this.photoDerivativeService = photoDerivativeService;
+        this.transactionTemplate = transactionTemplate;
+        this.storageRoot = fileStorageService.getFilePath("");
+        this.quarantineRoot = storageRoot.resolve(QUARANTINE_DIRECTORY);
+        this.sliceSize = sliceSize;
+        this.batchSize = batchSize;
+        this.minimumAge = minimumAge;
+        this.quarantinePeriod = quarantinePeriod;
+        this.clock = clock;
+
+        this.scannedFiles = Counter.builder("photos.gc.scanned")
+                .description("Files visited by the orphaned photo collector")
+                .register(meterRegistry);
+
+        this.quarantinedFiles = Counter.builder("photos.gc.quarantined")
+                .description("Orphaned photos moved to the quarantine")
+                .register(meterRegistry);
+
+        this.reclaimedBytes = Counter.builder("photos.gc.reclaimed")
+                .description("Disk space freed by deleting orphaned photos, derivatives and abandoned uploads")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        this.scanTimer = Timer.builder("photos.gc.scan")
+                .description("Time to scan and collect one slice of the upload directory")
+                .register(meterRegistry);
+
+        Gauge.builder("photos.gc.scan.rate", this, collector -> collector.scanRate)
+                .description("Files visited per second by the last slice")
+                .baseUnit("files")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public long collect() {
+
+        long startedAt = System.nanoTime();
+
+        Instant now = clock.instant();
+
+        Slice storageSlice = scan(storageRoot, storageCursor);
+
+        storageCursor = storageSlice.next();
+
+        long reclaimed = collectOrphans(storageSlice, now.minus(minimumAge));
+
+        Slice quarantineSlice = scan(quarantineRoot, quarantineCursor);
+
+        quarantineCursor = quarantineSlice.next();
+
+        reclaimed += purgeQuarantine(quarantineSlice, now.minus(quarantinePeriod));
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        int visitedFiles = storageSlice.visitedFiles() + quarantineSlice.visitedFiles();
+
+        scanTimer.record(Duration.ofNanos(elapsedNanos));
+        scannedFiles.increment(visitedFiles);
+        scanRate = visitedFiles * 1e9 / Math.max(1, elapsedNanos);
+
+        reclaimedBytes.increment(reclaimed);
+
+        return reclaimed;
+    }
+
+    private Slice scan(Path root, Path cursor) {
+
+        if (!Files.isDirectory(root)) {
+
+            return new Slice(new TreeMap<>(PATH_ORDER), 0, null);
+        }
+
+        TreeMap<Path, BasicFileAttributes> files = new TreeMap<>(PATH_ORDER);
+
+        int[] visitedFiles = {0};
+
+        try {
+
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+
+                @Override
+                public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+
+                    if (directory.equals(root)) {
+
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    Path relativePath = root.relativize(directory);
+
+                    if (root.equals(storageRoot) && relativePath.toString().equals(QUARANTINE_DIRECTORY)) {
+
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+
+                    // Everything below was part of an earlier slice.
+                    if (cursor != null && PATH_ORDER.compare(relativePath, cursor) < 0 && !cursor.startsWith(relativePath)) {
+
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+
+                    // Everything below sorts after a slice that is already full.
+                    if (files.size() == sliceSize && PATH_ORDER.compare(relativePath, files.lastKey()) > 0) {
+
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+
+                    visitedFiles[0]++;
+
+                    Path relativePath = root.relativize(file);
+
+                    if (attributes.isRegularFile() && (cursor == null || PATH_ORDER.compare(relativePath, cursor) > 0)) {
+
+                        files.put(relativePath, attributes);
+
+                        if (files.size() > sliceSize) {
+
+                            files.pollLastEntry();
+                        }
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exception) {
+
+                    // Files come and go while the tree is walked.
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+
+        } catch (IOException ex) {
+
+            throw new UncheckedIOException("Could not scan " + root, ex);
+        }
+
+        // A slice that is not full reached the end of the tree, so the next one starts over.
+        return new Slice(files, visitedFiles[0], files.size() < sliceSize ? null : files.lastKey());
+    }
+
+    private long collectOrphans(Slice slice, Instant modifiedBefore) {
+
+        long reclaimed = 0;
+
+        List<String> storedFileNames = new ArrayList<>();
+
+        for (Map.Entry<Path, BasicFileAttributes> file : slice.files().entrySet()) {
+
+            // Young files may belong to an upload whose transaction has not committed yet.
+            if (!file.getValue().lastModifiedTime().toInstant().isBefore(modifiedBefore)) {
+
+                continue;
+            }
+
+            String fileName = toFileName(file.getKey());
+
+            String name = file.getKey().getFileName().toString();
+
+            Optional<String> originalBaseName = photoDerivativeService.getOriginalBaseName(fileName);
+
+            if (name.startsWith(".") && name.endsWith(".tmp")) {
+
+                // An upload or a derivative that was never moved into place.
+                reclaimed += delete(storageRoot, fileName, file.getValue().size());
+
+            } else if (originalBaseName.isPresent()) {
+
+                // Derivatives are rendered again on demand, so they go without quarantine once their photo is gone.
+                if (!originalExists(originalBaseName.get())) {
+
+                    reclaimed += delete(storageRoot, fileName, file.getValue().size());
+                }
+
+            } else {
+
+                storedFileNames.add(fileName);
+            }
+        }
+
+        for (List<String> batch : partition(storedFileNames)) {
+
+            processBatch(batch, this::quarantine, fileName -> { });
+        }
+
+        return reclaimed;
+    }
+
+    private long purgeQuarantine(Slice slice, Instant quarantinedBefore) {
+
+        long[] reclaimed = {0};
+
+        List<String> expiredFileNames = slice.files().entrySet().stream()
+                .filter(file -> file.getValue().lastModifiedTime().toInstant().isBefore(quarantinedBefore))
+                .map(file -> toFileName(file.getKey()))
+                .toList();
+
+        for (List<String> batch : partition(expiredFileNames)) {
+
+            processBatch(
+                    batch,
+                    fileName -> reclaimed[0] += delete(quarantineRoot, fileName, size(quarantineRoot.resolve(fileName))),
+                    this::restore
+            );
+        }
+
+        return reclaimed[0];
+    }
+
+    private void processBatch(List<String> fileNames, Consumer<String> orphanAction, Consumer<String> referencedAction) {
+
+        transactionTemplate.execute(status -> {
+
+            // A file still counted in stored_files is in use even if its lot has not committed yet.
+            Set<String> referencedFileNames = new HashSet<>(storedFileRepository.lockReferencedFiles(fileNames));
+
+            referencedFileNames.addAll(lotRepository.findReferencedPhotoUrls(fileNames));
+
+            List<String> orphanFileNames = fileNames.stream()
+                    .filter(fileName -> !referencedFileNames.contains(fileName))
+                    .toList();
+
+            if (!orphanFileNames.isEmpty()) {
+
+                storedFileRepository.deleteAllUnreferenced(orphanFileNames);
+            }
+
+            orphanFileNames.forEach(orphanAction);
+
+            fileNames.stream()
+                    .filter(referencedFileNames::contains)
+                    .forEach(referencedAction);
+
+            return null;
+        });
+    }
+
+    private void quarantine(String fileName) {
+
+        try {
+
+            Path quarantinedFile = quarantineRoot.resolve(fileName);
+
+            Files.createDirectories(quarantinedFile.getParent());
+
+            Files.move(storageRoot.resolve(fileName), quarantinedFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            // The quarantine period runs from now, not from the last write of the photo.
+            Files.setLastModifiedTime(quarantinedFile, FileTime.from(clock.instant()));
+
+            quarantinedFiles.increment();
+
+            log.info("Quarantined orphaned photo {}", fileName);
+
+        } catch (NoSuchFileException ex) {
+
+            log.debug("Orphaned photo {} is already gone", fileName);
+
+        } catch (IOException ex) {
+
+            log.warn("Failed to quarantine orphaned photo {}", fileName, ex);
+        }
+    }
+
+    private void restore(String fileName) {
+
+        try {
+
+            Path storedFile = storageRoot.resolve(fileName);
+
+            if (Files.exists(storedFile)) {
+
+                // The same content was uploaded again in the meantime.
+                Files.deleteIfExists(quarantineRoot.resolve(fileName));
+
+            } else {
+
+                Files.createDirectories(storedFile.getParent());
+
+                Files.move(quarantineRoot.resolve(fileName), storedFile, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            log.info("Restored quarantined photo {} that is referenced again", fileName);
+
+        } catch (IOException ex) {
+
+            log.warn("Failed to restore quarantined photo {}", fileName, ex);
+        }
+    }
+
+    private long delete(Path root, String fileName, long size) {
+
+        try {
+
+            return Files.deleteIfExists(root.resolve(fileName)) ? size : 0;
+
+        } catch (IOException ex) {
+
+            log.warn("Failed to delete orphaned file {}", fileName, ex);
+
+            return 0;
+        }
+    }
+
+    private boolean originalExists(String baseName) {
+
+        Path original = storageRoot.resolve(baseName);
+
+        String originalName = original.getFileName().toString();
+
+        if (Files.exists(original)) {
+
+            return true;
+        }
+
+        try (Stream<Path> siblings = Files.list(original.getParent())) {
+
+            return siblings.anyMatch(sibling -> sibling.getFileName().toString().startsWith(originalName + "."));
+
+        } catch (NoSuchFileException ex) {
+
+            return false;
+
+        } catch (IOException ex) {
+
+            throw new UncheckedIOException("Could not look up the photo of derivative " + baseName, ex);
+        }
+    }
+
+    private List<List<String>> partition(List<String> fileNames) {
+
+        List<List<String>> batches = new ArrayList<>();
+
+        for (int i = 0; i < fileNames.size(); i += batchSize) {
+
+            batches.add(fileNames.subList(i, Math.min(fileNames.size(), i + batchSize)));
+        }
+
+        return batches;
+    }
+
+    private static long size(Path file) {
+
+        try {
+
+            return Files.size(file);
+
+        } catch (IOException ex) {
+
+            return 0;
+        }
+    }
+
+    private static String toFileName(Path relativePath) {
+
+        List<String> names = new ArrayList<>();
+
+        relativePath.forEach(name -> names.add(name.toString()));
+
+        return String.join("/", names);
+    }
+
+    private record Slice(TreeMap<Path, BasicFileAttributes> files, int visitedFiles, Path next) {
+    }
+}
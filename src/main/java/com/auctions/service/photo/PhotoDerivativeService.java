@@ -0,0 +1,25 @@
+package com.auctions.service.photo;
+
+import com.auctions.domain.lot.LotPhoto;
+import com.auctions.domain.lot.PhotoSize;
+
+import java.util.Optional;
+
+public interface PhotoDerivativeService {
+
+    /**
+     * Queues the derivatives of a stored photo; inside a transaction only once it commits.
+     */
+    void createDerivatives(String fileName);
+
+    /**
+     * Returns the derivative of the photo, or the photo itself while the derivative is not ready yet.
+     */
+    LotPhoto getDerivative(String fileName, LotPhoto photo, PhotoSize size);
+
+    /**
+     * Returns the stored file name, without its extension, of the photo a derivative was rendered from; empty when the
+     * file is not a derivative.
+     */
+    Optional<String> getOriginalBaseName(String fileName);
+}
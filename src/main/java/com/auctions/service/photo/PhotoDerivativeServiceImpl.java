@@ -0,0 +1,355 @@
+package com.auctions.service.photo;
+
+import com.auctions.domain.lot.LotPhoto;
+import com.auctions.domain.lot.PhotoSize;
+import com.auctions.service.filestorage.FileStorageService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Renders the JPEG derivatives of lot photos on a small bounded pool. Photos are decoded with subsampling down to
+ * roughly the largest derivative, so a 10MB upload never has to fit in the heap at full resolution. When the queue is
+ * full the work is dropped: a request for a missing derivative queues it again and is served the original meanwhile.
+ */
+@Service
+@Slf4j
+public class PhotoDerivativeServiceImpl implements PhotoDerivativeService {
+
+    private static final String DERIVATIVES_DIRECTORY = "derivatives";
+
+    private final FileStorageService fileStorageService;
+    private final ThreadPoolExecutor workers;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Cache<String, Boolean> failed;
+    private final float jpegQuality;
+    private final Counter droppedDerivatives;
+    private final Timer renderTimer;
+
+    public PhotoDerivativeServiceImpl(
+            FileStorageService fileStorageService,
+            MeterRegistry meterRegistry,
+            @Value("${app.photo-derivatives.threads:2}") int threads,
+            @Value("${app.photo-derivatives.queue-capacity:100}") int queueCapacity,
+            @Value("${app.photo-derivatives.jpeg-quality:0.8}") float jpegQuality
+    ) {
+
+        this.fileStorageService = fileStorageService;
+        this.jpegQuality = jpegQuality;
+
+        this.workers = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "photo-derivatives");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }
+        );
+
+        // Undecodable uploads are not retried on every request for their derivatives.
+        this.failed = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+
+        this.droppedDerivatives = Counter.builder("photos.derivatives.dropped")
+                .description("Photo derivative jobs dropped because the queue was full")
+                .register(meterRegistry);
+
+        this.renderTimer = Timer.builder("photos.derivatives.render")
+                .description("Time to decode a photo and render all of its derivatives")
+                .register(meterRegistry);
+
+        Gauge.builder("photos.derivatives.queued", workers, executor -> executor.getQueue().size())
+                .description("Photo derivative jobs waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void createDerivatives(String fileName) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            submit(fileName);
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+
+                submit(fileName);
+            }
+        });
+    }
+
+    @Override
+    public LotPhoto getDerivative(String fileName, LotPhoto photo, PhotoSize size) {
+
+        Path derivativePath = getDerivativePath(fileName, size);
+
+        if (!Files.exists(derivativePath)) {
+
+            if (failed.getIfPresent(fileName) == null) {
+
+                submit(fileName);
+            }
+
+            return photo;
+        }
+
+        return photo.toBuilder()
+                .path(derivativePath)
+                .contentType(MediaType.IMAGE_JPEG_VALUE)
+                .etag(photo.getVersion() + "-" + size.name().toLowerCase(Locale.ROOT))
+                .size(size)
+                .build();
+    }
+
+    @Override
+    public Optional<String> getOriginalBaseName(String fileName) {
+
+        String prefix = DERIVATIVES_DIRECTORY + "/";
+
+        if (!fileName.startsWith(prefix)) {
+
+            return Optional.empty();
+        }
+
+        return Arrays.stream(PhotoSize.values())
+                .map(PhotoDerivativeServiceImpl::getSuffix)
+                .filter(fileName::endsWith)
+                .findFirst()
+                .map(suffix -> fileName.substring(prefix.length(), fileName.length() - suffix.length()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        workers.shutdownNow();
+    }
+
+    void submit(String fileName) {
+
+        if (!pending.add(fileName)) {
+
+            return;
+        }
+
+        try {
+
+            workers.execute(() -> {
+
+                try {
+
+                    renderTimer.record(() -> render(fileName));
+
+                } finally {
+
+                    pending.remove(fileName);
+                }
+            });
+
+        } catch (RejectedExecutionException e) {
+
+            pending.remove(fileName);
+
+            droppedDerivatives.increment();
+        }
+    }
+
+    Path getDerivativePath(String fileName, PhotoSize size) {
+
+        int extensionIndex = fileName.lastIndexOf('.');
+
+        String baseName = extensionIndex > fileName.lastIndexOf('/') ? fileName.substring(0, extensionIndex) : fileName;
+
+        return fileStorageService.getFilePath(DERIVATIVES_DIRECTORY + "/" + baseName + getSuffix(size));
+    }
+
+    void render(String fileName) {
+
+        try {
+
+            BufferedImage image = decode(fileStorageService.getFilePath(fileName), sizesByDimensionDescending().get(0).getMaxDimension());
+
+            if (image == null) {
+
+                failed.put(fileName, true);
+
+                log.warn("Photo {} has no supported image format, no derivatives rendered", fileName);
+
+                return;
+            }
+
+            // Each size is scaled from the next larger one, which keeps every step small enough for bicubic
+            // interpolation to look smooth.
+            for (PhotoSize size : sizesByDimensionDescending()) {
+
+                image = resize(image, size.getMaxDimension());
+
+                Path derivativePath = getDerivativePath(fileName, size);
+
+                if (!Files.exists(derivativePath)) {
+
+                    write(image, derivativePath);
+                }
+            }
+
+        } catch (IOException | RuntimeException e) {
+
+            failed.put(fileName, true);
+
+            log.warn("Failed to render derivatives of photo {}", fileName, e);
+        }
+    }
+
+    private static BufferedImage decode(Path photoPath, int targetDimension) throws IOException {
+
+        try (ImageInputStream inputStream = ImageIO.createImageInputStream(photoPath.toFile())) {
+
+            Iterator<ImageReader> readers = inputStream == null ? null : ImageIO.getImageReaders(inputStream);
+
+            if (readers == null || !readers.hasNext()) {
+
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+
+            try {
+
+                reader.setInput(inputStream, true, true);
+
+                int longestEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+
+                // Keeps every decoded edge at least as long as the largest derivative needs.
+                int subsampling = Math.max(1, longestEdge / targetDimension);
+
+                ImageReadParam readParam = reader.getDefaultReadParam();
+
+                readParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                return reader.read(0, readParam);
+
+            } finally {
+
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage image, int maxDimension) {
+
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(image.getWidth(), image.getHeight()));
+
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        // JPEG has no alpha channel, so transparent areas are flattened onto white.
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D graphics = resized.createGraphics();
+
+        try {
+
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+
+        } finally {
+
+            graphics.dispose();
+        }
+
+        return resized;
+    }
+
+    private void write(BufferedImage image, Path derivativePath) throws IOException {
+
+        Files.createDirectories(derivativePath.getParent());
+
+        Path temporaryFile = Files.createTempFile(derivativePath.getParent(), ".derivative-", ".tmp");
+
+        try {
+
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+
+            try (ImageOutputStream outputStream = ImageIO.createImageOutputStream(temporaryFile.toFile())) {
+
+                ImageWriteParam writeParam = writer.getDefaultWriteParam();
+
+                writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                writeParam.setCompressionQuality(jpegQuality);
+
+                writer.setOutput(outputStream);
+                writer.write(null, new IIOImage(image, null, null), writeParam);
+
+            } finally {
+
+                writer.dispose();
+            }
+
+            Files.move(temporaryFile, derivativePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        } finally {
+
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static String getSuffix(PhotoSize size) {
+
+        return "-" + size.name().toLowerCase(Locale.ROOT) + ".jpg";
+    }
+
+    private static List<PhotoSize> sizesByDimensionDescending() {
+
+        return Arrays.stream(PhotoSize.values())
+                .sorted(Comparator.comparingInt(PhotoSize::getMaxDimension).reversed())
+                .toList();
+    }
+}
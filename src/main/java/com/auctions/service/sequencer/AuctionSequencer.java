@@ -0,0 +1,9 @@
+package com.auctions.service.sequencer;
+
+import java.util.function.Supplier;
+
+public interface AuctionSequencer {
+
+    <T> T submit(Integer auctionId, Supplier<T> operation);
+    void run(Integer auctionId, Runnable operation);
+}
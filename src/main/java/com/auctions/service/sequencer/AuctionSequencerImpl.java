@@ -0,0 +1,141 @@
+package com.auctions.service.sequencer;
+
+import com.auctions.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Serializes every state mutation of an auction on a single-threaded lane chosen by hashing the auction id, so
+ * operations on the same auction never race while different auctions proceed in parallel on the other lanes.
+ */
+@Service
+@Slf4j
+public class AuctionSequencerImpl implements AuctionSequencer {
+
+    private final List<ThreadPoolExecutor> lanes;
+    private final ThreadLocal<Integer> currentLane = new ThreadLocal<>();
+
+    public AuctionSequencerImpl(
+            @Value("${app.sequencer.lanes:0}") int lanes,
+            @Value("${app.sequencer.queue-capacity:10000}") int queueCapacity
+    ) {
+
+        int laneCount = lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors();
+
+        this.lanes = IntStream.range(0, laneCount)
+                .mapToObj(lane -> createLane(lane, queueCapacity))
+                .toList();
+
+        log.info("Auction sequencer started with {} lanes", laneCount);
+    }
+
+    @Override
+    public <T> T submit(Integer auctionId, Supplier<T> operation) {
+
+        int lane = getLane(auctionId);
+
+        // Operations already running on the auction lane are executed inline; queueing them would deadlock the lane.
+        if (Objects.equals(currentLane.get(), lane)) {
+
+            return operation.get();
+        }
+
+        Future<T> future;
+
+        try {
+
+            // The lane runs as the caller, so work keyed by the current user, such as remembering who wrote, sees them.
+            future = lanes.get(lane).submit(DelegatingSecurityContextCallable.create(operation::get, SecurityContextHolder.getContext()));
+
+        } catch (RejectedExecutionException e) {
+
+            throw new BusinessException("Too many pending operations for auction: " + auctionId);
+        }
+
+        try {
+
+            return future.get();
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+            throw new BusinessException("Interrupted while waiting for operation on auction: " + auctionId);
+
+        } catch (ExecutionException e) {
+
+            throw unwrap(e.getCause());
+        }
+    }
+
+    @Override
+    public void run(Integer auctionId, Runnable operation) {
+
+        submit(auctionId, () -> {
+
+            operation.run();
+
+            return null;
+        });
+    }
+
+    int getLaneCount() {
+
+        return lanes.size();
+    }
+
+    int getLane(Integer auctionId) {
+
+        return Math.floorMod(Objects.hashCode(auctionId), lanes.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        lanes.forEach(ExecutorService::shutdown);
+    }
+
+    private ThreadPoolExecutor createLane(int lane, int queueCapacity) {
+
+        return new ThreadPoolExecutor(
+                1,
+                1,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(() -> {
+                        currentLane.set(lane);
+                        runnable.run();
+                    }, "auction-lane-" + lane);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+
+        if (cause instanceof RuntimeException runtimeException) {
+
+            return runtimeException;
+        }
+
+        if (cause instanceof Error error) {
+
+            throw error;
+        }
+
+        return new BusinessException("Failed to execute auction operation: " + cause.getMessage());
+    }
+}
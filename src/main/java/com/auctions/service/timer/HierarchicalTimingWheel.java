@@ -0,0 +1,158 @@
+package com.auctions.service.timer;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel keyed by absolute tick numbers. Level {@code n} has slots of {@code tick * wheelSize^n};
+ * timeouts far in the future sit in coarse levels and cascade down as the wheel reaches their slot, so scheduling is
+ * O(1) and advancing costs one bucket per elapsed tick. A timeout is never returned before its deadline and at most
+ * one tick after it.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<List<Deque<Timeout<T>>>> levels = new ArrayList<>();
+    private final List<Timeout<T>> overdue = new ArrayList<>();
+
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, Instant start) {
+
+        if (tickMillis <= 0 || wheelSize < 2) {
+
+            throw new IllegalArgumentException("Timing wheel needs a positive tick and at least two slots per level");
+        }
+
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTick = Math.floorDiv(start.toEpochMilli(), tickMillis);
+    }
+
+    public synchronized void schedule(T item, Instant deadline) {
+
+        place(new Timeout<>(item, deadline));
+
+        size++;
+    }
+
+    public synchronized List<Timeout<T>> advance(Instant now) {
+
+        long targetTick = Math.floorDiv(now.toEpochMilli(), tickMillis);
+
+        List<Timeout<T>> expired = new ArrayList<>(overdue);
+
+        overdue.clear();
+
+        while (currentTick < targetTick) {
+
+            if (size == expired.size()) {
+
+                currentTick = targetTick;
+
+                break;
+            }
+
+            cascade();
+
+            expired.addAll(drain(0, currentTick));
+
+            currentTick++;
+        }
+
+        size -= expired.size();
+
+        return expired;
+    }
+
+    public synchronized int size() {
+
+        return size;
+    }
+
+    private void place(Timeout<T> timeout) {
+
+        long deadlineTick = Math.floorDiv(timeout.deadline().toEpochMilli(), tickMillis);
+
+        if (deadlineTick < currentTick) {
+
+            overdue.add(timeout);
+
+            return;
+        }
+
+        long deadlineSlot = deadlineTick;
+        long currentSlot = currentTick;
+        int level = 0;
+
+        while (deadlineSlot - currentSlot >= wheelSize) {
+
+            deadlineSlot /= wheelSize;
+            currentSlot /= wheelSize;
+            level++;
+        }
+
+        bucket(level, deadlineSlot).add(timeout);
+    }
+
+    private void cascade() {
+
+        long levelTicks = 1;
+        int highestLevel = 0;
+
+        // Find the coarsest level whose slot starts at the current tick, then move its timeouts down level by level.
+        while (highestLevel + 1 < levels.size() && currentTick % (levelTicks * wheelSize) == 0) {
+
+            levelTicks *= wheelSize;
+            highestLevel++;
+        }
+
+        for (int level = highestLevel; level > 0; level--) {
+
+            drain(level, currentTick / levelTicks).forEach(this::place);
+
+            levelTicks /= wheelSize;
+        }
+    }
+
+    private List<Timeout<T>> drain(int level, long slot) {
+
+        if (level >= levels.size()) {
+
+            return List.of();
+        }
+
+        Deque<Timeout<T>> bucket = levels.get(level).get((int) Math.floorMod(slot, (long) wheelSize));
+
+        List<Timeout<T>> drained = new ArrayList<>(bucket);
+
+        bucket.clear();
+
+        return drained;
+    }
+
+    private Deque<Timeout<T>> bucket(int level, long slot) {
+
+        while (levels.size() <= level) {
+
+            List<Deque<Timeout<T>>> buckets = new ArrayList<>(wheelSize);
+
+            for (int i = 0; i < wheelSize; i++) {
+
+                buckets.add(new ArrayDeque<>());
+            }
+
+            levels.add(buckets);
+        }
+
+        return levels.get(level).get((int) Math.floorMod(slot, (long) wheelSize));
+    }
+
+    public record Timeout<T>(T item, Instant deadline) {
+    }
+}
@@ -1,12 +1,11 @@
 package com.auctions.service.user;
 
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.user.User;
 
-import java.util.List;
-
 public interface UserService {
 
-    List<User> getAllUsers();
+    CursorPage<User> getUserPage(String cursor, Integer limit);
     User getUserById(Integer id);
     User createUser(User user);
     User updateUser(Integer id, User userDetails);
@@ -4,11 +4,17 @@ import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.user.User;
 import com.auctions.exception.InvalidParameterException;
 import com.auctions.persistence.entity.UserEntity;
 import com.auctions.mapper.user.UserEntityToUserMapper;
 import com.auctions.persistence.repository.LotRepository;
+import com.auctions.service.auth.PrincipalCache;
+import com.auctions.service.invalidation.CacheInvalidationService;
+import com.auctions.service.invalidation.InvalidationType;
+import com.auctions.service.page.PageCursor;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,14 +33,20 @@ public class UserServiceImpl implements UserService {
     private final LotRepository lotRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserEntityToUserMapper userEntityToUserMapper;
+    private final PrincipalCache principalCache;
+    private final CacheInvalidationService cacheInvalidationService;
 
-    public List<User> getAllUsers() {
+    @Transactional(readOnly = true)
+    public CursorPage<User> getUserPage(String cursor, Integer limit) {
 
-        return userRepository.findAll()
-                .stream().map(userEntityToUserMapper::map)
-                .toList();
+        int pageLimit = PageCursor.limit(limit);
+
+        List<UserEntity> userEntities = userRepository.findByIdGreaterThanOrderById(PageCursor.decode(cursor), Limit.of(pageLimit + 1));
+
+        return PageCursor.page(userEntities, pageLimit, UserEntity::getId, userEntityToUserMapper::map);
     }
 
+    @Transactional(readOnly = true)
     public User getUserById(Integer id) {
 
         return userRepository.findById(id)
@@ -93,6 +105,10 @@ public class UserServiceImpl implements UserService {
 
             UserEntity updatedUserEntity = userRepository.save(userEntity);
 
+            principalCache.evict(id);
+
+            cacheInvalidationService.publish(InvalidationType.USER, id);
+
             return userEntityToUserMapper.map(updatedUserEntity);
 
         } catch(Exception e) {
@@ -166,6 +182,10 @@ public class UserServiceImpl implements UserService {
         }
 
         userRepository.deleteById(id);
+
+        principalCache.evict(id);
+
+        cacheInvalidationService.publish(InvalidationType.USER, id);
     }
 
     private UserEntity findByIdOrThrowException(Integer id) {
@@ -0,0 +1,21 @@
+package com.auctions.task.auction;
+
+import com.auctions.service.closing.AuctionClosingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionClosingTask {
+
+    private final AuctionClosingService auctionClosingService;
+
+    @Scheduled(cron = "${task.auction-closing.cron}")
+    public void closeDueAuctions() {
+
+        log.debug("Reconciliation closed {} auctions", auctionClosingService.closeDueAuctions());
+    }
+}
@@ -0,0 +1,19 @@
+package com.auctions.task.bid;
+
+import com.auctions.service.expiry.BidExpiryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BidExpiryTask {
+
+    private final BidExpiryService bidExpiryService;
+
+    @Scheduled(fixedDelayString = "${task.bid-expiry.fixed-delay}")
+    public void expireDueBids() {
+
+        bidExpiryService.expireDueBids();
+    }
+}
@@ -0,0 +1,20 @@
+package com.auctions.task.datasource;
+
+import com.auctions.persistence.datasource.ReplicaRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ReplicaHealthTask {
+
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource;
+
+    @Scheduled(fixedDelayString = "${task.replica-health.fixed-delay}")
+    public void checkReplicaHealth() {
+
+        replicaRoutingDataSource.ifAvailable(ReplicaRoutingDataSource::checkHealth);
+    }
+}
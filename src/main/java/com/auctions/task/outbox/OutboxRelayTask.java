@@ -0,0 +1,19 @@
+package com.auctions.task.outbox;
+
+import com.auctions.service.outbox.OutboxRelay;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxRelayTask {
+
+    private final OutboxRelay outboxRelay;
+
+    @Scheduled(fixedDelayString = "${task.outbox-relay.fixed-delay}")
+    public void relay() {
+
+        outboxRelay.relay();
+    }
+}
@@ -0,0 +1,26 @@
+package com.auctions.task.payment;
+
+import com.auctions.service.payment.PaymentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CancelPaymentLinkTask {
+
+    private final PaymentService paymentService;
+
+    @Scheduled(fixedDelayString = "${task.payment-link-cancel.fixed-delay}")
+    public void cancelPaymentLinks() {
+
+        int cancelledLinks = paymentService.cancelQueuedPaymentLinks();
+
+        if (cancelledLinks > 0) {
+
+            log.info("Cancelled {} queued payment links", cancelledLinks);
+        }
+    }
+}
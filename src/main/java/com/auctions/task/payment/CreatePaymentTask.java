@@ -1,56 +1,92 @@
 package com.auctions.task.payment;
 
+import com.auctions.domain.auction.ClosedAuction;
 import com.auctions.domain.payment.Payment;
-import com.auctions.domain.payment.PaymentState;
 import com.auctions.service.accounting.AccountingService;
-import com.auctions.service.auction.AuctionService;
 import com.auctions.service.payment.PaymentService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class CreatePaymentTask {
 
-    private final AuctionService auctionService;
     private final PaymentService paymentService;
     private final AccountingService accountingService;
+    private final int chunkSize;
+    private final Duration highWaterMarkOverlap;
+
+    public CreatePaymentTask(
+            PaymentService paymentService,
+            AccountingService accountingService,
+            @Value("${task.payment-create.chunk-size:100}") int chunkSize,
+            @Value("${task.payment-create.high-water-mark-overlap:PT5M}") Duration highWaterMarkOverlap
+    ) {
+
+        this.paymentService = paymentService;
+        this.accountingService = accountingService;
+        this.chunkSize = chunkSize;
+        this.highWaterMarkOverlap = highWaterMarkOverlap;
+    }
 
     @Scheduled(cron = "${task.payment-create.cron}")
-    @Transactional
     public void createPayment() {
 
-        auctionService.getAllAuctions().forEach(auction -> {
+        // Auctions closed before the stored mark already got a payment in an earlier run, on this or another instance.
+        Instant highWaterMark = paymentService.getPaymentHighWaterMark();
+        Instant closedAfter = highWaterMark;
+        Integer afterAuctionId = 0;
+        int createdPayments = 0;
 
-            Integer auctionId = auction.getId();
+        List<ClosedAuction> closedAuctions;
 
-            List<Payment> listAuctionPayments = paymentService.getPaymentsByAuctionId(auctionId);
+        do {
 
-            boolean isThereAnyPaymentDone = listAuctionPayments.stream().anyMatch(payment -> payment.getState() == PaymentState.DONE);
+            closedAuctions = paymentService.getUnpaidClosedAuctions(closedAfter, afterAuctionId, chunkSize);
 
-            boolean isThereAnyPaymentCreated = listAuctionPayments.stream().anyMatch(payment -> payment.getState() == PaymentState.CREATED);
+            if (closedAuctions.isEmpty()) {
 
-            if (!isThereAnyPaymentDone && !isThereAnyPaymentCreated) {
+                break;
+            }
 
-                BigDecimal amount = accountingService.getAuctionCost(auctionId);
+            List<Payment> payments = closedAuctions.stream()
+                    .map(this::createAuctionPayment)
+                    .toList();
 
-                Payment payment = Payment
-                        .builder()
-                        .amount(amount)
-                        .auctionId(auctionId)
-                        .build();
+            createdPayments += paymentService.createPayments(payments).size();
 
-                Payment createdPayment = paymentService.createPayment(payment, null);
+            ClosedAuction lastClosedAuction = closedAuctions.get(closedAuctions.size() - 1);
 
-                log.info("Created payment id {} for auction id {}", createdPayment.getId(), auctionId);
-            }
-        });
+            closedAfter = lastClosedAuction.getClosedAt();
+            afterAuctionId = lastClosedAuction.getId();
+
+        } while (closedAuctions.size() == chunkSize);
+
+        // Auctions are stamped with their transaction start time, so one that commits late can carry an older
+        // timestamp than those already seen; the overlap re-reads that window and the anti-join skips paid auctions.
+        Instant nextHighWaterMark = closedAfter.minus(highWaterMarkOverlap);
+
+        if (nextHighWaterMark.isAfter(highWaterMark)) {
+
+            paymentService.advancePaymentHighWaterMark(nextHighWaterMark);
+        }
+
+        log.info("Created {} payments for closed auctions", createdPayments);
+    }
+
+    private Payment createAuctionPayment(ClosedAuction closedAuction) {
+
+        return Payment
+                .builder()
+                .amount(accountingService.getAuctionCost(closedAuction.getId()))
+                .auctionId(closedAuction.getId())
+                .createdByUserId(closedAuction.getCreatedByUserId())
+                .build();
     }
-}
\ No newline at end of file
+}
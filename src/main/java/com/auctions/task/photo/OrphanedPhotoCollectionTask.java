@@ -0,0 +1,21 @@
+package com.auctions.task.photo;
+
+import com.auctions.service.photo.OrphanedPhotoCollector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrphanedPhotoCollectionTask {
+
+    private final OrphanedPhotoCollector orphanedPhotoCollector;
+
+    @Scheduled(fixedDelayString = "${task.photo-gc.fixed-delay}")
+    public void collectOrphanedPhotos() {
+
+        log.debug("Orphaned photo collection reclaimed {} bytes", orphanedPhotoCollector.collect());
+    }
+}
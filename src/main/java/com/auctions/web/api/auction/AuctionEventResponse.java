@@ -0,0 +1,21 @@
+package com.auctions.web.api.auction;
+
+import com.auctions.domain.auction.AuctionEventType;
+import com.auctions.domain.auction.AuctionState;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Builder
+@Data
+public class AuctionEventResponse {
+
+    private final AuctionEventType type;
+    private final Integer auctionId;
+    private final AuctionState auctionState;
+    private final Integer bidId;
+    private final BigDecimal bidAmount;
+    private final Instant occurredAt;
+}
@@ -0,0 +1,16 @@
+package com.auctions.web.api.auction;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Builder
+@Data
+public class AuctionPriceResponse {
+
+    private final Integer auctionId;
+    private final BigDecimal currentPrice;
+    private final Integer bestBidId;
+    private final long bidCount;
+}
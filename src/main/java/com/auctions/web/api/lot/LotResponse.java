@@ -12,4 +12,5 @@ public class LotResponse {
     private final String surname;
     private final Integer createdByUserId;
     private final Integer lastModifiedByUserId;
+    private final String photoUrl;
 } 
\ No newline at end of file
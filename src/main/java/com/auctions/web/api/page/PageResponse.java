@@ -0,0 +1,14 @@
+package com.auctions.web.api.page;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@Data
+public class PageResponse<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+}
@@ -1,18 +1,26 @@
 package com.auctions.web.controller;
 
+import com.auctions.domain.auction.Auction;
+import com.auctions.domain.auction.AuctionFilter;
+import com.auctions.domain.auction.AuctionState;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.exception.ControllerException;
 import com.auctions.mapper.auction.AuctionCreateRequestToAuctionMapper;
+import com.auctions.mapper.auction.AuctionPriceToAuctionPriceResponseMapper;
 import com.auctions.mapper.auction.AuctionToAuctionResponseMapper;
 import com.auctions.mapper.auction.AuctionUpdateRequestToAuctionMapper;
 import com.auctions.service.auction.AuctionService;
 import com.auctions.service.auth.AuthService;
 import com.auctions.web.api.auction.AuctionCreateRequest;
+import com.auctions.web.api.auction.AuctionEventResponse;
+import com.auctions.web.api.auction.AuctionPriceResponse;
 import com.auctions.web.api.auction.AuctionResponse;
 import com.auctions.web.api.auction.AuctionUpdateRequest;
 import com.auctions.web.api.error.ErrorResponse;
+import com.auctions.web.api.page.PageResponse;
+import com.auctions.web.sse.AuctionEventEmitterFactory;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -24,8 +32,8 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -43,23 +51,43 @@ public class AuctionController {
     private final AuctionCreateRequestToAuctionMapper auctionCreateRequestToAuctionMapper;
     private final AuctionUpdateRequestToAuctionMapper auctionUpdateRequestToAuctionMapper;
     private final AuctionToAuctionResponseMapper auctionToAuctionResponseMapper;
+    private final AuctionPriceToAuctionPriceResponseMapper auctionPriceToAuctionPriceResponseMapper;
+    private final AuctionEventEmitterFactory auctionEventEmitterFactory;
 
-    @Operation(summary = "Get all auctions", description = "Retrieve a list of all auctions in the system")
+    @Operation(summary = "Get auctions", description = "Retrieve a page of auctions ordered by ID, optionally filtered by state, lot and creator")
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "Successfully retrieved auctions",
-                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = AuctionResponse.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor, limit or filter",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @GetMapping
-    public List<AuctionResponse> getAllAuctions() {
+    public PageResponse<AuctionResponse> getAuctions(
+            @Parameter(description = "Auction state") @RequestParam(required = false) AuctionState state,
+            @Parameter(description = "Lot ID") @RequestParam(required = false) Integer lotId,
+            @Parameter(description = "ID of the user who created the auction") @RequestParam(required = false) Integer createdBy,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of auctions to return; at most 200") @RequestParam(required = false) Integer limit
+    ) {
 
-        return auctionService
-                .getAllAuctions()
-                .stream()
-                .map(auctionToAuctionResponseMapper::map)
-                .toList();
+        AuctionFilter auctionFilter = AuctionFilter.builder()
+                .state(state)
+                .lotId(lotId)
+                .createdByUserId(createdBy)
+                .build();
+
+        CursorPage<Auction> auctionPage = auctionService.getAuctionPage(auctionFilter, cursor, limit);
+
+        return PageResponse.<AuctionResponse>builder()
+                .items(auctionPage.getItems().stream().map(auctionToAuctionResponseMapper::map).toList())
+                .nextCursor(auctionPage.getNextCursor())
+                .build();
     }
 
     @Operation(summary = "Get auction by ID", description = "Retrieve a specific auction by ID")
@@ -84,6 +112,57 @@ public class AuctionController {
                 .orElseThrow(ControllerException::new);
     }
 
+    @Operation(summary = "Get auction current price", description = "Retrieve the current best bid and bid count of an ongoing auction")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved auction current price",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuctionPriceResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Auction is not ongoing",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Auction not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping("/{id}/price")
+    public AuctionPriceResponse getAuctionPrice(@Parameter(description = "Auction ID", required = true) @PathVariable Integer id) {
+
+        return Optional.of(id)
+                .map(auctionService::getAuctionPrice)
+                .map(auctionPriceToAuctionPriceResponseMapper::map)
+                .orElseThrow(ControllerException::new);
+    }
+
+    @Operation(
+            summary = "Stream auction events",
+            description = "Stream bids and state changes of an auction as server-sent events, named after the event type"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Event stream opened",
+                    content = @Content(mediaType = "text/event-stream", schema = @Schema(implementation = AuctionEventResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Auction not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getAuctionEvents(@Parameter(description = "Auction ID", required = true) @PathVariable Integer id) {
+
+        auctionService.getAuctionById(id);
+
+        return auctionEventEmitterFactory.createEmitter(id);
+    }
+
     @Operation(summary = "Create new auction", description = "Create a new auction by providing lot ID, and start and stop times")
     @ApiResponses({
             @ApiResponse(
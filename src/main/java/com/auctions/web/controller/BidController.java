@@ -1,5 +1,9 @@
 package com.auctions.web.controller;
 
+import com.auctions.domain.bid.Bid;
+import com.auctions.domain.bid.BidFilter;
+import com.auctions.domain.bid.BidState;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.exception.ControllerException;
 import com.auctions.mapper.bid.BidCreateRequestToBidMapper;
 import com.auctions.mapper.bid.BidToBidResponseMapper;
@@ -8,9 +12,9 @@ import com.auctions.service.bid.BidService;
 import com.auctions.web.api.bid.BidCreateRequest;
 import com.auctions.web.api.bid.BidResponse;
 import com.auctions.web.api.error.ErrorResponse;
+import com.auctions.web.api.page.PageResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -23,7 +27,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -41,22 +44,40 @@ public class BidController {
     private final BidCreateRequestToBidMapper bidCreateRequestToBidMapper;
     private final BidToBidResponseMapper bidToBidResponseMapper;
 
-    @Operation(summary = "Get all bids", description = "Retrieve a list of all bids in the system")
+    @Operation(summary = "Get bids", description = "Retrieve a page of bids ordered by ID, optionally filtered by state, auction and creator")
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "Successfully retrieved bids",
-                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = BidResponse.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor, limit or filter",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @GetMapping
-    public List<BidResponse> getAllBids() {
+    public PageResponse<BidResponse> getBids(
+            @Parameter(description = "Bid state") @RequestParam(required = false) BidState state,
+            @Parameter(description = "Auction ID") @RequestParam(required = false) Integer auctionId,
+            @Parameter(description = "ID of the user who created the bid") @RequestParam(required = false) Integer createdBy,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of bids to return; at most 200") @RequestParam(required = false) Integer limit
+    ) {
 
-        return bidService
-                .getAllBids()
-                .stream()
-                .map(bidToBidResponseMapper::map)
-                .toList();
+        BidFilter bidFilter = BidFilter.builder()
+                .state(state)
+                .auctionId(auctionId)
+                .createdByUserId(createdBy)
+                .build();
+
+        CursorPage<Bid> bidPage = bidService.getBidPage(bidFilter, cursor, limit);
+
+        return PageResponse.<BidResponse>builder()
+                .items(bidPage.getItems().stream().map(bidToBidResponseMapper::map).toList())
+                .nextCursor(bidPage.getNextCursor())
+                .build();
     }
 
     @Operation(summary = "Get bid by ID", description = "Retrieve a specific bid by ID")
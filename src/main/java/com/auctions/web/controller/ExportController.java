@@ -0,0 +1,73 @@
+package com.auctions.web.controller;
+
+import com.auctions.service.export.ExportFormat;
+import com.auctions.service.export.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/admin/export")
+@RequiredArgsConstructor
+@Tag(name = "Export", description = "Admin APIs for streaming full table exports")
+@ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Export streamed as NDJSON or CSV", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Access denied", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content)
+})
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @Operation(summary = "Export auctions", description = "Stream all auctions ordered by ID")
+    @GetMapping("/auctions")
+    public ResponseEntity<StreamingResponseBody> exportAuctions(
+            @Parameter(description = "Export format") @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    ) {
+
+        return createExportResponse("auctions", format, outputStream -> exportService.exportAuctions(format, outputStream));
+    }
+
+    @Operation(summary = "Export bids", description = "Stream all bids ordered by ID")
+    @GetMapping("/bids")
+    public ResponseEntity<StreamingResponseBody> exportBids(
+            @Parameter(description = "Export format") @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    ) {
+
+        return createExportResponse("bids", format, outputStream -> exportService.exportBids(format, outputStream));
+    }
+
+    @Operation(summary = "Export payments", description = "Stream all payments ordered by ID")
+    @GetMapping("/payments")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @Parameter(description = "Export format") @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    ) {
+
+        return createExportResponse("payments", format, outputStream -> exportService.exportPayments(format, outputStream));
+    }
+
+    private ResponseEntity<StreamingResponseBody> createExportResponse(String name, ExportFormat format, StreamingResponseBody body) {
+
+        ContentDisposition contentDisposition = ContentDisposition.attachment()
+                .filename(name + "." + format.getFileExtension())
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                .body(body);
+    }
+}
@@ -3,11 +3,14 @@ package com.auctions.web.controller;
 import java.util.stream.Collectors;
 
 import com.auctions.exception.BusinessException;
+import com.auctions.exception.ConflictException;
 import com.auctions.exception.ControllerException;
 import com.auctions.exception.InvalidParameterException;
 import com.auctions.exception.ResourceNotFoundException;
 import com.auctions.web.api.error.ErrorResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
@@ -36,6 +39,16 @@ public class GlobalExceptionHandler {
         return createErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(ConflictException ex) {
+        return createErrorResponse(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return createErrorResponse(HttpStatus.CONFLICT, "Resource was modified concurrently. Please reload it and try again.");
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleBadCredentialsException(BadCredentialsException ex) {
         return createErrorResponse(HttpStatus.UNAUTHORIZED, "Invalid username or password");
@@ -109,6 +122,7 @@ public class GlobalExceptionHandler {
 
     private ResponseEntity<ErrorResponse> createErrorResponse(HttpStatus status, String message) {
         ErrorResponse error = new ErrorResponse(status.value(), message);
-        return new ResponseEntity<>(error, status);
+        // Fixed content type, so errors of event stream requests are still written despite their Accept header.
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 } 
\ No newline at end of file
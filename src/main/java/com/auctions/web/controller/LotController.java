@@ -1,11 +1,14 @@
 package com.auctions.web.controller;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.List;
+import java.time.Duration;
 import java.util.Optional;
 
+import com.auctions.domain.lot.Lot;
+import com.auctions.domain.lot.LotFilter;
+import com.auctions.domain.lot.LotPhoto;
+import com.auctions.domain.lot.PhotoSize;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.mapper.lot.LotCreateRequestToLotMapper;
 import com.auctions.mapper.lot.LotUpdateRequestToLotMapper;
 import com.auctions.web.api.error.ErrorResponse;
@@ -13,9 +16,11 @@ import com.auctions.web.api.lot.LotCreateRequest;
 import com.auctions.exception.ControllerException;
 import com.auctions.mapper.lot.LotToLotResponseMapper;
 import com.auctions.web.api.lot.LotUpdateRequest;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import com.auctions.web.api.page.PageResponse;
+import com.auctions.web.photo.PhotoResponseWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -46,28 +51,45 @@ import org.springframework.web.multipart.MultipartFile;
 })
 public class LotController {
 
+    private static final Duration PHOTO_MAX_AGE = Duration.ofDays(365);
+
     private final LotService lotService;
     private final AuthService authService;
     private final LotCreateRequestToLotMapper lotCreateRequestToLotMapper;
     private final LotUpdateRequestToLotMapper lotUpdateRequestToLotMapper;
     private final LotToLotResponseMapper lotToLotResponseMapper;
+    private final PhotoResponseWriter photoResponseWriter;
 
-    @Operation(summary = "Get all lots", description = "Retrieve a list of all lots in the system")
+    @Operation(summary = "Get lots", description = "Retrieve a page of lots ordered by ID, optionally filtered by creator")
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "Successfully retrieved lots",
-                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = LotResponse.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or limit",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @GetMapping
-    public List<LotResponse> getAllLots() {
+    public PageResponse<LotResponse> getLots(
+            @Parameter(description = "ID of the user who created the lot") @RequestParam(required = false) Integer createdBy,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of lots to return; at most 200") @RequestParam(required = false) Integer limit
+    ) {
 
-        return lotService
-                .getAllLots()
-                .stream()
-                .map(lotToLotResponseMapper::map)
-                .toList();
+        LotFilter lotFilter = LotFilter.builder()
+                .createdByUserId(createdBy)
+                .build();
+
+        CursorPage<Lot> lotPage = lotService.getLotPage(lotFilter, cursor, limit);
+
+        return PageResponse.<LotResponse>builder()
+                .items(lotPage.getItems().stream().map(lotToLotResponseMapper::map).toList())
+                .nextCursor(lotPage.getNextCursor())
+                .build();
     }
 
     @Operation(summary = "Get lot by ID", description = "Retrieve a specific lot by ID")
@@ -154,32 +176,61 @@ public class LotController {
         lotService.deleteLot(id);
     }
 
-    @Operation(summary = "Update lot photo", description = "Update an existing lot's photo.")
+    @Operation(summary = "Update lot photo", description = "Update an existing lot's photo from a form upload. The image type is taken from its content; JPEG, PNG, GIF and WebP are accepted.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Lot photo successfully updated"),
+            @ApiResponse(responseCode = "400", description = "Unsupported image type or photo too large"),
             @ApiResponse(responseCode = "404", description = "Lot not found")
     })
     @PostMapping(path = "/{id}/photo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public void updateLotPhoto(
             @Parameter(description = "Lot ID", required = true) @PathVariable Integer id,
             @RequestParam("file") MultipartFile file
-    ) {
+    ) throws IOException {
 
-        lotService.updateLotPhoto(id, file, authService.getCurrentUser());
+        lotService.updateLotPhoto(id, file.getInputStream(), file.getSize(), authService.getCurrentUser());
     }
 
-    @Operation(summary = "Get Lot photo", description = "Get an existing lot's photo.")
+    @Operation(summary = "Upload lot photo", description = "Update an existing lot's photo sent as the request body, which is streamed to storage without being buffered first. The image type is taken from its content; JPEG, PNG, GIF and WebP are accepted.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Lot photo"),
+            @ApiResponse(responseCode = "200", description = "Lot photo successfully updated"),
+            @ApiResponse(responseCode = "400", description = "Unsupported image type or photo too large"),
             @ApiResponse(responseCode = "404", description = "Lot not found")
     })
+    @PostMapping(path = "/{id}/photo", consumes = "image/*")
+    public void uploadLotPhoto(
+            @Parameter(description = "Lot ID", required = true) @PathVariable Integer id,
+            HttpServletRequest request
+    ) throws IOException {
+
+        lotService.updateLotPhoto(id, request.getInputStream(), request.getContentLengthLong(), authService.getCurrentUser());
+    }
+
+    @Operation(summary = "Get Lot photo", description = "Get an existing lot's photo, or a resized JPEG of it once rendered. Supports ETag and Last-Modified revalidation and single byte ranges; with the version from the lot's photoUrl it may be cached indefinitely.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lot photo"),
+            @ApiResponse(responseCode = "206", description = "Requested range of the lot photo"),
+            @ApiResponse(responseCode = "304", description = "Lot photo not modified"),
+            @ApiResponse(responseCode = "404", description = "Lot not found"),
+            @ApiResponse(responseCode = "416", description = "Requested range not satisfiable")
+    })
     @GetMapping(path = "/{id}/photo")
-    public ResponseEntity<Resource> getLotPhoto(@Parameter(description = "Lot ID", required = true) @PathVariable Integer id) throws IOException {
+    public void getLotPhoto(
+            @Parameter(description = "Lot ID", required = true) @PathVariable Integer id,
+            @Parameter(description = "Photo version from the lot's photoUrl") @RequestParam(name = "v", required = false) String version,
+            @Parameter(description = "Photo size; the original is served until it is rendered") @RequestParam(required = false) PhotoSize size,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+
+        LotPhoto photo = lotService.getLotPhoto(id, size);
 
-        Path photoPath = lotService.getLotPhotoPath(id);
+        // A versioned URL names one photo for good; the plain URL, or the original standing in for a derivative that is
+        // still rendering, is revalidated on every use.
+        CacheControl cacheControl = photo.getVersion().equals(version) && photo.getSize() == size
+                ? CacheControl.maxAge(PHOTO_MAX_AGE).cachePrivate().immutable()
+                : CacheControl.noCache().cachePrivate();
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(Files.probeContentType(photoPath)))
-                .body(new UrlResource(photoPath.toUri()));
+        photoResponseWriter.write(photo, cacheControl, request, response);
     }
-}
\ No newline at end of file
+}
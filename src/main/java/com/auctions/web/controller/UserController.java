@@ -1,9 +1,11 @@
 package com.auctions.web.controller;
 
-import java.util.List;
 import java.util.Optional;
 
+import com.auctions.domain.page.CursorPage;
+import com.auctions.domain.user.User;
 import com.auctions.web.api.error.ErrorResponse;
+import com.auctions.web.api.page.PageResponse;
 import com.auctions.web.api.user.UserCreateRequest;
 import com.auctions.web.api.user.UserResponse;
 import com.auctions.web.api.user.UserUpdateRequest;
@@ -11,7 +13,6 @@ import com.auctions.exception.ControllerException;
 import com.auctions.mapper.user.UserCreateRequestToUserMapper;
 import com.auctions.mapper.user.UserToUserResponseMapper;
 import com.auctions.mapper.user.UserUpdateRequestToUserMapper;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.auctions.service.user.UserService;
@@ -49,18 +51,31 @@ public class UserController {
     private final UserCreateRequestToUserMapper userCreateRequestToUserMapper;
     private final UserUpdateRequestToUserMapper userUpdateRequestToUserMapper;
 
-    @Operation(summary = "Get all users", description = "Retrieve a list of all users in the system")
+    @Operation(summary = "Get users", description = "Retrieve a page of users ordered by ID")
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "Successfully retrieved users",
-                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = UserResponse.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or limit",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @GetMapping
-    public List<UserResponse> getAllUsers() {
+    public PageResponse<UserResponse> getUsers(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of users to return; at most 200") @RequestParam(required = false) Integer limit
+    ) {
+
+        CursorPage<User> userPage = userService.getUserPage(cursor, limit);
 
-        return userService.getAllUsers().stream().map(userToUserResponseMapper::map).toList();
+        return PageResponse.<UserResponse>builder()
+                .items(userPage.getItems().stream().map(userToUserResponseMapper::map).toList())
+                .nextCursor(userPage.getNextCursor())
+                .build();
     }
 
     @Operation(summary = "Get user by ID", description = "Retrieve a specific user by their ID")
@@ -0,0 +1,80 @@
+package com.auctions.web.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps requests in progress at a multiple of the JDBC pool size. With virtual threads nothing else bounds them, and
+ * thousands of requests queueing on the pool would all time out together; here the excess waits briefly in FIFO order
+ * and is then turned away with 503. Async dispatches are not filtered, so a stream holds no permit while it is open.
+ */
+public class JdbcConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final Counter rejectedRequests;
+
+    public JdbcConcurrencyLimitFilter(int maxConcurrentRequests, Duration acquireTimeout, MeterRegistry meterRegistry) {
+
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+
+        this.rejectedRequests = Counter.builder("http.server.requests.rejected")
+                .description("Requests rejected because every JDBC-bound request slot stayed taken")
+                .register(meterRegistry);
+
+        Gauge.builder("http.server.requests.slots.available", permits, Semaphore::availablePermits)
+                .description("Free request slots of the JDBC concurrency limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!acquire()) {
+
+            rejectedRequests.increment();
+
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is at capacity");
+
+            return;
+        }
+
+        try {
+
+            filterChain.doFilter(request, response);
+
+        } finally {
+
+            permits.release();
+        }
+    }
+
+    private boolean acquire() {
+
+        try {
+
+            return permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+    }
+}
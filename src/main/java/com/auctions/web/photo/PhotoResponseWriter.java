@@ -0,0 +1,157 @@
+package com.auctions.web.photo;
+
+import com.auctions.domain.lot.LotPhoto;
+import com.auctions.exception.ResourceNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes a photo with validators from the database, answering {@code If-None-Match}/{@code If-Modified-Since} with
+ * 304 and a single {@code Range} with 206. On Tomcat the body is handed to the connector's sendfile, so the bytes go
+ * from the page cache to the socket without passing through the JVM; elsewhere it is copied with
+ * {@link FileChannel#transferTo}.
+ */
+@Component
+public class PhotoResponseWriter {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    public void write(LotPhoto photo, CacheControl cacheControl, HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        String etag = "\"" + photo.getEtag() + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // Sets ETag and Last-Modified, and the 304 when the client copy is current.
+        if (new ServletWebRequest(request, response).checkNotModified(etag, photo.getLastModified().toEpochMilli())) {
+
+            return;
+        }
+
+        long size = getSize(photo);
+        long start = 0;
+        long end = size - 1;
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+
+        if (range != null && isRangeApplicable(request, etag)) {
+
+            List<HttpRange> ranges = parseRanges(range);
+
+            // Several ranges would need a multipart body; answering with the whole photo is allowed instead.
+            if (ranges.size() == 1) {
+
+                start = ranges.get(0).getRangeStart(size);
+                end = ranges.get(0).getRangeEnd(size);
+
+                if (start >= size || start > end) {
+
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+
+                    return;
+                }
+
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = end - start + 1;
+
+        response.setContentType(photo.getContentType());
+        response.setContentLengthLong(length);
+
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+
+            request.setAttribute(SENDFILE_FILENAME, photo.getPath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+
+            return;
+        }
+
+        transfer(photo, start, length, response);
+    }
+
+    private static void transfer(LotPhoto photo, long start, long length, HttpServletResponse response) throws IOException {
+
+        try (FileChannel fileChannel = FileChannel.open(photo.getPath(), StandardOpenOption.READ)) {
+
+            WritableByteChannel responseChannel = Channels.newChannel(response.getOutputStream());
+
+            long position = start;
+            long remaining = length;
+
+            while (remaining > 0) {
+
+                long transferred = fileChannel.transferTo(position, remaining, responseChannel);
+
+                // The file shrank under us; the client sees a short body rather than a hung request.
+                if (transferred <= 0) {
+
+                    break;
+                }
+
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    private static long getSize(LotPhoto photo) throws IOException {
+
+        try {
+
+            return Files.size(photo.getPath());
+
+        } catch (NoSuchFileException e) {
+
+            throw new ResourceNotFoundException("Photo file not found: " + photo.getPath().getFileName());
+        }
+    }
+
+    private static boolean isRangeApplicable(HttpServletRequest request, String etag) {
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+
+        // A date or another entity tag means the client holds a different version and needs the whole photo.
+        return ifRange == null || ifRange.equals(etag);
+    }
+
+    private static List<HttpRange> parseRanges(String range) {
+
+        try {
+
+            return HttpRange.parseRanges(range);
+
+        } catch (IllegalArgumentException e) {
+
+            // A malformed Range header is ignored rather than rejected.
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.auctions.web.sse;
+
+import com.auctions.domain.auction.AuctionEvent;
+import com.auctions.mapper.auction.AuctionEventToAuctionEventResponseMapper;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.event.AuctionEventSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Opens server-sent event streams of auction events. Each event is named after its type; events a slow client missed
+ * are reported as one {@code EVENTS_DROPPED} event with their count, and heartbeats are sent as comments.
+ */
+@Component
+public class AuctionEventEmitterFactory {
+
+    static final String EVENTS_DROPPED = "EVENTS_DROPPED";
+
+    private final AuctionEventService auctionEventService;
+    private final AuctionEventToAuctionEventResponseMapper auctionEventToAuctionEventResponseMapper;
+    private final Duration timeout;
+
+    public AuctionEventEmitterFactory(
+            AuctionEventService auctionEventService,
+            AuctionEventToAuctionEventResponseMapper auctionEventToAuctionEventResponseMapper,
+            @Value("${app.auction-events.timeout:30m}") Duration timeout
+    ) {
+
+        this.auctionEventService = auctionEventService;
+        this.auctionEventToAuctionEventResponseMapper = auctionEventToAuctionEventResponseMapper;
+        this.timeout = timeout;
+    }
+
+    public SseEmitter createEmitter(Integer auctionId) {
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+
+        Runnable unsubscribe = auctionEventService.subscribe(auctionId, new EmitterSink(emitter));
+
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        return emitter;
+    }
+
+    private class EmitterSink implements AuctionEventSink {
+
+        private final SseEmitter emitter;
+
+        EmitterSink(SseEmitter emitter) {
+
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(List<AuctionEvent> events, int droppedEvents) throws IOException {
+
+            if (droppedEvents > 0) {
+
+                emitter.send(SseEmitter.event().name(EVENTS_DROPPED).data(droppedEvents));
+            }
+
+            for (AuctionEvent event : events) {
+
+                emitter.send(SseEmitter.event()
+                        .name(event.getType().name())
+                        .data(auctionEventToAuctionEventResponseMapper.map(event), MediaType.APPLICATION_JSON));
+            }
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void close(Exception cause) {
+
+            // Releases the async request; after a failed write the container may already have completed it.
+            emitter.completeWithError(cause);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.auctions.benchmark;
+
+import com.auctions.service.sequencer.AuctionSequencerImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot-auction workload: many client threads mutate a small set of auctions through the sequencer. Throughput should
+ * grow with the lane count until the lanes outnumber the cores or the hot auctions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@Threads(32)
+public class AuctionSequencerBenchmark {
+
+    private static final int HOT_AUCTIONS = 64;
+    private static final long BID_WORK_TOKENS = 2_000;
+
+    @Param({"1", "2", "4", "8"})
+    private int lanes;
+
+    private AuctionSequencerImpl auctionSequencer;
+    private long[] currentPrices;
+
+    @Setup
+    public void setUp() {
+
+        auctionSequencer = new AuctionSequencerImpl(lanes, 100_000);
+        currentPrices = new long[HOT_AUCTIONS];
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        auctionSequencer.shutdown();
+    }
+
+    @Benchmark
+    public long createBid() {
+
+        int auctionId = ThreadLocalRandom.current().nextInt(HOT_AUCTIONS);
+
+        // Unsynchronized read-modify-write: safe only because the sequencer serializes each auction on one lane.
+        return auctionSequencer.submit(auctionId, () -> {
+
+            Blackhole.consumeCPU(BID_WORK_TOKENS);
+
+            return ++currentPrices[auctionId];
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        new Runner(new OptionsBuilder()
+                .include(AuctionSequencerBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,143 @@
+package com.auctions.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load test against a running instance: {@code LOAD_CLIENTS} clients (2000 by default) each send
+ * {@code LOAD_REQUESTS_PER_CLIENT} authenticated requests back to back, and the latency percentiles are printed at
+ * the end. Run it once against an instance on platform threads and once against one started with
+ * {@code VIRTUAL_THREADS_ENABLED=true} on Java 21 to compare p99. The target defaults to
+ * {@code http://localhost:8080/api/auctions?limit=20} with the default admin; override it with {@code LOAD_BASE_URL},
+ * {@code LOAD_PATH}, {@code LOAD_USERNAME} and {@code LOAD_PASSWORD}.
+ */
+public class ConcurrentClientsLoadTest {
+
+    public static void main(String[] args) throws Exception {
+
+        String baseUrl = env("LOAD_BASE_URL", "http://localhost:8080");
+        String path = env("LOAD_PATH", "/api/auctions?limit=20");
+        int clients = Integer.parseInt(env("LOAD_CLIENTS", "2000"));
+        int requestsPerClient = Integer.parseInt(env("LOAD_REQUESTS_PER_CLIENT", "50"));
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        String token = login(httpClient, baseUrl, env("LOAD_USERNAME", "admin"), env("LOAD_PASSWORD", "admin123"));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        long[][] latencies = new long[clients][requestsPerClient];
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(clients);
+
+        for (int client = 0; client < clients; client++) {
+
+            long[] clientLatencies = latencies[client];
+
+            Thread thread = new Thread(() -> runClient(httpClient, request, clientLatencies, errors, start), "load-client-" + client);
+
+            thread.start();
+
+            threads.add(thread);
+        }
+
+        long startNanos = System.nanoTime();
+
+        start.countDown();
+
+        for (Thread thread : threads) {
+
+            thread.join();
+        }
+
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+        long[] sorted = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+
+        System.out.printf("clients=%d requests=%d errors=%d throughput=%.0f req/s%n",
+                clients, sorted.length, errors.get(), sorted.length / elapsedSeconds);
+        System.out.printf("p50=%.1f ms p90=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static void runClient(HttpClient httpClient, HttpRequest request, long[] latencies, AtomicInteger errors, CountDownLatch start) {
+
+        try {
+
+            start.await();
+
+            for (int i = 0; i < latencies.length; i++) {
+
+                long requestNanos = System.nanoTime();
+
+                try {
+
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+
+                        errors.incrementAndGet();
+                    }
+
+                } catch (IOException e) {
+
+                    errors.incrementAndGet();
+                }
+
+                latencies[i] = System.nanoTime() - requestNanos;
+            }
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String login(HttpClient httpClient, String baseUrl, String username, String password) throws Exception {
+
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of("username", username, "password", password))))
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+        if (response.statusCode() != 200) {
+
+            throw new IllegalStateException("Login failed with status " + response.statusCode());
+        }
+
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1e6;
+    }
+
+    private static String env(String name, String defaultValue) {
+
+        String value = System.getenv(name);
+
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
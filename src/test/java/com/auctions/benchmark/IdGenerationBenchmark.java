@@ -0,0 +1,153 @@
+package com.auctions.benchmark;
+
+import com.auctions.persistence.entity.EntityIds;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput for identity ids (one {@code INSERT ... RETURNING id} round-trip per row) against pooled-lo
+ * sequence ids (one {@code nextval} per block, rows sent as a rewritten JDBC batch). Scores are rows per second.
+ * Needs a running Postgres, by default the one from docker-compose; override it with {@code BENCHMARK_JDBC_URL},
+ * {@code BENCHMARK_JDBC_USER} and {@code BENCHMARK_JDBC_PASSWORD}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@OperationsPerInvocation(IdGenerationBenchmark.ROWS)
+public class IdGenerationBenchmark {
+
+    static final int ROWS = 500;
+
+    @Param({"identity", "pooled-lo"})
+    private String strategy;
+
+    private Connection connection;
+    private PreparedStatement identityInsert;
+    private PreparedStatement sequenceInsert;
+    private PreparedStatement nextval;
+
+    @Setup
+    public void setUp() throws SQLException {
+
+        Properties properties = new Properties();
+        properties.setProperty("user", env("BENCHMARK_JDBC_USER", "postgres"));
+        properties.setProperty("password", env("BENCHMARK_JDBC_PASSWORD", "postgres"));
+        properties.setProperty("reWriteBatchedInserts", "true");
+
+        connection = DriverManager.getConnection(
+                env("BENCHMARK_JDBC_URL", "jdbc:postgresql://localhost:5432/auctions_db"),
+                properties
+        );
+
+        try (Statement statement = connection.createStatement()) {
+
+            statement.execute("DROP TABLE IF EXISTS id_generation_benchmark");
+            statement.execute("DROP SEQUENCE IF EXISTS id_generation_benchmark_seq");
+            statement.execute("CREATE SEQUENCE id_generation_benchmark_seq INCREMENT BY " + EntityIds.ALLOCATION_SIZE);
+            statement.execute("CREATE TABLE id_generation_benchmark (id SERIAL PRIMARY KEY, amount NUMERIC NOT NULL)");
+        }
+
+        identityInsert = connection.prepareStatement(
+                "INSERT INTO id_generation_benchmark (amount) VALUES (?) RETURNING id"
+        );
+        sequenceInsert = connection.prepareStatement(
+                "INSERT INTO id_generation_benchmark (id, amount) VALUES (?, ?)"
+        );
+        nextval = connection.prepareStatement("SELECT nextval('id_generation_benchmark_seq')");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+
+        try (Statement statement = connection.createStatement()) {
+
+            statement.execute("DROP TABLE id_generation_benchmark");
+            statement.execute("DROP SEQUENCE id_generation_benchmark_seq");
+        }
+
+        connection.close();
+    }
+
+    @Benchmark
+    public long insertRows() throws SQLException {
+
+        return "identity".equals(strategy) ? insertWithIdentity() : insertWithPooledLo();
+    }
+
+    private long insertWithIdentity() throws SQLException {
+
+        long lastId = 0;
+
+        for (int i = 0; i < ROWS; i++) {
+
+            identityInsert.setInt(1, i);
+
+            try (ResultSet resultSet = identityInsert.executeQuery()) {
+
+                resultSet.next();
+
+                lastId = resultSet.getLong(1);
+            }
+        }
+
+        return lastId;
+    }
+
+    private long insertWithPooledLo() throws SQLException {
+
+        long id = 0;
+        long blockEnd = 0;
+
+        for (int i = 0; i < ROWS; i++) {
+
+            if (id == blockEnd) {
+
+                // pooled-lo: the sequence value is the first id of the block, the next ALLOCATION_SIZE - 1 are free.
+                try (ResultSet resultSet = nextval.executeQuery()) {
+
+                    resultSet.next();
+
+                    id = resultSet.getLong(1);
+                    blockEnd = id + EntityIds.ALLOCATION_SIZE;
+                }
+            }
+
+            sequenceInsert.setLong(1, id++);
+            sequenceInsert.setInt(2, i);
+            sequenceInsert.addBatch();
+
+            if ((i + 1) % EntityIds.ALLOCATION_SIZE == 0) {
+
+                sequenceInsert.executeBatch();
+            }
+        }
+
+        sequenceInsert.executeBatch();
+
+        return id;
+    }
+
+    private static String env(String name, String defaultValue) {
+
+        String value = System.getenv(name);
+
+        return value == null ? defaultValue : value;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        new Runner(new OptionsBuilder()
+                .include(IdGenerationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.auctions.benchmark;
+
+import com.auctions.security.AuthenticatedUser;
+import com.auctions.security.JwtAuthenticationFilter;
+import com.auctions.security.JwtTokenProvider;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token in the filter. With a cache size of 0 every request verifies the
+ * signature; otherwise repeated tokens are answered from the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "6XRS1r64JV7PxOaRs6L/u+G/uADZaoNd2+GLIaShUAI=";
+
+    @Param({"0", "10000"})
+    private long cacheMaximumSize;
+
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(SECRET, 3_600_000, cacheMaximumSize);
+
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(1, "bidder", "", true, authorities),
+                null,
+                authorities
+        );
+
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenProvider);
+        authorizationHeader = "Bearer " + jwtTokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public Authentication filterRequest() throws ServletException, IOException {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auctions");
+        request.addHeader("Authorization", authorizationHeader);
+
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        SecurityContextHolder.clearContext();
+
+        return authentication;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
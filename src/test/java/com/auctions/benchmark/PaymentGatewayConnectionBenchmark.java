@@ -0,0 +1,97 @@
+package com.auctions.benchmark;
+
+import com.auctions.service.payment.gateway.PaymentLinkRequest;
+import com.auctions.service.payment.gateway.StubPaymentGateway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payment creation against a pool of {@code POOL_SIZE} connections, modelled as a semaphore, with the stub gateway
+ * answering after {@code gatewayLatencyMillis}. Calling the gateway inside the transaction keeps a connection for the
+ * whole provider round trip, so throughput is capped at pool size over gateway latency; calling it before the
+ * transaction holds the connection only for the short write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(64)
+public class PaymentGatewayConnectionBenchmark {
+
+    private static final int POOL_SIZE = 10;
+    private static final long WRITE_MILLIS = 2;
+
+    @Param({"50", "200"})
+    private long gatewayLatencyMillis;
+
+    private StubPaymentGateway paymentGateway;
+    private Semaphore connectionPool;
+
+    @Setup
+    public void setUp() {
+
+        paymentGateway = new StubPaymentGateway(Duration.ofMillis(gatewayLatencyMillis));
+        connectionPool = new Semaphore(POOL_SIZE, true);
+    }
+
+    @Benchmark
+    public String gatewayInsideTransaction() throws InterruptedException {
+
+        connectionPool.acquire();
+
+        try {
+
+            String link = paymentGateway.createPaymentLink(createRequest());
+
+            Thread.sleep(WRITE_MILLIS);
+
+            return link;
+
+        } finally {
+
+            connectionPool.release();
+        }
+    }
+
+    @Benchmark
+    public String gatewayOutsideTransaction() throws InterruptedException {
+
+        String link = paymentGateway.createPaymentLink(createRequest());
+
+        connectionPool.acquire();
+
+        try {
+
+            Thread.sleep(WRITE_MILLIS);
+
+            return link;
+
+        } finally {
+
+            connectionPool.release();
+        }
+    }
+
+    private static PaymentLinkRequest createRequest() {
+
+        return new PaymentLinkRequest(UUID.randomUUID().toString(), BigDecimal.TEN);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        new Runner(new OptionsBuilder()
+                .include(PaymentGatewayConnectionBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
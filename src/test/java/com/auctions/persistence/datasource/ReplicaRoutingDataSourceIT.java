@@ -0,0 +1,166 @@
+package com.auctions.persistence.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the routing against two embedded Postgres instances. Nothing replicates between them; each holds a marker row
+ * naming it, so a query shows which one served the transaction.
+ */
+@SpringJUnitConfig(ReplicaRoutingDataSourceIT.Config.class)
+@AutoConfigureEmbeddedDatabase(type = POSTGRES, beanName = "primaryDataSource")
+@AutoConfigureEmbeddedDatabase(type = POSTGRES, beanName = "replicaDataSource")
+public class ReplicaRoutingDataSourceIT {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+
+        createMarker(primaryDataSource, "primary");
+        createMarker(replicaDataSource, "replica");
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void shouldRunReadOnlyTransactionsOnReplica() {
+
+        assertEquals("replica", readMarker(true));
+    }
+
+    @Test
+    public void shouldRunReadWriteTransactionsOnPrimary() {
+
+        assertEquals("primary", readMarker(false));
+    }
+
+    @Test
+    public void shouldPinCallerToPrimaryAfterWrite() {
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("bidder", null, List.of()));
+
+        assertEquals("replica", readMarker(true));
+
+        readMarker(false);
+
+        assertEquals("primary", readMarker(true));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("viewer", null, List.of()));
+
+        assertEquals("replica", readMarker(true));
+    }
+
+    @Test
+    public void shouldKeepHealthyReplicaInRotation() {
+
+        replicaRoutingDataSource.checkHealth();
+
+        assertEquals("replica", readMarker(true));
+    }
+
+    private String readMarker(boolean readOnly) {
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.setReadOnly(readOnly);
+
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT source FROM marker", String.class));
+    }
+
+    private static void createMarker(DataSource dataSource, String source) {
+
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+
+        template.execute("CREATE TABLE IF NOT EXISTS marker (source TEXT NOT NULL)");
+        template.update("DELETE FROM marker");
+        template.update("INSERT INTO marker (source) VALUES (?)", source);
+    }
+
+    @Configuration
+    static class Config {
+
+        @Bean
+        public ReadYourWritesGuard readYourWritesGuard() {
+
+            return new ReadYourWritesGuard(Duration.ofSeconds(5));
+        }
+
+        @Bean
+        public ReplicaRoutingDataSource replicaRoutingDataSource(
+                @Qualifier("primaryDataSource") DataSource primaryDataSource,
+                @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                ReadYourWritesGuard readYourWritesGuard
+        ) {
+
+            return new ReplicaRoutingDataSource(primaryDataSource, List.of(replicaDataSource), readYourWritesGuard, Duration.ofSeconds(30), Duration.ofSeconds(5), new SimpleMeterRegistry());
+        }
+
+        @Bean
+        public DataSource dataSource(
+                @Qualifier("primaryDataSource") DataSource primaryDataSource,
+                ReplicaRoutingDataSource replicaRoutingDataSource,
+                ReadYourWritesGuard readYourWritesGuard
+        ) {
+
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primaryDataSource, readYourWritesGuard));
+
+            dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+
+            return dataSource;
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager(@Qualifier("dataSource") DataSource dataSource) {
+
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        public JdbcTemplate jdbcTemplate(@Qualifier("dataSource") DataSource dataSource) {
+
+            return new JdbcTemplate(dataSource);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.auctions.persistence.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration EJECTION_PERIOD = Duration.ofSeconds(30);
+
+    @Mock
+    private DataSource primaryDataSource;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection firstConnection;
+
+    @Mock
+    private Connection secondConnection;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReadYourWritesGuard readYourWritesGuard;
+
+    private Instant now;
+
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @BeforeEach
+    void setUp() {
+
+        now = Instant.parse("2025-01-01T00:00:00Z");
+
+        Clock clock = new Clock() {
+
+            @Override
+            public ZoneOffset getZone() {
+
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+
+                return now;
+            }
+        };
+
+        meterRegistry = new SimpleMeterRegistry();
+        readYourWritesGuard = new ReadYourWritesGuard(Duration.ofSeconds(5));
+
+        replicaRoutingDataSource = new ReplicaRoutingDataSource(
+                primaryDataSource,
+                List.of(firstReplica, secondReplica),
+                readYourWritesGuard,
+                EJECTION_PERIOD,
+                Duration.ofSeconds(5),
+                meterRegistry,
+                clock
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getConnection_shouldTakeTurnsOnReplicas() throws SQLException {
+
+        when(firstReplica.getConnection()).thenReturn(firstConnection);
+        when(secondReplica.getConnection()).thenReturn(secondConnection);
+
+        assertSame(firstConnection, replicaRoutingDataSource.getConnection());
+        assertSame(secondConnection, replicaRoutingDataSource.getConnection());
+        assertSame(firstConnection, replicaRoutingDataSource.getConnection());
+
+        verifyNoInteractions(primaryDataSource);
+    }
+
+    @Test
+    void getConnection_whenReplicaFails_shouldEjectItAndUseNextReplica() throws SQLException {
+
+        when(firstReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(secondReplica.getConnection()).thenReturn(secondConnection);
+
+        assertSame(secondConnection, replicaRoutingDataSource.getConnection());
+        assertSame(secondConnection, replicaRoutingDataSource.getConnection());
+
+        verify(firstReplica, times(1)).getConnection();
+        assertEquals(1, meterRegistry.get("datasource.replica.ejections").counter().count());
+        assertEquals(0, meterRegistry.get("datasource.replica.available").tag("replica", "replica-1").gauge().value());
+    }
+
+    @Test
+    void getConnection_whenEjectionPeriodElapsed_shouldRetryReplica() throws SQLException {
+
+        when(firstReplica.getConnection()).thenThrow(new SQLException("Connection refused")).thenReturn(firstConnection);
+        when(secondReplica.getConnection()).thenReturn(secondConnection);
+
+        replicaRoutingDataSource.getConnection();
+
+        now = now.plus(EJECTION_PERIOD);
+
+        assertSame(secondConnection, replicaRoutingDataSource.getConnection());
+        assertSame(firstConnection, replicaRoutingDataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_whenNoReplicaAvailable_shouldFallBackToPrimary() throws SQLException {
+
+        when(firstReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(secondReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, replicaRoutingDataSource.getConnection());
+        assertSame(primaryConnection, replicaRoutingDataSource.getConnection());
+
+        assertEquals(2, meterRegistry.get("datasource.replica.fallbacks").counter().count());
+    }
+
+    @Test
+    void getConnection_whenCallerWroteRecently_shouldUsePrimary() throws SQLException {
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("bidder", null, List.of()));
+
+        readYourWritesGuard.recordWrite();
+
+        when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, replicaRoutingDataSource.getConnection());
+
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+
+    @Test
+    void getConnection_whenAnotherCallerWroteRecently_shouldUseReplica() throws SQLException {
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("bidder", null, List.of()));
+
+        readYourWritesGuard.recordWrite();
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("viewer", null, List.of()));
+
+        when(firstReplica.getConnection()).thenReturn(firstConnection);
+
+        assertSame(firstConnection, replicaRoutingDataSource.getConnection());
+    }
+
+    @Test
+    void checkHealth_whenReplicaLags_shouldEjectItUntilItCatchesUp() throws SQLException {
+
+        stubLag(firstReplica, firstConnection, 10.0, 0.0);
+        stubLag(secondReplica, secondConnection, 0.0, 0.0);
+
+        replicaRoutingDataSource.checkHealth();
+
+        assertEquals(0, meterRegistry.get("datasource.replica.available").tag("replica", "replica-1").gauge().value());
+        assertEquals(1, meterRegistry.get("datasource.replica.available").tag("replica", "replica-2").gauge().value());
+
+        replicaRoutingDataSource.checkHealth();
+
+        assertEquals(1, meterRegistry.get("datasource.replica.available").tag("replica", "replica-1").gauge().value());
+    }
+
+    @Test
+    void checkHealth_whenReplicaIsNotStreaming_shouldEjectIt() throws SQLException {
+
+        ResultSet resultSet = stubLag(firstReplica, firstConnection, 0.0);
+        when(resultSet.wasNull()).thenReturn(true);
+        stubLag(secondReplica, secondConnection, 0.0);
+
+        replicaRoutingDataSource.checkHealth();
+
+        assertEquals(0, meterRegistry.get("datasource.replica.available").tag("replica", "replica-1").gauge().value());
+        assertEquals(1, meterRegistry.get("datasource.replica.available").tag("replica", "replica-2").gauge().value());
+    }
+
+    @Test
+    void getConnection_withCredentials_shouldThrowException() {
+
+        assertThrows(SQLException.class, () -> replicaRoutingDataSource.getConnection("user", "password"));
+    }
+
+    private ResultSet stubLag(DataSource replica, Connection connection, Double lag, Double... laterLags) throws SQLException {
+
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.getDouble(1)).thenReturn(lag, laterLags);
+
+        return resultSet;
+    }
+}
@@ -4,11 +4,14 @@ import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
 import org.flywaydb.test.annotation.FlywayTest;
 import org.junit.jupiter.api.BeforeAll;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
 
 import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES;
 
 @DataJpaTest
 @AutoConfigureEmbeddedDatabase(type = POSTGRES)
+// The context outlives the database reset before each class, so cached rows would outlive it as well.
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=false")
 public abstract class AbstractRepositoryIT {
 
     @BeforeAll
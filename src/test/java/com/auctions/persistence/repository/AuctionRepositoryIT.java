@@ -1,11 +1,14 @@
 package com.auctions.persistence.repository;
 
+import com.auctions.domain.auction.AuctionFilter;
 import com.auctions.domain.auction.AuctionState;
 import com.auctions.domain.bid.BidState;
 import com.auctions.persistence.entity.AuctionEntity;
 import com.auctions.persistence.entity.BidEntity;
 import com.auctions.persistence.entity.LotEntity;
 import com.auctions.persistence.entity.UserEntity;
+import com.auctions.persistence.specification.AuctionSpecifications;
+import com.auctions.service.page.PageCursor;
 import com.auctions.util.TestDataFactory;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
@@ -13,6 +16,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -38,7 +43,7 @@ public class AuctionRepositoryIT extends AbstractRepositoryIT {
 
         AuctionEntity auction = getTestAuctionEntity();
 
-        AuctionEntity auctionSaved = auctionRepository.save(auction);
+        AuctionEntity auctionSaved = auctionRepository.saveAndFlush(auction);
 
         entityManager.clear();
 
@@ -61,7 +66,7 @@ public class AuctionRepositoryIT extends AbstractRepositoryIT {
 
         auction.setLot(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> auctionRepository.save(auction));
+        assertThrows(DataIntegrityViolationException.class, () -> auctionRepository.saveAndFlush(auction));
     }
 
     @Test
@@ -91,7 +96,7 @@ public class AuctionRepositoryIT extends AbstractRepositoryIT {
 
         auction.setState(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> auctionRepository.save(auction));
+        assertThrows(DataIntegrityViolationException.class, () -> auctionRepository.saveAndFlush(auction));
     }
 
     @Test
@@ -101,7 +106,7 @@ public class AuctionRepositoryIT extends AbstractRepositoryIT {
 
         auction.setCreatedBy(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> auctionRepository.save(auction));
+        assertThrows(DataIntegrityViolationException.class, () -> auctionRepository.saveAndFlush(auction));
     }
 
     @Test
@@ -111,7 +116,7 @@ public class AuctionRepositoryIT extends AbstractRepositoryIT {
 
         auction.setLastModifiedBy(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> auctionRepository.save(auction));
+        assertThrows(DataIntegrityViolationException.class, () -> auctionRepository.saveAndFlush(auction));
     }
 
     @Test
@@ -199,9 +204,110 @@ public class AuctionRepositoryIT extends AbstractRepositoryIT {
         bidRepository.findById(savedBidEntityCancelled.getId()).map(BidEntity::getState).ifPresent(state -> assertEquals(BidState.CANCELLED, state));
     }
 
+    @Test
+    public void shouldCloseOngoingAuctionOnlyWhenVersionMatches() {
+
+        AuctionEntity auctionSaved = auctionRepository.save(getTestAuctionEntity());
+
+        entityManager.flush();
+
+        Integer version = auctionSaved.getVersion();
+
+        assertEquals(0, auctionRepository.updateOngoingAuctionStateToClosed(auctionSaved.getId(), version + 1));
+        assertEquals(1, auctionRepository.updateOngoingAuctionStateToClosed(auctionSaved.getId(), version));
+        assertEquals(0, auctionRepository.updateOngoingAuctionStateToClosed(auctionSaved.getId(), version + 1));
+
+        entityManager.clear();
+
+        AuctionEntity auctionRetrieved = auctionRepository.findById(auctionSaved.getId()).orElseThrow();
+
+        assertEquals(AuctionState.CLOSED, auctionRetrieved.getState());
+        assertEquals(version + 1, auctionRetrieved.getVersion());
+    }
+
+    @Test
+    public void shouldCancelOpenAuctionOnlyOnce() {
+
+        AuctionEntity auctionSaved = auctionRepository.save(getTestAuctionEntity());
+
+        entityManager.flush();
+
+        Integer version = auctionSaved.getVersion();
+
+        assertEquals(1, auctionRepository.updateOpenAuctionStateToCancelled(auctionSaved.getId(), version));
+        assertEquals(0, auctionRepository.updateOpenAuctionStateToCancelled(auctionSaved.getId(), version + 1));
+
+        entityManager.clear();
+
+        assertEquals(AuctionState.CANCELLED, auctionRepository.findById(auctionSaved.getId()).orElseThrow().getState());
+    }
+
+    @Test
+    public void shouldCloseDueAuctionsAndRejectTheirCreatedBids() {
+
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        AuctionEntity dueAuction = getTestAuctionEntity();
+        dueAuction.setStopTime(now.minusSeconds(60));
+        AuctionEntity dueAuctionSaved = auctionRepository.save(dueAuction);
+
+        AuctionEntity futureAuction = getTestAuctionEntity();
+        futureAuction.setStopTime(now.plusSeconds(60));
+        AuctionEntity futureAuctionSaved = auctionRepository.save(futureAuction);
+
+        BidEntity bidEntity = TestDataFactory.createTestBidEntity(dueAuctionSaved.getCreatedBy(), dueAuctionSaved);
+        bidEntity.setId(null);
+        bidEntity.setState(BidState.CREATED);
+        BidEntity bidEntitySaved = bidRepository.save(bidEntity);
+
+        entityManager.flush();
+
+        assertEquals(List.of(dueAuctionSaved.getId()), auctionRepository.updateDueAuctionsStateToClosed(now, 10));
+        assertEquals(List.of(), auctionRepository.updateDueAuctionsStateToClosed(now, 10));
+
+        entityManager.clear();
+
+        assertEquals(AuctionState.CLOSED, auctionRepository.findById(dueAuctionSaved.getId()).orElseThrow().getState());
+        assertEquals(AuctionState.ONGOING, auctionRepository.findById(futureAuctionSaved.getId()).orElseThrow().getState());
+        assertEquals(BidState.REJECTED, bidRepository.findById(bidEntitySaved.getId()).orElseThrow().getState());
+        assertEquals(futureAuction.getStopTime(), auctionRepository.findNextOngoingAuctionStopTime().orElseThrow());
+    }
+
+    @Test
+    public void shouldFindFilteredAuctionPageAfterCursor() {
+
+        AuctionEntity firstAuctionSaved = auctionRepository.save(getTestAuctionEntity());
+
+        AuctionEntity cancelledAuction = getTestAuctionEntity();
+        cancelledAuction.setState(AuctionState.CANCELLED);
+        auctionRepository.save(cancelledAuction);
+
+        AuctionEntity secondAuction = getTestAuctionEntity();
+        secondAuction.setCreatedBy(firstAuctionSaved.getCreatedBy());
+        AuctionEntity secondAuctionSaved = auctionRepository.save(secondAuction);
+
+        AuctionFilter auctionFilter = AuctionFilter.builder()
+                .state(AuctionState.ONGOING)
+                .createdByUserId(firstAuctionSaved.getCreatedBy().getId())
+                .build();
+
+        List<AuctionEntity> firstPage = auctionRepository.findBy(
+                AuctionSpecifications.matching(auctionFilter, 0),
+                query -> query.sortBy(PageCursor.SORT).limit(1).all()
+        );
+
+        List<AuctionEntity> secondPage = auctionRepository.findBy(
+                AuctionSpecifications.matching(auctionFilter, firstAuctionSaved.getId()),
+                query -> query.sortBy(PageCursor.SORT).limit(10).all()
+        );
+
+        assertEquals(List.of(firstAuctionSaved.getId()), firstPage.stream().map(AuctionEntity::getId).toList());
+        assertEquals(List.of(secondAuctionSaved.getId()), secondPage.stream().map(AuctionEntity::getId).toList());
+    }
+
     private AuctionEntity getTestAuctionEntity() {
 
-        UserEntity userEntity = TestDataFactory.createTestUserEntity();
+        UserEntity userEntity = TestDataFactory.createUniqueTestUserEntity();
         userEntity.setId(null);
         UserEntity userSaved = userRepository.save(userEntity);
 
@@ -0,0 +1,94 @@
+package com.auctions.persistence.repository;
+
+import com.auctions.persistence.entity.AuctionEntity;
+import com.auctions.persistence.entity.LotEntity;
+import com.auctions.persistence.entity.PaymentEntity;
+import com.auctions.persistence.entity.UserEntity;
+import com.auctions.util.TestDataFactory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pooled sequence ids let Hibernate assign ids without a round-trip per row, so saving a chunk of payments costs at
+ * most one {@code nextval} and one batched insert.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class BatchInsertStatementCountIT extends AbstractRepositoryIT {
+
+    private static final int PAYMENTS = 10;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LotRepository lotRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void shouldInsertPaymentChunkInOneBatch() {
+
+        UserEntity userEntity = TestDataFactory.createTestUserEntity();
+        userEntity.setId(null);
+        UserEntity userSaved = userRepository.save(userEntity);
+
+        List<PaymentEntity> paymentEntities = new ArrayList<>();
+
+        for (int i = 0; i < PAYMENTS; i++) {
+
+            PaymentEntity paymentEntity = TestDataFactory.createTestPaymentEntity(userSaved, saveAuction(userSaved));
+            paymentEntity.setId(null);
+
+            paymentEntities.add(paymentEntity);
+        }
+
+        entityManager.flush();
+
+        statistics.clear();
+
+        paymentRepository.saveAll(paymentEntities);
+
+        entityManager.flush();
+
+        assertTrue(statistics.getPrepareStatementCount() <= 2);
+        assertEquals(PAYMENTS, statistics.getEntityInsertCount());
+    }
+
+    private AuctionEntity saveAuction(UserEntity userEntity) {
+
+        LotEntity lotEntity = TestDataFactory.createTestLotEntity(userEntity);
+        lotEntity.setId(null);
+        LotEntity lotSaved = lotRepository.save(lotEntity);
+
+        AuctionEntity auctionEntity = TestDataFactory.createTestAuctionEntity(userEntity, lotSaved);
+        auctionEntity.setId(null);
+
+        return auctionRepository.save(auctionEntity);
+    }
+}
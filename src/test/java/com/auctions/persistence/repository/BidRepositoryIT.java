@@ -5,6 +5,8 @@ import com.auctions.persistence.entity.AuctionEntity;
 import com.auctions.persistence.entity.BidEntity;
 import com.auctions.persistence.entity.LotEntity;
 import com.auctions.persistence.entity.UserEntity;
+import com.auctions.persistence.projection.BidDeadline;
+import com.auctions.persistence.projection.OutdatedBid;
 import com.auctions.util.TestDataFactory;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
@@ -14,6 +16,7 @@ import org.springframework.dao.DataIntegrityViolationException;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 
 import static java.time.Instant.now;
@@ -41,7 +44,7 @@ public class BidRepositoryIT extends AbstractRepositoryIT {
 
         BidEntity bid = getTestBidEntity();
 
-        BidEntity bidSaved = bidRepository.save(bid);
+        BidEntity bidSaved = bidRepository.saveAndFlush(bid);
 
         entityManager.clear();
 
@@ -64,7 +67,7 @@ public class BidRepositoryIT extends AbstractRepositoryIT {
 
         bid.setAmount(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> bidRepository.save(bid));
+        assertThrows(DataIntegrityViolationException.class, () -> bidRepository.saveAndFlush(bid));
     }
 
     @Test
@@ -84,7 +87,7 @@ public class BidRepositoryIT extends AbstractRepositoryIT {
 
         bid.setAuction(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> bidRepository.save(bid));
+        assertThrows(DataIntegrityViolationException.class, () -> bidRepository.saveAndFlush(bid));
     }
 
     @Test
@@ -94,7 +97,7 @@ public class BidRepositoryIT extends AbstractRepositoryIT {
 
         bid.setState(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> bidRepository.save(bid));
+        assertThrows(DataIntegrityViolationException.class, () -> bidRepository.saveAndFlush(bid));
     }
 
     @Test
@@ -104,7 +107,7 @@ public class BidRepositoryIT extends AbstractRepositoryIT {
 
         bid.setCreatedBy(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> bidRepository.save(bid));
+        assertThrows(DataIntegrityViolationException.class, () -> bidRepository.saveAndFlush(bid));
     }
 
     @Test
@@ -114,7 +117,7 @@ public class BidRepositoryIT extends AbstractRepositoryIT {
 
         bid.setLastModifiedBy(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> bidRepository.save(bid));
+        assertThrows(DataIntegrityViolationException.class, () -> bidRepository.saveAndFlush(bid));
     }
 
     @Test
@@ -184,6 +187,85 @@ public class BidRepositoryIT extends AbstractRepositoryIT {
         assertEquals(BidState.OUTDATED, bidEntity.get().getState());
     }
 
+    @Test
+    public void shouldFindCreatedBidsByAuctionId() {
+
+        BidEntity bid = getTestBidEntity();
+        BidEntity bidSaved = bidRepository.save(bid);
+
+        BidEntity cancelledBid = getTestBidEntity();
+        cancelledBid.setAuction(bidSaved.getAuction());
+        cancelledBid.setState(BidState.CANCELLED);
+        bidRepository.save(cancelledBid);
+
+        Integer auctionId = bidSaved.getAuction().getId();
+
+        assertEquals(1, bidRepository.findCreatedBidsByAuctionId(auctionId).size());
+        assertEquals(bidSaved.getId(), bidRepository.findCreatedBidsByAuctionId(auctionId).get(0).getId());
+        assertEquals(2, bidRepository.countByAuctionId(auctionId));
+    }
+
+    @Test
+    public void shouldAcceptCreatedBidOnlyWhenVersionMatches() {
+
+        BidEntity bidSaved = bidRepository.save(getTestBidEntity());
+
+        entityManager.flush();
+
+        Integer version = bidSaved.getVersion();
+
+        assertEquals(0, bidRepository.updateCreatedBidStateToAccepted(bidSaved.getId(), version + 1));
+        assertEquals(1, bidRepository.updateCreatedBidStateToAccepted(bidSaved.getId(), version));
+        assertEquals(0, bidRepository.updateCreatedBidStateToAccepted(bidSaved.getId(), version + 1));
+
+        entityManager.clear();
+
+        BidEntity bidRetrieved = bidRepository.findById(bidSaved.getId()).orElseThrow();
+
+        assertEquals(BidState.ACCEPTED, bidRetrieved.getState());
+        assertEquals(version + 1, bidRetrieved.getVersion());
+    }
+
+    @Test
+    public void shouldFindCreatedBidDeadlines() {
+
+        Instant until = now().plus(1, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.MILLIS);
+
+        Integer createdBidId = saveBidWithBidStateAndUntil(BidState.CREATED, until);
+        saveBidWithBidStateAndUntil(BidState.CREATED, null);
+        saveBidWithBidStateAndUntil(BidState.CANCELLED, until);
+
+        List<BidDeadline> bidDeadlines = bidRepository.findCreatedBidDeadlines();
+
+        assertEquals(1, bidDeadlines.size());
+        assertEquals(createdBidId, bidDeadlines.get(0).getId());
+        assertEquals(until, bidDeadlines.get(0).getUntil());
+    }
+
+    @Test
+    public void shouldUpdateDueBidsStateToOutdatedById() {
+
+        Instant now = now();
+
+        Integer dueBidId = saveBidWithBidStateAndUntil(BidState.CREATED, now.minus(1, ChronoUnit.MINUTES));
+        Integer futureBidId = saveBidWithBidStateAndUntil(BidState.CREATED, now.plus(1, ChronoUnit.MINUTES));
+        Integer acceptedBidId = saveBidWithBidStateAndUntil(BidState.ACCEPTED, now.minus(1, ChronoUnit.MINUTES));
+        Integer otherDueBidId = saveBidWithBidStateAndUntil(BidState.CREATED, now.minus(1, ChronoUnit.MINUTES));
+
+        List<OutdatedBid> outdatedBids = bidRepository.updateBidsStateToOutdated(List.of(dueBidId, futureBidId, acceptedBidId), now);
+
+        assertEquals(1, outdatedBids.size());
+        assertEquals(dueBidId, outdatedBids.get(0).getId());
+        assertNotNull(outdatedBids.get(0).getAuctionId());
+
+        entityManager.clear();
+
+        assertEquals(BidState.OUTDATED, bidRepository.findById(dueBidId).orElseThrow().getState());
+        assertEquals(BidState.CREATED, bidRepository.findById(futureBidId).orElseThrow().getState());
+        assertEquals(BidState.ACCEPTED, bidRepository.findById(acceptedBidId).orElseThrow().getState());
+        assertEquals(BidState.CREATED, bidRepository.findById(otherDueBidId).orElseThrow().getState());
+    }
+
     private Integer saveBidWithBidStateAndUntil(BidState bidState, Instant until) {
 
         BidEntity bidWithOutdatedState = getTestBidEntity();
@@ -194,7 +276,7 @@ public class BidRepositoryIT extends AbstractRepositoryIT {
 
     private BidEntity getTestBidEntity() {
 
-        UserEntity userEntity = TestDataFactory.createTestUserEntity();
+        UserEntity userEntity = TestDataFactory.createUniqueTestUserEntity();
 
         LotEntity lotEntity = TestDataFactory.createTestLotEntity(userEntity);
 
@@ -0,0 +1,214 @@
+package com.auctions.persistence.repository;
+
+import com.auctions.config.EntityCacheConfig;
+import com.auctions.persistence.entity.EntityCacheRegions;
+import com.auctions.persistence.entity.LotEntity;
+import com.auctions.persistence.entity.UserEntity;
+import com.auctions.util.TestDataFactory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replays a listing workload, where every request logs a user in by username and opens a page of lots with their
+ * creators, once past the second-level cache and once through it. Every request runs in a transaction of its own: a
+ * transaction does not read what was cached after it started.
+ */
+@Import(EntityCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class EntityCacheStatementCountIT extends AbstractRepositoryIT {
+
+    private static final int REQUESTS = 20;
+    private static final int LOTS_PER_PAGE = 10;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LotRepository lotRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private String username;
+
+    private List<Integer> lotIds;
+
+    @BeforeEach
+    public void setUp() {
+
+        SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+
+        statistics = sessionFactory.getStatistics();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        username = saveUser().getUsername();
+        lotIds = new ArrayList<>();
+
+        // Lots by different users, so that opening their creators costs a statement per lot without the cache.
+        for (int i = 0; i < LOTS_PER_PAGE; i++) {
+
+            lotIds.add(saveLot(saveUser()).getId());
+        }
+
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    public void shouldServeRepeatedListingsWithoutStatements() {
+
+        long statementsWithoutCache = countStatements(CacheMode.IGNORE);
+
+        replayRequest(CacheMode.NORMAL);
+
+        long statementsWithCache = countStatements(CacheMode.NORMAL);
+
+        assertTrue(statementsWithoutCache >= REQUESTS * (1 + 2 * LOTS_PER_PAGE), "Statements without cache: " + statementsWithoutCache);
+        assertEquals(0, statementsWithCache);
+
+        assertEquals(REQUESTS, statistics.getCacheRegionStatistics(EntityCacheRegions.USERS_BY_USERNAME).getHitCount());
+        assertEquals(REQUESTS * LOTS_PER_PAGE, statistics.getCacheRegionStatistics(EntityCacheRegions.LOTS).getHitCount());
+        assertTrue(statistics.getCacheRegionStatistics(EntityCacheRegions.USERS).getHitCount() >= REQUESTS * LOTS_PER_PAGE);
+    }
+
+    @Test
+    public void shouldKeepCachedUsersAndLotsAcrossBulkBidUpdates() {
+
+        replayRequest(CacheMode.NORMAL);
+
+        statistics.clear();
+
+        for (int i = 0; i < REQUESTS; i++) {
+
+            // A native bulk update without query spaces would evict every region, not only the tables it touches.
+            transactionTemplate.execute(status -> bidRepository.updateBidsStateToOutdated());
+
+            replayRequest(CacheMode.NORMAL);
+        }
+
+        assertEquals(REQUESTS, statistics.getPrepareStatementCount());
+
+        assertEquals(REQUESTS, statistics.getCacheRegionStatistics(EntityCacheRegions.USERS_BY_USERNAME).getHitCount());
+        assertEquals(REQUESTS * LOTS_PER_PAGE, statistics.getCacheRegionStatistics(EntityCacheRegions.LOTS).getHitCount());
+    }
+
+    @Test
+    public void shouldFindUserByChangedUsername() {
+
+        UserEntity userEntity = userRepository.findByUsername(username).orElseThrow();
+
+        String changedUsername = username + "-changed";
+
+        transactionTemplate.execute(status -> {
+
+            UserEntity managedUserEntity = userRepository.findById(userEntity.getId()).orElseThrow();
+
+            managedUserEntity.setUsername(changedUsername);
+
+            return null;
+        });
+
+        assertTrue(userRepository.findByUsername(username).isEmpty());
+        assertEquals(userEntity.getId(), userRepository.findByUsername(changedUsername).orElseThrow().getId());
+    }
+
+    @Test
+    public void shouldReadUpdatedLotFromCache() {
+
+        Integer lotId = lotIds.get(0);
+
+        lotRepository.findById(lotId).orElseThrow();
+
+        transactionTemplate.execute(status -> {
+
+            lotRepository.findById(lotId).orElseThrow().setName("Renamed");
+
+            return null;
+        });
+
+        statistics.clear();
+
+        assertEquals("Renamed", lotRepository.findById(lotId).orElseThrow().getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private long countStatements(CacheMode cacheMode) {
+
+        statistics.clear();
+
+        for (int i = 0; i < REQUESTS; i++) {
+
+            replayRequest(cacheMode);
+        }
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void replayRequest(CacheMode cacheMode) {
+
+        transactionTemplate.execute(status -> {
+
+            // EntityManager.find applies these properties over the session's cache mode.
+            entityManager.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_RETRIEVE_MODE, cacheMode.getJpaRetrieveMode());
+            entityManager.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, cacheMode.getJpaStoreMode());
+
+            userRepository.findByUsername(username).orElseThrow();
+
+            for (Integer lotId : lotIds) {
+
+                LotEntity lotEntity = lotRepository.findById(lotId).orElseThrow();
+
+                Hibernate.initialize(lotEntity.getCreatedBy());
+            }
+
+            return null;
+        });
+    }
+
+    private UserEntity saveUser() {
+
+        UserEntity userEntity = TestDataFactory.createUniqueTestUserEntity();
+        userEntity.setId(null);
+
+        return userRepository.save(userEntity);
+    }
+
+    private LotEntity saveLot(UserEntity userEntity) {
+
+        LotEntity lotEntity = TestDataFactory.createTestLotEntity(userEntity);
+        lotEntity.setId(null);
+
+        return lotRepository.save(lotEntity);
+    }
+}
@@ -0,0 +1,194 @@
+package com.auctions.persistence.repository;
+
+import com.auctions.domain.auction.AuctionFilter;
+import com.auctions.domain.bid.BidFilter;
+import com.auctions.mapper.auction.AuctionEntityToAuctionMapper;
+import com.auctions.mapper.bid.BidEntityToBidMapper;
+import com.auctions.persistence.entity.AuctionEntity;
+import com.auctions.persistence.entity.BidEntity;
+import com.auctions.persistence.entity.LotEntity;
+import com.auctions.persistence.entity.UserEntity;
+import com.auctions.persistence.specification.AuctionSpecifications;
+import com.auctions.persistence.specification.BidSpecifications;
+import com.auctions.service.page.PageCursor;
+import com.auctions.util.TestDataFactory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Lists must cost one statement regardless of their size: associations are lazy and mappers only read foreign key
+ * ids, which Hibernate answers from the proxy without loading the referenced row.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class EntityMappingStatementCountIT extends AbstractRepositoryIT {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LotRepository lotRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void shouldMapBidListWithConstantStatementCount() {
+
+        AuctionEntity auctionEntity = saveAuction(saveUser());
+
+        saveBids(auctionEntity, 1);
+
+        long statementsForOneBid = countBidListStatements(auctionEntity.getId(), 1);
+
+        saveBids(auctionEntity, 9);
+
+        long statementsForTenBids = countBidListStatements(auctionEntity.getId(), 10);
+
+        assertEquals(1, statementsForOneBid);
+        assertEquals(statementsForOneBid, statementsForTenBids);
+    }
+
+    @Test
+    public void shouldMapAuctionListWithConstantStatementCount() {
+
+        UserEntity userEntity = saveUser();
+
+        saveAuction(userEntity);
+
+        long statementsForOneAuction = countAuctionListStatements(userEntity.getId(), 1);
+
+        for (int i = 0; i < 9; i++) {
+
+            saveAuction(userEntity);
+        }
+
+        long statementsForTenAuctions = countAuctionListStatements(userEntity.getId(), 10);
+
+        assertEquals(1, statementsForOneAuction);
+        assertEquals(statementsForOneAuction, statementsForTenAuctions);
+    }
+
+    @Test
+    public void shouldLoadBidWithItsAuctionInOneStatement() {
+
+        AuctionEntity auctionEntity = saveAuction(saveUser());
+
+        saveBids(auctionEntity, 1);
+
+        Integer bidId = bidRepository.findAll().get(0).getId();
+
+        prepareCount();
+
+        BidEntity bidEntity = bidRepository.findWithAuctionById(bidId).orElseThrow();
+
+        assertEquals(auctionEntity.getState(), bidEntity.getAuction().getState());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private long countBidListStatements(Integer auctionId, int expectedSize) {
+
+        BidEntityToBidMapper bidEntityToBidMapper = new BidEntityToBidMapper();
+
+        BidFilter bidFilter = BidFilter.builder().auctionId(auctionId).build();
+
+        prepareCount();
+
+        int mappedBids = bidRepository.findBy(
+                        BidSpecifications.matching(bidFilter, 0),
+                        query -> query.sortBy(PageCursor.SORT).all()
+                )
+                .stream()
+                .map(bidEntityToBidMapper::map)
+                .toList()
+                .size();
+
+        assertEquals(expectedSize, mappedBids);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long countAuctionListStatements(Integer userId, int expectedSize) {
+
+        AuctionEntityToAuctionMapper auctionEntityToAuctionMapper = new AuctionEntityToAuctionMapper();
+
+        AuctionFilter auctionFilter = AuctionFilter.builder().createdByUserId(userId).build();
+
+        prepareCount();
+
+        int mappedAuctions = auctionRepository.findBy(
+                        AuctionSpecifications.matching(auctionFilter, 0),
+                        query -> query.sortBy(PageCursor.SORT).all()
+                )
+                .stream()
+                .map(auctionEntityToAuctionMapper::map)
+                .toList()
+                .size();
+
+        assertEquals(expectedSize, mappedAuctions);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void prepareCount() {
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+    }
+
+    private UserEntity saveUser() {
+
+        UserEntity userEntity = TestDataFactory.createUniqueTestUserEntity();
+        userEntity.setId(null);
+
+        return userRepository.save(userEntity);
+    }
+
+    private AuctionEntity saveAuction(UserEntity userEntity) {
+
+        LotEntity lotEntity = TestDataFactory.createTestLotEntity(userEntity);
+        lotEntity.setId(null);
+        LotEntity lotSaved = lotRepository.save(lotEntity);
+
+        AuctionEntity auctionEntity = TestDataFactory.createTestAuctionEntity(userEntity, lotSaved);
+        auctionEntity.setId(null);
+
+        return auctionRepository.save(auctionEntity);
+    }
+
+    private void saveBids(AuctionEntity auctionEntity, int count) {
+
+        AuctionEntity auctionReference = auctionRepository.getReferenceById(auctionEntity.getId());
+
+        for (int i = 0; i < count; i++) {
+
+            // Every bid gets its own bidder, so an N+1 on users would show up as extra statements.
+            BidEntity bidEntity = TestDataFactory.createTestBidEntity(saveUser(), auctionReference);
+            bidEntity.setId(null);
+
+            bidRepository.save(bidEntity);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.auctions.persistence.repository;
+
+import com.auctions.persistence.entity.AuctionEntity;
+import com.auctions.persistence.entity.BidEntity;
+import com.auctions.persistence.entity.LotEntity;
+import com.auctions.persistence.entity.UserEntity;
+import com.auctions.util.TestDataFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@Import(ExportRepository.class)
+public class ExportRepositoryIT extends AbstractRepositoryIT {
+
+    @Autowired
+    private ExportRepository exportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LotRepository lotRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void shouldStreamBidsInIdOrder() {
+
+        UserEntity userEntity = TestDataFactory.createTestUserEntity();
+        userEntity.setId(null);
+        UserEntity userSaved = userRepository.save(userEntity);
+
+        LotEntity lotEntity = TestDataFactory.createTestLotEntity(userSaved);
+        lotEntity.setId(null);
+        LotEntity lotSaved = lotRepository.save(lotEntity);
+
+        AuctionEntity auctionEntity = TestDataFactory.createTestAuctionEntity(userSaved, lotSaved);
+        auctionEntity.setId(null);
+        AuctionEntity auctionSaved = auctionRepository.save(auctionEntity);
+
+        List<Integer> bidIds = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+
+            BidEntity bidEntity = TestDataFactory.createTestBidEntity(userSaved, auctionSaved);
+            bidEntity.setId(null);
+            bidIds.add(bidRepository.save(bidEntity).getId());
+        }
+
+        entityManager.flush();
+
+        List<Object[]> rows = new ArrayList<>();
+
+        exportRepository.streamBids(values -> rows.add(values.clone()));
+
+        assertEquals(bidIds, rows.stream().map(values -> (Integer) values[0]).toList());
+        assertEquals(ExportRepository.BID_COLUMNS.size(), rows.get(0).length);
+        assertEquals("CREATED", rows.get(0)[2]);
+        assertEquals(auctionSaved.getId(), rows.get(0)[4]);
+        assertInstanceOf(Instant.class, rows.get(0)[7]);
+    }
+}
@@ -0,0 +1,43 @@
+package com.auctions.persistence.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HighWaterMarkRepositoryIT extends AbstractRepositoryIT {
+
+    private static final String NAME = "payment-create";
+    private static final Instant MARK = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Autowired
+    private HighWaterMarkRepository highWaterMarkRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void shouldStoreFirstMark() {
+
+        highWaterMarkRepository.advance(NAME, MARK);
+
+        entityManager.clear();
+
+        assertEquals(MARK, highWaterMarkRepository.findById(NAME).orElseThrow().getMark());
+    }
+
+    @Test
+    public void shouldOnlyMoveMarkForward() {
+
+        highWaterMarkRepository.advance(NAME, MARK);
+        highWaterMarkRepository.advance(NAME, MARK.plusSeconds(60));
+        highWaterMarkRepository.advance(NAME, MARK.plusSeconds(30));
+
+        entityManager.clear();
+
+        assertEquals(MARK.plusSeconds(60), highWaterMarkRepository.findById(NAME).orElseThrow().getMark());
+    }
+}
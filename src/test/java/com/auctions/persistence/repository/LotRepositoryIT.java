@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.Instant;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,7 +29,7 @@ public class LotRepositoryIT extends AbstractRepositoryIT {
 
         LotEntity lot = getTestLotEntity();
 
-        LotEntity lotSaved = lotRepository.save(lot);
+        LotEntity lotSaved = lotRepository.saveAndFlush(lot);
 
         entityManager.clear();
 
@@ -50,7 +51,7 @@ public class LotRepositoryIT extends AbstractRepositoryIT {
 
         lot.setName(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> lotRepository.save(lot));
+        assertThrows(DataIntegrityViolationException.class, () -> lotRepository.saveAndFlush(lot));
     }
 
     @Test
@@ -60,7 +61,7 @@ public class LotRepositoryIT extends AbstractRepositoryIT {
 
         lot.setSurname(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> lotRepository.save(lot));
+        assertThrows(DataIntegrityViolationException.class, () -> lotRepository.saveAndFlush(lot));
     }
 
     @Test
@@ -70,7 +71,7 @@ public class LotRepositoryIT extends AbstractRepositoryIT {
 
         lot.setCreatedBy(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> lotRepository.save(lot));
+        assertThrows(DataIntegrityViolationException.class, () -> lotRepository.saveAndFlush(lot));
     }
 
     @Test
@@ -80,7 +81,7 @@ public class LotRepositoryIT extends AbstractRepositoryIT {
 
         lot.setLastModifiedBy(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> lotRepository.save(lot));
+        assertThrows(DataIntegrityViolationException.class, () -> lotRepository.saveAndFlush(lot));
     }
 
     @Test
@@ -126,6 +127,18 @@ public class LotRepositoryIT extends AbstractRepositoryIT {
         assertEquals(1, lotRepository.findByLastModifiedBy(lotSaved.getLastModifiedBy()).size());
     }
 
+    @Test
+    public void shouldFindReferencedPhotoUrls() {
+
+        LotEntity lot = getTestLotEntity();
+
+        lot.setPhotoUrl("ab/cd/abcd.jpg");
+
+        lotRepository.save(lot);
+
+        assertEquals(List.of("ab/cd/abcd.jpg"), lotRepository.findReferencedPhotoUrls(List.of("ab/cd/abcd.jpg", "ab/cd/orphan.jpg")));
+    }
+
     private LotEntity getTestLotEntity() {
 
         UserEntity userEntity = TestDataFactory.createTestUserEntity();
@@ -0,0 +1,109 @@
+package com.auctions.persistence.repository;
+
+import com.auctions.domain.outbox.OutboxAggregateType;
+import com.auctions.domain.outbox.OutboxEventType;
+import com.auctions.persistence.entity.OutboxEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutboxRepositoryIT extends AbstractRepositoryIT {
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void shouldSaveAndRetrieveOutboxEvent() {
+
+        OutboxEntity outboxSaved = outboxRepository.saveAndFlush(createOutboxEntity(1));
+
+        entityManager.clear();
+
+        OutboxEntity outboxRetrieved = outboxRepository.findById(outboxSaved.getId()).orElseThrow();
+
+        assertEquals(OutboxAggregateType.AUCTION, outboxRetrieved.getAggregateType());
+        assertEquals(1, outboxRetrieved.getAggregateId());
+        assertEquals(OutboxEventType.AUCTION_STARTED, outboxRetrieved.getEventType());
+        assertTrue(outboxRetrieved.getPayload().contains("\"id\""));
+        assertNotNull(outboxRetrieved.getCreatedAt());
+    }
+
+    @Test
+    public void shouldFindNextBatchInIdOrder() {
+
+        Long firstId = outboxRepository.save(createOutboxEntity(1)).getId();
+        Long secondId = outboxRepository.save(createOutboxEntity(2)).getId();
+        outboxRepository.save(createOutboxEntity(3));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        List<OutboxEntity> batch = outboxRepository.findNextBatchForUpdate(0, 2);
+
+        assertEquals(List.of(firstId, secondId), batch.stream().map(OutboxEntity::getId).toList());
+    }
+
+    @Test
+    public void shouldDeleteDeliveredEventsById() {
+
+        Long deliveredId = outboxRepository.save(createOutboxEntity(1)).getId();
+        Long pendingId = outboxRepository.save(createOutboxEntity(2)).getId();
+
+        entityManager.flush();
+
+        assertEquals(1, outboxRepository.deleteByIdIn(List.of(deliveredId)));
+
+        entityManager.clear();
+
+        assertTrue(outboxRepository.findById(deliveredId).isEmpty());
+        assertTrue(outboxRepository.findById(pendingId).isPresent());
+    }
+
+    @Test
+    public void shouldFindNextBatchAfterIdSkippingDeadLetters() {
+
+        Long firstId = outboxRepository.save(createOutboxEntity(1)).getId();
+        Long deadLetterId = outboxRepository.save(createOutboxEntity(2)).getId();
+        Long thirdId = outboxRepository.save(createOutboxEntity(3)).getId();
+
+        entityManager.flush();
+
+        assertEquals(Optional.of(true), outboxRepository.recordFailedAttempt(deadLetterId, "Broker unavailable", 1));
+
+        entityManager.clear();
+
+        assertEquals(List.of(thirdId), outboxRepository.findNextBatchForUpdate(firstId, 10).stream().map(OutboxEntity::getId).toList());
+        assertTrue(outboxRepository.findPendingByIdForUpdate(deadLetterId).isEmpty());
+        assertTrue(outboxRepository.findPendingByIdForUpdate(thirdId).isPresent());
+    }
+
+    @Test
+    public void shouldDeadLetterEventAfterMaxAttempts() {
+
+        Long id = outboxRepository.saveAndFlush(createOutboxEntity(1)).getId();
+
+        assertEquals(Optional.of(false), outboxRepository.recordFailedAttempt(id, "Broker unavailable", 2));
+        assertEquals(Optional.of(true), outboxRepository.recordFailedAttempt(id, "Broker unavailable", 2));
+        assertEquals(Optional.empty(), outboxRepository.recordFailedAttempt(Long.MAX_VALUE, "Broker unavailable", 2));
+    }
+
+    private static OutboxEntity createOutboxEntity(Integer aggregateId) {
+
+        OutboxEntity outboxEntity = new OutboxEntity();
+
+        outboxEntity.setAggregateType(OutboxAggregateType.AUCTION);
+        outboxEntity.setAggregateId(aggregateId);
+        outboxEntity.setEventType(OutboxEventType.AUCTION_STARTED);
+        outboxEntity.setPayload("{\"id\": " + aggregateId + "}");
+
+        return outboxEntity;
+    }
+}
@@ -1,17 +1,23 @@
 package com.auctions.persistence.repository;
 
+import com.auctions.domain.auction.AuctionState;
+import com.auctions.domain.payment.PaymentState;
 import com.auctions.persistence.entity.AuctionEntity;
 import com.auctions.persistence.entity.LotEntity;
 import com.auctions.persistence.entity.PaymentEntity;
 import com.auctions.persistence.entity.UserEntity;
+import com.auctions.persistence.projection.AuctionPaymentCount;
+import com.auctions.persistence.projection.UnpaidClosedAuction;
 import com.auctions.util.TestDataFactory;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,7 +43,7 @@ public class PaymentRepositoryIT extends AbstractRepositoryIT {
 
         PaymentEntity payment = getTestPaymentEntity();
 
-        PaymentEntity paymentSaved = paymentRepository.save(payment);
+        PaymentEntity paymentSaved = paymentRepository.saveAndFlush(payment);
 
         entityManager.clear();
 
@@ -60,7 +66,7 @@ public class PaymentRepositoryIT extends AbstractRepositoryIT {
 
         payment.setLink(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> paymentRepository.save(payment));
+        assertThrows(DataIntegrityViolationException.class, () -> paymentRepository.saveAndFlush(payment));
     }
 
     @Test
@@ -70,7 +76,7 @@ public class PaymentRepositoryIT extends AbstractRepositoryIT {
 
         payment.setAuction(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> paymentRepository.save(payment));
+        assertThrows(DataIntegrityViolationException.class, () -> paymentRepository.saveAndFlush(payment));
     }
 
     @Test
@@ -80,7 +86,7 @@ public class PaymentRepositoryIT extends AbstractRepositoryIT {
 
         payment.setAmount(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> paymentRepository.save(payment));
+        assertThrows(DataIntegrityViolationException.class, () -> paymentRepository.saveAndFlush(payment));
     }
 
     @Test
@@ -90,7 +96,7 @@ public class PaymentRepositoryIT extends AbstractRepositoryIT {
 
         payment.setState(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> paymentRepository.save(payment));
+        assertThrows(DataIntegrityViolationException.class, () -> paymentRepository.saveAndFlush(payment));
     }
 
     @Test
@@ -100,7 +106,7 @@ public class PaymentRepositoryIT extends AbstractRepositoryIT {
 
         payment.setCreatedBy(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> paymentRepository.save(payment));
+        assertThrows(DataIntegrityViolationException.class, () -> paymentRepository.saveAndFlush(payment));
     }
 
     @Test
@@ -110,7 +116,7 @@ public class PaymentRepositoryIT extends AbstractRepositoryIT {
 
         payment.setLastModifiedBy(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> paymentRepository.save(payment));
+        assertThrows(DataIntegrityViolationException.class, () -> paymentRepository.saveAndFlush(payment));
     }
 
     @Test
@@ -146,9 +152,78 @@ public class PaymentRepositoryIT extends AbstractRepositoryIT {
         assertEquals(1, paymentRepository.findByAuctionId(paymentSaved.getAuction().getId()).size());
     }
 
+    @Test
+    public void shouldCountPaymentsByAuctionIds() {
+
+        PaymentEntity cancelledPayment = getTestPaymentEntity();
+        cancelledPayment.setState(PaymentState.CANCELLED);
+        AuctionEntity auction = paymentRepository.save(cancelledPayment).getAuction();
+
+        PaymentEntity createdPayment = TestDataFactory.createTestPaymentEntity(auction.getCreatedBy(), auction);
+        createdPayment.setId(null);
+        paymentRepository.save(createdPayment);
+
+        AuctionEntity auctionWithoutPayments = getTestPaymentEntity().getAuction();
+
+        entityManager.flush();
+
+        List<AuctionPaymentCount> paymentCounts = paymentRepository.countByAuctionIds(List.of(auction.getId(), auctionWithoutPayments.getId()));
+
+        assertEquals(1, paymentCounts.size());
+        assertEquals(auction.getId(), paymentCounts.get(0).getAuctionId());
+        assertEquals(2L, paymentCounts.get(0).getPayments());
+    }
+
+    @Test
+    public void shouldFindUnpaidClosedAuctionsAfterHighWaterMark() {
+
+        PaymentEntity cancelledPayment = getTestPaymentEntity();
+        cancelledPayment.setState(PaymentState.CANCELLED);
+        AuctionEntity auctionWithCancelledPayment = paymentRepository.save(cancelledPayment).getAuction();
+
+        PaymentEntity createdPayment = getTestPaymentEntity();
+        AuctionEntity auctionWithCreatedPayment = paymentRepository.save(createdPayment).getAuction();
+
+        AuctionEntity ongoingAuction = getTestPaymentEntity().getAuction();
+
+        auctionWithCancelledPayment.setState(AuctionState.CLOSED);
+        auctionWithCreatedPayment.setState(AuctionState.CLOSED);
+        ongoingAuction.setState(AuctionState.ONGOING);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        List<UnpaidClosedAuction> unpaidClosedAuctions = paymentRepository.findUnpaidClosedAuctions(Instant.EPOCH, 0, Limit.of(10));
+
+        assertEquals(1, unpaidClosedAuctions.size());
+        assertEquals(auctionWithCancelledPayment.getId(), unpaidClosedAuctions.get(0).getId());
+        assertEquals(auctionWithCancelledPayment.getCreatedBy().getId(), unpaidClosedAuctions.get(0).getCreatedByUserId());
+
+        UnpaidClosedAuction unpaidClosedAuction = unpaidClosedAuctions.get(0);
+
+        assertTrue(paymentRepository.findUnpaidClosedAuctions(unpaidClosedAuction.getClosedAt(), unpaidClosedAuction.getId(), Limit.of(10)).isEmpty());
+    }
+
+    @Test
+    public void shouldThrowDataIntegrityViolationExceptionIfAuctionAlreadyHasLivePayment() {
+
+        PaymentEntity payment = paymentRepository.saveAndFlush(getTestPaymentEntity());
+
+        PaymentEntity cancelledPayment = TestDataFactory.createTestPaymentEntity(payment.getCreatedBy(), payment.getAuction());
+        cancelledPayment.setId(null);
+        cancelledPayment.setState(PaymentState.CANCELLED);
+
+        paymentRepository.saveAndFlush(cancelledPayment);
+
+        PaymentEntity secondPayment = TestDataFactory.createTestPaymentEntity(payment.getCreatedBy(), payment.getAuction());
+        secondPayment.setId(null);
+
+        assertThrows(DataIntegrityViolationException.class, () -> paymentRepository.saveAndFlush(secondPayment));
+    }
+
     private PaymentEntity getTestPaymentEntity() {
 
-        UserEntity userEntity = TestDataFactory.createTestUserEntity();
+        UserEntity userEntity = TestDataFactory.createUniqueTestUserEntity();
         userEntity.setId(null);
         UserEntity userSaved = userRepository.save(userEntity);
 
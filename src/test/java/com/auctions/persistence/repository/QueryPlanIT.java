@@ -0,0 +1,405 @@
+package com.auctions.persistence.repository;
+
+import com.auctions.domain.auction.AuctionFilter;
+import com.auctions.domain.auction.AuctionState;
+import com.auctions.domain.bid.BidFilter;
+import com.auctions.domain.bid.BidState;
+import com.auctions.domain.lot.LotFilter;
+import com.auctions.persistence.entity.UserEntity;
+import com.auctions.persistence.specification.AuctionSpecifications;
+import com.auctions.persistence.specification.BidSpecifications;
+import com.auctions.persistence.specification.LotSpecifications;
+import com.auctions.service.page.PageCursor;
+import jakarta.persistence.EntityManager;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Calls each repository query against a seeded, analyzed schema, explains the SQL Hibernate sent with the parameters
+ * it bound, and fails when a plan falls back to a sequential scan. Seeded states follow production: most auctions are
+ * closed, most bids are settled and the outbox holds a backlog. Every query method a repository declares must be
+ * registered here, so a new query cannot bypass the check.
+ */
+@Import(QueryPlanIT.StatementRecorderConfig.class)
+// The recording proxy hides the embedded database from zonky's Flyway listener, which then resets it through Flyway.
+@TestPropertySource(properties = "spring.flyway.clean-disabled=false")
+public class QueryPlanIT extends AbstractRepositoryIT {
+
+    private static final int USERS = 2_000;
+    private static final int LOTS = 10_000;
+    private static final int AUCTIONS = 20_000;
+    private static final int BIDS = 100_000;
+    private static final int PAYMENTS = 15_000;
+    private static final int OUTBOX_EVENTS = 10_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LotRepository lotRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Autowired
+    private HighWaterMarkRepository highWaterMarkRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+
+        // Shares the test transaction through the data source, so the seeded rows roll back with it.
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.update("""
+                INSERT INTO users (id, active, is_admin, email, password, username, created_at, updated_at)
+                SELECT g, true, false, 'user' || g || '@example.com', 'password', 'user' || g, now(), now()
+                FROM generate_series(1, ?) g
+                """, USERS);
+
+        jdbcTemplate.update("""
+                INSERT INTO lots (id, name, surname, photo_url, created_by, last_modified_by, created_at, updated_at)
+                SELECT g, 'John', 'Doe', 'photos/' || g || '.jpg', 1 + g % ?, 1 + g % ?, now(), now()
+                FROM generate_series(1, ?) g
+                """, USERS, USERS, LOTS);
+
+        jdbcTemplate.update("""
+                INSERT INTO stored_files (file_name, reference_count, created_at)
+                SELECT photo_url, 1, now() FROM lots
+                """);
+
+        jdbcTemplate.update("""
+                INSERT INTO auctions (id, state, start_time, stop_time, lot, created_by, last_modified_by, created_at, updated_at)
+                SELECT g,
+                    (CASE g % 50 WHEN 0 THEN 'ONGOING' WHEN 1 THEN 'CREATED' WHEN 2 THEN 'CANCELLED' ELSE 'CLOSED' END)::auction_state,
+                    now() - interval '1 day', now() + g * interval '1 minute', 1 + g % ?, 1 + g % ?, 1 + g % ?,
+                    now() - interval '30 days', now() - g * interval '1 minute'
+                FROM generate_series(1, ?) g
+                """, LOTS, USERS, USERS, AUCTIONS);
+
+        jdbcTemplate.update("""
+                INSERT INTO bids (id, amount, state, until, auction, created_by, last_modified_by, created_at, updated_at)
+                SELECT g, 100,
+                    (CASE g % 100 WHEN 0 THEN 'CREATED' WHEN 1 THEN 'CANCELLED' WHEN 2 THEN 'ACCEPTED' WHEN 3 THEN 'REJECTED' ELSE 'OUTDATED' END)::bid_state,
+                    now() + g * interval '1 second', 1 + g % ?, 1 + g % ?, 1 + g % ?, now(), now()
+                FROM generate_series(1, ?) g
+                """, AUCTIONS, USERS, USERS, BIDS);
+
+        jdbcTemplate.update("""
+                INSERT INTO payments (id, state, link, amount, auction, created_by, last_modified_by, created_at, updated_at)
+                SELECT g, 'DONE'::payment_state, 'http://adyen', 100, 1 + g % ?, 1 + g % ?, 1 + g % ?, now(), now()
+                FROM generate_series(1, ?) g
+                """, AUCTIONS, USERS, USERS, PAYMENTS);
+
+        jdbcTemplate.update("""
+                INSERT INTO outbox (id, aggregate_type, aggregate_id, event_type, payload, created_at, dead_lettered_at)
+                SELECT g, 'AUCTION', 1 + g % ?, 'AUCTION_CLOSED', '{}'::jsonb, now(), CASE WHEN g % 100 = 0 THEN now() END
+                FROM generate_series(1, ?) g
+                """, AUCTIONS, OUTBOX_EVENTS);
+
+        jdbcTemplate.execute("ANALYZE users, lots, stored_files, auctions, bids, payments, outbox, high_water_marks");
+    }
+
+    @Test
+    public void shouldRegisterEveryRepositoryQuery() {
+
+        Set<String> registered = queries().keySet();
+
+        Repositories repositories = new Repositories(applicationContext);
+
+        List<String> unregistered = StreamSupport.stream(repositories.spliterator(), false)
+                .map(domainType -> repositories.getRequiredRepositoryInformation(domainType).getRepositoryInterface())
+                .flatMap(repositoryInterface -> Arrays.stream(repositoryInterface.getMethods())
+                        .filter(method -> method.getDeclaringClass().getPackageName().equals(QueryPlanIT.class.getPackageName()))
+                        .map(method -> key(repositoryInterface, method)))
+                .filter(query -> !registered.contains(query))
+                .sorted()
+                .toList();
+
+        assertTrue(unregistered.isEmpty(), () -> "Repository queries without a plan check:\n" + String.join("\n", unregistered));
+    }
+
+    @Test
+    public void shouldNotSequentiallyScanInRepositoryQueries() {
+
+        List<String> regressions = new ArrayList<>();
+
+        queries().forEach((query, invocation) -> {
+
+            List<RecordedStatement> statements = statementRecorder.record(invocation);
+
+            if (statements.isEmpty()) {
+
+                regressions.add(query + ": sent no SQL");
+            }
+
+            for (RecordedStatement statement : statements) {
+
+                String plan = explain(statement);
+
+                if (plan.contains("Seq Scan")) {
+
+                    regressions.add(query + ":\n" + statement.sql() + "\n" + plan);
+                }
+            }
+        });
+
+        assertTrue(regressions.isEmpty(), () -> "Sequential scans in query plans:\n\n" + String.join("\n\n", regressions));
+    }
+
+    private Map<String, Runnable> queries() {
+
+        Instant now = Instant.now();
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+
+        queries.put("UserRepository.findByUsername(String)", () -> userRepository.findByUsername("user1000"));
+        queries.put("UserRepository.existsByUsername(String)", () -> userRepository.existsByUsername("user1000"));
+        queries.put("UserRepository.existsByEmail(String)", () -> userRepository.existsByEmail("user1000@example.com"));
+        queries.put("UserRepository.findByIdGreaterThanOrderById(Integer, Limit)", () -> userRepository.findByIdGreaterThanOrderById(1000, Limit.of(51)));
+
+        queries.put("LotRepository.findByCreatedBy(UserEntity)", () -> lotRepository.findByCreatedBy(user(1000)));
+        queries.put("LotRepository.findByLastModifiedBy(UserEntity)", () -> lotRepository.findByLastModifiedBy(user(1000)));
+        queries.put("LotRepository.findReferencedPhotoUrls(Collection)", () -> lotRepository.findReferencedPhotoUrls(List.of("photos/1000.jpg", "photos/1001.jpg")));
+        queries.put("LotSpecifications.matching(createdBy)", () -> lotRepository.findBy(
+                LotSpecifications.matching(LotFilter.builder().createdByUserId(1000).build(), 0), this::firstPage));
+
+        queries.put("AuctionRepository.findByCreatedBy(UserEntity)", () -> auctionRepository.findByCreatedBy(user(1000)));
+        queries.put("AuctionRepository.findByLastModifiedBy(UserEntity)", () -> auctionRepository.findByLastModifiedBy(user(1000)));
+        queries.put("AuctionRepository.findNextOngoingAuctionStopTime()", () -> auctionRepository.findNextOngoingAuctionStopTime());
+        queries.put("AuctionRepository.updateAuctionCreatedBidsState(BidState, Integer)", () -> auctionRepository.updateAuctionCreatedBidsState(BidState.REJECTED, 1000));
+        queries.put("AuctionRepository.updateOngoingAuctionStateToClosed(Integer, Integer)", () -> auctionRepository.updateOngoingAuctionStateToClosed(1000, 0));
+        queries.put("AuctionRepository.updateOpenAuctionStateToCancelled(Integer, Integer)", () -> auctionRepository.updateOpenAuctionStateToCancelled(1001, 0));
+        queries.put("AuctionRepository.updateDueAuctionsStateToClosed(Instant, int)", () -> auctionRepository.updateDueAuctionsStateToClosed(now, 100));
+        queries.put("AuctionSpecifications.matching(state)", () -> auctionRepository.findBy(
+                AuctionSpecifications.matching(AuctionFilter.builder().state(AuctionState.ONGOING).build(), 0), this::firstPage));
+        queries.put("AuctionSpecifications.matching(lot)", () -> auctionRepository.findBy(
+                AuctionSpecifications.matching(AuctionFilter.builder().lotId(1000).build(), 0), this::firstPage));
+        queries.put("AuctionSpecifications.matching(createdBy)", () -> auctionRepository.findBy(
+                AuctionSpecifications.matching(AuctionFilter.builder().createdByUserId(1000).build(), 0), this::firstPage));
+
+        queries.put("BidRepository.findByCreatedBy(UserEntity)", () -> bidRepository.findByCreatedBy(user(1000)));
+        queries.put("BidRepository.findByLastModifiedBy(UserEntity)", () -> bidRepository.findByLastModifiedBy(user(1000)));
+        queries.put("BidRepository.countByAuctionId(Integer)", () -> bidRepository.countByAuctionId(1000));
+        queries.put("BidRepository.findCreatedBidsByAuctionId(Integer)", () -> bidRepository.findCreatedBidsByAuctionId(1000));
+        queries.put("BidRepository.findWithAuctionById(Integer)", () -> bidRepository.findWithAuctionById(1000));
+        queries.put("BidRepository.findAuctionIdById(Integer)", () -> bidRepository.findAuctionIdById(1000));
+        queries.put("BidRepository.updateCreatedBidStateToAccepted(Integer, Integer)", () -> bidRepository.updateCreatedBidStateToAccepted(1100, 0));
+        queries.put("BidRepository.findCreatedBidDeadlines()", () -> bidRepository.findCreatedBidDeadlines());
+        queries.put("BidRepository.updateBidsStateToOutdated()", () -> bidRepository.updateBidsStateToOutdated());
+        queries.put("BidRepository.updateBidsStateToOutdated(Collection, Instant)", () -> bidRepository.updateBidsStateToOutdated(List.of(1200, 1300, 1400), now));
+        queries.put("BidSpecifications.matching(state)", () -> bidRepository.findBy(
+                BidSpecifications.matching(BidFilter.builder().state(BidState.CREATED).build(), 0), this::firstPage));
+        queries.put("BidSpecifications.matching(auction)", () -> bidRepository.findBy(
+                BidSpecifications.matching(BidFilter.builder().auctionId(1000).build(), 0), this::firstPage));
+        queries.put("BidSpecifications.matching(createdBy)", () -> bidRepository.findBy(
+                BidSpecifications.matching(BidFilter.builder().createdByUserId(1000).build(), 0), this::firstPage));
+
+        queries.put("PaymentRepository.findByAuctionId(Integer)", () -> paymentRepository.findByAuctionId(1000));
+        queries.put("PaymentRepository.countByAuctionIds(Collection)", () -> paymentRepository.countByAuctionIds(List.of(1000, 1001)));
+        queries.put("PaymentRepository.findUnpaidClosedAuctions(Instant, Integer, Limit)", () -> paymentRepository.findUnpaidClosedAuctions(
+                now.minus(1, ChronoUnit.HOURS), 0, Limit.of(100)));
+
+        queries.put("OutboxRepository.findNextBatchForUpdate(long, int)", () -> outboxRepository.findNextBatchForUpdate(0, 100));
+        queries.put("OutboxRepository.findPendingByIdForUpdate(Long)", () -> outboxRepository.findPendingByIdForUpdate(1000L));
+        queries.put("OutboxRepository.recordFailedAttempt(Long, String, int)", () -> outboxRepository.recordFailedAttempt(1000L, "Sink unavailable", 10));
+        queries.put("OutboxRepository.deleteByIdIn(Collection)", () -> outboxRepository.deleteByIdIn(List.of(1001L, 1002L)));
+
+        queries.put("StoredFileRepository.acquireReference(String)", () -> storedFileRepository.acquireReference("photos/1000.jpg"));
+        queries.put("StoredFileRepository.releaseReference(String)", () -> storedFileRepository.releaseReference("photos/1000.jpg"));
+        queries.put("StoredFileRepository.deleteUnreferenced(String)", () -> storedFileRepository.deleteUnreferenced("photos/1000.jpg"));
+        queries.put("StoredFileRepository.lockReferencedFiles(Collection)", () -> storedFileRepository.lockReferencedFiles(List.of("photos/1001.jpg", "photos/1002.jpg")));
+        queries.put("StoredFileRepository.deleteAllUnreferenced(Collection)", () -> storedFileRepository.deleteAllUnreferenced(List.of("photos/1001.jpg", "photos/1002.jpg")));
+
+        queries.put("HighWaterMarkRepository.advance(String, Instant)", () -> highWaterMarkRepository.advance("payment-create", now));
+
+        return queries;
+    }
+
+    private String explain(RecordedStatement statement) {
+
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+
+                for (ParameterSetOperation parameter : statement.parameters()) {
+
+                    parameter.getMethod().invoke(preparedStatement, parameter.getArgs());
+                }
+
+                List<String> plan = new ArrayList<>();
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+
+                    while (resultSet.next()) {
+
+                        plan.add(resultSet.getString(1));
+                    }
+                }
+
+                return String.join("\n", plan);
+
+            } catch (ReflectiveOperationException e) {
+
+                throw new IllegalStateException("Failed to bind the parameters of " + statement.sql(), e);
+            }
+        });
+    }
+
+    private UserEntity user(Integer id) {
+
+        return entityManager.getReference(UserEntity.class, id);
+    }
+
+    private <T> List<T> firstPage(FluentQuery.FetchableFluentQuery<T> query) {
+
+        return query.sortBy(PageCursor.SORT).limit(PageCursor.DEFAULT_LIMIT + 1).all();
+    }
+
+    private static String key(Class<?> repositoryInterface, Method method) {
+
+        return repositoryInterface.getSimpleName() + "." + method.getName() + Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    record RecordedStatement(String sql, List<ParameterSetOperation> parameters) {
+    }
+
+    /**
+     * Keeps the statements sent while recording, each with the parameters of its first execution.
+     */
+    static class StatementRecorder implements QueryExecutionListener {
+
+        private final List<RecordedStatement> statements = new ArrayList<>();
+
+        private boolean recording;
+
+        List<RecordedStatement> record(Runnable invocation) {
+
+            statements.clear();
+
+            recording = true;
+
+            try {
+
+                invocation.run();
+
+            } finally {
+
+                recording = false;
+            }
+
+            return List.copyOf(statements);
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+
+            if (!recording) {
+
+                return;
+            }
+
+            for (QueryInfo queryInfo : queryInfoList) {
+
+                List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty() ? List.of() : queryInfo.getParametersList().get(0);
+
+                statements.add(new RecordedStatement(queryInfo.getQuery(), List.copyOf(parameters)));
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class StatementRecorderConfig {
+
+        @Bean
+        public StatementRecorder statementRecorder() {
+
+            return new StatementRecorder();
+        }
+
+        // Wraps the data source Hibernate connects through, so the recorder sees the SQL it actually sends.
+        @Bean
+        public static BeanPostProcessor recordingDataSourcePostProcessor(ObjectProvider<StatementRecorder> statementRecorder) {
+
+            return new BeanPostProcessor() {
+
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+                    if (bean instanceof DataSource dataSource) {
+
+                        return ProxyDataSourceBuilder.create(dataSource).listener(statementRecorder.getObject()).build();
+                    }
+
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.auctions.persistence.repository;
+
+import com.auctions.persistence.entity.StoredFileEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StoredFileRepositoryIT extends AbstractRepositoryIT {
+
+    private static final String FILE_NAME = "ab/cd/abcd.jpg";
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void shouldCountAcquiredReferences() {
+
+        storedFileRepository.acquireReference(FILE_NAME);
+        storedFileRepository.acquireReference(FILE_NAME);
+
+        entityManager.clear();
+
+        StoredFileEntity storedFile = storedFileRepository.findById(FILE_NAME).orElseThrow();
+
+        assertEquals(2, storedFile.getReferenceCount());
+        assertNotNull(storedFile.getCreatedAt());
+    }
+
+    @Test
+    public void shouldReturnRemainingReferencesOnRelease() {
+
+        storedFileRepository.acquireReference(FILE_NAME);
+        storedFileRepository.acquireReference(FILE_NAME);
+
+        assertEquals(Optional.of(1), storedFileRepository.releaseReference(FILE_NAME));
+        assertEquals(Optional.of(0), storedFileRepository.releaseReference(FILE_NAME));
+        assertEquals(Optional.empty(), storedFileRepository.releaseReference(FILE_NAME));
+        assertEquals(Optional.empty(), storedFileRepository.releaseReference("unknown.jpg"));
+    }
+
+    @Test
+    public void shouldDeleteOnlyUnreferencedFiles() {
+
+        storedFileRepository.acquireReference(FILE_NAME);
+
+        assertEquals(0, storedFileRepository.deleteUnreferenced(FILE_NAME));
+
+        storedFileRepository.releaseReference(FILE_NAME);
+
+        assertEquals(1, storedFileRepository.deleteUnreferenced(FILE_NAME));
+
+        entityManager.clear();
+
+        assertTrue(storedFileRepository.findById(FILE_NAME).isEmpty());
+    }
+
+    @Test
+    public void shouldLockBatchAndReturnReferencedFiles() {
+
+        storedFileRepository.acquireReference(FILE_NAME);
+        storedFileRepository.acquireReference("ab/cd/released.jpg");
+        storedFileRepository.releaseReference("ab/cd/released.jpg");
+
+        List<String> referencedFiles = storedFileRepository.lockReferencedFiles(List.of(FILE_NAME, "ab/cd/released.jpg", "unknown.jpg"));
+
+        assertEquals(List.of(FILE_NAME), referencedFiles);
+    }
+
+    @Test
+    public void shouldDeleteOnlyUnreferencedFilesOfBatch() {
+
+        storedFileRepository.acquireReference(FILE_NAME);
+        storedFileRepository.acquireReference("ab/cd/released.jpg");
+        storedFileRepository.releaseReference("ab/cd/released.jpg");
+
+        assertEquals(1, storedFileRepository.deleteAllUnreferenced(List.of(FILE_NAME, "ab/cd/released.jpg")));
+
+        entityManager.clear();
+
+        assertTrue(storedFileRepository.findById(FILE_NAME).isPresent());
+        assertTrue(storedFileRepository.findById("ab/cd/released.jpg").isEmpty());
+    }
+}
@@ -45,7 +45,21 @@ public class UserRepositoryIT extends AbstractRepositoryIT {
         user.setId(null);
         user.setEmail(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> userRepository.save(user));
+        assertThrows(DataIntegrityViolationException.class, () -> userRepository.saveAndFlush(user));
+    }
+
+    @Test
+    public void shouldThrowDataIntegrityViolationExceptionIfUsernameIsTaken() {
+
+        UserEntity user = TestDataFactory.createTestUserEntity();
+        user.setId(null);
+        userRepository.saveAndFlush(user);
+
+        UserEntity userWithSameUsername = TestDataFactory.createUniqueTestUserEntity();
+        userWithSameUsername.setId(null);
+        userWithSameUsername.setUsername(user.getUsername());
+
+        assertThrows(DataIntegrityViolationException.class, () -> userRepository.saveAndFlush(userWithSameUsername));
     }
 
     @Test
@@ -55,7 +69,7 @@ public class UserRepositoryIT extends AbstractRepositoryIT {
         user.setId(null);
         user.setPassword(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> userRepository.save(user));
+        assertThrows(DataIntegrityViolationException.class, () -> userRepository.saveAndFlush(user));
     }
 
     @Test
@@ -65,7 +79,7 @@ public class UserRepositoryIT extends AbstractRepositoryIT {
         user.setId(null);
         user.setUsername(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> userRepository.save(user));
+        assertThrows(DataIntegrityViolationException.class, () -> userRepository.saveAndFlush(user));
     }
 
     @Test
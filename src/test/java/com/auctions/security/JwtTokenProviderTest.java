@@ -0,0 +1,80 @@
+package com.auctions.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "6XRS1r64JV7PxOaRs6L/u+G/uADZaoNd2+GLIaShUAI=";
+
+    private final JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(SECRET, 60_000, 100);
+
+    @Test
+    void authenticate_whenTokenIsValid_shouldReturnPrincipalWithUserId() {
+
+        String token = jwtTokenProvider.generateToken(testAuthentication());
+
+        Authentication authentication = jwtTokenProvider.authenticate(token).orElseThrow();
+
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+
+        assertEquals(7, principal.getId());
+        assertEquals("testuser", authentication.getName());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")), authentication.getAuthorities());
+    }
+
+    @Test
+    void authenticate_whenTokenWasVerified_shouldReturnCachedAuthentication() {
+
+        String token = jwtTokenProvider.generateToken(testAuthentication());
+
+        Authentication authentication = jwtTokenProvider.authenticate(token).orElseThrow();
+
+        assertSame(authentication, jwtTokenProvider.authenticate(token).orElseThrow());
+    }
+
+    @Test
+    void authenticate_whenSignatureIsInvalid_shouldReturnEmpty() {
+
+        String token = jwtTokenProvider.generateToken(testAuthentication());
+
+        String otherSecretToken = new JwtTokenProvider("a".repeat(44), 60_000, 100).generateToken(testAuthentication());
+
+        assertTrue(jwtTokenProvider.authenticate(token).isPresent());
+        assertEquals(Optional.empty(), jwtTokenProvider.authenticate(otherSecretToken));
+        assertEquals(Optional.empty(), jwtTokenProvider.authenticate("not a token"));
+    }
+
+    @Test
+    void authenticate_whenTokenIsExpired_shouldReturnEmpty() {
+
+        String token = new JwtTokenProvider(SECRET, -1_000, 100).generateToken(testAuthentication());
+
+        assertEquals(Optional.empty(), jwtTokenProvider.authenticate(token));
+    }
+
+    @Test
+    void authenticate_whenTokenIsCached_shouldNotAllowChangingIt() {
+
+        Authentication authentication = jwtTokenProvider.authenticate(jwtTokenProvider.generateToken(testAuthentication())).orElseThrow();
+
+        assertThrows(IllegalArgumentException.class, () -> authentication.setAuthenticated(false));
+        assertThrows(UnsupportedOperationException.class, () -> authentication.getAuthorities().clear());
+    }
+
+    private static Authentication testAuthentication() {
+
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+
+        AuthenticatedUser principal = new AuthenticatedUser(7, "testuser", "", true, authorities);
+
+        return new UsernamePasswordAuthenticationToken(principal, null, authorities);
+    }
+}
@@ -5,9 +5,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.user.User;
 import com.auctions.exception.InvalidParameterException;
 import com.auctions.exception.ResourceNotFoundException;
@@ -15,6 +17,10 @@ import com.auctions.mapper.user.UserEntityToUserMapper;
 import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.repository.LotRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.service.auth.PrincipalCache;
+import com.auctions.service.invalidation.CacheInvalidationService;
+import com.auctions.service.invalidation.InvalidationType;
+import com.auctions.service.page.PageCursor;
 import com.auctions.service.user.UserServiceImpl;
 import com.auctions.util.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +29,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -45,6 +52,12 @@ class UserServiceTest {
     @Mock
     private UserEntityToUserMapper userEntityToUserMapper;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -62,16 +75,16 @@ class UserServiceTest {
     // TODO: add negative scenarios
 
     @Test
-    void getAllUsers_whenAllConditionsExist_shouldReturnAllUsers() {
+    void getUserPage_whenCursorIsGiven_shouldReturnUsersAfterCursor() {
 
-        when(userRepository.findAll()).thenReturn(Collections.singletonList(testUserEntity));
+        when(userRepository.findByIdGreaterThanOrderById(eq(1), eq(Limit.of(11)))).thenReturn(Collections.singletonList(testUserEntity));
         when(userEntityToUserMapper.map(any())).thenReturn(testUser);
-        
-        var result = userService.getAllUsers();
-        
+
+        CursorPage<User> result = userService.getUserPage(PageCursor.encode(1), 10);
+
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testUser.getUsername(), result.get(0).getUsername());
+        assertEquals(1, result.getItems().size());
+        assertEquals(testUser.getUsername(), result.getItems().get(0).getUsername());
     }
 
     @Test
@@ -147,6 +160,8 @@ class UserServiceTest {
         assertNotNull(result);
         assertEquals(updatedUser.getUsername(), result.getUsername());
         assertEquals(updatedUser.getEmail(), result.getEmail());
+        verify(principalCache).evict(1);
+        verify(cacheInvalidationService).publish(InvalidationType.USER, 1);
     }
 
     @Test
@@ -158,6 +173,8 @@ class UserServiceTest {
 
         assertDoesNotThrow(() -> userService.deleteUser(1));
         verify(userRepository).deleteById(1);
+        verify(principalCache).evict(1);
+        verify(cacheInvalidationService).publish(InvalidationType.USER, 1);
     }
 
     @Test
@@ -1,9 +1,13 @@
 package com.auctions.service.auction;
 
 import com.auctions.domain.auction.Auction;
+import com.auctions.domain.auction.AuctionFilter;
+import com.auctions.domain.auction.AuctionPrice;
 import com.auctions.domain.lot.Lot;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.user.User;
 import com.auctions.service.auction.component.*;
+import com.auctions.service.sequencer.AuctionSequencer;
 import com.auctions.util.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +17,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -38,6 +43,9 @@ public class AuctionServiceTest {
     @Mock
     private UpdateAuctionServiceComponent updateAuctionServiceComponent;
 
+    @Mock
+    private AuctionSequencer auctionSequencer;
+
     @InjectMocks
     private AuctionServiceImpl auctionService;
 
@@ -53,17 +61,19 @@ public class AuctionServiceTest {
         Lot testLot = TestDataFactory.createTestLot(testUser);
 
         testAuction = TestDataFactory.createTestAuction(testUser, testLot);
+
+        runAuctionSequencerInline();
     }
 
     @Test
-    void getAllAuctions() {
+    void getAuctionPage() {
 
-        when(getAuctionServiceComponent.getAllAuctions()).thenReturn(List.of(testAuction));
+        AuctionFilter filter = AuctionFilter.builder().build();
+        CursorPage<Auction> auctionPage = CursorPage.<Auction>builder().items(List.of(testAuction)).build();
 
-        List<Auction> auctions = auctionService.getAllAuctions();
+        when(getAuctionServiceComponent.getAuctionPage(filter, "MQ", 10)).thenReturn(auctionPage);
 
-        assertEquals(1, auctions.size());
-        assertEquals(testAuction, auctions.get(0));
+        assertEquals(auctionPage, auctionService.getAuctionPage(filter, "MQ", 10));
     }
 
     @Test
@@ -74,6 +84,16 @@ public class AuctionServiceTest {
         assertEquals(testAuction, auctionService.getAuctionById(testAuction.getId()));
     }
 
+    @Test
+    void getAuctionPrice() {
+
+        AuctionPrice auctionPrice = AuctionPrice.builder().auctionId(testAuction.getId()).build();
+
+        when(getAuctionServiceComponent.getAuctionPrice(testAuction.getId())).thenReturn(auctionPrice);
+
+        assertEquals(auctionPrice, auctionService.getAuctionPrice(testAuction.getId()));
+    }
+
     @Test
     void createAuction() {
 
@@ -104,6 +124,7 @@ public class AuctionServiceTest {
         auctionService.startAuction(testAuction.getId());
 
         verify(startAuctionServiceComponent).startAuction(testAuction.getId());
+        verify(auctionSequencer).run(eq(testAuction.getId()), any());
     }
 
     @Test
@@ -112,5 +133,15 @@ public class AuctionServiceTest {
         auctionService.cancelAuction(testAuction.getId());
 
         verify(cancelAuctionServiceComponent).cancelAuction(testAuction.getId());
+        verify(auctionSequencer).run(eq(testAuction.getId()), any());
+    }
+
+    private void runAuctionSequencerInline() {
+
+        lenient().when(auctionSequencer.submit(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(auctionSequencer).run(any(), any());
     }
 }
@@ -10,6 +10,10 @@ import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.repository.AuctionRepository;
 import com.auctions.persistence.repository.LotRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.service.closing.AuctionClosingService;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
 import com.auctions.util.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +37,18 @@ public abstract class AuctionServiceComponentTest {
     @Mock
     AuctionEntityToAuctionMapper auctionEntityToAuctionMapper;
 
+    @Mock
+    OrderBookService orderBookService;
+
+    @Mock
+    AuctionClosingService auctionClosingService;
+
+    @Mock
+    AuctionEventService auctionEventService;
+
+    @Mock
+    OutboxService outboxService;
+
     Auction testAuction;
 
     AuctionEntity testAuctionEntity;
@@ -2,12 +2,12 @@ package com.auctions.service.auction.component;
 
 import com.auctions.domain.auction.AuctionState;
 import com.auctions.domain.bid.BidState;
+import com.auctions.domain.outbox.OutboxEventType;
 import com.auctions.exception.BusinessException;
+import com.auctions.exception.ConflictException;
 import com.auctions.exception.InvalidParameterException;
 import com.auctions.exception.ResourceNotFoundException;
-import com.auctions.persistence.entity.AuctionEntity;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 
 import java.time.temporal.ChronoUnit;
@@ -30,16 +30,18 @@ public class CancelAuctionServiceComponentTest extends AuctionServiceComponentTe
         testAuctionEntity.setId(AUCTION_ID);
         testAuctionEntity.setStopTime(null);
         when(auctionRepository.findById(AUCTION_ID)).thenReturn(Optional.of(testAuctionEntity));
+        when(auctionRepository.updateOpenAuctionStateToCancelled(AUCTION_ID, testAuctionEntity.getVersion())).thenReturn(1);
+        when(auctionEntityToAuctionMapper.map(testAuctionEntity)).thenReturn(testAuction);
 
         cancelAuctionServiceComponent.cancelAuction(AUCTION_ID);
 
-        ArgumentCaptor<AuctionEntity> auctionEntityCaptor = ArgumentCaptor.forClass(AuctionEntity.class);
-        verify(auctionRepository).save(auctionEntityCaptor.capture());
-        AuctionEntity auctionEntityCaptured = auctionEntityCaptor.getValue();
-        assertNotNull(auctionEntityCaptured.getStartTime());
-        assertEquals(AuctionState.CANCELLED, auctionEntityCaptured.getState());
+        verify(auctionRepository).updateOpenAuctionStateToCancelled(AUCTION_ID, testAuctionEntity.getVersion());
 
         verify(auctionRepository).updateAuctionCreatedBidsState(BidState.CANCELLED, AUCTION_ID);
+
+        verify(orderBookService).closeOrderBook(AUCTION_ID);
+
+        verify(outboxService).append(eq(OutboxEventType.AUCTION_CANCELLED), eq(AUCTION_ID), any());
     }
 
     @Test
@@ -49,7 +51,7 @@ public class CancelAuctionServiceComponentTest extends AuctionServiceComponentTe
 
         assertThrows(ResourceNotFoundException.class, () -> cancelAuctionServiceComponent.cancelAuction(AUCTION_ID));
 
-        verify(auctionRepository, times(0)).save(any());
+        verify(auctionRepository, times(0)).updateOpenAuctionStateToCancelled(any(), any());
     }
 
     @Test
@@ -60,7 +62,7 @@ public class CancelAuctionServiceComponentTest extends AuctionServiceComponentTe
 
         cancelAuctionServiceComponent.cancelAuction(AUCTION_ID);
 
-        verify(auctionRepository, times(0)).save(any());
+        verify(auctionRepository, times(0)).updateOpenAuctionStateToCancelled(any(), any());
     }
 
     @Test
@@ -71,7 +73,7 @@ public class CancelAuctionServiceComponentTest extends AuctionServiceComponentTe
 
         assertThrows(InvalidParameterException.class, () -> cancelAuctionServiceComponent.cancelAuction(AUCTION_ID));
 
-        verify(auctionRepository, times(0)).save(any());
+        verify(auctionRepository, times(0)).updateOpenAuctionStateToCancelled(any(), any());
     }
 
     @Test
@@ -83,16 +85,30 @@ public class CancelAuctionServiceComponentTest extends AuctionServiceComponentTe
 
         assertThrows(InvalidParameterException.class, () -> cancelAuctionServiceComponent.cancelAuction(AUCTION_ID));
 
-        verify(auctionRepository, times(0)).save(any());
+        verify(auctionRepository, times(0)).updateOpenAuctionStateToCancelled(any(), any());
+    }
+
+    @Test
+    void cancelAuction_whenAuctionWasModifiedConcurrently_shouldThrowConflictException() {
+
+        testAuctionEntity.setState(AuctionState.ONGOING);
+        testAuctionEntity.setStopTime(null);
+        when(auctionRepository.findById(AUCTION_ID)).thenReturn(Optional.of(testAuctionEntity));
+        when(auctionRepository.updateOpenAuctionStateToCancelled(any(), any())).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> cancelAuctionServiceComponent.cancelAuction(AUCTION_ID));
+
+        verify(auctionRepository, times(0)).updateAuctionCreatedBidsState(any(), any());
+        verify(orderBookService, times(0)).closeOrderBook(any());
     }
 
     @Test
-    void cancelAuction_whenRepositorySaveThrowsException_shouldThrowException() {
+    void cancelAuction_whenRepositoryUpdateThrowsException_shouldThrowException() {
 
         testAuctionEntity.setState(AuctionState.ONGOING);
         testAuctionEntity.setStopTime(null);
         when(auctionRepository.findById(AUCTION_ID)).thenReturn(Optional.of(testAuctionEntity));
-        doThrow(new RuntimeException()).when(auctionRepository).save(testAuctionEntity);
+        when(auctionRepository.updateOpenAuctionStateToCancelled(any(), any())).thenThrow(new RuntimeException());
 
         assertThrows(BusinessException.class, () -> cancelAuctionServiceComponent.cancelAuction(AUCTION_ID));
     }
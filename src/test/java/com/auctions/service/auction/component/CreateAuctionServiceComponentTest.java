@@ -21,7 +21,7 @@ public class CreateAuctionServiceComponentTest extends AuctionServiceComponentTe
     @Test
     void createAuction_whenAllConditionsExist_shouldCreateAuction() {
 
-        when(userRepository.findById(any())).thenReturn(Optional.of(testUserEntity));
+        when(userRepository.getReferenceById(any())).thenReturn(testUserEntity);
         when(lotRepository.findById(any())).thenReturn(Optional.of(testLotEntity));
         when(auctionRepository.save(any())).thenReturn(testAuctionEntity);
         when(auctionEntityToAuctionMapper.map(any())).thenReturn(testAuction);
@@ -45,7 +45,7 @@ public class CreateAuctionServiceComponentTest extends AuctionServiceComponentTe
     @Test
     void createAuction_whenUserIsUnknown_shouldThrowException() {
 
-        when(userRepository.findById(any())).thenThrow(new BusinessException());
+        when(userRepository.getReferenceById(any())).thenThrow(new BusinessException());
 
         assertThrows(BusinessException.class, () -> createAuctionServiceComponent.createAuction(testAuction, testUser));
 
@@ -56,7 +56,7 @@ public class CreateAuctionServiceComponentTest extends AuctionServiceComponentTe
     @Test
     void createAuction_whenSaveThrowsException_shouldThrowException() {
 
-        when(userRepository.findById(any())).thenReturn(Optional.of(testUserEntity));
+        when(userRepository.getReferenceById(any())).thenReturn(testUserEntity);
         when(lotRepository.findById(any())).thenReturn(Optional.of(testLotEntity));
         when(auctionRepository.save(any())).thenThrow(new RuntimeException());
 
@@ -68,7 +68,7 @@ public class CreateAuctionServiceComponentTest extends AuctionServiceComponentTe
     @Test
     void createAuction_whenMapThrowsException_shouldThrowException() {
 
-        when(userRepository.findById(any())).thenReturn(Optional.of(testUserEntity));
+        when(userRepository.getReferenceById(any())).thenReturn(testUserEntity);
         when(lotRepository.findById(any())).thenReturn(Optional.of(testLotEntity));
         when(auctionRepository.save(any())).thenReturn(testAuctionEntity);
         when(auctionEntityToAuctionMapper.map(any())).thenThrow(new RuntimeException());
@@ -1,14 +1,23 @@
 package com.auctions.service.auction.component;
 
 import com.auctions.domain.auction.Auction;
+import com.auctions.domain.auction.AuctionFilter;
+import com.auctions.domain.auction.AuctionPrice;
+import com.auctions.domain.auction.AuctionState;
+import com.auctions.domain.page.CursorPage;
+import com.auctions.exception.InvalidParameterException;
 import com.auctions.exception.ResourceNotFoundException;
+import com.auctions.persistence.entity.AuctionEntity;
+import com.auctions.service.page.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -19,16 +28,32 @@ public class GetAuctionServiceComponentTest extends AuctionServiceComponentTest
     private GetAuctionServiceComponent getAuctionServiceComponent;
 
     @Test
-    void getAllAuctions_whenAllConditionsExist_shouldReturnAuctions() {
+    void getAuctionPage_whenLastPage_shouldReturnAuctionsWithoutNextCursor() {
 
-        when(auctionRepository.findAll()).thenReturn(List.of(testAuctionEntity));
+        when(auctionRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testAuctionEntity));
         when(auctionEntityToAuctionMapper.map(any())).thenReturn(testAuction);
 
-        List<Auction> auctions = getAuctionServiceComponent.getAllAuctions();
+        CursorPage<Auction> auctionPage = getAuctionServiceComponent.getAuctionPage(AuctionFilter.builder().build(), null, 10);
 
         verify(auctionEntityToAuctionMapper).map(testAuctionEntity);
-        assertEquals(1, auctions.size());
-        assertEquals(testAuction, auctions.get(0));
+        assertEquals(List.of(testAuction), auctionPage.getItems());
+        assertNull(auctionPage.getNextCursor());
+    }
+
+    @Test
+    void getAuctionPage_whenMoreRowsThanLimit_shouldReturnNextCursorOfLastItem() {
+
+        AuctionEntity nextAuctionEntity = new AuctionEntity();
+        nextAuctionEntity.setId(2);
+
+        when(auctionRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testAuctionEntity, nextAuctionEntity));
+        when(auctionEntityToAuctionMapper.map(any())).thenReturn(testAuction);
+
+        CursorPage<Auction> auctionPage = getAuctionServiceComponent.getAuctionPage(AuctionFilter.builder().build(), null, 1);
+
+        verify(auctionEntityToAuctionMapper, never()).map(nextAuctionEntity);
+        assertEquals(List.of(testAuction), auctionPage.getItems());
+        assertEquals(PageCursor.encode(testAuctionEntity.getId()), auctionPage.getNextCursor());
     }
 
     @Test
@@ -51,4 +76,40 @@ public class GetAuctionServiceComponentTest extends AuctionServiceComponentTest
 
         verify(auctionEntityToAuctionMapper, times(0)).map(any());
     }
+
+    @Test
+    void getAuctionPrice_whenOrderBookIsOpen_shouldNotReadAuction() {
+
+        AuctionPrice auctionPrice = AuctionPrice.builder().auctionId(AUCTION_ID).build();
+        when(orderBookService.getAuctionPrice(AUCTION_ID)).thenReturn(Optional.of(auctionPrice));
+
+        assertEquals(auctionPrice, getAuctionServiceComponent.getAuctionPrice(AUCTION_ID));
+
+        verify(auctionRepository, never()).findById(any());
+    }
+
+    @Test
+    void getAuctionPrice_whenOrderBookIsNotOpenAndAuctionIsOngoing_shouldOpenOrderBook() {
+
+        AuctionPrice auctionPrice = AuctionPrice.builder().auctionId(AUCTION_ID).build();
+        when(orderBookService.getAuctionPrice(AUCTION_ID)).thenReturn(Optional.empty(), Optional.of(auctionPrice));
+        testAuctionEntity.setState(AuctionState.ONGOING);
+        when(auctionRepository.findById(AUCTION_ID)).thenReturn(Optional.of(testAuctionEntity));
+
+        assertEquals(auctionPrice, getAuctionServiceComponent.getAuctionPrice(AUCTION_ID));
+
+        verify(orderBookService).openOrderBook(AUCTION_ID);
+    }
+
+    @Test
+    void getAuctionPrice_whenAuctionIsNotOngoing_shouldThrowException() {
+
+        when(orderBookService.getAuctionPrice(AUCTION_ID)).thenReturn(Optional.empty());
+        testAuctionEntity.setState(AuctionState.CLOSED);
+        when(auctionRepository.findById(AUCTION_ID)).thenReturn(Optional.of(testAuctionEntity));
+
+        assertThrows(InvalidParameterException.class, () -> getAuctionServiceComponent.getAuctionPrice(AUCTION_ID));
+
+        verify(orderBookService, never()).openOrderBook(any());
+    }
 }
@@ -1,6 +1,8 @@
 package com.auctions.service.auction.component;
 
+import com.auctions.domain.auction.Auction;
 import com.auctions.domain.auction.AuctionState;
+import com.auctions.domain.outbox.OutboxEventType;
 import com.auctions.exception.BusinessException;
 import com.auctions.exception.InvalidParameterException;
 import com.auctions.exception.ResourceNotFoundException;
@@ -9,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 
+import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 
@@ -28,6 +31,7 @@ public class StartAuctionServiceComponentTest extends AuctionServiceComponentTes
         testAuctionEntity.setState(AuctionState.CREATED);
         testAuctionEntity.setStopTime(null);
         when(auctionRepository.findById(AUCTION_ID)).thenReturn(Optional.of(testAuctionEntity));
+        when(auctionEntityToAuctionMapper.map(testAuctionEntity)).thenReturn(testAuction);
 
         startAuctionServiceComponent.startAuction(AUCTION_ID);
 
@@ -36,6 +40,29 @@ public class StartAuctionServiceComponentTest extends AuctionServiceComponentTes
         AuctionEntity auctionEntityCaptured = auctionEntityCaptor.getValue();
         assertNotNull(auctionEntityCaptured.getStartTime());
         assertEquals(AuctionState.ONGOING, auctionEntityCaptured.getState());
+
+        verify(orderBookService).openOrderBook(AUCTION_ID);
+
+        verify(auctionClosingService).scheduleAuctionClosing(null);
+
+        ArgumentCaptor<Auction> auctionCaptor = ArgumentCaptor.forClass(Auction.class);
+        verify(outboxService).append(eq(OutboxEventType.AUCTION_STARTED), eq(testAuctionEntity.getId()), auctionCaptor.capture());
+        assertEquals(AuctionState.ONGOING, auctionCaptor.getValue().getState());
+    }
+
+    @Test
+    void startAuction_whenStopTimeIsSet_shouldScheduleAuctionClosing() {
+
+        Instant stopTime = now().plus(1, ChronoUnit.MINUTES);
+        testAuctionEntity.setState(AuctionState.CREATED);
+        testAuctionEntity.setStopTime(stopTime);
+        when(auctionRepository.findById(AUCTION_ID)).thenReturn(Optional.of(testAuctionEntity));
+
+        when(auctionEntityToAuctionMapper.map(testAuctionEntity)).thenReturn(testAuction);
+
+        startAuctionServiceComponent.startAuction(AUCTION_ID);
+
+        verify(auctionClosingService).scheduleAuctionClosing(stopTime);
     }
 
     @Test
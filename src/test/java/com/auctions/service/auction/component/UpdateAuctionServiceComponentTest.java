@@ -40,7 +40,7 @@ public class UpdateAuctionServiceComponentTest extends AuctionServiceComponentTe
         when(auctionRepository.findById(AUCTION_ID)).thenReturn(Optional.of(testAuctionEntity));
         User newUser = User.builder().id(MODIFIED_BY).build();
         UserEntity newUserEntity = new UserEntity();
-        when(userRepository.findById(MODIFIED_BY)).thenReturn(Optional.of(newUserEntity));
+        when(userRepository.getReferenceById(MODIFIED_BY)).thenReturn(newUserEntity);
         when(auctionRepository.save(testAuctionEntity)).thenReturn(testAuctionEntity);
         when(auctionEntityToAuctionMapper.map(testAuctionEntity)).thenReturn(testAuction);
 
@@ -61,6 +61,25 @@ public class UpdateAuctionServiceComponentTest extends AuctionServiceComponentTe
         assertEquals(updatedTestAuction.getStopTime(), auctionEntityCaptured.getStopTime());
         assertEquals(testAuctionEntity.getCreatedBy(), auctionEntityCaptured.getCreatedBy());
         assertEquals(newUserEntity, auctionEntityCaptured.getLastModifiedBy());
+
+        verify(auctionClosingService, never()).scheduleAuctionClosing(any());
+    }
+
+    @Test
+    void updateAuctionDetails_whenAuctionIsOngoing_shouldScheduleAuctionClosingAtNewStopTime() {
+
+        testAuctionEntity.setState(AuctionState.ONGOING);
+        when(auctionRepository.findById(AUCTION_ID)).thenReturn(Optional.of(testAuctionEntity));
+        when(userRepository.getReferenceById(testUser.getId())).thenReturn(testUserEntity);
+        when(auctionRepository.save(testAuctionEntity)).thenReturn(testAuctionEntity);
+        when(auctionEntityToAuctionMapper.map(testAuctionEntity)).thenReturn(testAuction);
+
+        Instant stopTime = now().plus(2, ChronoUnit.MINUTES);
+        Auction updatedTestAuction = testAuction.toBuilder().startTime(null).stopTime(stopTime).build();
+
+        updateAuctionServiceComponent.updateAuctionDetails(AUCTION_ID, updatedTestAuction, testUser);
+
+        verify(auctionClosingService).scheduleAuctionClosing(stopTime);
     }
 
     @Test
@@ -138,7 +157,7 @@ public class UpdateAuctionServiceComponentTest extends AuctionServiceComponentTe
     void updateAuctionDetails_whenUserIsUnknown_shouldThrowException() {
 
         when(auctionRepository.findById(any())).thenReturn(Optional.of(testAuctionEntity));
-        when(userRepository.findById(any())).thenThrow(new ResourceNotFoundException());
+        when(userRepository.getReferenceById(any())).thenThrow(new ResourceNotFoundException());
 
         assertThrows(ResourceNotFoundException.class, () -> updateAuctionServiceComponent.updateAuctionDetails(1, testAuction, testUser));
     }
@@ -147,7 +166,7 @@ public class UpdateAuctionServiceComponentTest extends AuctionServiceComponentTe
     void updateAuctionDetails_whenSaveThrowsException_shouldThrowException() {
 
         when(auctionRepository.findById(any())).thenReturn(Optional.of(testAuctionEntity));
-        when(userRepository.findById(any())).thenReturn(Optional.of(testUserEntity));
+        when(userRepository.getReferenceById(any())).thenReturn(testUserEntity);
         when(auctionRepository.save(testAuctionEntity)).thenThrow(new RuntimeException());
 
         assertThrows(BusinessException.class, () -> updateAuctionServiceComponent.updateAuctionDetails(1, testAuction, testUser));
@@ -157,7 +176,7 @@ public class UpdateAuctionServiceComponentTest extends AuctionServiceComponentTe
     void updateLotDetails_whenMapThrowsException_shouldThrowException() {
 
         when(auctionRepository.findById(any())).thenReturn(Optional.of(testAuctionEntity));
-        when(userRepository.findById(any())).thenReturn(Optional.of(testUserEntity));
+        when(userRepository.getReferenceById(any())).thenReturn(testUserEntity);
         when(auctionRepository.save(testAuctionEntity)).thenReturn(testAuctionEntity);
         when(auctionEntityToAuctionMapper.map(testAuctionEntity)).thenThrow(new RuntimeException());
 
@@ -0,0 +1,154 @@
+package com.auctions.service.auth;
+
+import com.auctions.domain.user.User;
+import com.auctions.exception.ResourceNotFoundException;
+import com.auctions.service.invalidation.InvalidationType;
+import com.auctions.util.TestDataFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<Integer, User> loader = id -> {
+
+        loads.incrementAndGet();
+
+        return User.builder().id(id).username(TestDataFactory.createTestUser().getUsername()).build();
+    };
+
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+
+        principalCache = new PrincipalCache(100, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void get_whenUserIsCached_shouldNotLoadItAgain() {
+
+        User user = principalCache.get(1, loader);
+
+        assertSame(user, principalCache.get(1, loader));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_whenUserWasResolvedInRequest_shouldReuseItAfterEviction() {
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        User user = principalCache.get(1, loader);
+
+        principalCache.evict(1);
+
+        assertSame(user, principalCache.get(1, loader));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_whenUserWasEvicted_shouldLoadItAgain() {
+
+        principalCache.get(1, loader);
+
+        principalCache.evict(1);
+
+        principalCache.get(1, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict_whenTransactionIsActive_shouldEvictAfterCompletion() {
+
+        principalCache.get(1, loader);
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+
+            principalCache.evict(1);
+
+            principalCache.get(1, loader);
+
+            assertEquals(1, loads.get());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        } finally {
+
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        principalCache.get(1, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictAll_shouldLoadEveryUserAgain() {
+
+        principalCache.get(1, loader);
+        principalCache.get(2, loader);
+
+        principalCache.evict(InvalidationType.LOT, 1);
+        principalCache.get(1, loader);
+
+        assertEquals(2, loads.get());
+
+        principalCache.evictAll();
+
+        principalCache.get(1, loader);
+        principalCache.get(2, loader);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void get_whenLoaderThrows_shouldNotCacheUser() {
+
+        assertThrows(ResourceNotFoundException.class, () -> principalCache.get(1, id -> {
+            throw new ResourceNotFoundException("Current user not found");
+        }));
+
+        principalCache.get(1, loader);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_whenUserIsEvictedWhileLoading_shouldNotCacheLoadedUser() {
+
+        principalCache.get(1, id -> {
+
+            principalCache.evict(1);
+
+            return loader.apply(id);
+        });
+
+        principalCache.get(1, loader);
+
+        assertEquals(2, loads.get());
+    }
+}
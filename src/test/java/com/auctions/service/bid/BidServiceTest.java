@@ -2,12 +2,16 @@ package com.auctions.service.bid;
 
 import com.auctions.domain.auction.Auction;
 import com.auctions.domain.bid.Bid;
+import com.auctions.domain.bid.BidFilter;
 import com.auctions.domain.lot.Lot;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.user.User;
 import com.auctions.service.bid.component.CancelBidServiceComponent;
 import com.auctions.service.bid.component.CreateBidServiceComponent;
 import com.auctions.service.bid.component.GetBidServiceComponent;
 import com.auctions.service.bid.component.UpdateBidServiceComponent;
+import com.auctions.service.expiry.BidExpiryService;
+import com.auctions.service.sequencer.AuctionSequencer;
 import com.auctions.util.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +21,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,6 +41,12 @@ class BidServiceTest {
     @Mock
     private GetBidServiceComponent getBidServiceComponent;
 
+    @Mock
+    private AuctionSequencer auctionSequencer;
+
+    @Mock
+    private BidExpiryService bidExpiryService;
+
     @InjectMocks
     private BidServiceImpl bidService;
 
@@ -53,17 +64,19 @@ class BidServiceTest {
         Auction testAuction = TestDataFactory.createTestAuction(testUser, testLot);
 
         testBid = TestDataFactory.createTestBid(testUser, testAuction);
+
+        runAuctionSequencerInline();
     }
 
     @Test
-    void getAllBids() {
+    void getBidPage() {
 
-        when(getBidServiceComponent.getAllBids()).thenReturn(List.of(testBid));
+        BidFilter filter = BidFilter.builder().build();
+        CursorPage<Bid> bidPage = CursorPage.<Bid>builder().items(List.of(testBid)).build();
 
-        List<Bid> bids = bidService.getAllBids();
+        when(getBidServiceComponent.getBidPage(filter, "MQ", 10)).thenReturn(bidPage);
 
-        assertEquals(1, bids.size());
-        assertEquals(testBid, bids.get(0));
+        assertEquals(bidPage, bidService.getBidPage(filter, "MQ", 10));
     }
 
     @Test
@@ -80,22 +93,32 @@ class BidServiceTest {
         when(createBidServiceComponent.createBid(testBid, testUser)).thenReturn(testBid);
 
         assertEquals(testBid, bidService.createBid(testBid, testUser));
+
+        verify(auctionSequencer).submit(eq(testBid.getAuctionId()), any());
+
+        verify(bidExpiryService).scheduleBidExpiry(testBid);
     }
 
     @Test
     void cancelBid() {
 
+        when(getBidServiceComponent.getBidAuctionId(testBid.getId())).thenReturn(testBid.getAuctionId());
+
         bidService.cancelBid(testBid.getId());
 
         verify(cancelBidServiceComponent).cancelBid(testBid.getId());
+        verify(auctionSequencer).run(eq(testBid.getAuctionId()), any());
     }
 
     @Test
     void acceptBid() {
 
+        when(getBidServiceComponent.getBidAuctionId(testBid.getId())).thenReturn(testBid.getAuctionId());
+
         bidService.acceptBid(testBid.getId());
 
         verify(updateBidServiceComponent).acceptBid(testBid.getId());
+        verify(auctionSequencer).run(eq(testBid.getAuctionId()), any());
     }
 
     @Test
@@ -105,4 +128,13 @@ class BidServiceTest {
 
         verify(updateBidServiceComponent).updateBidsStateToOutdated();
     }
-} 
\ No newline at end of file
+
+    private void runAuctionSequencerInline() {
+
+        lenient().when(auctionSequencer.submit(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(auctionSequencer).run(any(), any());
+    }
+}
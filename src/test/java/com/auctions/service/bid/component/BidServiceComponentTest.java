@@ -12,6 +12,9 @@ import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.repository.AuctionRepository;
 import com.auctions.persistence.repository.BidRepository;
 import com.auctions.persistence.repository.UserRepository;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
 import com.auctions.util.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +36,15 @@ public abstract class BidServiceComponentTest {
     @Mock
     BidEntityToBidMapper bidEntityToBidMapper;
 
+    @Mock
+    OrderBookService orderBookService;
+
+    @Mock
+    AuctionEventService auctionEventService;
+
+    @Mock
+    OutboxService outboxService;
+
     User testUser;
 
     UserEntity testUserEntity;
@@ -50,6 +50,8 @@ public class CancelBidServiceComponentTest extends BidServiceComponentTest {
 
         verify(bidRepository).save(testBidEntity);
         assertEquals(BidState.CANCELLED, testBidEntity.getState());
+
+        verify(orderBookService).removeBid(testAuctionEntity.getId(), testBidEntity.getId());
     }
 
     @Test
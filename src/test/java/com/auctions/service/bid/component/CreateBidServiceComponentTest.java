@@ -24,7 +24,7 @@ public class CreateBidServiceComponentTest extends BidServiceComponentTest {
     @Test
     void createBid_whenAllConditionsExist_shouldCreateBid() {
 
-        when(userRepository.findById(any())).thenReturn(Optional.ofNullable(testUserEntity));
+        when(userRepository.getReferenceById(any())).thenReturn(testUserEntity);
         testAuctionEntity.setState(AuctionState.ONGOING);
         when(auctionRepository.findById(any())).thenReturn(Optional.ofNullable(testAuctionEntity));
         when(bidRepository.save(any())).thenReturn(testBidEntity);
@@ -44,21 +44,63 @@ public class CreateBidServiceComponentTest extends BidServiceComponentTest {
 
         verify(bidEntityToBidMapper).map(testBidEntity);
 
+        verify(orderBookService).openOrderBook(testAuctionEntity.getId());
+        verify(orderBookService).validateBidAmount(testBid.getAuctionId(), testBid.getAmount());
+        verify(orderBookService).addBid(testBid);
+        verify(userRepository, never()).findById(any());
+
         assertEquals(testBid, result);
     }
 
     @Test
-    void createBid_whenUserDoesNotExist_shouldThrowException() {
+    void createBid_whenOrderBookIsOpen_shouldNotOpenItAgain() {
+
+        when(userRepository.getReferenceById(any())).thenReturn(testUserEntity);
+        testAuctionEntity.setState(AuctionState.ONGOING);
+        when(auctionRepository.findById(testBid.getAuctionId())).thenReturn(Optional.of(testAuctionEntity));
+        when(orderBookService.isOrderBookOpen(testBid.getAuctionId())).thenReturn(true);
+        when(bidRepository.save(any())).thenReturn(testBidEntity);
+        when(bidEntityToBidMapper.map(any())).thenReturn(testBid);
 
-        when(userRepository.findById(any())).thenReturn(Optional.empty());
+        assertEquals(testBid, createBidServiceComponent.createBid(testBid, testUser));
 
-        assertThrows(BusinessException.class, () -> createBidServiceComponent.createBid(testBid, testUser));
+        verify(orderBookService, never()).openOrderBook(any());
+        verify(orderBookService).addBid(testBid);
+    }
+
+    @Test
+    void createBid_whenOrderBookIsOpenButAuctionIsClosed_shouldThrowException() {
+
+        when(userRepository.getReferenceById(any())).thenReturn(testUserEntity);
+        testAuctionEntity.setState(AuctionState.CLOSED);
+        when(auctionRepository.findById(testBid.getAuctionId())).thenReturn(Optional.of(testAuctionEntity));
+
+        assertThrows(InvalidParameterException.class, () -> createBidServiceComponent.createBid(testBid, testUser));
+
+        verify(bidRepository, never()).save(any());
+        verify(orderBookService, never()).addBid(any());
+    }
+
+    @Test
+    void createBid_whenAmountDoesNotBeatCurrentPrice_shouldThrowException() {
+
+        when(userRepository.getReferenceById(any())).thenReturn(testUserEntity);
+        testAuctionEntity.setState(AuctionState.ONGOING);
+        when(auctionRepository.findById(testBid.getAuctionId())).thenReturn(Optional.of(testAuctionEntity));
+        when(orderBookService.isOrderBookOpen(testBid.getAuctionId())).thenReturn(true);
+        doThrow(new InvalidParameterException("Bid amount must be higher than current price: 100"))
+                .when(orderBookService).validateBidAmount(testBid.getAuctionId(), testBid.getAmount());
+
+        assertThrows(InvalidParameterException.class, () -> createBidServiceComponent.createBid(testBid, testUser));
+
+        verify(bidRepository, never()).save(any());
+        verify(orderBookService, never()).addBid(any());
     }
 
     @Test
     void createBid_whenAuctionDoesNotExist_shouldThrowException() {
 
-        when(userRepository.findById(any())).thenReturn(Optional.ofNullable(testUserEntity));
+        when(userRepository.getReferenceById(any())).thenReturn(testUserEntity);
         when(auctionRepository.findById(any())).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> createBidServiceComponent.createBid(testBid, testUser));
@@ -67,10 +109,12 @@ public class CreateBidServiceComponentTest extends BidServiceComponentTest {
     @Test
     void createBid_whenAuctionIsNotOngoing_shouldThrowException() {
 
-        when(userRepository.findById(any())).thenReturn(Optional.ofNullable(testUserEntity));
+        when(userRepository.getReferenceById(any())).thenReturn(testUserEntity);
         testAuctionEntity.setState(AuctionState.CREATED);
         when(auctionRepository.findById(any())).thenReturn(Optional.ofNullable(testAuctionEntity));
 
         assertThrows(InvalidParameterException.class, () -> createBidServiceComponent.createBid(testBid, testUser));
+
+        verify(orderBookService, never()).openOrderBook(any());
     }
 }
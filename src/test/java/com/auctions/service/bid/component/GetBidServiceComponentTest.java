@@ -1,14 +1,18 @@
 package com.auctions.service.bid.component;
 
 import com.auctions.domain.bid.Bid;
+import com.auctions.domain.bid.BidFilter;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -19,16 +23,16 @@ public class GetBidServiceComponentTest extends BidServiceComponentTest {
     private GetBidServiceComponent getBidServiceComponent;
 
     @Test
-    void getAllBids_whenAllConditionsExist_shouldReturnBids() {
+    void getBidPage_whenAllConditionsExist_shouldReturnBids() {
 
-        when(bidRepository.findAll()).thenReturn(List.of(testBidEntity));
+        when(bidRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testBidEntity));
         when(bidEntityToBidMapper.map(any())).thenReturn(testBid);
 
-        List<Bid> bids = getBidServiceComponent.getAllBids();
+        CursorPage<Bid> bidPage = getBidServiceComponent.getBidPage(BidFilter.builder().build(), null, null);
 
         verify(bidEntityToBidMapper).map(testBidEntity);
-        assertEquals(1, bids.size());
-        assertEquals(testBid, bids.get(0));
+        assertEquals(List.of(testBid), bidPage.getItems());
+        assertNull(bidPage.getNextCursor());
     }
 
     @Test
@@ -2,7 +2,9 @@ package com.auctions.service.bid.component;
 
 import com.auctions.domain.auction.AuctionState;
 import com.auctions.domain.bid.BidState;
+import com.auctions.domain.outbox.OutboxEventType;
 import com.auctions.exception.BusinessException;
+import com.auctions.exception.ConflictException;
 import com.auctions.exception.InvalidParameterException;
 import com.auctions.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.Test;
@@ -12,7 +14,6 @@ import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 
 import static java.time.Instant.now;
-import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -25,11 +26,11 @@ public class UpdateBidServiceComponentTest extends BidServiceComponentTest {
     @Test
     void acceptBid_whenBidDoesNotExist_shouldThrowException() {
 
-        when(bidRepository.findById(any())).thenReturn(Optional.empty());
+        when(bidRepository.findWithAuctionById(any())).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> updateBidServiceComponent.acceptBid(1));
 
-        verify(bidRepository, times(0)).save(any());
+        verify(bidRepository, times(0)).updateCreatedBidStateToAccepted(any(), any());
         verify(auctionRepository, times(0)).updateAuctionCreatedBidsState(any(), any());
     }
 
@@ -37,11 +38,11 @@ public class UpdateBidServiceComponentTest extends BidServiceComponentTest {
     void acceptBid_whenBidIsAlreadyAccepted_shouldReturnWithoutFurtherRepositoryActions() {
 
         testBidEntity.setState(BidState.ACCEPTED);
-        when(bidRepository.findById(any())).thenReturn(Optional.ofNullable(testBidEntity));
+        when(bidRepository.findWithAuctionById(any())).thenReturn(Optional.ofNullable(testBidEntity));
 
         updateBidServiceComponent.acceptBid(1);
 
-        verify(bidRepository, times(0)).save(any());
+        verify(bidRepository, times(0)).updateCreatedBidStateToAccepted(any(), any());
         verify(auctionRepository, times(0)).updateAuctionCreatedBidsState(any(), any());
     }
 
@@ -49,30 +50,79 @@ public class UpdateBidServiceComponentTest extends BidServiceComponentTest {
     void acceptBid_whenBidIsInCreatedStateAndNotExpired_shouldUpdateState() {
 
         testBidEntity.setUntil(now().plus(1, ChronoUnit.MINUTES));
-        when(bidRepository.findById(any())).thenReturn(Optional.ofNullable(testBidEntity));
+        when(bidRepository.findWithAuctionById(any())).thenReturn(Optional.ofNullable(testBidEntity));
+        when(auctionRepository.updateOngoingAuctionStateToClosed(testAuctionEntity.getId(), testAuctionEntity.getVersion())).thenReturn(1);
+        when(bidRepository.updateCreatedBidStateToAccepted(testBidEntity.getId(), testBidEntity.getVersion())).thenReturn(1);
+        when(bidEntityToBidMapper.map(testBidEntity)).thenReturn(testBid);
 
         updateBidServiceComponent.acceptBid(1);
 
-        verify(bidRepository).save(testBidEntity);
-        assertEquals(BidState.ACCEPTED, testBidEntity.getState());
+        verify(auctionRepository).updateOngoingAuctionStateToClosed(testAuctionEntity.getId(), testAuctionEntity.getVersion());
 
-        verify(auctionRepository).save(testAuctionEntity);
+        verify(bidRepository).updateCreatedBidStateToAccepted(testBidEntity.getId(), testBidEntity.getVersion());
 
-        assertEquals(AuctionState.CLOSED, testAuctionEntity.getState());
+        verify(auctionRepository).updateAuctionCreatedBidsState(BidState.REJECTED, testAuctionEntity.getId());
+
+        verify(orderBookService).closeOrderBook(testAuctionEntity.getId());
+
+        verify(outboxService).append(eq(OutboxEventType.BID_ACCEPTED), eq(testBidEntity.getId()), any());
+        verify(outboxService).append(eq(OutboxEventType.AUCTION_CLOSED), eq(testAuctionEntity.getId()), any());
+    }
+
+    @Test
+    void acceptBid_whenBidHasNoDeadline_shouldUpdateState() {
+
+        testBidEntity.setUntil(null);
+        when(bidRepository.findWithAuctionById(any())).thenReturn(Optional.ofNullable(testBidEntity));
+        when(auctionRepository.updateOngoingAuctionStateToClosed(testAuctionEntity.getId(), testAuctionEntity.getVersion())).thenReturn(1);
+        when(bidRepository.updateCreatedBidStateToAccepted(testBidEntity.getId(), testBidEntity.getVersion())).thenReturn(1);
+        when(bidEntityToBidMapper.map(testBidEntity)).thenReturn(testBid);
+
+        updateBidServiceComponent.acceptBid(1);
+
+        verify(bidRepository).updateCreatedBidStateToAccepted(testBidEntity.getId(), testBidEntity.getVersion());
 
         verify(auctionRepository).updateAuctionCreatedBidsState(BidState.REJECTED, testAuctionEntity.getId());
     }
 
+    @Test
+    void acceptBid_whenAuctionWasModifiedConcurrently_shouldThrowConflictException() {
+
+        testBidEntity.setUntil(now().plus(1, ChronoUnit.MINUTES));
+        when(bidRepository.findWithAuctionById(any())).thenReturn(Optional.ofNullable(testBidEntity));
+        when(auctionRepository.updateOngoingAuctionStateToClosed(any(), any())).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> updateBidServiceComponent.acceptBid(1));
+
+        verify(bidRepository, times(0)).updateCreatedBidStateToAccepted(any(), any());
+        verify(auctionRepository, times(0)).updateAuctionCreatedBidsState(any(), any());
+        verify(orderBookService, times(0)).closeOrderBook(any());
+    }
+
+    @Test
+    void acceptBid_whenBidWasModifiedConcurrently_shouldThrowConflictException() {
+
+        testBidEntity.setUntil(now().plus(1, ChronoUnit.MINUTES));
+        when(bidRepository.findWithAuctionById(any())).thenReturn(Optional.ofNullable(testBidEntity));
+        when(auctionRepository.updateOngoingAuctionStateToClosed(any(), any())).thenReturn(1);
+        when(bidRepository.updateCreatedBidStateToAccepted(any(), any())).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> updateBidServiceComponent.acceptBid(1));
+
+        verify(auctionRepository, times(0)).updateAuctionCreatedBidsState(any(), any());
+        verify(orderBookService, times(0)).closeOrderBook(any());
+    }
+
     @Test
     void acceptBid_whenBidIsInCreatedStateAndExpired_shouldThrowException() {
 
         testBidEntity.setUntil(now().minus(1, ChronoUnit.MINUTES));
-        when(bidRepository.findById(any())).thenReturn(Optional.ofNullable(testBidEntity));
+        when(bidRepository.findWithAuctionById(any())).thenReturn(Optional.ofNullable(testBidEntity));
 
         assertThrows(InvalidParameterException.class, () -> updateBidServiceComponent.acceptBid(1));
 
-        verify(bidRepository, times(0)).save(any());
-        verify(auctionRepository, times(0)).save(any());
+        verify(bidRepository, times(0)).updateCreatedBidStateToAccepted(any(), any());
+        verify(auctionRepository, times(0)).updateOngoingAuctionStateToClosed(any(), any());
         verify(auctionRepository, times(0)).updateAuctionCreatedBidsState(any(), any());
     }
 
@@ -80,11 +130,11 @@ public class UpdateBidServiceComponentTest extends BidServiceComponentTest {
     void acceptBid_whenBidIsNotInCreatedOrAcceptedState_shouldThrowBusinessException() {
 
         testBidEntity.setState(BidState.CANCELLED);
-        when(bidRepository.findById(any())).thenReturn(Optional.ofNullable(testBidEntity));
+        when(bidRepository.findWithAuctionById(any())).thenReturn(Optional.ofNullable(testBidEntity));
         assertThrows(InvalidParameterException.class, () -> updateBidServiceComponent.acceptBid(1));
 
-        verify(bidRepository, times(0)).save(any());
-        verify(auctionRepository, times(0)).save(any());
+        verify(bidRepository, times(0)).updateCreatedBidStateToAccepted(any(), any());
+        verify(auctionRepository, times(0)).updateOngoingAuctionStateToClosed(any(), any());
         verify(auctionRepository, times(0)).updateAuctionCreatedBidsState(any(), any());
     }
 
@@ -93,46 +143,49 @@ public class UpdateBidServiceComponentTest extends BidServiceComponentTest {
 
         testBidEntity.getAuction().setState(AuctionState.CREATED);
         testBidEntity.setUntil(now().plus(1, ChronoUnit.MINUTES));
-        when(bidRepository.findById(any())).thenReturn(Optional.ofNullable(testBidEntity));
+        when(bidRepository.findWithAuctionById(any())).thenReturn(Optional.ofNullable(testBidEntity));
 
         assertThrows(InvalidParameterException.class, () -> updateBidServiceComponent.acceptBid(1));
 
-        verify(bidRepository, times(0)).save(any());
-        verify(auctionRepository, times(0)).save(any());
+        verify(bidRepository, times(0)).updateCreatedBidStateToAccepted(any(), any());
+        verify(auctionRepository, times(0)).updateOngoingAuctionStateToClosed(any(), any());
         verify(auctionRepository, times(0)).updateAuctionCreatedBidsState(any(), any());
     }
 
     @Test
-    void acceptBid_whenLotRepositorySaveThrowsException_shouldThrowBusinessException() {
+    void acceptBid_whenAuctionRepositoryUpdateThrowsException_shouldThrowBusinessException() {
 
         testBidEntity.setUntil(now().plus(1, ChronoUnit.MINUTES));
-        when(bidRepository.findById(any())).thenReturn(Optional.ofNullable(testBidEntity));
-        when(auctionRepository.save(any())).thenThrow(new RuntimeException());
+        when(bidRepository.findWithAuctionById(any())).thenReturn(Optional.ofNullable(testBidEntity));
+        when(auctionRepository.updateOngoingAuctionStateToClosed(any(), any())).thenThrow(new RuntimeException());
 
         assertThrows(BusinessException.class, () -> updateBidServiceComponent.acceptBid(1));
 
-        verify(bidRepository, times(0)).save(any());
+        verify(bidRepository, times(0)).updateCreatedBidStateToAccepted(any(), any());
         verify(auctionRepository, times(0)).updateAuctionCreatedBidsState(any(), any());
     }
 
     @Test
-    void acceptBid_whenLotRepositoryRejectLotCreatedBidsThrowsException_shouldThrowBusinessException() {
+    void acceptBid_whenAuctionRepositoryRejectCreatedBidsThrowsException_shouldThrowBusinessException() {
 
         testBidEntity.setUntil(now().plus(1, ChronoUnit.MINUTES));
-        when(bidRepository.findById(any())).thenReturn(Optional.ofNullable(testBidEntity));
+        when(bidRepository.findWithAuctionById(any())).thenReturn(Optional.ofNullable(testBidEntity));
+        when(auctionRepository.updateOngoingAuctionStateToClosed(any(), any())).thenReturn(1);
+        when(bidRepository.updateCreatedBidStateToAccepted(any(), any())).thenReturn(1);
         doThrow(new RuntimeException()).when(auctionRepository).updateAuctionCreatedBidsState(any(), any());
 
         assertThrows(BusinessException.class, () -> updateBidServiceComponent.acceptBid(1));
 
-        verify(bidRepository, times(0)).save(any());
+        verify(orderBookService, times(0)).closeOrderBook(any());
     }
 
     @Test
     void acceptBid_whenBidRepositoryThrowsException_shouldThrowBusinessException() {
 
         testBidEntity.setUntil(now().plus(1, ChronoUnit.MINUTES));
-        when(bidRepository.findById(any())).thenReturn(Optional.ofNullable(testBidEntity));
-        when(bidRepository.save(any())).thenThrow(new RuntimeException());
+        when(bidRepository.findWithAuctionById(any())).thenReturn(Optional.ofNullable(testBidEntity));
+        when(auctionRepository.updateOngoingAuctionStateToClosed(any(), any())).thenReturn(1);
+        when(bidRepository.updateCreatedBidStateToAccepted(any(), any())).thenThrow(new RuntimeException());
 
         assertThrows(BusinessException.class, () -> updateBidServiceComponent.acceptBid(1));
     }
@@ -143,5 +196,7 @@ public class UpdateBidServiceComponentTest extends BidServiceComponentTest {
         updateBidServiceComponent.updateBidsStateToOutdated();
 
         verify(bidRepository).updateBidsStateToOutdated();
+
+        verify(orderBookService).removeBidsOutdatedBefore(any());
     }
 }
@@ -0,0 +1,153 @@
+package com.auctions.service.closing;
+
+import com.auctions.domain.auction.AuctionEvent;
+import com.auctions.domain.outbox.OutboxEventType;
+import com.auctions.persistence.repository.AuctionRepository;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import com.auctions.service.outbox.OutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.time.Instant.now;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuctionClosingServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private AuctionRepository auctionRepository;
+
+    @Mock
+    private OrderBookService orderBookService;
+
+    @Mock
+    private AuctionEventService auctionEventService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private ScheduledFuture<Object> scheduledFuture;
+
+    private AuctionClosingServiceImpl auctionClosingService;
+
+    @BeforeEach
+    void setUp() {
+
+        auctionClosingService = new AuctionClosingServiceImpl(auctionRepository, orderBookService, auctionEventService, outboxService, transactionTemplate, taskScheduler, BATCH_SIZE);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doReturn(scheduledFuture).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void scheduleAuctionClosing_shouldArmSchedulerAtStopTime() {
+
+        Instant stopTime = now().plus(1, ChronoUnit.MINUTES);
+
+        auctionClosingService.scheduleAuctionClosing(stopTime);
+
+        verify(taskScheduler).schedule(any(Runnable.class), eq(stopTime));
+    }
+
+    @Test
+    void scheduleAuctionClosing_whenLaterThanArmedStopTime_shouldKeepArmedStopTime() {
+
+        Instant stopTime = now().plus(1, ChronoUnit.MINUTES);
+
+        auctionClosingService.scheduleAuctionClosing(stopTime);
+        auctionClosingService.scheduleAuctionClosing(stopTime.plus(1, ChronoUnit.MINUTES));
+
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+        verify(scheduledFuture, never()).cancel(anyBoolean());
+    }
+
+    @Test
+    void scheduleAuctionClosing_whenEarlierThanArmedStopTime_shouldRearmScheduler() {
+
+        Instant stopTime = now().plus(2, ChronoUnit.MINUTES);
+        Instant earlierStopTime = now().plus(1, ChronoUnit.MINUTES);
+
+        auctionClosingService.scheduleAuctionClosing(stopTime);
+        auctionClosingService.scheduleAuctionClosing(earlierStopTime);
+
+        verify(scheduledFuture).cancel(false);
+        verify(taskScheduler).schedule(any(Runnable.class), eq(earlierStopTime));
+    }
+
+    @Test
+    void scheduleAuctionClosing_whenStopTimeIsNull_shouldDoNothing() {
+
+        auctionClosingService.scheduleAuctionClosing(null);
+
+        verifyNoInteractions(taskScheduler);
+    }
+
+    @Test
+    void closeDueAuctions_shouldCloseInBatchesUntilNoneIsDueAndArmNextStopTime() {
+
+        Instant nextStopTime = now().plus(1, ChronoUnit.HOURS);
+        when(auctionRepository.updateDueAuctionsStateToClosed(any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(1, 2))
+                .thenReturn(List.of(3));
+        when(auctionRepository.findNextOngoingAuctionStopTime()).thenReturn(Optional.of(nextStopTime));
+
+        assertEquals(3, auctionClosingService.closeDueAuctions());
+
+        verify(auctionRepository, times(2)).updateDueAuctionsStateToClosed(any(), eq(BATCH_SIZE));
+        verify(orderBookService).closeOrderBook(1);
+        verify(orderBookService).closeOrderBook(2);
+        verify(orderBookService).closeOrderBook(3);
+        verify(auctionEventService, times(3)).publish(any(AuctionEvent.class));
+        verify(outboxService).append(eq(OutboxEventType.AUCTION_CLOSED), eq(3), any());
+        verify(taskScheduler).schedule(any(Runnable.class), eq(nextStopTime));
+    }
+
+    @Test
+    void closeDueAuctions_whenNoAuctionIsOngoing_shouldNotArmScheduler() {
+
+        when(auctionRepository.updateDueAuctionsStateToClosed(any(), eq(BATCH_SIZE))).thenReturn(List.of());
+        when(auctionRepository.findNextOngoingAuctionStopTime()).thenReturn(Optional.empty());
+
+        assertEquals(0, auctionClosingService.closeDueAuctions());
+
+        verifyNoInteractions(orderBookService, taskScheduler);
+    }
+
+    @Test
+    void closeDueAuctions_whenNextStopTimeIsOverdue_shouldRetryShortlyInsteadOfImmediately() {
+
+        Instant overdueStopTime = now().minus(1, ChronoUnit.MINUTES);
+        when(auctionRepository.updateDueAuctionsStateToClosed(any(), eq(BATCH_SIZE))).thenReturn(List.of());
+        when(auctionRepository.findNextOngoingAuctionStopTime()).thenReturn(Optional.of(overdueStopTime));
+
+        Instant before = now();
+
+        auctionClosingService.closeDueAuctions();
+
+        verify(taskScheduler).schedule(any(Runnable.class), argThat((Instant fireAt) -> fireAt.isAfter(before)));
+    }
+}
@@ -0,0 +1,251 @@
+package com.auctions.service.event;
+
+import com.auctions.domain.auction.AuctionEvent;
+import com.auctions.domain.auction.AuctionEventType;
+import com.auctions.domain.auction.AuctionState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AuctionEventServiceTest {
+
+    private static final int BUFFER_CAPACITY = 2;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AuctionEventServiceImpl auctionEventService;
+
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+
+        auctionEventService = createAuctionEventService(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        auctionEventService.shutdown();
+    }
+
+    @Test
+    void publish_shouldFanOutToSubscribersOfSameAuctionOnly() throws Exception {
+
+        RecordingSink firstSink = new RecordingSink();
+        RecordingSink secondSink = new RecordingSink();
+        RecordingSink otherAuctionSink = new RecordingSink();
+
+        auctionEventService.subscribe(1, firstSink);
+        auctionEventService.subscribe(1, secondSink);
+        auctionEventService.subscribe(2, otherAuctionSink);
+
+        AuctionEvent auctionEvent = createBidEvent(1, 10);
+
+        auctionEventService.publish(auctionEvent);
+
+        assertEquals(List.of(auctionEvent), firstSink.takeEvents());
+        assertEquals(List.of(auctionEvent), secondSink.takeEvents());
+        assertNull(otherAuctionSink.sent.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(3, auctionEventService.getSubscriberCount());
+    }
+
+    @Test
+    void publish_whenSubscriberFallsBehind_shouldDropOldestEvents() throws Exception {
+
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        RecordingSink sink = new RecordingSink() {
+
+            @Override
+            public void send(List<AuctionEvent> events, int droppedEvents) throws IOException {
+
+                sending.countDown();
+
+                await(release);
+
+                super.send(events, droppedEvents);
+            }
+        };
+
+        auctionEventService.subscribe(1, sink);
+
+        AuctionEvent firstEvent = createBidEvent(1, 1);
+
+        auctionEventService.publish(firstEvent);
+
+        await(sending);
+
+        AuctionEvent thirdEvent = createBidEvent(1, 3);
+        AuctionEvent fourthEvent = createBidEvent(1, 4);
+
+        auctionEventService.publish(createBidEvent(1, 2));
+        auctionEventService.publish(thirdEvent);
+        auctionEventService.publish(fourthEvent);
+
+        release.countDown();
+
+        assertEquals(List.of(firstEvent), sink.takeEvents());
+        assertEquals(List.of(thirdEvent, fourthEvent), sink.takeEvents());
+        assertEquals(1, sink.droppedEvents);
+        assertEquals(1, meterRegistry.get("auctions.events.dropped").counter().count());
+    }
+
+    @Test
+    void sendHeartbeats_whenSubscriberWasIdleForInterval_shouldSendHeartbeat() throws Exception {
+
+        auctionEventService.shutdown();
+        auctionEventService = createAuctionEventService(Duration.ZERO);
+
+        RecordingSink sink = new RecordingSink();
+
+        auctionEventService.subscribe(1, sink);
+
+        auctionEventService.sendHeartbeats();
+
+        assertTrue(sink.heartbeats.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void sendHeartbeats_whenSubscriberSentRecently_shouldNotSendHeartbeat() throws Exception {
+
+        RecordingSink sink = new RecordingSink();
+
+        auctionEventService.subscribe(1, sink);
+
+        auctionEventService.publish(AuctionEvent.auctionStateChanged(1, AuctionState.ONGOING));
+
+        sink.takeEvents();
+
+        auctionEventService.sendHeartbeats();
+
+        assertFalse(sink.heartbeats.await(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void publish_whenSinkFails_shouldUnsubscribeAndCloseIt() throws Exception {
+
+        IOException failure = new IOException("Broken pipe");
+
+        RecordingSink sink = new RecordingSink() {
+
+            @Override
+            public void send(List<AuctionEvent> events, int droppedEvents) throws IOException {
+
+                throw failure;
+            }
+        };
+
+        auctionEventService.subscribe(1, sink);
+
+        auctionEventService.publish(createBidEvent(1, 1));
+
+        await(sink.closed);
+
+        assertSame(failure, sink.closeCause);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (auctionEventService.getSubscriberCount() > 0 && System.nanoTime() < deadline) {
+
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, auctionEventService.getSubscriberCount());
+    }
+
+    @Test
+    void subscribe_whenUnsubscribed_shouldStopDelivering() throws Exception {
+
+        RecordingSink sink = new RecordingSink();
+
+        Runnable unsubscribe = auctionEventService.subscribe(1, sink);
+
+        unsubscribe.run();
+        unsubscribe.run();
+
+        auctionEventService.publish(createBidEvent(1, 1));
+
+        assertEquals(0, auctionEventService.getSubscriberCount());
+        assertNull(sink.sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    private AuctionEventServiceImpl createAuctionEventService(Duration heartbeatInterval) {
+
+        return new AuctionEventServiceImpl(mock(TaskScheduler.class), meterRegistry, 1, BUFFER_CAPACITY, heartbeatInterval);
+    }
+
+    private static AuctionEvent createBidEvent(Integer auctionId, Integer bidId) {
+
+        return AuctionEvent.bidEvent(AuctionEventType.BID_CREATED, auctionId, bidId, BigDecimal.valueOf(100));
+    }
+
+    private static void await(CountDownLatch latch) {
+
+        try {
+
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+            fail(e);
+        }
+    }
+
+    private static class RecordingSink implements AuctionEventSink {
+
+        final BlockingQueue<List<AuctionEvent>> sent = new LinkedBlockingQueue<>();
+        final CountDownLatch heartbeats = new CountDownLatch(1);
+        final CountDownLatch closed = new CountDownLatch(1);
+        volatile int droppedEvents;
+        volatile Exception closeCause;
+
+        @Override
+        public void send(List<AuctionEvent> events, int droppedEvents) throws IOException {
+
+            this.droppedEvents += droppedEvents;
+
+            sent.add(events);
+        }
+
+        @Override
+        public void heartbeat() {
+
+            heartbeats.countDown();
+        }
+
+        @Override
+        public void close(Exception cause) {
+
+            closeCause = cause;
+
+            closed.countDown();
+        }
+
+        List<AuctionEvent> takeEvents() throws InterruptedException {
+
+            List<AuctionEvent> events = sent.poll(5, TimeUnit.SECONDS);
+
+            assertNotNull(events);
+
+            return events;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.auctions.service.expiry;
+
+import com.auctions.domain.auction.AuctionEvent;
+import com.auctions.domain.auction.AuctionEventType;
+import com.auctions.domain.bid.Bid;
+import com.auctions.persistence.projection.BidDeadline;
+import com.auctions.persistence.projection.OutdatedBid;
+import com.auctions.persistence.repository.BidRepository;
+import com.auctions.service.event.AuctionEventService;
+import com.auctions.service.orderbook.OrderBookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static java.time.Instant.now;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BidExpiryServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private BidRepository bidRepository;
+
+    @Mock
+    private OrderBookService orderBookService;
+
+    @Mock
+    private AuctionEventService auctionEventService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BidExpiryServiceImpl bidExpiryService;
+
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+
+        bidExpiryService = new BidExpiryServiceImpl(bidRepository, orderBookService, auctionEventService, transactionTemplate, meterRegistry, 10, 8, BATCH_SIZE);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void expireDueBids_whenNoBidIsDue_shouldNotTouchRepository() {
+
+        bidExpiryService.scheduleBidExpiry(createBid(1, now().plusSeconds(60)));
+
+        assertEquals(0, bidExpiryService.expireDueBids());
+
+        verifyNoInteractions(bidRepository, orderBookService, auctionEventService);
+    }
+
+    @Test
+    void expireDueBids_shouldUpdateDueBidsInBatchesById() {
+
+        when(bidRepository.updateBidsStateToOutdated(any(), any())).thenAnswer(invocation -> createOutdatedBids(invocation.getArgument(0)));
+
+        bidExpiryService.scheduleBidExpiry(createBid(1, now().minusSeconds(1)));
+        bidExpiryService.scheduleBidExpiry(createBid(2, now().minusSeconds(1)));
+        bidExpiryService.scheduleBidExpiry(createBid(3, now().minusSeconds(1)));
+        bidExpiryService.scheduleBidExpiry(createBid(4, now().plusSeconds(60)));
+
+        assertEquals(3, bidExpiryService.expireDueBids());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Integer>> bidIdsCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(bidRepository, times(2)).updateBidsStateToOutdated(bidIdsCaptor.capture(), any());
+        assertEquals(List.of(List.of(1, 2), List.of(3)), bidIdsCaptor.getAllValues());
+
+        verify(orderBookService).removeBidsOutdatedBefore(any());
+
+        ArgumentCaptor<AuctionEvent> auctionEventCaptor = ArgumentCaptor.forClass(AuctionEvent.class);
+        verify(auctionEventService, times(3)).publish(auctionEventCaptor.capture());
+        assertEquals(List.of(1, 2, 3), auctionEventCaptor.getAllValues().stream().map(AuctionEvent::getBidId).toList());
+        assertEquals(AuctionEventType.BID_OUTDATED, auctionEventCaptor.getValue().getType());
+        assertEquals(10, auctionEventCaptor.getValue().getAuctionId());
+
+        assertEquals(3, meterRegistry.get("bids.expiry.lag").timer().count());
+        assertEquals(3, meterRegistry.get("bids.expiry.rows").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("bids.expiry.pending").gauge().value());
+    }
+
+    @Test
+    void scheduleBidExpiry_whenBidHasNoDeadline_shouldIgnoreIt() {
+
+        bidExpiryService.scheduleBidExpiry(createBid(1, null));
+
+        assertEquals(0, meterRegistry.get("bids.expiry.pending").gauge().value());
+    }
+
+    @Test
+    void loadPendingBidExpiries_shouldScheduleCreatedBidsWithDeadline() {
+
+        BidDeadline bidDeadline = mock(BidDeadline.class);
+        when(bidDeadline.getId()).thenReturn(1);
+        when(bidDeadline.getUntil()).thenReturn(now().minusSeconds(1));
+        when(bidRepository.findCreatedBidDeadlines()).thenReturn(List.of(bidDeadline));
+        List<OutdatedBid> outdatedBids = createOutdatedBids(List.of(1));
+        when(bidRepository.updateBidsStateToOutdated(any(), any())).thenReturn(outdatedBids);
+
+        bidExpiryService.loadPendingBidExpiries();
+
+        assertEquals(1, bidExpiryService.expireDueBids());
+
+        verify(bidRepository).updateBidsStateToOutdated(eq(List.of(1)), any(Instant.class));
+    }
+
+    private static Bid createBid(Integer id, Instant until) {
+
+        return Bid.builder()
+                .id(id)
+                .until(until)
+                .build();
+    }
+
+    private static List<OutdatedBid> createOutdatedBids(Collection<Integer> bidIds) {
+
+        return bidIds.stream()
+                .map(bidId -> {
+
+                    OutdatedBid outdatedBid = mock(OutdatedBid.class);
+                    lenient().when(outdatedBid.getId()).thenReturn(bidId);
+                    lenient().when(outdatedBid.getAuctionId()).thenReturn(10);
+
+                    return outdatedBid;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,112 @@
+package com.auctions.service.export;
+
+import com.auctions.exception.BusinessException;
+import com.auctions.persistence.repository.ExportRepository;
+import com.auctions.persistence.repository.ExportRepository.RowCallback;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Mock
+    private ExportRepository exportRepository;
+
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+
+        exportService = new ExportServiceImpl(exportRepository, new ObjectMapper());
+    }
+
+    @Test
+    void exportBids_whenNdjson_shouldWriteOneJsonObjectPerLine() {
+
+        streamBids(
+                new Object[]{1, new BigDecimal("10.50"), "CREATED", null, 2, 3, 3, CREATED_AT, CREATED_AT},
+                new Object[]{2, new BigDecimal("11"), "ACCEPTED", CREATED_AT, 2, 4, 4, CREATED_AT, CREATED_AT}
+        );
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        exportService.exportBids(ExportFormat.NDJSON, outputStream);
+
+        assertEquals("""
+                {"id":1,"amount":10.50,"state":"CREATED","until":null,"auctionId":2,"createdByUserId":3,"lastModifiedByUserId":3,"createdAt":"2025-01-01T10:00:00Z","updatedAt":"2025-01-01T10:00:00Z"}
+                {"id":2,"amount":11,"state":"ACCEPTED","until":"2025-01-01T10:00:00Z","auctionId":2,"createdByUserId":4,"lastModifiedByUserId":4,"createdAt":"2025-01-01T10:00:00Z","updatedAt":"2025-01-01T10:00:00Z"}
+                """, outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportPayments_whenCsv_shouldWriteHeaderAndQuoteSpecialValues() {
+
+        doAnswer(invocation -> {
+
+            invocation.<RowCallback>getArgument(0)
+                    .onRow(new Object[]{1, "CREATED", "https://pay/?a=1,b=\"2\"", new BigDecimal("5"), 2, 3, 3, CREATED_AT, CREATED_AT});
+
+            return null;
+
+        }).when(exportRepository).streamPayments(any());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        exportService.exportPayments(ExportFormat.CSV, outputStream);
+
+        assertEquals("id,state,link,amount,auctionId,createdByUserId,lastModifiedByUserId,createdAt,updatedAt\r\n"
+                        + "1,CREATED,\"https://pay/?a=1,b=\"\"2\"\"\",5,2,3,3,2025-01-01T10:00:00Z,2025-01-01T10:00:00Z\r\n",
+                outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportBids_whenClientDisconnects_shouldThrowException() {
+
+        streamBids(new Object[]{1, BigDecimal.ONE, "CREATED", null, 2, 3, 3, CREATED_AT, CREATED_AT});
+
+        OutputStream brokenOutputStream = new OutputStream() {
+
+            @Override
+            public void write(int b) throws IOException {
+
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(BusinessException.class, () -> exportService.exportBids(ExportFormat.CSV, brokenOutputStream));
+    }
+
+    private void streamBids(Object[]... rows) {
+
+        doAnswer(invocation -> {
+
+            RowCallback rowCallback = invocation.getArgument(0);
+
+            for (Object[] row : rows) {
+
+                rowCallback.onRow(row);
+            }
+
+            return null;
+
+        }).when(exportRepository).streamBids(any());
+    }
+}
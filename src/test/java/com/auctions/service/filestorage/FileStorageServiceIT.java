@@ -0,0 +1,79 @@
+package com.auctions.service.filestorage;
+
+import com.auctions.persistence.repository.AbstractRepositoryIT;
+import com.auctions.persistence.repository.StoredFileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Releases files in committed JPA transactions, so the after-commit unlink runs with the finished transaction's
+ * resources still bound, as it does in the application.
+ */
+@Import(FileStorageServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "app.file-storage-location=${java.io.tmpdir}/file-storage-it")
+public class FileStorageServiceIT extends AbstractRepositoryIT {
+
+    private static final byte[] CONTENT = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 'p', 'h', 'o', 't', 'o'};
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    public void tearDown() {
+
+        storedFileRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldUnlinkFileAfterLastReferenceIsReleased() {
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        String fileName = store();
+
+        store();
+
+        transactionTemplate.executeWithoutResult(status -> fileStorageService.releaseFile(fileName));
+
+        assertTrue(Files.exists(fileStorageService.getFilePath(fileName)));
+        assertTrue(storedFileRepository.existsById(fileName));
+
+        transactionTemplate.executeWithoutResult(status -> fileStorageService.releaseFile(fileName));
+
+        assertFalse(Files.exists(fileStorageService.getFilePath(fileName)));
+        assertFalse(storedFileRepository.existsById(fileName));
+    }
+
+    private String store() {
+
+        return transactionTemplate.execute(status -> {
+
+            try (StagedFile stagedFile = fileStorageService.stageFile(new ByteArrayInputStream(CONTENT), CONTENT.length)) {
+
+                return fileStorageService.storeFile(stagedFile).fileName();
+            }
+        });
+    }
+}
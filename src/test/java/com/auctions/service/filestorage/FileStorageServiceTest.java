@@ -0,0 +1,186 @@
+package com.auctions.service.filestorage;
+
+import com.auctions.exception.InvalidParameterException;
+import com.auctions.persistence.repository.StoredFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FileStorageServiceTest {
+
+    private static final byte[] CONTENT = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 'p', 'h', 'o', 't', 'o'};
+
+    // SHA-256 of CONTENT.
+    private static final String HASH = "1ef9a4edbe8408b991976c5f4c483f113e13f255f1d148811c50387a3dc32d6d";
+
+    private static final DataSize MAX_FILE_SIZE = DataSize.ofBytes(64);
+
+    @TempDir
+    private Path uploadDir;
+
+    @Mock
+    private StoredFileRepository storedFileRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private FileStorageServiceImpl fileStorageService;
+
+    @BeforeEach
+    void setUp() {
+
+        fileStorageService = new FileStorageServiceImpl(storedFileRepository, transactionTemplate, uploadDir.toString(), MAX_FILE_SIZE);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void storeFile_shouldStoreUnderShardedContentHash() throws IOException {
+
+        StoredFile storedFile = store(CONTENT);
+        String fileName = storedFile.fileName();
+
+        assertEquals("1e/f9/" + HASH + ".png", fileName);
+        assertEquals("image/png", storedFile.contentType());
+        assertEquals(HASH, storedFile.etag());
+        assertArrayEquals(CONTENT, Files.readAllBytes(fileStorageService.getFilePath(fileName)));
+        assertEquals(1, countFiles());
+
+        verify(storedFileRepository).acquireReference(fileName);
+    }
+
+    @Test
+    void storeFile_whenContentIsAlreadyStored_shouldNotWriteAgain() throws IOException {
+
+        String fileName = store(CONTENT).fileName();
+        Path filePath = fileStorageService.getFilePath(fileName);
+        long modifiedAt = Files.getLastModifiedTime(filePath).toMillis();
+
+        assertEquals(fileName, store(CONTENT).fileName());
+        assertEquals(modifiedAt, Files.getLastModifiedTime(filePath).toMillis());
+        assertEquals(1, countFiles());
+
+        verify(storedFileRepository, times(2)).acquireReference(fileName);
+    }
+
+    @Test
+    void storeFile_shouldTakeExtensionFromContent() {
+
+        byte[] jpeg = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 'p', 'h', 'o', 't', 'o'};
+
+        StoredFile storedFile = store(jpeg);
+
+        assertTrue(storedFile.fileName().endsWith(".jpg"));
+        assertEquals("image/jpeg", storedFile.contentType());
+    }
+
+    @Test
+    void stageFile_whenContentIsNotAnImage_shouldRejectWithoutWriting() throws IOException {
+
+        assertThrows(InvalidParameterException.class, () -> fileStorageService.stageFile(new ByteArrayInputStream("<html>".getBytes()), -1));
+
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void stageFile_whenDeclaredLengthIsTooLarge_shouldRejectWithoutReading() throws IOException {
+
+        InputStream content = mock(InputStream.class);
+
+        assertThrows(InvalidParameterException.class, () -> fileStorageService.stageFile(content, MAX_FILE_SIZE.toBytes() + 1));
+
+        verifyNoInteractions(content);
+    }
+
+    @Test
+    void stageFile_whenContentOutgrowsLimit_shouldAbortAndCleanUp() throws IOException {
+
+        byte[] content = Arrays.copyOf(CONTENT, (int) MAX_FILE_SIZE.toBytes() + 1);
+
+        assertThrows(InvalidParameterException.class, () -> fileStorageService.stageFile(new ByteArrayInputStream(content), -1));
+
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void stageFile_whenNotStored_shouldBeDeletedOnClose() throws IOException {
+
+        try (StagedFile stagedFile = fileStorageService.stageFile(new ByteArrayInputStream(CONTENT), CONTENT.length)) {
+
+            assertArrayEquals(CONTENT, Files.readAllBytes(stagedFile.getPath()));
+        }
+
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void releaseFile_whenOtherReferencesRemain_shouldKeepFile() {
+
+        String fileName = store(CONTENT).fileName();
+        when(storedFileRepository.releaseReference(fileName)).thenReturn(Optional.of(1));
+
+        fileStorageService.releaseFile(fileName);
+
+        assertTrue(Files.exists(fileStorageService.getFilePath(fileName)));
+        verify(storedFileRepository, never()).deleteUnreferenced(any());
+    }
+
+    @Test
+    void releaseFile_whenLastReferenceIsReleased_shouldDeleteFile() {
+
+        String fileName = store(CONTENT).fileName();
+        when(storedFileRepository.releaseReference(fileName)).thenReturn(Optional.of(0));
+        when(storedFileRepository.deleteUnreferenced(fileName)).thenReturn(1);
+
+        fileStorageService.releaseFile(fileName);
+
+        assertFalse(Files.exists(fileStorageService.getFilePath(fileName)));
+    }
+
+    @Test
+    void releaseFile_whenFileWasReferencedAgainMeanwhile_shouldKeepFile() {
+
+        String fileName = store(CONTENT).fileName();
+        when(storedFileRepository.releaseReference(fileName)).thenReturn(Optional.of(0));
+        when(storedFileRepository.deleteUnreferenced(fileName)).thenReturn(0);
+
+        fileStorageService.releaseFile(fileName);
+
+        assertTrue(Files.exists(fileStorageService.getFilePath(fileName)));
+    }
+
+    private long countFiles() throws IOException {
+
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private StoredFile store(byte[] content) {
+
+        try (StagedFile stagedFile = fileStorageService.stageFile(new ByteArrayInputStream(content), content.length)) {
+
+            return fileStorageService.storeFile(stagedFile);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.auctions.service.invalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two nodes sharing one embedded Postgres, each with a handler that records what it was told to evict.
+ */
+@SpringJUnitConfig(CacheInvalidationServiceIT.Config.class)
+@AutoConfigureEmbeddedDatabase(type = POSTGRES)
+public class CacheInvalidationServiceIT {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final BlockingQueue<String> firstNodeEvictions = new LinkedBlockingQueue<>();
+    private final BlockingQueue<String> secondNodeEvictions = new LinkedBlockingQueue<>();
+
+    private CacheInvalidationServiceImpl firstNode;
+    private CacheInvalidationServiceImpl secondNode;
+
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+
+        firstNode = startNode(firstNodeEvictions);
+        secondNode = startNode(secondNodeEvictions);
+
+        // Both nodes flush once they listen.
+        assertEquals("*", firstNodeEvictions.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("*", secondNodeEvictions.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        firstNode.shutdown();
+        secondNode.shutdown();
+    }
+
+    @Test
+    public void shouldEvictOnOtherNodesOnly() throws InterruptedException {
+
+        firstNode.publish(InvalidationType.LOT, 7);
+        firstNode.publish(InvalidationType.USER, 3);
+
+        assertEquals("LOT:7", secondNodeEvictions.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("USER:3", secondNodeEvictions.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        assertNull(firstNodeEvictions.poll(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldFlushAfterReconnecting() throws InterruptedException {
+
+        new JdbcTemplate(dataSource).query(
+                "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE datname = current_database() AND pid <> pg_backend_pid()",
+                resultSet -> {}
+        );
+
+        assertEquals("*", firstNodeEvictions.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("*", secondNodeEvictions.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        firstNode.publish(InvalidationType.AUCTION, 1);
+
+        assertEquals("AUCTION:1", secondNodeEvictions.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    private CacheInvalidationServiceImpl startNode(BlockingQueue<String> evictions) {
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+
+        beanFactory.addBean("handler", new CacheInvalidationHandler() {
+
+            @Override
+            public void evict(InvalidationType type, Integer id) {
+
+                evictions.add(type + ":" + id);
+            }
+
+            @Override
+            public void evictAll() {
+
+                evictions.add("*");
+            }
+        });
+
+        ObjectProvider<CacheInvalidationHandler> handlers = beanFactory.getBeanProvider(CacheInvalidationHandler.class);
+
+        CacheInvalidationServiceImpl node = new CacheInvalidationServiceImpl(
+                dataSource,
+                new JdbcTemplate(dataSource),
+                handlers,
+                new SimpleMeterRegistry(),
+                "cache_invalidation",
+                100,
+                Duration.ofMillis(200),
+                Duration.ofMillis(100)
+        );
+
+        node.start();
+
+        return node;
+    }
+
+    @Configuration
+    static class Config {
+    }
+}
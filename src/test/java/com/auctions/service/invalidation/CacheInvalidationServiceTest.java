@@ -0,0 +1,206 @@
+package com.auctions.service.invalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationServiceTest {
+
+    private static final String CHANNEL = "cache_invalidation";
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ObjectProvider<CacheInvalidationHandler> handlers;
+
+    @Mock
+    private CacheInvalidationHandler handler;
+
+    private CacheInvalidationServiceImpl cacheInvalidationService;
+
+    @BeforeEach
+    void setUp() {
+
+        lenient().when(handlers.orderedStream()).thenAnswer(invocation -> Stream.of(handler));
+
+        cacheInvalidationService = service(100);
+    }
+
+    @Test
+    void publish_whenTransactionIsActive_shouldSendAfterCommit() {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+
+            cacheInvalidationService.publish(InvalidationType.LOT, 5);
+
+            assertTrue(cacheInvalidationService.sendPending(new LinkedHashSet<>()));
+
+            verifyNoInteractions(jdbcTemplate);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        } finally {
+
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cacheInvalidationService.sendPending(new LinkedHashSet<>());
+
+        assertEquals(List.of("LOT:5"), keysOf(sentPayloads()));
+    }
+
+    @Test
+    void sendPending_shouldSendEachKeyOnce() {
+
+        cacheInvalidationService.publish(InvalidationType.USER, 1);
+        cacheInvalidationService.publish(InvalidationType.USER, 1);
+        cacheInvalidationService.publish(InvalidationType.AUCTION, 1);
+
+        cacheInvalidationService.sendPending(new LinkedHashSet<>());
+
+        assertEquals(List.of("USER:1", "AUCTION:1"), keysOf(sentPayloads()));
+    }
+
+    @Test
+    void sendPending_whenQueueOverflowed_shouldRequestFullFlush() {
+
+        cacheInvalidationService = service(1);
+
+        cacheInvalidationService.publish(InvalidationType.USER, 1);
+        cacheInvalidationService.publish(InvalidationType.USER, 2);
+
+        cacheInvalidationService.sendPending(new LinkedHashSet<>());
+
+        assertEquals(List.of(CacheInvalidationServiceImpl.FLUSH_ALL), keysOf(sentPayloads()));
+    }
+
+    @Test
+    void sendPending_whenNotifyFails_shouldRequestFullFlushNext() {
+
+        doThrow(new DataAccessResourceFailureException("Connection refused"))
+                .doNothing()
+                .when(jdbcTemplate).query(eq(NOTIFY), any(RowCallbackHandler.class), eq(CHANNEL), any());
+
+        cacheInvalidationService.publish(InvalidationType.LOT, 5);
+
+        assertFalse(cacheInvalidationService.sendPending(new LinkedHashSet<>()));
+        assertTrue(cacheInvalidationService.sendPending(new LinkedHashSet<>()));
+
+        List<String> payloads = sentPayloads();
+
+        assertEquals(List.of(CacheInvalidationServiceImpl.FLUSH_ALL), keysOf(payloads.subList(1, 2)));
+    }
+
+    @Test
+    void toPayloads_shouldSplitBatchesAboveMaximumLength() {
+
+        Set<String> keys = IntStream.range(0, 2000)
+                .mapToObj(id -> "AUCTION:" + id)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        List<String> payloads = cacheInvalidationService.toPayloads(keys);
+
+        assertTrue(payloads.size() > 1);
+        assertTrue(payloads.stream().allMatch(payload -> payload.length() <= CacheInvalidationServiceImpl.MAX_PAYLOAD_LENGTH));
+        assertEquals(List.copyOf(keys), keysOf(payloads));
+    }
+
+    @Test
+    void receive_fromAnotherNode_shouldEvictEachKey() {
+
+        String payload = service(100).toPayloads(new LinkedHashSet<>(List.of("USER:1", "LOT:2"))).get(0);
+
+        cacheInvalidationService.receive(payload);
+
+        verify(handler).evict(InvalidationType.USER, 1);
+        verify(handler).evict(InvalidationType.LOT, 2);
+        verify(handler, never()).evictAll();
+    }
+
+    @Test
+    void receive_fromThisNode_shouldIgnoreIt() {
+
+        cacheInvalidationService.receive(cacheInvalidationService.toPayloads(Set.of("USER:1")).get(0));
+
+        verifyNoInteractions(handler);
+    }
+
+    @Test
+    void receive_whenFullFlushIsRequested_shouldEvictAll() {
+
+        cacheInvalidationService.receive(service(100).toPayloads(Set.of(CacheInvalidationServiceImpl.FLUSH_ALL)).get(0));
+
+        verify(handler).evictAll();
+    }
+
+    @Test
+    void receive_whenPayloadIsMalformed_shouldEvictAll() {
+
+        cacheInvalidationService.receive(service(100).toPayloads(Set.of("ORDER:1")).get(0));
+        cacheInvalidationService.receive("garbage");
+
+        verify(handler, times(2)).evictAll();
+    }
+
+    private CacheInvalidationServiceImpl service(int queueCapacity) {
+
+        return new CacheInvalidationServiceImpl(
+                dataSource,
+                jdbcTemplate,
+                handlers,
+                new SimpleMeterRegistry(),
+                CHANNEL,
+                queueCapacity,
+                Duration.ofSeconds(5),
+                Duration.ofSeconds(5)
+        );
+    }
+
+    private List<String> sentPayloads() {
+
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+
+        verify(jdbcTemplate, atLeastOnce()).query(eq(NOTIFY), any(RowCallbackHandler.class), eq(CHANNEL), payloads.capture());
+
+        return payloads.getAllValues();
+    }
+
+    private static List<String> keysOf(List<String> payloads) {
+
+        return payloads.stream()
+                .flatMap(payload -> Stream.of(payload.substring(payload.indexOf('|') + 1).split(",")))
+                .toList();
+    }
+}
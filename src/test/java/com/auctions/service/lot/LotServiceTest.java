@@ -1,7 +1,13 @@
 package com.auctions.service.lot;
 
 import com.auctions.domain.lot.Lot;
+import com.auctions.domain.lot.LotPhoto;
+import com.auctions.domain.lot.PhotoSize;
+import com.auctions.domain.lot.LotFilter;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.user.User;
+import com.auctions.service.filestorage.FileStorageService;
+import com.auctions.service.filestorage.StagedFile;
 import com.auctions.service.lot.component.CreateLotServiceComponent;
 import com.auctions.service.lot.component.DeleteLotServiceComponent;
 import com.auctions.service.lot.component.GetLotServiceComponent;
@@ -13,11 +19,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +43,9 @@ public class LotServiceTest {
     @Mock
     private UpdateLotServiceComponent updateLotServiceComponent;
 
+    @Mock
+    private FileStorageService fileStorageService;
+
     @InjectMocks
     private LotServiceImpl lotService;
 
@@ -51,14 +62,14 @@ public class LotServiceTest {
     }
 
     @Test
-    void getAllLots() {
+    void getLotPage() {
 
-        when(getLotServiceComponent.getAllLots()).thenReturn(List.of(testLot));
+        LotFilter filter = LotFilter.builder().build();
+        CursorPage<Lot> lotPage = CursorPage.<Lot>builder().items(List.of(testLot)).build();
 
-        List<Lot> lots = lotService.getAllLots();
+        when(getLotServiceComponent.getLotPage(filter, "MQ", 10)).thenReturn(lotPage);
 
-        assertEquals(1, lots.size());
-        assertEquals(testLot, lots.get(0));
+        assertEquals(lotPage, lotService.getLotPage(filter, "MQ", 10));
     }
 
     @Test
@@ -69,6 +80,16 @@ public class LotServiceTest {
         assertEquals(testLot, lotService.getLotById(testLot.getId()));
     }
 
+    @Test
+    void getLotPhoto() {
+
+        LotPhoto lotPhoto = LotPhoto.builder().etag("etag").build();
+
+        when(getLotServiceComponent.getLotPhoto(testLot.getId(), PhotoSize.SMALL)).thenReturn(lotPhoto);
+
+        assertEquals(lotPhoto, lotService.getLotPhoto(testLot.getId(), PhotoSize.SMALL));
+    }
+
     @Test
     void createLot() {
 
@@ -88,11 +109,27 @@ public class LotServiceTest {
     @Test
     void updateLotPhoto() {
 
-        MultipartFile mockMultipartFile = mock(MultipartFile.class);
+        InputStream photo = new ByteArrayInputStream(new byte[0]);
+        StagedFile stagedPhoto = mock(StagedFile.class);
+        when(fileStorageService.stageFile(photo, 0)).thenReturn(stagedPhoto);
+
+        lotService.updateLotPhoto(testLot.getId(), photo, 0, testUser);
+
+        verify(updateLotServiceComponent).updateLotPhoto(testLot.getId(), stagedPhoto, testUser);
+        verify(stagedPhoto).close();
+    }
+
+    @Test
+    void updateLotPhoto_whenUpdateFails_shouldDiscardStagedPhoto() {
+
+        InputStream photo = new ByteArrayInputStream(new byte[0]);
+        StagedFile stagedPhoto = mock(StagedFile.class);
+        when(fileStorageService.stageFile(photo, -1)).thenReturn(stagedPhoto);
+        doThrow(new RuntimeException()).when(updateLotServiceComponent).updateLotPhoto(testLot.getId(), stagedPhoto, testUser);
 
-        lotService.updateLotPhoto(testLot.getId(), mockMultipartFile, testUser);
+        assertThrows(RuntimeException.class, () -> lotService.updateLotPhoto(testLot.getId(), photo, -1, testUser));
 
-        verify(updateLotServiceComponent).updateLotPhoto(testLot.getId(), mockMultipartFile, testUser);
+        verify(stagedPhoto).close();
     }
 
     @Test
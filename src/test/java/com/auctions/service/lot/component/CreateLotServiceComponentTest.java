@@ -22,7 +22,7 @@ public class CreateLotServiceComponentTest extends LotServiceComponentTest {
     @Test
     void createLot_whenAllConditionsExist_shouldCreateLot() {
 
-        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUserEntity));
+        when(userRepository.getReferenceById(testUser.getId())).thenReturn(testUserEntity);
         when(lotRepository.save(any())).thenReturn(testLotEntity);
         when(lotEntityToLotMapper.map(testLotEntity)).thenReturn(testLot);
 
@@ -44,7 +44,7 @@ public class CreateLotServiceComponentTest extends LotServiceComponentTest {
     @Test
     void createLot_whenUserIsUnknown_shouldThrowException() {
 
-        when(userRepository.findById(testUser.getId())).thenThrow(new BusinessException());
+        when(userRepository.getReferenceById(testUser.getId())).thenThrow(new BusinessException());
 
         assertThrows(BusinessException.class, () -> createLotServiceComponent.createLot(testLot, testUser));
 
@@ -55,7 +55,7 @@ public class CreateLotServiceComponentTest extends LotServiceComponentTest {
     @Test
     void createLot_whenSaveThrowsException_shouldThrowException() {
 
-        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUserEntity));
+        when(userRepository.getReferenceById(testUser.getId())).thenReturn(testUserEntity);
         when(lotRepository.save(testLotEntity)).thenThrow(new RuntimeException());
 
         assertThrows(BusinessException.class, () -> createLotServiceComponent.createLot(testLot, testUser));
@@ -66,7 +66,7 @@ public class CreateLotServiceComponentTest extends LotServiceComponentTest {
     @Test
     void createLot_whenMapThrowsException_shouldThrowException() {
 
-        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUserEntity));
+        when(userRepository.getReferenceById(testUser.getId())).thenReturn(testUserEntity);
         when(lotRepository.save(any())).thenReturn(testLotEntity);
         when(lotEntityToLotMapper.map(testLotEntity)).thenThrow(new RuntimeException());
 
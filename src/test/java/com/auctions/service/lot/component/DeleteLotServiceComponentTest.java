@@ -3,6 +3,7 @@ package com.auctions.service.lot.component;
 import com.auctions.exception.BusinessException;
 import com.auctions.exception.InvalidParameterException;
 import com.auctions.exception.ResourceNotFoundException;
+import com.auctions.service.invalidation.InvalidationType;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 
@@ -25,7 +26,8 @@ public class DeleteLotServiceComponentTest extends LotServiceComponentTest {
 
         deleteLotServiceComponent.deleteLot(LOT_ID);
 
-        verify(fileStorageService).deleteFile(testLotEntity.getPhotoUrl());
+        verify(fileStorageService).releaseFile(testLotEntity.getPhotoUrl());
+        verify(cacheInvalidationService).publish(InvalidationType.LOT, LOT_ID);
     }
 
     @Test
@@ -36,7 +38,7 @@ public class DeleteLotServiceComponentTest extends LotServiceComponentTest {
         deleteLotServiceComponent.deleteLot(1);
 
         verify(lotRepository, times(0)).deleteById(LOT_ID);
-        verify(fileStorageService, times(0)).deleteFile(any());
+        verify(fileStorageService, times(0)).releaseFile(any());
     }
 
     @Test
@@ -47,7 +49,7 @@ public class DeleteLotServiceComponentTest extends LotServiceComponentTest {
 
         assertThrows(InvalidParameterException.class, () -> deleteLotServiceComponent.deleteLot(LOT_ID));
 
-        verify(fileStorageService, times(0)).deleteFile(any());
+        verify(fileStorageService, times(0)).releaseFile(any());
     }
 
     @Test
@@ -58,14 +60,14 @@ public class DeleteLotServiceComponentTest extends LotServiceComponentTest {
 
         assertThrows(BusinessException.class, () -> deleteLotServiceComponent.deleteLot(LOT_ID));
 
-        verify(fileStorageService, times(0)).deleteFile(any());
+        verify(fileStorageService, times(0)).releaseFile(any());
     }
 
     @Test
     void deleteLot_whenFileDeletionThrowsException_shouldThrowException() {
 
         when(lotRepository.findById(LOT_ID)).thenReturn(Optional.of(testLotEntity));
-        doThrow(new RuntimeException()).when(fileStorageService).deleteFile(testLotEntity.getPhotoUrl());
+        doThrow(new RuntimeException()).when(fileStorageService).releaseFile(testLotEntity.getPhotoUrl());
 
         assertThrows(BusinessException.class, () -> deleteLotServiceComponent.deleteLot(LOT_ID));
     }
@@ -1,15 +1,25 @@
 package com.auctions.service.lot.component;
 
 import com.auctions.domain.lot.Lot;
+import com.auctions.domain.lot.LotFilter;
+import com.auctions.domain.lot.LotPhoto;
+import com.auctions.domain.lot.PhotoSize;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class GetLotServiceComponentTest extends LotServiceComponentTest {
@@ -18,16 +28,16 @@ public class GetLotServiceComponentTest extends LotServiceComponentTest {
     private GetLotServiceComponent getLotServiceComponent;
 
     @Test
-    void getAllLots_whenAllConditionsExist_shouldReturnLots() {
+    void getLotPage_whenAllConditionsExist_shouldReturnLots() {
 
-        when(lotRepository.findAll()).thenReturn(List.of(testLotEntity));
+        when(lotRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testLotEntity));
         when(lotEntityToLotMapper.map(testLotEntity)).thenReturn(testLot);
 
-        List<Lot> lots = getLotServiceComponent.getAllLots();
+        CursorPage<Lot> lotPage = getLotServiceComponent.getLotPage(LotFilter.builder().build(), null, null);
 
         verify(lotEntityToLotMapper).map(testLotEntity);
-        assertEquals(1, lots.size());
-        assertEquals(testLot, lots.get(0));
+        assertEquals(List.of(testLot), lotPage.getItems());
+        assertNull(lotPage.getNextCursor());
     }
 
     @Test
@@ -50,4 +60,45 @@ public class GetLotServiceComponentTest extends LotServiceComponentTest {
 
         verify(lotEntityToLotMapper, times(0)).map(testLotEntity);
     }
+
+    @Test
+    void getLotPhoto_whenLotHasPhoto_shouldReturnStoredMetadata() {
+
+        Path photoPath = Path.of("uploads", testLotEntity.getPhotoUrl());
+        testLotEntity.setPhotoContentType("image/jpeg");
+        testLotEntity.setPhotoEtag("etag");
+        testLotEntity.setUpdatedAt(Instant.EPOCH);
+        when(lotRepository.findById(LOT_ID)).thenReturn(Optional.of(testLotEntity));
+        when(fileStorageService.getFilePath(testLotEntity.getPhotoUrl())).thenReturn(photoPath);
+
+        LotPhoto photo = getLotServiceComponent.getLotPhoto(LOT_ID, null);
+
+        assertEquals(photoPath, photo.getPath());
+        assertEquals("image/jpeg", photo.getContentType());
+        assertEquals("etag", photo.getEtag());
+        assertEquals(Instant.EPOCH, photo.getLastModified());
+        assertEquals("etag", photo.getVersion());
+        assertNull(photo.getSize());
+        verifyNoInteractions(photoDerivativeService);
+    }
+
+    @Test
+    void getLotPhoto_whenSizeIsRequested_shouldReturnDerivative() {
+
+        LotPhoto derivative = LotPhoto.builder().etag("etag-small").size(PhotoSize.SMALL).build();
+        testLotEntity.setPhotoEtag("etag");
+        when(lotRepository.findById(LOT_ID)).thenReturn(Optional.of(testLotEntity));
+        when(photoDerivativeService.getDerivative(eq(testLotEntity.getPhotoUrl()), any(LotPhoto.class), eq(PhotoSize.SMALL))).thenReturn(derivative);
+
+        assertEquals(derivative, getLotServiceComponent.getLotPhoto(LOT_ID, PhotoSize.SMALL));
+    }
+
+    @Test
+    void getLotPhoto_whenLotHasNoPhoto_shouldThrowException() {
+
+        testLotEntity.setPhotoUrl(null);
+        when(lotRepository.findById(LOT_ID)).thenReturn(Optional.of(testLotEntity));
+
+        assertThrows(ResourceNotFoundException.class, () -> getLotServiceComponent.getLotPhoto(LOT_ID, null));
+    }
 }
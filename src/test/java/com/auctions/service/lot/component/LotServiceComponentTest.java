@@ -9,6 +9,8 @@ import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.repository.LotRepository;
 import com.auctions.persistence.repository.UserRepository;
 import com.auctions.service.filestorage.FileStorageService;
+import com.auctions.service.invalidation.CacheInvalidationService;
+import com.auctions.service.photo.PhotoDerivativeService;
 import com.auctions.util.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,9 +31,15 @@ public abstract class LotServiceComponentTest {
     @Mock
     FileStorageService fileStorageService;
 
+    @Mock
+    PhotoDerivativeService photoDerivativeService;
+
     @Mock
     LotEntityToLotMapper lotEntityToLotMapper;
 
+    @Mock
+    CacheInvalidationService cacheInvalidationService;
+
     Lot testLot;
 
     LotEntity testLotEntity;
@@ -6,10 +6,12 @@ import com.auctions.exception.BusinessException;
 import com.auctions.exception.ResourceNotFoundException;
 import com.auctions.persistence.entity.LotEntity;
 import com.auctions.persistence.entity.UserEntity;
+import com.auctions.service.filestorage.StagedFile;
+import com.auctions.service.filestorage.StoredFile;
+import com.auctions.service.invalidation.InvalidationType;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.util.Optional;
 
@@ -31,7 +33,7 @@ public class UpdateLotServiceComponentTest extends LotServiceComponentTest {
         when(lotRepository.findById(CREATED_BY)).thenReturn(Optional.of(testLotEntity));
         User newUser = User.builder().id(MODIFIED_BY).build();
         UserEntity newUserEntity = new UserEntity();
-        when(userRepository.findById(MODIFIED_BY)).thenReturn(Optional.of(newUserEntity));
+        when(userRepository.getReferenceById(MODIFIED_BY)).thenReturn(newUserEntity);
         when(lotRepository.save(testLotEntity)).thenReturn(testLotEntity);
         when(lotEntityToLotMapper.map(testLotEntity)).thenReturn(testLot);
 
@@ -51,6 +53,7 @@ public class UpdateLotServiceComponentTest extends LotServiceComponentTest {
         assertEquals(updatedTestLot.getSurname(), lotEntityCaptured.getSurname());
         assertEquals(testLotEntity.getCreatedBy(), lotEntityCaptured.getCreatedBy());
         assertEquals(newUserEntity, lotEntityCaptured.getLastModifiedBy());
+        verify(cacheInvalidationService).publish(InvalidationType.LOT, CREATED_BY);
     }
 
     @Test
@@ -65,7 +68,7 @@ public class UpdateLotServiceComponentTest extends LotServiceComponentTest {
     void updateLotDetails_whenUserIsUnknown_shouldThrowException() {
 
         when(lotRepository.findById(LOT_ID)).thenReturn(Optional.of(testLotEntity));
-        when(userRepository.findById(testUser.getId())).thenThrow(new ResourceNotFoundException());
+        when(userRepository.getReferenceById(testUser.getId())).thenThrow(new ResourceNotFoundException());
 
         assertThrows(ResourceNotFoundException.class, () -> updateLotServiceComponent.updateLotDetails(1, testLot, testUser));
     }
@@ -74,7 +77,7 @@ public class UpdateLotServiceComponentTest extends LotServiceComponentTest {
     void updateLotDetails_whenSaveThrowsException_shouldThrowException() {
 
         when(lotRepository.findById(LOT_ID)).thenReturn(Optional.of(testLotEntity));
-        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUserEntity));
+        when(userRepository.getReferenceById(testUser.getId())).thenReturn(testUserEntity);
         when(lotRepository.save(testLotEntity)).thenThrow(new RuntimeException());
 
         assertThrows(BusinessException.class, () -> updateLotServiceComponent.updateLotDetails(1, testLot, testUser));
@@ -84,7 +87,7 @@ public class UpdateLotServiceComponentTest extends LotServiceComponentTest {
     void updateLotDetails_whenMapThrowsException_shouldThrowException() {
 
         when(lotRepository.findById(LOT_ID)).thenReturn(Optional.of(testLotEntity));
-        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUserEntity));
+        when(userRepository.getReferenceById(testUser.getId())).thenReturn(testUserEntity);
         when(lotRepository.save(testLotEntity)).thenReturn(testLotEntity);
         when(lotEntityToLotMapper.map(testLotEntity)).thenThrow(new RuntimeException());
 
@@ -97,13 +100,13 @@ public class UpdateLotServiceComponentTest extends LotServiceComponentTest {
         final String OLD_PHOTO_URL = testLotEntity.getPhotoUrl();
         final String NEW_PHOTO_URL = "newPhotoUrl";
         final Integer MODIFIED_BY = 2;
-        final MultipartFile FILE = mock(MultipartFile.class);
+        final StagedFile FILE = mock(StagedFile.class);
 
         when(lotRepository.findById(LOT_ID)).thenReturn(Optional.of(testLotEntity));
-        when(fileStorageService.storeFile(FILE)).thenReturn(NEW_PHOTO_URL);
+        when(fileStorageService.storeFile(FILE)).thenReturn(new StoredFile(NEW_PHOTO_URL, "image/jpeg", "etag"));
         User newUser = User.builder().id(MODIFIED_BY).build();
         UserEntity newUserEntity = new UserEntity();
-        when(userRepository.findById(MODIFIED_BY)).thenReturn(Optional.of(newUserEntity));
+        when(userRepository.getReferenceById(MODIFIED_BY)).thenReturn(newUserEntity);
         when(lotRepository.save(testLotEntity)).thenReturn(testLotEntity);
 
         updateLotServiceComponent.updateLotPhoto(LOT_ID, FILE, newUser);
@@ -113,9 +116,12 @@ public class UpdateLotServiceComponentTest extends LotServiceComponentTest {
         LotEntity lotEntityCaptured = lotEntityCaptor.getValue();
         assertEquals(lotEntityCaptured, testLotEntity);
         assertEquals(NEW_PHOTO_URL, lotEntityCaptured.getPhotoUrl());
+        assertEquals("image/jpeg", lotEntityCaptured.getPhotoContentType());
+        assertEquals("etag", lotEntityCaptured.getPhotoEtag());
         assertEquals(newUserEntity, lotEntityCaptured.getLastModifiedBy());
 
-        verify(fileStorageService).deleteFile(OLD_PHOTO_URL);
+        verify(fileStorageService).releaseFile(OLD_PHOTO_URL);
+        verify(photoDerivativeService).createDerivatives(NEW_PHOTO_URL);
     }
 
     @Test
@@ -123,7 +129,7 @@ public class UpdateLotServiceComponentTest extends LotServiceComponentTest {
 
         when(lotRepository.findById(LOT_ID)).thenThrow(new ResourceNotFoundException());
 
-        assertThrows(ResourceNotFoundException.class, () -> updateLotServiceComponent.updateLotPhoto(1, mock(MultipartFile.class), mock(User.class)));
+        assertThrows(ResourceNotFoundException.class, () -> updateLotServiceComponent.updateLotPhoto(1, mock(StagedFile.class), mock(User.class)));
     }
 
     @Test
@@ -132,44 +138,56 @@ public class UpdateLotServiceComponentTest extends LotServiceComponentTest {
         when(lotRepository.findById(LOT_ID)).thenReturn(Optional.of(testLotEntity));
         when(fileStorageService.storeFile(any())).thenThrow(new ResourceNotFoundException());
 
-        assertThrows(BusinessException.class, () -> updateLotServiceComponent.updateLotPhoto(1, mock(MultipartFile.class), mock(User.class)));
+        assertThrows(BusinessException.class, () -> updateLotServiceComponent.updateLotPhoto(1, mock(StagedFile.class), mock(User.class)));
     }
 
     @Test
     void updateLotPhoto_whenUserIsUnknown_shouldThrowException() {
 
         when(lotRepository.findById(LOT_ID)).thenReturn(Optional.of(testLotEntity));
-        when(fileStorageService.storeFile(any())).thenReturn("newPhotoUrl");
-        when(userRepository.findById(testUser.getId())).thenThrow(new ResourceNotFoundException());
+        when(fileStorageService.storeFile(any())).thenReturn(new StoredFile("newPhotoUrl", "image/jpeg", "etag"));
+        when(userRepository.getReferenceById(testUser.getId())).thenThrow(new ResourceNotFoundException());
 
-        assertThrows(BusinessException.class, () -> updateLotServiceComponent.updateLotPhoto(1, mock(MultipartFile.class), mock(User.class)));
+        assertThrows(BusinessException.class, () -> updateLotServiceComponent.updateLotPhoto(1, mock(StagedFile.class), mock(User.class)));
     }
 
     @Test
     void updateLotPhoto_whenSaveThrowsException_shouldThrowException() {
 
         when(lotRepository.findById(LOT_ID)).thenReturn(Optional.of(testLotEntity));
-        when(fileStorageService.storeFile(any())).thenReturn("newPhotoUrl");
-        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUserEntity));
+        when(fileStorageService.storeFile(any())).thenReturn(new StoredFile("newPhotoUrl", "image/jpeg", "etag"));
+        when(userRepository.getReferenceById(testUser.getId())).thenReturn(testUserEntity);
         when(lotRepository.save(testLotEntity)).thenThrow(new RuntimeException());
 
-        assertThrows(BusinessException.class, () -> updateLotServiceComponent.updateLotPhoto(1, mock(MultipartFile.class), mock(User.class)));
+        assertThrows(BusinessException.class, () -> updateLotServiceComponent.updateLotPhoto(1, mock(StagedFile.class), mock(User.class)));
     }
 
     @Test
-    void updateLotPhoto_whenFileDeletionThrowsException_shouldThrowException() {
+    void updateLotPhoto_whenSameContentIsUploadedAgain_shouldReleaseOldReference() {
 
-        final String NEW_PHOTO_URL = "newPhotoUrl";
+        final String PHOTO_URL = testLotEntity.getPhotoUrl();
 
-        when(lotRepository.findById(1)).thenReturn(Optional.of(testLotEntity));
-        when(fileStorageService.storeFile(any())).thenReturn(NEW_PHOTO_URL);
-        when(userRepository.findById(1)).thenReturn(Optional.of(testUserEntity));
-        when(lotRepository.save(testLotEntity)).thenReturn(testLotEntity);
-        doThrow(new RuntimeException()).when(fileStorageService).deleteFile(testLotEntity.getPhotoUrl());
-        doNothing().when(fileStorageService).deleteFile(NEW_PHOTO_URL);
+        when(lotRepository.findById(LOT_ID)).thenReturn(Optional.of(testLotEntity));
+        when(fileStorageService.storeFile(any())).thenReturn(new StoredFile(PHOTO_URL, "image/jpeg", "etag"));
+        when(userRepository.getReferenceById(testUser.getId())).thenReturn(testUserEntity);
+
+        updateLotServiceComponent.updateLotPhoto(LOT_ID, mock(StagedFile.class), testUser);
+
+        assertEquals(PHOTO_URL, testLotEntity.getPhotoUrl());
+
+        verify(fileStorageService).releaseFile(PHOTO_URL);
+    }
+
+    @Test
+    void updateLotPhoto_whenFileReleaseThrowsException_shouldThrowException() {
+
+        when(lotRepository.findById(LOT_ID)).thenReturn(Optional.of(testLotEntity));
+        when(fileStorageService.storeFile(any())).thenReturn(new StoredFile("newPhotoUrl", "image/jpeg", "etag"));
+        when(userRepository.getReferenceById(testUser.getId())).thenReturn(testUserEntity);
+        doThrow(new RuntimeException()).when(fileStorageService).releaseFile(testLotEntity.getPhotoUrl());
 
-        assertThrows(BusinessException.class, () -> updateLotServiceComponent.updateLotPhoto(1, mock(MultipartFile.class), mock(User.class)));
+        assertThrows(BusinessException.class, () -> updateLotServiceComponent.updateLotPhoto(LOT_ID, mock(StagedFile.class), testUser));
 
-        verify(fileStorageService).deleteFile(NEW_PHOTO_URL);
+        verify(lotRepository).save(testLotEntity);
     }
 }
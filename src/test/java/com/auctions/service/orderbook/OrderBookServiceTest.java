@@ -0,0 +1,270 @@
+package com.auctions.service.orderbook;
+
+import com.auctions.domain.auction.AuctionPrice;
+import com.auctions.domain.bid.Bid;
+import com.auctions.domain.bid.BidState;
+import com.auctions.exception.InvalidParameterException;
+import com.auctions.mapper.bid.BidEntityToBidMapper;
+import com.auctions.persistence.entity.BidEntity;
+import com.auctions.persistence.repository.BidRepository;
+import com.auctions.service.invalidation.CacheInvalidationService;
+import com.auctions.service.invalidation.InvalidationType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static java.time.Instant.now;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBookServiceTest {
+
+    private static final Integer AUCTION_ID = 1;
+
+    @Mock
+    private BidRepository bidRepository;
+
+    @Mock
+    private BidEntityToBidMapper bidEntityToBidMapper;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private OrderBookServiceImpl orderBookService;
+
+    @Test
+    void openOrderBook_shouldHydrateFromCreatedBids() {
+
+        BidEntity bidEntity = new BidEntity();
+        when(bidRepository.findCreatedBidsByAuctionId(AUCTION_ID)).thenReturn(List.of(bidEntity));
+        when(bidRepository.countByAuctionId(AUCTION_ID)).thenReturn(3L);
+        when(bidEntityToBidMapper.map(bidEntity)).thenReturn(bid(7, 120, null));
+
+        orderBookService.openOrderBook(AUCTION_ID);
+
+        AuctionPrice auctionPrice = orderBookService.getAuctionPrice(AUCTION_ID).orElseThrow();
+        assertEquals(BigDecimal.valueOf(120), auctionPrice.getCurrentPrice());
+        assertEquals(7, auctionPrice.getBestBidId());
+        assertEquals(3, auctionPrice.getBidCount());
+    }
+
+    @Test
+    void openOrderBook_whenAlreadyOpen_shouldNotHydrateAgain() {
+
+        openEmptyOrderBook();
+
+        orderBookService.openOrderBook(AUCTION_ID);
+
+        verify(bidRepository, times(1)).findCreatedBidsByAuctionId(AUCTION_ID);
+    }
+
+    @Test
+    void openOrderBook_whenChangeArrivesWhileLoading_shouldLoadAgain() {
+
+        when(bidRepository.findCreatedBidsByAuctionId(AUCTION_ID))
+                .thenAnswer(invocation -> {
+                    orderBookService.evict(InvalidationType.AUCTION, AUCTION_ID);
+                    return List.of();
+                })
+                .thenReturn(List.of());
+
+        orderBookService.openOrderBook(AUCTION_ID);
+
+        verify(bidRepository, times(2)).findCreatedBidsByAuctionId(AUCTION_ID);
+        assertTrue(orderBookService.isOrderBookOpen(AUCTION_ID));
+    }
+
+    @Test
+    void getAuctionPrice_whenOrderBookIsNotOpen_shouldReturnEmpty() {
+
+        assertTrue(orderBookService.getAuctionPrice(AUCTION_ID).isEmpty());
+        assertFalse(orderBookService.isOrderBookOpen(AUCTION_ID));
+    }
+
+    @Test
+    void addBid_shouldUpdateBestBidAndCount() {
+
+        openEmptyOrderBook();
+
+        orderBookService.addBid(bid(1, 100, null));
+        orderBookService.addBid(bid(2, 150, null));
+        orderBookService.addBid(bid(2, 150, null));
+
+        AuctionPrice auctionPrice = orderBookService.getAuctionPrice(AUCTION_ID).orElseThrow();
+        assertEquals(BigDecimal.valueOf(150), auctionPrice.getCurrentPrice());
+        assertEquals(2, auctionPrice.getBestBidId());
+        assertEquals(2, auctionPrice.getBidCount());
+        verify(cacheInvalidationService, times(2)).publish(InvalidationType.BID, 2);
+    }
+
+    @Test
+    void validateBidAmount_whenAmountDoesNotBeatBestBid_shouldThrowException() {
+
+        openEmptyOrderBook();
+        orderBookService.addBid(bid(1, 100, null));
+
+        assertThrows(InvalidParameterException.class, () -> orderBookService.validateBidAmount(AUCTION_ID, BigDecimal.valueOf(100)));
+        assertDoesNotThrow(() -> orderBookService.validateBidAmount(AUCTION_ID, BigDecimal.valueOf(101)));
+    }
+
+    @Test
+    void validateBidAmount_whenAmountIsNotPositive_shouldThrowException() {
+
+        assertThrows(InvalidParameterException.class, () -> orderBookService.validateBidAmount(AUCTION_ID, BigDecimal.ZERO));
+        assertThrows(InvalidParameterException.class, () -> orderBookService.validateBidAmount(AUCTION_ID, null));
+    }
+
+    @Test
+    void removeBid_shouldFallBackToNextBestBid() {
+
+        openEmptyOrderBook();
+        orderBookService.addBid(bid(1, 100, null));
+        orderBookService.addBid(bid(2, 150, null));
+
+        orderBookService.removeBid(AUCTION_ID, 2);
+
+        assertEquals(1, orderBookService.getAuctionPrice(AUCTION_ID).orElseThrow().getBestBidId());
+        verify(cacheInvalidationService, times(2)).publish(InvalidationType.BID, 2);
+        verify(cacheInvalidationService, never()).publish(eq(InvalidationType.AUCTION), any());
+    }
+
+    @Test
+    void removeBidsOutdatedBefore_shouldRemoveOnlyOutdatedBids() {
+
+        Instant now = now();
+
+        openEmptyOrderBook();
+        orderBookService.addBid(bid(1, 100, now.plus(1, ChronoUnit.MINUTES)));
+        orderBookService.addBid(bid(2, 150, now.minus(1, ChronoUnit.MINUTES)));
+
+        orderBookService.removeBidsOutdatedBefore(now);
+
+        assertEquals(1, orderBookService.getAuctionPrice(AUCTION_ID).orElseThrow().getBestBidId());
+    }
+
+    @Test
+    void getAuctionPrice_shouldIgnoreBidsPastTheirDeadline() {
+
+        openEmptyOrderBook();
+        orderBookService.addBid(bid(1, 100, null));
+        orderBookService.addBid(bid(2, 150, now().minus(1, ChronoUnit.SECONDS)));
+
+        assertEquals(1, orderBookService.getAuctionPrice(AUCTION_ID).orElseThrow().getBestBidId());
+    }
+
+    @Test
+    void closeOrderBook_shouldRemoveOrderBook() {
+
+        openEmptyOrderBook();
+
+        orderBookService.closeOrderBook(AUCTION_ID);
+
+        assertFalse(orderBookService.isOrderBookOpen(AUCTION_ID));
+        verify(cacheInvalidationService).publish(InvalidationType.AUCTION, AUCTION_ID);
+    }
+
+    @Test
+    void evict_whenAuctionChangedOnAnotherNode_shouldDropOrderBook() {
+
+        openEmptyOrderBook();
+
+        orderBookService.evict(InvalidationType.LOT, AUCTION_ID);
+
+        assertTrue(orderBookService.isOrderBookOpen(AUCTION_ID));
+
+        orderBookService.evict(InvalidationType.AUCTION, AUCTION_ID);
+
+        assertFalse(orderBookService.isOrderBookOpen(AUCTION_ID));
+    }
+
+    @Test
+    void evict_whenBidTakenOnAnotherNode_shouldAddItWithoutReloading() {
+
+        openEmptyOrderBook();
+        orderBookService.addBid(bid(1, 100, null));
+        stubChangedBid(bid(2, 150, null));
+
+        orderBookService.evict(InvalidationType.BID, 2);
+
+        AuctionPrice auctionPrice = orderBookService.getAuctionPrice(AUCTION_ID).orElseThrow();
+        assertEquals(2, auctionPrice.getBestBidId());
+        assertEquals(2, auctionPrice.getBidCount());
+        verify(bidRepository, times(1)).findCreatedBidsByAuctionId(AUCTION_ID);
+    }
+
+    @Test
+    void evict_whenBidCancelledOnAnotherNode_shouldRemoveIt() {
+
+        openEmptyOrderBook();
+        orderBookService.addBid(bid(1, 100, null));
+        orderBookService.addBid(bid(2, 150, null));
+        stubChangedBid(bid(2, 150, null).toBuilder().state(BidState.CANCELLED).build());
+
+        orderBookService.evict(InvalidationType.BID, 2);
+
+        assertEquals(1, orderBookService.getAuctionPrice(AUCTION_ID).orElseThrow().getBestBidId());
+    }
+
+    @Test
+    void evict_whenBidNoLongerExists_shouldRemoveItFromEveryOrderBook() {
+
+        openEmptyOrderBook();
+        orderBookService.addBid(bid(1, 100, null));
+        orderBookService.addBid(bid(2, 150, null));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(bidRepository.findById(2)).thenReturn(Optional.empty());
+
+        orderBookService.evict(InvalidationType.BID, 2);
+
+        assertEquals(1, orderBookService.getAuctionPrice(AUCTION_ID).orElseThrow().getBestBidId());
+    }
+
+    @Test
+    void evict_whenNoOrderBookIsOpen_shouldNotLoadTheBid() {
+
+        orderBookService.evict(InvalidationType.BID, 2);
+
+        verifyNoInteractions(transactionTemplate, bidRepository);
+    }
+
+    private void stubChangedBid(Bid bid) {
+
+        BidEntity bidEntity = new BidEntity();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(bidRepository.findById(bid.getId())).thenReturn(Optional.of(bidEntity));
+        when(bidEntityToBidMapper.map(bidEntity)).thenReturn(bid);
+    }
+
+    private void openEmptyOrderBook() {
+
+        when(bidRepository.findCreatedBidsByAuctionId(AUCTION_ID)).thenReturn(List.of());
+
+        orderBookService.openOrderBook(AUCTION_ID);
+    }
+
+    private static Bid bid(Integer id, long amount, Instant until) {
+
+        return Bid.builder()
+                .id(id)
+                .auctionId(AUCTION_ID)
+                .amount(BigDecimal.valueOf(amount))
+                .until(until)
+                .state(BidState.CREATED)
+                .build();
+    }
+}
@@ -0,0 +1,215 @@
+package com.auctions.service.outbox;
+
+import com.auctions.domain.outbox.OutboxAggregateType;
+import com.auctions.domain.outbox.OutboxEvent;
+import com.auctions.domain.outbox.OutboxEventType;
+import com.auctions.mapper.outbox.OutboxEntityToOutboxEventMapper;
+import com.auctions.persistence.entity.OutboxEntity;
+import com.auctions.persistence.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private ObjectProvider<OutboxSink> outboxSinkProvider;
+
+    @Mock
+    private OutboxSink outboxSink;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OutboxRelayImpl outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(outboxSinkProvider.orderedStream()).thenReturn(Stream.of(outboxSink));
+
+        outboxRelay = new OutboxRelayImpl(
+                outboxRepository, new OutboxEntityToOutboxEventMapper(), applicationEventPublisher, outboxSinkProvider,
+                transactionTemplate, meterRegistry, BATCH_SIZE, MAX_ATTEMPTS
+        );
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void relay_whenOutboxIsEmpty_shouldNotDeliverAnything() {
+
+        when(outboxRepository.findNextBatchForUpdate(0, BATCH_SIZE)).thenReturn(List.of());
+
+        assertEquals(0, outboxRelay.relay());
+
+        verifyNoInteractions(applicationEventPublisher, outboxSink);
+        verify(outboxRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    void relay_shouldDeliverAndDeleteBatchesUntilOutboxIsDrained() {
+
+        when(outboxRepository.findNextBatchForUpdate(0, BATCH_SIZE)).thenReturn(List.of(createOutboxEntity(1L), createOutboxEntity(2L)));
+        when(outboxRepository.findNextBatchForUpdate(2, BATCH_SIZE)).thenReturn(List.of(createOutboxEntity(3L)));
+
+        assertEquals(3, outboxRelay.relay());
+
+        verify(applicationEventPublisher, times(3)).publishEvent(any(OutboxEvent.class));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxEvent>> eventsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(outboxSink, times(2)).deliver(eventsCaptor.capture());
+        assertEquals(List.of(1L, 2L), eventsCaptor.getAllValues().get(0).stream().map(OutboxEvent::getId).toList());
+        assertEquals(OutboxEventType.PAYMENT_CREATED, eventsCaptor.getAllValues().get(1).get(0).getType());
+
+        verify(outboxRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(outboxRepository).deleteByIdIn(List.of(3L));
+
+        assertEquals(3, meterRegistry.get("outbox.relay.lag").timer().count());
+    }
+
+    @Test
+    void relay_whenSinkFailsForOneEvent_shouldRelayOthersAndRecordFailedAttempt() {
+
+        OutboxEntity failingEntity = createOutboxEntity(1L);
+        OutboxEntity deliverableEntity = createOutboxEntity(2L);
+
+        when(outboxRepository.findNextBatchForUpdate(0, BATCH_SIZE)).thenReturn(List.of(failingEntity, deliverableEntity));
+        when(outboxRepository.findNextBatchForUpdate(2, BATCH_SIZE)).thenReturn(List.of());
+        when(outboxRepository.findPendingByIdForUpdate(1L)).thenReturn(Optional.of(failingEntity));
+        when(outboxRepository.findPendingByIdForUpdate(2L)).thenReturn(Optional.of(deliverableEntity));
+        when(outboxRepository.recordFailedAttempt(eq(1L), any(), eq(MAX_ATTEMPTS))).thenReturn(Optional.of(false));
+        doAnswer(invocation -> {
+
+            List<OutboxEvent> events = invocation.getArgument(0);
+
+            if (events.stream().anyMatch(event -> event.getId() == 1L)) {
+
+                throw new IllegalStateException("Broker rejected event");
+            }
+
+            return null;
+
+        }).when(outboxSink).deliver(any());
+
+        assertEquals(1, outboxRelay.relay());
+
+        verify(outboxRepository, never()).deleteByIdIn(List.of(1L, 2L));
+        verify(outboxRepository, never()).deleteByIdIn(List.of(1L));
+        verify(outboxRepository).deleteByIdIn(List.of(2L));
+        verify(outboxRepository).recordFailedAttempt(eq(1L), contains("Broker rejected event"), eq(MAX_ATTEMPTS));
+
+        assertEquals(0, meterRegistry.get("outbox.relay.dead.letters").counter().count());
+    }
+
+    @Test
+    void relay_whenEventFailsForTheLastTime_shouldCountDeadLetter() {
+
+        OutboxEntity failingEntity = createOutboxEntity(1L);
+
+        when(outboxRepository.findNextBatchForUpdate(0, BATCH_SIZE)).thenReturn(List.of(failingEntity));
+        when(outboxRepository.findPendingByIdForUpdate(1L)).thenReturn(Optional.of(failingEntity));
+        when(outboxRepository.recordFailedAttempt(eq(1L), any(), eq(MAX_ATTEMPTS))).thenReturn(Optional.of(true));
+        doThrow(new IllegalStateException("Broker unavailable")).when(outboxSink).deliver(any());
+
+        assertEquals(0, outboxRelay.relay());
+
+        verify(outboxRepository, never()).deleteByIdIn(any());
+
+        assertEquals(1, meterRegistry.get("outbox.relay.dead.letters").counter().count());
+    }
+
+    @Test
+    void relay_whenEventWasTakenMeanwhile_shouldSkipIt() {
+
+        when(outboxRepository.findNextBatchForUpdate(0, BATCH_SIZE)).thenReturn(List.of(createOutboxEntity(1L)));
+        when(outboxRepository.findPendingByIdForUpdate(1L)).thenReturn(Optional.empty());
+        doThrow(new IllegalStateException("Broker unavailable")).when(outboxSink).deliver(any());
+
+        assertEquals(0, outboxRelay.relay());
+
+        verify(outboxSink, times(1)).deliver(any());
+        verify(outboxRepository, never()).recordFailedAttempt(any(), any(), anyInt());
+    }
+
+    @Test
+    void relay_whenEventFails_shouldHoldBackLaterEventsOfItsAggregate() {
+
+        OutboxEntity failingEntity = createOutboxEntity(1L, 5);
+
+        when(outboxRepository.findNextBatchForUpdate(0, BATCH_SIZE)).thenReturn(List.of(failingEntity, createOutboxEntity(2L, 5)));
+        when(outboxRepository.findNextBatchForUpdate(2, BATCH_SIZE)).thenReturn(List.of(createOutboxEntity(3L, 5), createOutboxEntity(4L, 6)));
+        when(outboxRepository.findNextBatchForUpdate(4, BATCH_SIZE)).thenReturn(List.of());
+        when(outboxRepository.findPendingByIdForUpdate(1L)).thenReturn(Optional.of(failingEntity));
+        when(outboxRepository.recordFailedAttempt(eq(1L), any(), eq(MAX_ATTEMPTS))).thenReturn(Optional.of(false));
+        doAnswer(invocation -> {
+
+            List<OutboxEvent> events = invocation.getArgument(0);
+
+            if (events.stream().anyMatch(event -> event.getId() == 1L)) {
+
+                throw new IllegalStateException("Broker rejected event");
+            }
+
+            return null;
+
+        }).when(outboxSink).deliver(any());
+
+        assertEquals(1, outboxRelay.relay());
+
+        verify(outboxRepository, never()).findPendingByIdForUpdate(2L);
+        verify(outboxRepository).deleteByIdIn(List.of(4L));
+        verify(outboxRepository, times(1)).deleteByIdIn(any());
+    }
+
+    private static OutboxEntity createOutboxEntity(Long id) {
+
+        return createOutboxEntity(id, id.intValue());
+    }
+
+    private static OutboxEntity createOutboxEntity(Long id, Integer aggregateId) {
+
+        OutboxEntity outboxEntity = new OutboxEntity();
+
+        outboxEntity.setId(id);
+        outboxEntity.setAggregateType(OutboxAggregateType.PAYMENT);
+        outboxEntity.setAggregateId(aggregateId);
+        outboxEntity.setEventType(OutboxEventType.PAYMENT_CREATED);
+        outboxEntity.setPayload("{}");
+        outboxEntity.setCreatedAt(Instant.now());
+
+        return outboxEntity;
+    }
+}
@@ -0,0 +1,52 @@
+package com.auctions.service.outbox;
+
+import com.auctions.domain.auction.Auction;
+import com.auctions.domain.auction.AuctionState;
+import com.auctions.domain.outbox.OutboxAggregateType;
+import com.auctions.domain.outbox.OutboxEventType;
+import com.auctions.persistence.entity.OutboxEntity;
+import com.auctions.persistence.repository.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxServiceTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+
+        outboxService = new OutboxServiceImpl(outboxRepository, new ObjectMapper());
+    }
+
+    @Test
+    void append_shouldSaveEventWithAggregateTypeAndJsonPayload() {
+
+        Auction auction = Auction.builder().id(7).state(AuctionState.CLOSED).build();
+
+        outboxService.append(OutboxEventType.AUCTION_CLOSED, 7, auction);
+
+        ArgumentCaptor<OutboxEntity> outboxEntityCaptor = ArgumentCaptor.forClass(OutboxEntity.class);
+        verify(outboxRepository).save(outboxEntityCaptor.capture());
+        OutboxEntity outboxEntityCaptured = outboxEntityCaptor.getValue();
+        assertEquals(OutboxAggregateType.AUCTION, outboxEntityCaptured.getAggregateType());
+        assertEquals(7, outboxEntityCaptured.getAggregateId());
+        assertEquals(OutboxEventType.AUCTION_CLOSED, outboxEntityCaptured.getEventType());
+        assertEquals(
+                "{\"id\":7,\"startTime\":null,\"stopTime\":null,\"lotId\":null,\"state\":\"CLOSED\",\"createdByUserId\":null,\"lastModifiedByUserId\":null}",
+                outboxEntityCaptured.getPayload()
+        );
+    }
+}
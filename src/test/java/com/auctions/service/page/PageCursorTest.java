@@ -0,0 +1,60 @@
+package com.auctions.service.page;
+
+import com.auctions.domain.page.CursorPage;
+import com.auctions.exception.InvalidParameterException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void decode_whenCursorIsMissing_shouldStartBeforeFirstId() {
+
+        assertEquals(0, PageCursor.decode(null));
+        assertEquals(0, PageCursor.decode(" "));
+    }
+
+    @Test
+    void decode_whenCursorWasEncoded_shouldReturnId() {
+
+        assertEquals(42, PageCursor.decode(PageCursor.encode(42)));
+    }
+
+    @Test
+    void decode_whenCursorIsNotValid_shouldThrowException() {
+
+        assertThrows(InvalidParameterException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(InvalidParameterException.class, () -> PageCursor.decode("YWJj"));
+    }
+
+    @Test
+    void limit_shouldDefaultAndCapRequestedLimit() {
+
+        assertEquals(PageCursor.DEFAULT_LIMIT, PageCursor.limit(null));
+        assertEquals(10, PageCursor.limit(10));
+        assertEquals(PageCursor.MAX_LIMIT, PageCursor.limit(PageCursor.MAX_LIMIT + 1));
+        assertThrows(InvalidParameterException.class, () -> PageCursor.limit(0));
+    }
+
+    @Test
+    void page_whenRowsExceedLimit_shouldDropExtraRowAndPointCursorAtLastItem() {
+
+        CursorPage<Integer> page = PageCursor.page(List.of(1, 2, 3), 2, Function.identity(), Function.identity());
+
+        assertEquals(List.of(1, 2), page.getItems());
+        assertEquals(2, PageCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void page_whenRowsFitLimit_shouldNotReturnNextCursor() {
+
+        CursorPage<Integer> page = PageCursor.page(List.of(1, 2), 2, Function.identity(), Function.identity());
+
+        assertEquals(List.of(1, 2), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+}
@@ -1,12 +1,16 @@
 package com.auctions.service.payment;
 
 import com.auctions.domain.auction.Auction;
+import com.auctions.domain.auction.ClosedAuction;
 import com.auctions.domain.lot.Lot;
 import com.auctions.domain.payment.Payment;
 import com.auctions.domain.user.User;
 import com.auctions.service.payment.component.CancelPaymentServiceComponent;
 import com.auctions.service.payment.component.CreatePaymentServiceComponent;
+import com.auctions.exception.BusinessException;
 import com.auctions.service.payment.component.GetPaymentServiceComponent;
+import com.auctions.service.payment.gateway.PaymentGatewayClient;
+import com.auctions.service.payment.gateway.PaymentLinkRequest;
 import com.auctions.util.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,12 +19,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class PaymentServiceTest {
@@ -34,6 +43,9 @@ public class PaymentServiceTest {
     @Mock
     private CancelPaymentServiceComponent cancelPaymentServiceComponent;
 
+    @Mock
+    private PaymentGatewayClient paymentGatewayClient;
+
     @InjectMocks
     private PaymentServiceImpl paymentService;
 
@@ -54,11 +66,49 @@ public class PaymentServiceTest {
     }
 
     @Test
-    void createPayment() {
+    void createPayment_shouldCreateLinkBeforeStoringPayment() {
 
+        Payment payment = testPayment.toBuilder().link(null).build();
+        when(paymentGatewayClient.createPaymentLink(any())).thenReturn(CompletableFuture.completedFuture(testPayment.getLink()));
         when(createPaymentServiceComponent.createPayment(testPayment, testUser)).thenReturn(testPayment);
 
-        assertEquals(testPayment, paymentService.createPayment(testPayment, testUser));
+        assertEquals(testPayment, paymentService.createPayment(payment, testUser));
+
+        verify(paymentGatewayClient).createPaymentLink(argThat(request -> request.amount().equals(testPayment.getAmount())));
+    }
+
+    @Test
+    void createPayment_whenLinkCreationFails_shouldThrowExceptionWithoutStoringPayment() {
+
+        when(paymentGatewayClient.createPaymentLink(any())).thenReturn(CompletableFuture.failedFuture(new BusinessException("timed out")));
+
+        assertThrows(BusinessException.class, () -> paymentService.createPayment(testPayment, testUser));
+
+        verifyNoInteractions(createPaymentServiceComponent);
+    }
+
+    @Test
+    void createPayment_whenStoringFails_shouldKeepLinkForRetry() {
+
+        when(paymentGatewayClient.createPaymentLink(any())).thenReturn(CompletableFuture.completedFuture(testPayment.getLink()));
+        when(createPaymentServiceComponent.createPayment(any(), any())).thenThrow(new BusinessException());
+
+        assertThrows(BusinessException.class, () -> paymentService.createPayment(testPayment, testUser));
+
+        verify(paymentGatewayClient, never()).cancelPayment(any(), any());
+    }
+
+    @Test
+    void createPayment_shouldDeriveIdempotencyKeyFromAuctionAndItsPreviousPayments() {
+
+        when(getPaymentServiceComponent.getPaymentCountsByAuctionIds(List.of(testPayment.getAuctionId()))).thenReturn(Map.of(testPayment.getAuctionId(), 1L));
+        when(paymentGatewayClient.createPaymentLink(any())).thenReturn(CompletableFuture.completedFuture(testPayment.getLink()));
+        when(createPaymentServiceComponent.createPayment(any(), any())).thenReturn(testPayment);
+
+        paymentService.createPayment(testPayment, testUser);
+        paymentService.createPayment(testPayment, testUser);
+
+        verify(paymentGatewayClient, times(2)).createPaymentLink(new PaymentLinkRequest("payment-" + testPayment.getAuctionId() + "-1", testPayment.getAmount()));
     }
 
     @Test
@@ -78,10 +128,83 @@ public class PaymentServiceTest {
     }
 
     @Test
-    void cancelPayment() {
+    void createPayments_shouldCreateLinksInOneBatch() {
+
+        Payment payment = testPayment.toBuilder().link(null).build();
+        when(paymentGatewayClient.createPaymentLinks(anyList())).thenReturn(CompletableFuture.completedFuture(List.of(testPayment.getLink())));
+        when(createPaymentServiceComponent.createPayments(List.of(testPayment))).thenReturn(List.of(testPayment));
+
+        assertEquals(List.of(testPayment), paymentService.createPayments(List.of(payment)));
+
+        verify(paymentGatewayClient).createPaymentLinks(List.of(new PaymentLinkRequest("payment-" + testPayment.getAuctionId() + "-0", testPayment.getAmount())));
+        verify(paymentGatewayClient, never()).createPaymentLink(any(PaymentLinkRequest.class));
+    }
+
+    @Test
+    void getUnpaidClosedAuctions() {
+
+        ClosedAuction closedAuction = ClosedAuction.builder().id(testPayment.getAuctionId()).build();
+
+        when(getPaymentServiceComponent.getUnpaidClosedAuctions(Instant.EPOCH, 0, 10)).thenReturn(List.of(closedAuction));
+
+        assertEquals(List.of(closedAuction), paymentService.getUnpaidClosedAuctions(Instant.EPOCH, 0, 10));
+    }
+
+    @Test
+    void cancelPayment_shouldCancelLinkBeforeStoringCancellation() {
+
+        when(cancelPaymentServiceComponent.getCancellablePayment(testPayment.getId())).thenReturn(Optional.of(testPayment));
+        when(paymentGatewayClient.cancelPayment(eq(testPayment.getLink()), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        paymentService.cancelPayment(testPayment.getId());
+
+        var inOrder = inOrder(paymentGatewayClient, cancelPaymentServiceComponent);
+        inOrder.verify(paymentGatewayClient).cancelPayment(eq(testPayment.getLink()), any());
+        inOrder.verify(cancelPaymentServiceComponent).markPaymentCancelled(testPayment.getId());
+    }
+
+    @Test
+    void cancelPayment_whenGatewayFails_shouldNotStoreCancellation() {
+
+        when(cancelPaymentServiceComponent.getCancellablePayment(testPayment.getId())).thenReturn(Optional.of(testPayment));
+        when(paymentGatewayClient.cancelPayment(any(), any())).thenReturn(CompletableFuture.failedFuture(new BusinessException("circuit open")));
+
+        assertThrows(BusinessException.class, () -> paymentService.cancelPayment(testPayment.getId()));
+
+        verify(cancelPaymentServiceComponent, never()).markPaymentCancelled(any());
+    }
+
+    @Test
+    void cancelPayment_whenAlreadyCancelled_shouldNotCallGateway() {
+
+        when(cancelPaymentServiceComponent.getCancellablePayment(testPayment.getId())).thenReturn(Optional.empty());
 
         paymentService.cancelPayment(testPayment.getId());
 
-        verify(cancelPaymentServiceComponent).cancelPayment(testPayment.getId());
+        verifyNoInteractions(paymentGatewayClient);
+    }
+
+    @Test
+    void cancelQueuedPaymentLinks_shouldCancelLinkBeforeRemovingIt() {
+
+        when(cancelPaymentServiceComponent.getQueuedPaymentLinks()).thenReturn(Map.of(testPayment.getId(), testPayment.getLink()));
+        when(paymentGatewayClient.cancelPayment(testPayment.getLink(), "cancel-payment-" + testPayment.getId())).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertEquals(1, paymentService.cancelQueuedPaymentLinks());
+
+        var inOrder = inOrder(paymentGatewayClient, cancelPaymentServiceComponent);
+        inOrder.verify(paymentGatewayClient).cancelPayment(testPayment.getLink(), "cancel-payment-" + testPayment.getId());
+        inOrder.verify(cancelPaymentServiceComponent).removeQueuedPaymentLink(testPayment.getId());
+    }
+
+    @Test
+    void cancelQueuedPaymentLinks_whenGatewayFails_shouldKeepLinkQueued() {
+
+        when(cancelPaymentServiceComponent.getQueuedPaymentLinks()).thenReturn(Map.of(testPayment.getId(), testPayment.getLink()));
+        when(paymentGatewayClient.cancelPayment(any(), any())).thenReturn(CompletableFuture.failedFuture(new BusinessException("circuit open")));
+
+        assertThrows(BusinessException.class, () -> paymentService.cancelQueuedPaymentLinks());
+
+        verify(cancelPaymentServiceComponent, never()).removeQueuedPaymentLink(any());
     }
 }
@@ -2,12 +2,18 @@ package com.auctions.service.payment.component;
 
 import com.auctions.domain.payment.PaymentState;
 import com.auctions.exception.BusinessException;
+import com.auctions.exception.InvalidParameterException;
 import com.auctions.exception.ResourceNotFoundException;
 import com.auctions.persistence.entity.PaymentEntity;
+import com.auctions.persistence.entity.PaymentLinkCancellationEntity;
+import com.auctions.persistence.repository.PaymentLinkCancellationRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -16,63 +22,96 @@ import static org.mockito.Mockito.*;
 
 public class CancelPaymentServiceComponentTest extends PaymentServiceComponentTest {
 
+    @Mock
+    private PaymentLinkCancellationRepository paymentLinkCancellationRepository;
+
     @InjectMocks
     private CancelPaymentServiceComponent cancelPaymentServiceComponent;
 
     @Test
-    void cancelPayment_whenAllConditionsExist_shouldCancelPayment() {
+    void getCancellablePayment_whenPaymentIsCreated_shouldReturnPayment() {
 
         when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(testPaymentEntity));
+        when(paymentEntityToPaymentMapper.map(testPaymentEntity)).thenReturn(testPayment);
 
-        cancelPaymentServiceComponent.cancelPayment(PAYMENT_ID);
+        assertEquals(Optional.of(testPayment), cancelPaymentServiceComponent.getCancellablePayment(PAYMENT_ID));
+    }
 
-        ArgumentCaptor<PaymentEntity> paymentEntityCaptor = ArgumentCaptor.forClass(PaymentEntity.class);
-        verify(paymentRepository).save(paymentEntityCaptor.capture());
-        PaymentEntity paymentEntityCaptured = paymentEntityCaptor.getValue();
-        assertEquals(PaymentState.CANCELLED, paymentEntityCaptured.getState());
+    @Test
+    void getCancellablePayment_whenPaymentIsUnknown_shouldThrowException() {
+
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.empty());
 
-        verify(paymentGateway).cancelPayment(testPaymentEntity.getLink());
+        assertThrows(ResourceNotFoundException.class, () -> cancelPaymentServiceComponent.getCancellablePayment(PAYMENT_ID));
     }
 
     @Test
-    void cancelPayment_whenPaymentIsUnknown_shouldThrowException() {
+    void getCancellablePayment_whenPaymentIsAlreadyCancelled_shouldReturnEmpty() {
 
-        when(paymentRepository.findById(PAYMENT_ID)).thenThrow(new ResourceNotFoundException());
+        testPaymentEntity.setState(PaymentState.CANCELLED);
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(testPaymentEntity));
+
+        assertTrue(cancelPaymentServiceComponent.getCancellablePayment(PAYMENT_ID).isEmpty());
+    }
 
-        assertThrows(ResourceNotFoundException.class, () -> cancelPaymentServiceComponent.cancelPayment(PAYMENT_ID));
+    @Test
+    void getCancellablePayment_whenPaymentIsDone_shouldThrowException() {
+
+        testPaymentEntity.setState(PaymentState.DONE);
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(testPaymentEntity));
 
-        verify(paymentGateway, times(0)).cancelPayment(any());
+        assertThrows(InvalidParameterException.class, () -> cancelPaymentServiceComponent.getCancellablePayment(PAYMENT_ID));
     }
 
     @Test
-    void cancelPayment_whenPaymentIsAlreadyCancelled_shouldSimplyReturn() {
+    void markPaymentCancelled_whenAllConditionsExist_shouldCancelPayment() {
 
-        testPaymentEntity.setState(PaymentState.CANCELLED);
         when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(testPaymentEntity));
 
-        cancelPaymentServiceComponent.cancelPayment(PAYMENT_ID);
+        cancelPaymentServiceComponent.markPaymentCancelled(PAYMENT_ID);
 
-        verify(paymentRepository, times(0)).save(any());
-        verify(paymentGateway, times(0)).cancelPayment(any());
+        ArgumentCaptor<PaymentEntity> paymentEntityCaptor = ArgumentCaptor.forClass(PaymentEntity.class);
+        verify(paymentRepository).save(paymentEntityCaptor.capture());
+        PaymentEntity paymentEntityCaptured = paymentEntityCaptor.getValue();
+        assertEquals(PaymentState.CANCELLED, paymentEntityCaptured.getState());
     }
 
     @Test
-    void cancelPayment_whenPaymentGatewayThrowsException_shouldThrowException() {
+    void markPaymentCancelled_whenPaymentIsAlreadyCancelled_shouldSimplyReturn() {
 
+        testPaymentEntity.setState(PaymentState.CANCELLED);
         when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(testPaymentEntity));
-        doThrow(new RuntimeException()).when(paymentGateway).cancelPayment(any());
 
-        assertThrows(BusinessException.class, () -> cancelPaymentServiceComponent.cancelPayment(PAYMENT_ID));
+        cancelPaymentServiceComponent.markPaymentCancelled(PAYMENT_ID);
 
         verify(paymentRepository, times(0)).save(any());
     }
 
     @Test
-    void cancelPayment_whenRepositorySaveThrowsException_shouldThrowException() {
+    void markPaymentCancelled_whenRepositorySaveThrowsException_shouldThrowException() {
 
         when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(testPaymentEntity));
         doThrow(new RuntimeException()).when(paymentRepository).save(testPaymentEntity);
 
-        assertThrows(BusinessException.class, () -> cancelPaymentServiceComponent.cancelPayment(PAYMENT_ID));
+        assertThrows(BusinessException.class, () -> cancelPaymentServiceComponent.markPaymentCancelled(PAYMENT_ID));
+    }
+
+    @Test
+    void getQueuedPaymentLinks_shouldReturnLinksByPaymentId() {
+
+        PaymentLinkCancellationEntity paymentLinkCancellationEntity = new PaymentLinkCancellationEntity();
+        paymentLinkCancellationEntity.setPaymentId(PAYMENT_ID);
+        paymentLinkCancellationEntity.setLink("https://payments.example/duplicate");
+        when(paymentLinkCancellationRepository.findAll()).thenReturn(List.of(paymentLinkCancellationEntity));
+
+        assertEquals(Map.of(PAYMENT_ID, "https://payments.example/duplicate"), cancelPaymentServiceComponent.getQueuedPaymentLinks());
+    }
+
+    @Test
+    void removeQueuedPaymentLink_shouldDeleteQueuedLink() {
+
+        cancelPaymentServiceComponent.removeQueuedPaymentLink(PAYMENT_ID);
+
+        verify(paymentLinkCancellationRepository).deleteById(PAYMENT_ID);
     }
 }
@@ -1,12 +1,16 @@
 package com.auctions.service.payment.component;
 
+import com.auctions.domain.outbox.OutboxEventType;
 import com.auctions.domain.payment.Payment;
+import com.auctions.domain.payment.PaymentState;
 import com.auctions.exception.BusinessException;
 import com.auctions.persistence.entity.PaymentEntity;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -22,12 +26,10 @@ public class CreatePaymentServiceComponentTest extends PaymentServiceComponentTe
     @Test
     void createPayment_whenAllConditionsExist_shouldCreatePayment() {
 
-        when(userRepository.findById(any())).thenReturn(Optional.of(testUserEntity));
-        when(paymentGateway.createPaymentLink(any())).thenReturn(testPayment.getLink());
+        when(userRepository.getReferenceById(any())).thenReturn(testUserEntity);
         when(auctionRepository.findById(any())).thenReturn(Optional.of(testAuctionEntity));
         when(paymentRepository.save(any())).thenReturn(testPaymentEntity);
         when(paymentEntityToPaymentMapper.map(any())).thenReturn(testPayment);
-        when(paymentGateway.createPaymentLink(any())).thenReturn(testPayment.getLink());
 
         Payment payment = createPaymentServiceComponent.createPayment(testPayment, testUser);
 
@@ -44,12 +46,14 @@ public class CreatePaymentServiceComponentTest extends PaymentServiceComponentTe
         assertEquals(testUserEntity, paymentEntityCaptured.getLastModifiedBy());
 
         verify(paymentEntityToPaymentMapper).map(testPaymentEntity);
+
+        verify(outboxService).append(OutboxEventType.PAYMENT_CREATED, testPayment.getId(), testPayment);
     }
 
     @Test
     void createPayment_whenUserIsUnknown_shouldThrowException() {
 
-        when(userRepository.findById(any())).thenThrow(new BusinessException());
+        when(userRepository.getReferenceById(any())).thenThrow(new BusinessException());
 
         assertThrows(BusinessException.class, () -> createPaymentServiceComponent.createPayment(testPayment, testUser));
 
@@ -58,36 +62,71 @@ public class CreatePaymentServiceComponentTest extends PaymentServiceComponentTe
     }
 
     @Test
-    void createPayment_whenLinkCreationFails_shouldThrowException() {
+    void createPayment_whenSaveThrowsException_shouldThrowException() {
 
-        when(userRepository.findById(any())).thenReturn(Optional.of(testUserEntity));
-        when(paymentGateway.createPaymentLink(any())).thenThrow(new BusinessException());
+        when(userRepository.getReferenceById(any())).thenReturn(testUserEntity);
+        when(auctionRepository.findById(any())).thenReturn(Optional.of(testAuctionEntity));
+        when(paymentRepository.save(any())).thenThrow(new RuntimeException());
 
         assertThrows(BusinessException.class, () -> createPaymentServiceComponent.createPayment(testPayment, testUser));
 
-        verify(auctionRepository, times(0)).save(any());
         verify(paymentEntityToPaymentMapper, times(0)).map(any());
     }
 
     @Test
-    void createPayment_whenSaveThrowsException_shouldThrowException() {
+    void createPayment_whenMapThrowsException_shouldThrowException() {
 
-        when(userRepository.findById(any())).thenReturn(Optional.of(testUserEntity));
+        when(userRepository.getReferenceById(any())).thenReturn(testUserEntity);
         when(auctionRepository.findById(any())).thenReturn(Optional.of(testAuctionEntity));
-        when(paymentRepository.save(any())).thenThrow(new RuntimeException());
+        when(paymentEntityToPaymentMapper.map(any())).thenThrow(new RuntimeException());
 
         assertThrows(BusinessException.class, () -> createPaymentServiceComponent.createPayment(testPayment, testUser));
+    }
 
-        verify(paymentEntityToPaymentMapper, times(0)).map(any());
+    @Test
+    void createPayments_shouldSaveAllPaymentsWithReferences() {
+
+        Payment payment = testPayment.toBuilder().createdByUserId(testUserEntity.getId()).build();
+        when(userRepository.getReferenceById(testUserEntity.getId())).thenReturn(testUserEntity);
+        when(auctionRepository.getReferenceById(payment.getAuctionId())).thenReturn(testAuctionEntity);
+        when(paymentRepository.saveAll(any())).thenReturn(List.of(testPaymentEntity));
+        when(paymentEntityToPaymentMapper.map(testPaymentEntity)).thenReturn(payment);
+
+        assertEquals(List.of(payment), createPaymentServiceComponent.createPayments(List.of(payment)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PaymentEntity>> paymentEntitiesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(paymentRepository).saveAll(paymentEntitiesCaptor.capture());
+        PaymentEntity paymentEntityCaptured = paymentEntitiesCaptor.getValue().get(0);
+        assertEquals(testAuctionEntity, paymentEntityCaptured.getAuction());
+        assertEquals(payment.getLink(), paymentEntityCaptured.getLink());
+        assertEquals(PaymentState.CREATED, paymentEntityCaptured.getState());
+        assertEquals(payment.getAmount(), paymentEntityCaptured.getAmount());
+        assertEquals(testUserEntity, paymentEntityCaptured.getCreatedBy());
+        assertEquals(testUserEntity, paymentEntityCaptured.getLastModifiedBy());
+
+        verify(userRepository, never()).findById(any());
+        verify(auctionRepository, never()).findById(any());
     }
 
     @Test
-    void createPayment_whenMapThrowsException_shouldThrowException() {
+    void createPayments_whenSaveAllThrowsException_shouldThrowException() {
 
-        when(userRepository.findById(any())).thenReturn(Optional.of(testUserEntity));
-        when(auctionRepository.findById(any())).thenReturn(Optional.of(testAuctionEntity));
-        when(paymentEntityToPaymentMapper.map(any())).thenThrow(new RuntimeException());
+        Payment payment = testPayment.toBuilder().createdByUserId(testUserEntity.getId()).build();
+        when(paymentRepository.saveAll(any())).thenThrow(new RuntimeException());
 
-        assertThrows(BusinessException.class, () -> createPaymentServiceComponent.createPayment(testPayment, testUser));
+        assertThrows(BusinessException.class, () -> createPaymentServiceComponent.createPayments(List.of(payment)));
+
+        verify(outboxService, never()).append(any(), any(), any());
+    }
+
+    @Test
+    void advancePaymentHighWaterMark_shouldStoreMark() {
+
+        Instant highWaterMark = Instant.parse("2025-01-01T10:00:00Z");
+
+        createPaymentServiceComponent.advancePaymentHighWaterMark(highWaterMark);
+
+        verify(highWaterMarkRepository).advance(PaymentServiceComponent.PAYMENT_CREATE_HIGH_WATER_MARK, highWaterMark);
     }
 }
@@ -1,10 +1,17 @@
 package com.auctions.service.payment.component;
 
+import com.auctions.domain.auction.ClosedAuction;
 import com.auctions.exception.ResourceNotFoundException;
+import com.auctions.persistence.entity.HighWaterMarkEntity;
+import com.auctions.persistence.projection.AuctionPaymentCount;
+import com.auctions.persistence.projection.UnpaidClosedAuction;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.springframework.data.domain.Limit;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -48,4 +55,53 @@ public class GetPaymentServiceComponentTest extends PaymentServiceComponentTest
 
         verify(paymentEntityToPaymentMapper).map(testPaymentEntity);
     }
+
+    @Test
+    void getPaymentCountsByAuctionIds_shouldMapProjections() {
+
+        AuctionPaymentCount auctionPaymentCount = mock(AuctionPaymentCount.class);
+        when(auctionPaymentCount.getAuctionId()).thenReturn(testAuctionEntity.getId());
+        when(auctionPaymentCount.getPayments()).thenReturn(2L);
+        when(paymentRepository.countByAuctionIds(List.of(testAuctionEntity.getId()))).thenReturn(List.of(auctionPaymentCount));
+
+        assertEquals(Map.of(testAuctionEntity.getId(), 2L), getPaymentServiceComponent.getPaymentCountsByAuctionIds(List.of(testAuctionEntity.getId())));
+    }
+
+    @Test
+    void getUnpaidClosedAuctions_shouldMapProjections() {
+
+        Instant closedAt = Instant.parse("2025-01-01T10:00:00Z");
+        UnpaidClosedAuction unpaidClosedAuction = mock(UnpaidClosedAuction.class);
+        when(unpaidClosedAuction.getId()).thenReturn(testAuctionEntity.getId());
+        when(unpaidClosedAuction.getClosedAt()).thenReturn(closedAt);
+        when(unpaidClosedAuction.getCreatedByUserId()).thenReturn(testUserEntity.getId());
+        when(paymentRepository.findUnpaidClosedAuctions(Instant.EPOCH, 0, Limit.of(10))).thenReturn(List.of(unpaidClosedAuction));
+
+        List<ClosedAuction> closedAuctions = getPaymentServiceComponent.getUnpaidClosedAuctions(Instant.EPOCH, 0, 10);
+
+        assertEquals(List.of(ClosedAuction.builder()
+                .id(testAuctionEntity.getId())
+                .closedAt(closedAt)
+                .createdByUserId(testUserEntity.getId())
+                .build()), closedAuctions);
+    }
+
+    @Test
+    void getPaymentHighWaterMark_whenStored_shouldReturnMark() {
+
+        HighWaterMarkEntity highWaterMarkEntity = new HighWaterMarkEntity();
+        highWaterMarkEntity.setName(PaymentServiceComponent.PAYMENT_CREATE_HIGH_WATER_MARK);
+        highWaterMarkEntity.setMark(Instant.parse("2025-01-01T10:00:00Z"));
+        when(highWaterMarkRepository.findById(PaymentServiceComponent.PAYMENT_CREATE_HIGH_WATER_MARK)).thenReturn(Optional.of(highWaterMarkEntity));
+
+        assertEquals(highWaterMarkEntity.getMark(), getPaymentServiceComponent.getPaymentHighWaterMark());
+    }
+
+    @Test
+    void getPaymentHighWaterMark_whenNotStored_shouldReturnEpoch() {
+
+        when(highWaterMarkRepository.findById(any())).thenReturn(Optional.empty());
+
+        assertEquals(Instant.EPOCH, getPaymentServiceComponent.getPaymentHighWaterMark());
+    }
 }
@@ -10,9 +10,10 @@ import com.auctions.persistence.entity.LotEntity;
 import com.auctions.persistence.entity.PaymentEntity;
 import com.auctions.persistence.entity.UserEntity;
 import com.auctions.persistence.repository.AuctionRepository;
+import com.auctions.persistence.repository.HighWaterMarkRepository;
 import com.auctions.persistence.repository.PaymentRepository;
 import com.auctions.persistence.repository.UserRepository;
-import com.auctions.service.payment.gateway.PaymentGateway;
+import com.auctions.service.outbox.OutboxService;
 import com.auctions.util.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -34,11 +35,14 @@ public abstract class PaymentServiceComponentTest {
     AuctionRepository auctionRepository;
 
     @Mock
-    PaymentGateway paymentGateway;
+    HighWaterMarkRepository highWaterMarkRepository;
 
     @Mock
     PaymentEntityToPaymentMapper paymentEntityToPaymentMapper;
 
+    @Mock
+    OutboxService outboxService;
+
     PaymentEntity testPaymentEntity;
 
     UserEntity testUserEntity;
@@ -0,0 +1,107 @@
+package com.auctions.service.payment.gateway;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private Instant now;
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+
+        now = Instant.parse("2025-01-01T00:00:00Z");
+
+        Clock clock = new Clock() {
+
+            @Override
+            public ZoneOffset getZone() {
+
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+
+                return now;
+            }
+        };
+
+        circuitBreaker = new CircuitBreaker(2, OPEN_DURATION, clock);
+    }
+
+    @Test
+    void onFailure_whenThresholdReached_shouldOpenCircuit() {
+
+        circuitBreaker.onFailure();
+
+        assertTrue(circuitBreaker.tryAcquire());
+
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void onSuccess_shouldResetConsecutiveFailures() {
+
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void tryAcquire_whenOpenDurationElapsed_shouldLetOneProbeThrough() {
+
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        now = now.plus(OPEN_DURATION);
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void onFailure_whenProbeFails_shouldOpenCircuitAgain() {
+
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        now = now.plus(OPEN_DURATION);
+
+        assertTrue(circuitBreaker.tryAcquire());
+
+        circuitBreaker.onFailure();
+
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+}
@@ -0,0 +1,212 @@
+package com.auctions.service.payment.gateway;
+
+import com.auctions.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PaymentGatewayClientTest {
+
+    private static final PaymentLinkRequest REQUEST = new PaymentLinkRequest("key", BigDecimal.TEN);
+
+    private PaymentGateway paymentGateway;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CircuitBreaker circuitBreaker;
+
+    private PaymentGatewayClientImpl paymentGatewayClient;
+
+    @BeforeEach
+    void setUp() {
+
+        paymentGateway = mock(PaymentGateway.class);
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new CircuitBreaker(2, Duration.ofMinutes(1), Clock.systemUTC());
+
+        paymentGatewayClient = createClient(1, 1, Duration.ofSeconds(5), 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        paymentGatewayClient.shutdown();
+    }
+
+    @Test
+    void createPaymentLink_whenAttemptFails_shouldRetryWithSameIdempotencyKey() {
+
+        when(paymentGateway.createPaymentLink(REQUEST))
+                .thenThrow(new IllegalStateException("503"))
+                .thenReturn("https://link");
+
+        assertEquals("https://link", paymentGatewayClient.createPaymentLink(REQUEST).join());
+
+        verify(paymentGateway, times(2)).createPaymentLink(REQUEST);
+        assertEquals(1, meterRegistry.get("payment.gateway.retries").counter().count());
+    }
+
+    @Test
+    void createPaymentLink_whenAllAttemptsFail_shouldFailWithBusinessException() {
+
+        paymentGatewayClient.shutdown();
+        circuitBreaker = new CircuitBreaker(10, Duration.ofMinutes(1), Clock.systemUTC());
+        paymentGatewayClient = createClient(1, 1, Duration.ofSeconds(5), 3);
+
+        when(paymentGateway.createPaymentLink(REQUEST)).thenThrow(new IllegalStateException("503"));
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> paymentGatewayClient.createPaymentLink(REQUEST).join());
+
+        assertInstanceOf(BusinessException.class, exception.getCause());
+        verify(paymentGateway, times(3)).createPaymentLink(REQUEST);
+    }
+
+    @Test
+    void createPaymentLink_whenAttemptTimesOut_shouldInterruptItAndRetry() {
+
+        paymentGatewayClient.shutdown();
+        paymentGatewayClient = createClient(1, 1, Duration.ofMillis(50), 2);
+
+        when(paymentGateway.createPaymentLink(REQUEST))
+                .thenAnswer(invocation -> {
+
+                    Thread.sleep(10_000);
+
+                    return "https://late";
+                })
+                .thenReturn("https://link");
+
+        assertEquals("https://link", paymentGatewayClient.createPaymentLink(REQUEST).join());
+    }
+
+    @Test
+    void createPaymentLink_whenCircuitIsOpen_shouldFailWithoutCallingGateway() {
+
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        assertThrows(CompletionException.class, () -> paymentGatewayClient.createPaymentLink(REQUEST).join());
+
+        verifyNoInteractions(paymentGateway);
+    }
+
+    @Test
+    void createPaymentLink_whenBulkheadIsFull_shouldRejectImmediately() throws Exception {
+
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(paymentGateway.createPaymentLink(REQUEST)).thenAnswer(invocation -> {
+
+            running.countDown();
+
+            release.await();
+
+            return "https://link";
+        });
+
+        CompletableFuture<String> first = paymentGatewayClient.createPaymentLink(REQUEST);
+
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> queued = paymentGatewayClient.createPaymentLink(REQUEST);
+        CompletableFuture<String> rejected = paymentGatewayClient.createPaymentLink(REQUEST);
+
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+
+        assertInstanceOf(BusinessException.class, exception.getCause());
+        assertEquals(1, meterRegistry.get("payment.gateway.bulkhead.rejected").tag("reason", "full").counter().count());
+
+        release.countDown();
+
+        assertEquals("https://link", first.join());
+        assertEquals("https://link", queued.join());
+    }
+
+    @Test
+    void createPaymentLink_whenQueuedForLong_shouldNotCountQueueTimeAgainstAttempt() {
+
+        paymentGatewayClient.shutdown();
+        paymentGatewayClient = createClient(1, 1, Duration.ofMillis(500), 1);
+
+        when(paymentGateway.createPaymentLink(REQUEST)).thenAnswer(invocation -> {
+
+            Thread.sleep(300);
+
+            return "https://link";
+        });
+
+        CompletableFuture<String> first = paymentGatewayClient.createPaymentLink(REQUEST);
+        CompletableFuture<String> queued = paymentGatewayClient.createPaymentLink(REQUEST);
+
+        assertEquals("https://link", first.join());
+        assertEquals("https://link", queued.join());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void createPaymentLink_whenQueueTimeoutPasses_shouldRejectWithoutCountingProviderFailure() throws Exception {
+
+        paymentGatewayClient.shutdown();
+        paymentGatewayClient = createClient(1, 1, Duration.ofSeconds(5), Duration.ofMillis(50), 1);
+
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(paymentGateway.createPaymentLink(REQUEST)).thenAnswer(invocation -> {
+
+            running.countDown();
+
+            release.await();
+
+            return "https://link";
+        });
+
+        CompletableFuture<String> first = paymentGatewayClient.createPaymentLink(REQUEST);
+
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> paymentGatewayClient.createPaymentLink(REQUEST).join());
+
+        assertInstanceOf(BusinessException.class, exception.getCause());
+        assertEquals(1, meterRegistry.get("payment.gateway.bulkhead.rejected").tag("reason", "queue-timeout").counter().count());
+
+        release.countDown();
+
+        assertEquals("https://link", first.join());
+        verify(paymentGateway, times(1)).createPaymentLink(REQUEST);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void createPaymentLinks_shouldUseBatchCall() {
+
+        when(paymentGateway.createPaymentLinks(List.of(REQUEST))).thenReturn(List.of("https://link"));
+
+        assertEquals(List.of("https://link"), paymentGatewayClient.createPaymentLinks(List.of(REQUEST)).join());
+    }
+
+    private PaymentGatewayClientImpl createClient(int threads, int queueCapacity, Duration timeout, int maxAttempts) {
+
+        return createClient(threads, queueCapacity, timeout, Duration.ofSeconds(5), maxAttempts);
+    }
+
+    private PaymentGatewayClientImpl createClient(int threads, int queueCapacity, Duration timeout, Duration queueTimeout, int maxAttempts) {
+
+        return new PaymentGatewayClientImpl(paymentGateway, meterRegistry, threads, queueCapacity, timeout, queueTimeout,
+                maxAttempts, Duration.ofMillis(1), Duration.ofMillis(10), circuitBreaker);
+    }
+}
@@ -0,0 +1,171 @@
+package com.auctions.service.photo;
+
+import com.auctions.persistence.repository.LotRepository;
+import com.auctions.persistence.repository.StoredFileRepository;
+import com.auctions.service.filestorage.FileStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrphanedPhotoCollectorTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-02T00:00:00Z");
+
+    private static final Duration MINIMUM_AGE = Duration.ofHours(1);
+
+    private static final Duration QUARANTINE_PERIOD = Duration.ofDays(1);
+
+    private static final Instant OLD = NOW.minus(Duration.ofDays(2));
+
+    private static final byte[] CONTENT = "photo".getBytes();
+
+    @TempDir
+    private Path uploadDir;
+
+    @Mock
+    private LotRepository lotRepository;
+
+    @Mock
+    private StoredFileRepository storedFileRepository;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private PhotoDerivativeService photoDerivativeService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(fileStorageService.getFilePath("")).thenReturn(uploadDir);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void collect_shouldQuarantineOnlyOldUnreferencedFiles() throws IOException {
+
+        writeFile("ab/cd/orphan.jpg", OLD);
+        writeFile("ab/cd/referenced.jpg", OLD);
+        writeFile("ab/cd/counted.jpg", OLD);
+        writeFile("ab/cd/young.jpg", NOW);
+        when(lotRepository.findReferencedPhotoUrls(anyCollection())).thenReturn(List.of("ab/cd/referenced.jpg"));
+        when(storedFileRepository.lockReferencedFiles(anyCollection())).thenReturn(List.of("ab/cd/counted.jpg"));
+
+        createCollector(100).collect();
+
+        assertTrue(Files.exists(uploadDir.resolve(".quarantine/ab/cd/orphan.jpg")));
+        assertFalse(Files.exists(uploadDir.resolve("ab/cd/orphan.jpg")));
+        assertTrue(Files.exists(uploadDir.resolve("ab/cd/referenced.jpg")));
+        assertTrue(Files.exists(uploadDir.resolve("ab/cd/counted.jpg")));
+        assertTrue(Files.exists(uploadDir.resolve("ab/cd/young.jpg")));
+
+        verify(storedFileRepository).deleteAllUnreferenced(List.of("ab/cd/orphan.jpg"));
+        assertEquals(1, meterRegistry.get("photos.gc.quarantined").counter().count());
+    }
+
+    @Test
+    void collect_shouldResumeAfterPreviousSlice() throws IOException {
+
+        writeFile("ab/cd/1.jpg", OLD);
+        writeFile("ab/ce/2.jpg", OLD);
+        writeFile("ff/00/3.jpg", OLD);
+        when(lotRepository.findReferencedPhotoUrls(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+
+        OrphanedPhotoCollectorImpl collector = createCollector(2);
+
+        collector.collect();
+        collector.collect();
+        collector.collect();
+
+        // The third run starts over once the second reached the end of the tree.
+        verify(lotRepository, times(2)).findReferencedPhotoUrls(List.of("ab/cd/1.jpg", "ab/ce/2.jpg"));
+        verify(lotRepository).findReferencedPhotoUrls(List.of("ff/00/3.jpg"));
+        assertTrue(meterRegistry.get("photos.gc.scanned").counter().count() >= 6);
+    }
+
+    @Test
+    void collect_shouldDeleteExpiredQuarantineAndRestoreReferencedFiles() throws IOException {
+
+        writeFile(".quarantine/ab/cd/expired.jpg", OLD);
+        writeFile(".quarantine/ab/cd/restored.jpg", OLD);
+        writeFile(".quarantine/ab/cd/recent.jpg", NOW);
+        when(lotRepository.findReferencedPhotoUrls(anyCollection())).thenReturn(List.of("ab/cd/restored.jpg"));
+
+        long reclaimed = createCollector(100).collect();
+
+        assertFalse(Files.exists(uploadDir.resolve(".quarantine/ab/cd/expired.jpg")));
+        assertTrue(Files.exists(uploadDir.resolve("ab/cd/restored.jpg")));
+        assertTrue(Files.exists(uploadDir.resolve(".quarantine/ab/cd/recent.jpg")));
+        assertEquals(CONTENT.length, reclaimed);
+        assertEquals(CONTENT.length, meterRegistry.get("photos.gc.reclaimed").counter().count());
+    }
+
+    @Test
+    void collect_shouldDeleteDerivativesOfMissingPhotosAndAbandonedUploads() throws IOException {
+
+        writeFile("ab/cd/kept.png", OLD);
+        writeFile("derivatives/ab/cd/kept-small.jpg", OLD);
+        writeFile("derivatives/ab/cd/gone-small.jpg", OLD);
+        writeFile(".upload-1.tmp", OLD);
+        writeFile(".upload-2.tmp", NOW);
+        lenient().when(photoDerivativeService.getOriginalBaseName("derivatives/ab/cd/kept-small.jpg")).thenReturn(Optional.of("ab/cd/kept"));
+        lenient().when(photoDerivativeService.getOriginalBaseName("derivatives/ab/cd/gone-small.jpg")).thenReturn(Optional.of("ab/cd/gone"));
+        when(lotRepository.findReferencedPhotoUrls(anyCollection())).thenReturn(List.of("ab/cd/kept.png"));
+
+        long reclaimed = createCollector(100).collect();
+
+        assertTrue(Files.exists(uploadDir.resolve("derivatives/ab/cd/kept-small.jpg")));
+        assertFalse(Files.exists(uploadDir.resolve("derivatives/ab/cd/gone-small.jpg")));
+        assertFalse(Files.exists(uploadDir.resolve(".upload-1.tmp")));
+        assertTrue(Files.exists(uploadDir.resolve(".upload-2.tmp")));
+        assertEquals(2L * CONTENT.length, reclaimed);
+
+        verify(lotRepository).findReferencedPhotoUrls(List.of("ab/cd/kept.png"));
+    }
+
+    private OrphanedPhotoCollectorImpl createCollector(int sliceSize) {
+
+        return new OrphanedPhotoCollectorImpl(lotRepository, storedFileRepository, fileStorageService, photoDerivativeService,
+                transactionTemplate, meterRegistry, sliceSize, 100, MINIMUM_AGE, QUARANTINE_PERIOD, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private void writeFile(String fileName, Instant modifiedAt) throws IOException {
+
+        Path file = uploadDir.resolve(fileName);
+
+        Files.createDirectories(file.getParent());
+        Files.write(file, CONTENT);
+        Files.setLastModifiedTime(file, FileTime.from(modifiedAt));
+    }
+}
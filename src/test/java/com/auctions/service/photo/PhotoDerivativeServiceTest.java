@@ -0,0 +1,162 @@
+package com.auctions.service.photo;
+
+import com.auctions.domain.lot.LotPhoto;
+import com.auctions.domain.lot.PhotoSize;
+import com.auctions.service.filestorage.FileStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class PhotoDerivativeServiceTest {
+
+    private static final String FILE_NAME = "ab/cd/abcd.png";
+
+    @TempDir
+    private Path uploadDir;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    private PhotoDerivativeServiceImpl photoDerivativeService;
+
+    @BeforeEach
+    void setUp() {
+
+        lenient().when(fileStorageService.getFilePath(anyString())).thenAnswer(invocation -> uploadDir.resolve(invocation.<String>getArgument(0)));
+
+        photoDerivativeService = new PhotoDerivativeServiceImpl(fileStorageService, new SimpleMeterRegistry(), 1, 10, 0.8f);
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        photoDerivativeService.shutdown();
+    }
+
+    @Test
+    void render_shouldWriteEverySizeWithinItsBounds() throws IOException {
+
+        writeImage(2000, 1000);
+
+        photoDerivativeService.render(FILE_NAME);
+
+        for (PhotoSize size : PhotoSize.values()) {
+
+            BufferedImage derivative = ImageIO.read(photoDerivativeService.getDerivativePath(FILE_NAME, size).toFile());
+
+            assertEquals(size.getMaxDimension(), derivative.getWidth());
+            assertEquals(size.getMaxDimension() / 2, derivative.getHeight());
+        }
+    }
+
+    @Test
+    void render_whenPhotoIsSmallerThanSize_shouldNotUpscale() throws IOException {
+
+        writeImage(300, 200);
+
+        photoDerivativeService.render(FILE_NAME);
+
+        BufferedImage derivative = ImageIO.read(photoDerivativeService.getDerivativePath(FILE_NAME, PhotoSize.LARGE).toFile());
+
+        assertEquals(300, derivative.getWidth());
+        assertEquals(200, derivative.getHeight());
+    }
+
+    @Test
+    void render_whenPhotoIsNotAnImage_shouldWriteNothing() throws IOException {
+
+        Path photoPath = uploadDir.resolve(FILE_NAME);
+        Files.createDirectories(photoPath.getParent());
+        Files.writeString(photoPath, "not an image");
+
+        photoDerivativeService.render(FILE_NAME);
+
+        assertFalse(Files.exists(photoDerivativeService.getDerivativePath(FILE_NAME, PhotoSize.SMALL)));
+    }
+
+    @Test
+    void getDerivative_whenRendered_shouldReturnVersionedJpeg() throws IOException {
+
+        writeImage(2000, 1000);
+        photoDerivativeService.render(FILE_NAME);
+
+        LotPhoto derivative = photoDerivativeService.getDerivative(FILE_NAME, createPhoto(), PhotoSize.MEDIUM);
+
+        assertEquals(photoDerivativeService.getDerivativePath(FILE_NAME, PhotoSize.MEDIUM), derivative.getPath());
+        assertEquals("image/jpeg", derivative.getContentType());
+        assertEquals("etag-medium", derivative.getEtag());
+        assertEquals("etag", derivative.getVersion());
+        assertEquals(PhotoSize.MEDIUM, derivative.getSize());
+    }
+
+    @Test
+    void getDerivative_whenNotRendered_shouldReturnOriginal() throws IOException {
+
+        writeImage(2000, 1000);
+        LotPhoto photo = createPhoto();
+
+        assertEquals(photo, photoDerivativeService.getDerivative(FILE_NAME, photo, PhotoSize.SMALL));
+    }
+
+    @Test
+    void getOriginalBaseName_shouldRecogniseDerivatives() {
+
+        assertEquals(Optional.of("ab/cd/abcd"), photoDerivativeService.getOriginalBaseName("derivatives/ab/cd/abcd-large.jpg"));
+        assertEquals(Optional.empty(), photoDerivativeService.getOriginalBaseName("derivatives/ab/cd/abcd.jpg"));
+        assertEquals(Optional.empty(), photoDerivativeService.getOriginalBaseName(FILE_NAME));
+    }
+
+    @Test
+    void createDerivatives_whenTransactionIsActive_shouldWaitForCommit() {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+
+            photoDerivativeService.createDerivatives(FILE_NAME);
+
+            assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+
+        } finally {
+
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void writeImage(int width, int height) throws IOException {
+
+        Path photoPath = uploadDir.resolve(FILE_NAME);
+
+        Files.createDirectories(photoPath.getParent());
+
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", photoPath.toFile());
+    }
+
+    private LotPhoto createPhoto() {
+
+        return LotPhoto.builder()
+                .path(uploadDir.resolve(FILE_NAME))
+                .contentType("image/png")
+                .etag("etag")
+                .version("etag")
+                .build();
+    }
+}
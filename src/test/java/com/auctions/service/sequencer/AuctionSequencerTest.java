@@ -0,0 +1,215 @@
+package com.auctions.service.sequencer;
+
+import com.auctions.exception.BusinessException;
+import com.auctions.exception.InvalidParameterException;
+import com.auctions.persistence.datasource.ReadYourWritesGuard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuctionSequencerTest {
+
+    private static final int LANES = 4;
+
+    private AuctionSequencerImpl auctionSequencer;
+
+    @BeforeEach
+    void setUp() {
+
+        auctionSequencer = new AuctionSequencerImpl(LANES, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        auctionSequencer.shutdown();
+
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void submit_shouldReturnOperationResult() {
+
+        assertEquals(42, auctionSequencer.submit(1, () -> 42));
+    }
+
+    @Test
+    void submit_shouldRunOperationAsCaller() {
+
+        ReadYourWritesGuard readYourWritesGuard = new ReadYourWritesGuard(Duration.ofMinutes(1));
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated("bidder", null, List.of()));
+
+        auctionSequencer.run(1, readYourWritesGuard::recordWrite);
+
+        assertTrue(readYourWritesGuard.isPinnedToPrimary());
+        SecurityContextHolder.clearContext();
+        assertNull(auctionSequencer.submit(1, () -> SecurityContextHolder.getContext().getAuthentication()));
+    }
+
+    @Test
+    void submit_shouldMapAuctionToStableLane() {
+
+        assertEquals(LANES, auctionSequencer.getLaneCount());
+        assertEquals(auctionSequencer.getLane(7), auctionSequencer.getLane(7));
+        assertEquals(auctionSequencer.getLane(7), auctionSequencer.getLane(7 + LANES));
+        assertNotEquals(auctionSequencer.getLane(7), auctionSequencer.getLane(8));
+    }
+
+    @Test
+    void submit_whenOperationThrowsRuntimeException_shouldRethrowIt() {
+
+        assertThrows(InvalidParameterException.class, () -> auctionSequencer.submit(1, () -> {
+            throw new InvalidParameterException("Auction is not ongoing: 1");
+        }));
+    }
+
+    @Test
+    void submit_whenNested_shouldRunInlineOnSameLane() {
+
+        assertEquals(1, auctionSequencer.submit(1, () -> auctionSequencer.submit(1 + LANES, () -> 1)));
+    }
+
+    @Test
+    void run_shouldSerializeOperationsOfSameAuction() throws Exception {
+
+        AtomicInteger concurrentOperations = new AtomicInteger();
+        AtomicInteger maxConcurrentOperations = new AtomicInteger();
+
+        runConcurrently(200, i -> auctionSequencer.run(1, () -> {
+            maxConcurrentOperations.accumulateAndGet(concurrentOperations.incrementAndGet(), Math::max);
+            sleep(1);
+            concurrentOperations.decrementAndGet();
+        }));
+
+        assertEquals(1, maxConcurrentOperations.get());
+    }
+
+    @Test
+    void run_shouldPreserveSubmissionOrderOfSameAuction() {
+
+        List<Integer> executionOrder = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < 100; i++) {
+
+            int operation = i;
+
+            auctionSequencer.run(1, () -> executionOrder.add(operation));
+        }
+
+        for (int i = 0; i < 100; i++) {
+
+            assertEquals(i, executionOrder.get(i));
+        }
+    }
+
+    @Test
+    void run_shouldRunDifferentLanesInParallel() throws Exception {
+
+        CountDownLatch allLanesStarted = new CountDownLatch(LANES);
+
+        runConcurrently(LANES, lane -> auctionSequencer.run(lane, () -> {
+            allLanesStarted.countDown();
+            try {
+                assertTrue(allLanesStarted.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }));
+
+        assertEquals(0, allLanesStarted.getCount());
+    }
+
+    @Test
+    void submit_whenLaneQueueIsFull_shouldThrowBusinessException() throws Exception {
+
+        AuctionSequencerImpl smallAuctionSequencer = new AuctionSequencerImpl(1, 1);
+        CountDownLatch runningOperationStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread runningOperation = new Thread(() -> smallAuctionSequencer.run(1, () -> {
+            runningOperationStarted.countDown();
+            await(release);
+        }));
+        Thread queuedOperation = new Thread(() -> smallAuctionSequencer.run(1, () -> {}));
+
+        try {
+
+            runningOperation.start();
+            assertTrue(runningOperationStarted.await(5, TimeUnit.SECONDS));
+
+            queuedOperation.start();
+            waitUntilWaiting(queuedOperation);
+
+            assertThrows(BusinessException.class, () -> smallAuctionSequencer.run(1, () -> {}));
+
+        } finally {
+
+            release.countDown();
+            runningOperation.join(5000);
+            queuedOperation.join(5000);
+            smallAuctionSequencer.shutdown();
+        }
+    }
+
+    private static void waitUntilWaiting(Thread thread) {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void runConcurrently(int operations, IntConsumer operation) throws Exception {
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+
+        try {
+
+            CompletableFuture.allOf(IntStream.range(0, operations)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> operation.accept(i), executorService))
+                    .toArray(CompletableFuture[]::new))
+                    .get(30, TimeUnit.SECONDS);
+
+        } finally {
+
+            executorService.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
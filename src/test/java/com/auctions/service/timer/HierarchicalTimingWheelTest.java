@@ -0,0 +1,107 @@
+package com.auctions.service.timer;
+
+import com.auctions.service.timer.HierarchicalTimingWheel.Timeout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MILLIS = 100;
+    private static final int WHEEL_SIZE = 8;
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    private HierarchicalTimingWheel<Integer> timingWheel;
+
+    @BeforeEach
+    void setUp() {
+
+        timingWheel = new HierarchicalTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, START);
+    }
+
+    @Test
+    void advance_shouldNotExpireTimeoutBeforeItsDeadline() {
+
+        timingWheel.schedule(1, START.plusMillis(250));
+
+        assertTrue(timingWheel.advance(START.plusMillis(249)).isEmpty());
+        assertEquals(1, timingWheel.size());
+    }
+
+    @Test
+    void advance_shouldExpireTimeoutWithinOneTickOfItsDeadline() {
+
+        Instant deadline = START.plusMillis(250);
+
+        timingWheel.schedule(1, deadline);
+
+        List<Timeout<Integer>> expired = timingWheel.advance(deadline.plusMillis(TICK_MILLIS));
+
+        assertEquals(List.of(new Timeout<>(1, deadline)), expired);
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    void advance_whenTimeoutIsAlreadyOverdue_shouldExpireItOnNextAdvance() {
+
+        timingWheel.schedule(1, START.minusSeconds(60));
+
+        assertEquals(1, timingWheel.advance(START).size());
+    }
+
+    @Test
+    void advance_whenTimeoutIsBeyondFirstLevel_shouldCascadeAndExpireAtDeadline() {
+
+        Instant deadline = START.plus(Duration.ofHours(3)).plusMillis(150);
+
+        timingWheel.schedule(1, deadline);
+
+        assertTrue(timingWheel.advance(deadline.minusMillis(1)).isEmpty());
+        assertEquals(1, timingWheel.advance(deadline.plusMillis(TICK_MILLIS)).size());
+    }
+
+    @Test
+    void advance_shouldExpireRandomTimeoutsInDeadlineOrderOfTicks() {
+
+        Random random = new Random(42);
+        List<Instant> deadlines = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; i++) {
+
+            Instant deadline = START.plusMillis(random.nextInt(600_000));
+
+            deadlines.add(deadline);
+
+            timingWheel.schedule(i, deadline);
+        }
+
+        int expiredCount = 0;
+
+        for (Instant now = START; expiredCount < deadlines.size(); now = now.plusMillis(370)) {
+
+            for (Timeout<Integer> timeout : timingWheel.advance(now)) {
+
+                assertFalse(timeout.deadline().isAfter(now));
+                assertTrue(Duration.between(timeout.deadline(), now).toMillis() < TICK_MILLIS + 370);
+                assertEquals(deadlines.get(timeout.item()), timeout.deadline());
+
+                expiredCount++;
+            }
+        }
+
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    void constructor_whenTickIsNotPositive_shouldThrowException() {
+
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<Integer>(0, WHEEL_SIZE, START));
+    }
+}
@@ -0,0 +1,28 @@
+package com.auctions.task.auction;
+
+import com.auctions.service.closing.AuctionClosingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class AuctionClosingTaskTest {
+
+    @Mock
+    private AuctionClosingService auctionClosingService;
+
+    @InjectMocks
+    private AuctionClosingTask auctionClosingTask;
+
+    @Test
+    void test() {
+
+        auctionClosingTask.closeDueAuctions();
+
+        verify(auctionClosingService).closeDueAuctions();
+    }
+}
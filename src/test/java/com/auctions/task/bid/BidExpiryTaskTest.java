@@ -0,0 +1,28 @@
+package com.auctions.task.bid;
+
+import com.auctions.service.expiry.BidExpiryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class BidExpiryTaskTest {
+
+    @Mock
+    private BidExpiryService bidExpiryService;
+
+    @InjectMocks
+    private BidExpiryTask bidExpiryTask;
+
+    @Test
+    void test() {
+
+        bidExpiryTask.expireDueBids();
+
+        verify(bidExpiryService).expireDueBids();
+    }
+}
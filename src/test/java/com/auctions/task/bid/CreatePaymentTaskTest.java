@@ -1,26 +1,24 @@
 package com.auctions.task.bid;
 
-import com.auctions.domain.auction.Auction;
-import com.auctions.domain.lot.Lot;
+import com.auctions.domain.auction.ClosedAuction;
 import com.auctions.domain.payment.Payment;
-import com.auctions.domain.payment.PaymentState;
-import com.auctions.domain.user.User;
 import com.auctions.service.accounting.AccountingService;
-import com.auctions.service.auction.AuctionService;
 import com.auctions.service.payment.PaymentService;
 import com.auctions.task.payment.CreatePaymentTask;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
-import static com.auctions.util.TestDataFactory.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -29,9 +27,9 @@ import static org.mockito.Mockito.*;
 public class CreatePaymentTaskTest {
 
     private static final BigDecimal BID_AMOUNT = BigDecimal.valueOf(1);
-
-    @Mock
-    private AuctionService auctionService;
+    private static final int CHUNK_SIZE = 2;
+    private static final Duration OVERLAP = Duration.ofMinutes(5);
+    private static final Instant CLOSED_AT = Instant.parse("2025-01-01T10:00:00Z");
 
     @Mock
     private PaymentService paymentService;
@@ -39,94 +37,101 @@ public class CreatePaymentTaskTest {
     @Mock
     private AccountingService accountingService;
 
-    @InjectMocks
     private CreatePaymentTask createPaymentTask;
 
-    @Test
-    void createPayment_noPaymentCreated() {
-
-        User user = createTestUser();
-
-        Lot lot = createTestLot(user);
-
-        Auction auction = createTestAuction(user, lot);
+    @BeforeEach
+    void setUp() {
 
-        Integer auctionId = auction.getId();
+        createPaymentTask = new CreatePaymentTask(paymentService, accountingService, CHUNK_SIZE, OVERLAP);
 
-        when(auctionService.getAllAuctions()).thenReturn(List.of(auction));
-
-        when(paymentService.getPaymentsByAuctionId(auctionId)).thenReturn(List.of());
+        when(paymentService.getPaymentHighWaterMark()).thenReturn(Instant.EPOCH);
+    }
 
-        Payment payment = createTestPayment(auction);
+    @Test
+    void createPayment_shouldCreatePaymentsChunkByChunk() {
 
-        when(paymentService.createPayment(any(), any())).thenReturn(payment);
+        ClosedAuction first = createClosedAuction(1, CLOSED_AT);
+        ClosedAuction second = createClosedAuction(2, CLOSED_AT.plusSeconds(1));
+        ClosedAuction third = createClosedAuction(3, CLOSED_AT.plusSeconds(2));
 
-        when(accountingService.getAuctionCost(auctionId)).thenReturn(BID_AMOUNT);
+        when(paymentService.getUnpaidClosedAuctions(Instant.EPOCH, 0, CHUNK_SIZE)).thenReturn(List.of(first, second));
+        when(paymentService.getUnpaidClosedAuctions(second.getClosedAt(), second.getId(), CHUNK_SIZE)).thenReturn(List.of(third));
+        when(accountingService.getAuctionCost(any())).thenReturn(BID_AMOUNT);
+        when(paymentService.createPayments(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         createPaymentTask.createPayment();
 
-        verify(paymentService).getPaymentsByAuctionId(eq(auctionId));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Payment>> paymentsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(paymentService, times(2)).createPayments(paymentsCaptor.capture());
 
-        verify(accountingService).getAuctionCost(eq(auctionId));
+        List<Payment> firstChunk = paymentsCaptor.getAllValues().get(0);
+        assertEquals(2, firstChunk.size());
+        assertEquals(first.getId(), firstChunk.get(0).getAuctionId());
+        assertEquals(first.getCreatedByUserId(), firstChunk.get(0).getCreatedByUserId());
+        assertEquals(BID_AMOUNT, firstChunk.get(0).getAmount());
 
-        ArgumentCaptor<Payment> paymentCaptor = ArgumentCaptor.forClass(Payment.class);
-        verify(paymentService).createPayment(paymentCaptor.capture(), eq(null));
-        Payment paymentCaptured = paymentCaptor.getValue();
-        assertEquals(BID_AMOUNT, paymentCaptured.getAmount());
-        assertEquals(auctionId, paymentCaptured.getAuctionId());
+        List<Payment> secondChunk = paymentsCaptor.getAllValues().get(1);
+        assertEquals(List.of(third.getId()), secondChunk.stream().map(Payment::getAuctionId).toList());
     }
 
     @Test
-    void createPayment_paymentDone() {
+    void createPayment_shouldAdvanceHighWaterMarkToLastClosedAuctionMinusOverlap() {
 
-        User user = createTestUser();
+        ClosedAuction closedAuction = createClosedAuction(1, CLOSED_AT);
 
-        Lot lot = createTestLot(user);
+        when(paymentService.getUnpaidClosedAuctions(Instant.EPOCH, 0, CHUNK_SIZE)).thenReturn(List.of(closedAuction));
+        when(accountingService.getAuctionCost(any())).thenReturn(BID_AMOUNT);
+        when(paymentService.createPayments(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
-        Auction auction = createTestAuction(user, lot);
-
-        Integer auctionId = auction.getId();
+        createPaymentTask.createPayment();
 
-        when(auctionService.getAllAuctions()).thenReturn(List.of(auction));
+        verify(paymentService).advancePaymentHighWaterMark(CLOSED_AT.minus(OVERLAP));
+    }
 
-        Payment payment = createTestPayment(auction)
-                .toBuilder()
-                .state(PaymentState.DONE)
-                .build();
+    @Test
+    void createPayment_shouldStartFromStoredHighWaterMark() {
 
-        when(paymentService.getPaymentsByAuctionId(auctionId)).thenReturn(List.of(payment));
+        when(paymentService.getPaymentHighWaterMark()).thenReturn(CLOSED_AT);
+        when(paymentService.getUnpaidClosedAuctions(CLOSED_AT, 0, CHUNK_SIZE)).thenReturn(List.of());
 
         createPaymentTask.createPayment();
 
-        verify(accountingService, never()).getAuctionCost(any());
+        verify(paymentService).getUnpaidClosedAuctions(CLOSED_AT, 0, CHUNK_SIZE);
 
-        verify(paymentService, never()).createPayment(any(), any());
+        verify(paymentService, never()).advancePaymentHighWaterMark(any());
     }
 
     @Test
-    void createPayment_paymentCreated() {
+    void createPayment_whenNoAuctionIsUnpaid_shouldNotCreatePayments() {
 
-        User user = createTestUser();
+        when(paymentService.getUnpaidClosedAuctions(any(), any(), eq(CHUNK_SIZE))).thenReturn(List.of());
 
-        Lot lot = createTestLot(user);
+        createPaymentTask.createPayment();
 
-        Auction auction = createTestAuction(user, lot);
+        verify(accountingService, never()).getAuctionCost(any());
 
-        Integer auctionId = auction.getId();
+        verify(paymentService, never()).createPayments(any());
+    }
 
-        when(auctionService.getAllAuctions()).thenReturn(List.of(auction));
+    @Test
+    void createPayment_whenChunkFails_shouldNotAdvanceHighWaterMark() {
 
-        Payment payment = createTestPayment(auction)
-                .toBuilder()
-                .state(PaymentState.CREATED)
-                .build();
+        when(paymentService.getUnpaidClosedAuctions(Instant.EPOCH, 0, CHUNK_SIZE)).thenReturn(List.of(createClosedAuction(1, CLOSED_AT)));
+        when(accountingService.getAuctionCost(any())).thenReturn(BID_AMOUNT);
+        when(paymentService.createPayments(any())).thenThrow(new RuntimeException());
 
-        when(paymentService.getPaymentsByAuctionId(auctionId)).thenReturn(List.of(payment));
+        assertThrows(RuntimeException.class, () -> createPaymentTask.createPayment());
 
-        createPaymentTask.createPayment();
+        verify(paymentService, never()).advancePaymentHighWaterMark(any());
+    }
 
-        verify(accountingService, never()).getAuctionCost(any());
+    private static ClosedAuction createClosedAuction(Integer id, Instant closedAt) {
 
-        verify(paymentService, never()).createPayment(any(), any());
+        return ClosedAuction.builder()
+                .id(id)
+                .closedAt(closedAt)
+                .createdByUserId(10 + id)
+                .build();
     }
 }
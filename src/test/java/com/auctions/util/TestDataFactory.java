@@ -13,6 +13,7 @@ import com.auctions.persistence.entity.*;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.time.Instant.now;
 
@@ -41,6 +42,8 @@ public class TestDataFactory {
     private static final BigDecimal PAYMENT_AMOUNT = BigDecimal.valueOf(100);
     private static final Instant PAYMENT_TIMESTAMP = Instant.ofEpochMilli(1739278311);
     private static final String PAYMENT_LINK = "http://adyen";
+
+    private static final AtomicInteger USER_SEQUENCE = new AtomicInteger();
     
     public static User createTestUser() {
 
@@ -67,6 +70,19 @@ public class TestDataFactory {
         return userEntity;
     }
 
+    public static UserEntity createUniqueTestUserEntity() {
+
+        UserEntity userEntity = createTestUserEntity();
+
+        // Usernames and emails are unique, so tests saving several users need distinct ones.
+        int suffix = USER_SEQUENCE.incrementAndGet();
+
+        userEntity.setUsername(TEST_USER_USERNAME + suffix);
+        userEntity.setEmail(suffix + TEST_USER_EMAIL);
+
+        return userEntity;
+    }
+
     public static User createTestAdmin() {
 
         return User.builder()
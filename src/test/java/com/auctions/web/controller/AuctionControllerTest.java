@@ -1,11 +1,18 @@
 package com.auctions.web.controller;
 
 import com.auctions.domain.auction.Auction;
+import com.auctions.domain.auction.AuctionFilter;
+import com.auctions.domain.auction.AuctionPrice;
+import com.auctions.domain.auction.AuctionState;
 import com.auctions.domain.lot.Lot;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.user.User;
+import com.auctions.exception.InvalidParameterException;
+import com.auctions.exception.ResourceNotFoundException;
 import com.auctions.service.auction.AuctionService;
 import com.auctions.service.auth.AuthService;
 import com.auctions.util.TestDataFactory;
+import com.auctions.web.sse.AuctionEventEmitterFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,14 +23,19 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.Collections;
+import java.math.BigDecimal;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AuctionController.class)
@@ -42,6 +54,9 @@ class AuctionControllerTest {
     @MockitoBean
     private AuthService authService;
 
+    @MockitoBean
+    private AuctionEventEmitterFactory auctionEventEmitterFactory;
+
     private Auction testAuction;
 
     private User testUser;
@@ -58,19 +73,50 @@ class AuctionControllerTest {
 
     @Test
     @WithMockUser
-    void getAllAuctions_whenAuthenticated_shouldReturnAuctions() throws Exception {
+    void getAuctions_whenAuthenticated_shouldReturnAuctionPage() throws Exception {
 
-        when(auctionService.getAllAuctions()).thenReturn(Collections.singletonList(testAuction));
+        when(auctionService.getAuctionPage(any(), any(), any()))
+                .thenReturn(CursorPage.<Auction>builder().items(List.of(testAuction)).nextCursor("MQ").build());
 
         mockMvc.perform(get("/api/auctions"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].startTime").value(testAuction.getStartTime().toString()))
-                .andExpect(jsonPath("$[0].stopTime").value(testAuction.getStopTime().toString()))
-                .andExpect(jsonPath("$[0].lotId").value(testAuction.getLotId().toString()));
+                .andExpect(jsonPath("$.items[0].startTime").value(testAuction.getStartTime().toString()))
+                .andExpect(jsonPath("$.items[0].stopTime").value(testAuction.getStopTime().toString()))
+                .andExpect(jsonPath("$.items[0].lotId").value(testAuction.getLotId().toString()))
+                .andExpect(jsonPath("$.nextCursor").value("MQ"));
+    }
+
+    @Test
+    @WithMockUser
+    void getAuctions_whenFiltered_shouldPassFilterCursorAndLimit() throws Exception {
+
+        when(auctionService.getAuctionPage(any(), any(), any()))
+                .thenReturn(CursorPage.<Auction>builder().items(List.of()).build());
+
+        mockMvc.perform(get("/api/auctions")
+                        .param("state", "ONGOING")
+                        .param("lotId", "2")
+                        .param("createdBy", "3")
+                        .param("cursor", "MQ")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty());
+
+        AuctionFilter expectedFilter = AuctionFilter.builder().state(AuctionState.ONGOING).lotId(2).createdByUserId(3).build();
+
+        verify(auctionService).getAuctionPage(expectedFilter, "MQ", 10);
+    }
+
+    @Test
+    @WithMockUser
+    void getAuctions_whenStateIsUnknown_shouldReturnBadRequest() throws Exception {
+
+        mockMvc.perform(get("/api/auctions").param("state", "UNKNOWN"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
-    void getAllAuctions_whenNotAuthenticated_shouldReturnUnauthorized() throws Exception {
+    void getAuctions_whenNotAuthenticated_shouldReturnUnauthorized() throws Exception {
 
         mockMvc.perform(get("/api/auctions"))
                 .andExpect(status().isUnauthorized());
@@ -89,6 +135,62 @@ class AuctionControllerTest {
                 .andExpect(jsonPath("$.lotId").value(testAuction.getLotId().toString()));
     }
 
+    @Test
+    @WithMockUser
+    void getAuctionEvents_whenAuctionExists_shouldOpenEventStream() throws Exception {
+
+        when(auctionService.getAuctionById(1)).thenReturn(testAuction);
+        when(auctionEventEmitterFactory.createEmitter(1)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/auctions/1/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(auctionEventEmitterFactory).createEmitter(1);
+    }
+
+    @Test
+    @WithMockUser
+    void getAuctionEvents_whenAuctionDoesNotExist_shouldReturnNotFound() throws Exception {
+
+        when(auctionService.getAuctionById(1)).thenThrow(new ResourceNotFoundException("Auction not found: 1"));
+
+        mockMvc.perform(get("/api/auctions/1/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound());
+
+        verify(auctionEventEmitterFactory, never()).createEmitter(any());
+    }
+
+    @Test
+    @WithMockUser
+    void getAuctionPrice_whenAuctionIsOngoing_shouldReturnPrice() throws Exception {
+
+        AuctionPrice auctionPrice = AuctionPrice.builder()
+                .auctionId(1)
+                .currentPrice(BigDecimal.valueOf(150))
+                .bestBidId(3)
+                .bidCount(4)
+                .build();
+
+        when(auctionService.getAuctionPrice(1)).thenReturn(auctionPrice);
+
+        mockMvc.perform(get("/api/auctions/1/price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.auctionId").value(1))
+                .andExpect(jsonPath("$.currentPrice").value(150))
+                .andExpect(jsonPath("$.bestBidId").value(3))
+                .andExpect(jsonPath("$.bidCount").value(4));
+    }
+
+    @Test
+    @WithMockUser
+    void getAuctionPrice_whenAuctionIsNotOngoing_shouldReturnBadRequest() throws Exception {
+
+        when(auctionService.getAuctionPrice(1)).thenThrow(new InvalidParameterException("Auction is not ongoing: 1"));
+
+        mockMvc.perform(get("/api/auctions/1/price"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser
     void createAuction_whenDataIsValid_shouldCreateAuction() throws Exception {
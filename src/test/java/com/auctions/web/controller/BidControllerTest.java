@@ -2,8 +2,10 @@ package com.auctions.web.controller;
 
 import com.auctions.domain.auction.Auction;
 import com.auctions.domain.bid.Bid;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.lot.Lot;
 import com.auctions.domain.user.User;
+import com.auctions.exception.ConflictException;
 import com.auctions.service.auth.AuthService;
 import com.auctions.service.bid.BidService;
 import com.auctions.util.TestDataFactory;
@@ -18,9 +20,10 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -60,22 +63,24 @@ class BidControllerTest {
 
     @Test
     @WithMockUser
-    void getAllBids_whenAuthenticated_shouldReturnLots() throws Exception {
+    void getBids_whenAuthenticated_shouldReturnBidPage() throws Exception {
 
-        when(bidService.getAllBids()).thenReturn(Collections.singletonList(testBid));
+        when(bidService.getBidPage(any(), any(), any()))
+                .thenReturn(CursorPage.<Bid>builder().items(List.of(testBid)).build());
 
         mockMvc.perform(get("/api/bids"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(testBid.getId()))
-                .andExpect(jsonPath("$[0].amount").value(testBid.getAmount()))
-                .andExpect(jsonPath("$[0].until").value(testBid.getUntil().toString()))
-                .andExpect(jsonPath("$[0].auctionId").value(testBid.getAuctionId()))
-                .andExpect(jsonPath("$[0].createdByUserId").value(testBid.getCreatedByUserId()))
-                .andExpect(jsonPath("$[0].lastModifiedByUserId").value(testBid.getLastModifiedByUserId()));
+                .andExpect(jsonPath("$.items[0].id").value(testBid.getId()))
+                .andExpect(jsonPath("$.items[0].amount").value(testBid.getAmount()))
+                .andExpect(jsonPath("$.items[0].until").value(testBid.getUntil().toString()))
+                .andExpect(jsonPath("$.items[0].auctionId").value(testBid.getAuctionId()))
+                .andExpect(jsonPath("$.items[0].createdByUserId").value(testBid.getCreatedByUserId()))
+                .andExpect(jsonPath("$.items[0].lastModifiedByUserId").value(testBid.getLastModifiedByUserId()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
     }
 
     @Test
-    void getAllBids_whenNotAuthenticated_shouldReturnUnauthorized() throws Exception {
+    void getBids_whenNotAuthenticated_shouldReturnUnauthorized() throws Exception {
 
         mockMvc.perform(get("/api/bids"))
                 .andExpect(status().isUnauthorized());
@@ -124,6 +129,17 @@ class BidControllerTest {
         mockMvc.perform(post("/api/bids/1/accept")).andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser
+    void acceptBid_whenAuctionWasModifiedConcurrently_shouldReturnConflict() throws Exception {
+
+        doThrow(new ConflictException("Auction has been modified concurrently: 1")).when(bidService).acceptBid(1);
+
+        mockMvc.perform(post("/api/bids/1/accept"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Auction has been modified concurrently: 1"));
+    }
+
     @Test
     @WithMockUser
     void cancelBid() throws Exception {
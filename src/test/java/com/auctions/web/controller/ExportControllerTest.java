@@ -0,0 +1,87 @@
+package com.auctions.web.controller;
+
+import com.auctions.service.export.ExportFormat;
+import com.auctions.service.export.ExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+@Import(TestControllerConfig.class)
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportBids_whenAdmin_shouldStreamNdjson() throws Exception {
+
+        doAnswer(invocation -> {
+
+            invocation.<OutputStream>getArgument(1).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+
+            return null;
+
+        }).when(exportService).exportBids(eq(ExportFormat.NDJSON), any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/admin/export/bids"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bids.ndjson\""))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportPayments_whenCsvRequested_shouldStreamCsv() throws Exception {
+
+        doAnswer(invocation -> {
+
+            invocation.<OutputStream>getArgument(1).write("id\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+
+            return null;
+
+        }).when(exportService).exportPayments(eq(ExportFormat.CSV), any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/admin/export/payments").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
+                .andExpect(content().string("id\r\n1\r\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void exportAuctions_whenNotAdmin_shouldReturnForbidden() throws Exception {
+
+        mockMvc.perform(get("/api/admin/export/auctions"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -1,35 +1,57 @@
 package com.auctions.web.controller;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.auctions.domain.lot.Lot;
+import com.auctions.domain.lot.LotPhoto;
+import com.auctions.domain.lot.PhotoSize;
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.user.User;
+import com.auctions.exception.InvalidParameterException;
 import com.auctions.service.auth.AuthService;
 import com.auctions.service.lot.LotService;
 import com.auctions.util.TestDataFactory;
+import com.auctions.web.photo.PhotoResponseWriter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Collections;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
 
 @WebMvcTest(LotController.class)
-@Import(TestControllerConfig.class)
+@Import({TestControllerConfig.class, PhotoResponseWriter.class})
 class LotControllerTest {
 
+    private static final byte[] PHOTO_CONTENT = "photo content".getBytes();
+    private static final String PHOTO_ETAG = "abcdef";
+
+    @TempDir
+    private Path photoDir;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -55,18 +77,19 @@ class LotControllerTest {
 
     @Test
     @WithMockUser
-    void getAllLots_whenAuthenticated_shouldReturnLots() throws Exception {
+    void getLots_whenAuthenticated_shouldReturnLotPage() throws Exception {
 
-        when(lotService.getAllLots()).thenReturn(Collections.singletonList(testLot));
+        when(lotService.getLotPage(any(), any(), any()))
+                .thenReturn(CursorPage.<Lot>builder().items(List.of(testLot)).build());
 
         mockMvc.perform(get("/api/lots"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name").value(testLot.getName()))
-                .andExpect(jsonPath("$[0].surname").value(testLot.getSurname()));
+                .andExpect(jsonPath("$.items[0].name").value(testLot.getName()))
+                .andExpect(jsonPath("$.items[0].surname").value(testLot.getSurname()));
     }
 
     @Test
-    void getAllLots_whenNotAuthenticated_shouldReturnUnauthorized() throws Exception {
+    void getLots_whenNotAuthenticated_shouldReturnUnauthorized() throws Exception {
 
         mockMvc.perform(get("/api/lots"))
                 .andExpect(status().isUnauthorized());
@@ -142,6 +165,35 @@ class LotControllerTest {
         mockMvc.perform(multipart("/api/lots/1/photo")
                         .file(photoFile))
                 .andExpect(status().isOk());
+
+        verify(lotService).updateLotPhoto(eq(1), any(InputStream.class), eq((long) photoFile.getSize()), eq(testUser));
+    }
+
+    @Test
+    @WithMockUser
+    void uploadLotPhoto_whenBodyIsAnImage_shouldStreamIt() throws Exception {
+
+        when(authService.getCurrentUser()).thenReturn(testUser);
+
+        mockMvc.perform(post("/api/lots/1/photo")
+                        .contentType(MediaType.IMAGE_PNG)
+                        .content(PHOTO_CONTENT))
+                .andExpect(status().isOk());
+
+        verify(lotService).updateLotPhoto(eq(1), any(InputStream.class), eq((long) PHOTO_CONTENT.length), eq(testUser));
+    }
+
+    @Test
+    @WithMockUser
+    void uploadLotPhoto_whenPhotoIsRejected_shouldReturnBadRequest() throws Exception {
+
+        when(authService.getCurrentUser()).thenReturn(testUser);
+        doThrow(new InvalidParameterException("Unsupported image type")).when(lotService).updateLotPhoto(eq(1), any(InputStream.class), anyLong(), eq(testUser));
+
+        mockMvc.perform(post("/api/lots/1/photo")
+                        .contentType(MediaType.IMAGE_JPEG)
+                        .content(PHOTO_CONTENT))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -150,4 +202,114 @@ class LotControllerTest {
         mockMvc.perform(delete("/api/lots/1"))
                 .andExpect(status().isOk());
     }
-} 
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    void getLotPhoto_shouldServePhotoWithValidators() throws Exception {
+
+        when(lotService.getLotPhoto(1, null)).thenReturn(createPhoto());
+
+        mockMvc.perform(get("/api/lots/1/photo"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+                .andExpect(content().bytes(PHOTO_CONTENT))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + PHOTO_ETAG + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    @WithMockUser
+    void getLotPhoto_whenVersionMatches_shouldAllowCachingForGood() throws Exception {
+
+        when(lotService.getLotPhoto(1, null)).thenReturn(createPhoto());
+
+        mockMvc.perform(get("/api/lots/1/photo").param("v", PHOTO_ETAG))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"));
+    }
+
+    @Test
+    @WithMockUser
+    void getLotPhoto_whenDerivativeIsReady_shouldAllowCachingForGood() throws Exception {
+
+        LotPhoto derivative = createPhoto().toBuilder().etag(PHOTO_ETAG + "-small").size(PhotoSize.SMALL).build();
+        when(lotService.getLotPhoto(1, PhotoSize.SMALL)).thenReturn(derivative);
+
+        mockMvc.perform(get("/api/lots/1/photo").param("v", PHOTO_ETAG).param("size", "SMALL"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + PHOTO_ETAG + "-small\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"));
+    }
+
+    @Test
+    @WithMockUser
+    void getLotPhoto_whenDerivativeIsNotReady_shouldServeOriginalWithoutLongCaching() throws Exception {
+
+        when(lotService.getLotPhoto(1, PhotoSize.SMALL)).thenReturn(createPhoto());
+
+        mockMvc.perform(get("/api/lots/1/photo").param("v", PHOTO_ETAG).param("size", "SMALL"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(PHOTO_CONTENT))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+    }
+
+    @Test
+    @WithMockUser
+    void getLotPhoto_whenEtagMatches_shouldReturnNotModified() throws Exception {
+
+        when(lotService.getLotPhoto(1, null)).thenReturn(createPhoto());
+
+        mockMvc.perform(get("/api/lots/1/photo").header(HttpHeaders.IF_NONE_MATCH, "\"" + PHOTO_ETAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @WithMockUser
+    void getLotPhoto_whenRangeIsRequested_shouldReturnPartialContent() throws Exception {
+
+        when(lotService.getLotPhoto(1, null)).thenReturn(createPhoto());
+
+        mockMvc.perform(get("/api/lots/1/photo").header(HttpHeaders.RANGE, "bytes=2-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes("oto".getBytes()))
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-4/" + PHOTO_CONTENT.length));
+    }
+
+    @Test
+    @WithMockUser
+    void getLotPhoto_whenIfRangeIsStale_shouldReturnWholePhoto() throws Exception {
+
+        when(lotService.getLotPhoto(1, null)).thenReturn(createPhoto());
+
+        mockMvc.perform(get("/api/lots/1/photo").header(HttpHeaders.RANGE, "bytes=2-4").header(HttpHeaders.IF_RANGE, "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(PHOTO_CONTENT));
+    }
+
+    @Test
+    @WithMockUser
+    void getLotPhoto_whenRangeIsNotSatisfiable_shouldReturnRangeNotSatisfiable() throws Exception {
+
+        when(lotService.getLotPhoto(1, null)).thenReturn(createPhoto());
+
+        mockMvc.perform(get("/api/lots/1/photo").header(HttpHeaders.RANGE, "bytes=100-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + PHOTO_CONTENT.length));
+    }
+
+    private LotPhoto createPhoto() throws IOException {
+
+        Path photoPath = Files.write(photoDir.resolve("photo.jpg"), PHOTO_CONTENT);
+
+        return LotPhoto.builder()
+                .path(photoPath)
+                .contentType(MediaType.IMAGE_JPEG_VALUE)
+                .etag(PHOTO_ETAG)
+                .lastModified(Instant.parse("2025-01-01T00:00:00Z"))
+                .version(PHOTO_ETAG)
+                .build();
+    }
+}
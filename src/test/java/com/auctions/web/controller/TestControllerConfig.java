@@ -2,6 +2,7 @@ package com.auctions.web.controller;
 
 import com.auctions.config.SecurityConfig;
 import com.auctions.mapper.auction.AuctionCreateRequestToAuctionMapper;
+import com.auctions.mapper.auction.AuctionPriceToAuctionPriceResponseMapper;
 import com.auctions.mapper.auction.AuctionToAuctionResponseMapper;
 import com.auctions.mapper.auction.AuctionUpdateRequestToAuctionMapper;
 import com.auctions.mapper.bid.BidCreateRequestToBidMapper;
@@ -109,4 +110,10 @@ public class TestControllerConfig {
 
         return new AuctionToAuctionResponseMapper();
     }
+
+    @Bean
+    public AuctionPriceToAuctionPriceResponseMapper auctionPriceToAuctionPriceResponseMapper() {
+
+        return new AuctionPriceToAuctionPriceResponseMapper();
+    }
 } 
\ No newline at end of file
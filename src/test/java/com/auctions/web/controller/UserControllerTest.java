@@ -9,6 +9,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.auctions.domain.page.CursorPage;
 import com.auctions.domain.user.User;
 import com.auctions.service.user.UserService;
 import com.auctions.util.TestDataFactory;
@@ -24,7 +25,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Collections;
+import java.util.List;
 
 @WebMvcTest(UserController.class)
 @Import(TestControllerConfig.class)
@@ -49,19 +50,20 @@ class UserControllerTest {
 
     @Test
     @WithMockUser(roles = "ADMIN")
-    void getAllUsers_whenAdmin_shouldReturnUsers() throws Exception {
+    void getUsers_whenAdmin_shouldReturnUserPage() throws Exception {
 
-        when(userService.getAllUsers()).thenReturn(Collections.singletonList(testUser));
+        when(userService.getUserPage(any(), any()))
+                .thenReturn(CursorPage.<User>builder().items(List.of(testUser)).build());
 
         mockMvc.perform(get("/api/admin/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].username").value(testUser.getUsername()))
-                .andExpect(jsonPath("$[0].email").value(testUser.getEmail()));
+                .andExpect(jsonPath("$.items[0].username").value(testUser.getUsername()))
+                .andExpect(jsonPath("$.items[0].email").value(testUser.getEmail()));
     }
 
     @Test
     @WithMockUser(roles = "USER")
-    void getAllUsers_whenNotAdmin_shouldReturnForbidden() throws Exception {
+    void getUsers_whenNotAdmin_shouldReturnForbidden() throws Exception {
 
         mockMvc.perform(get("/api/admin/users"))
                 .andExpect(status().isForbidden());
@@ -0,0 +1,91 @@
+package com.auctions.web.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private JdbcConcurrencyLimitFilter jdbcConcurrencyLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+
+        jdbcConcurrencyLimitFilter = new JdbcConcurrencyLimitFilter(1, Duration.ofMillis(50), meterRegistry);
+    }
+
+    @Test
+    void doFilter_whenSlotIsFree_shouldPassRequestAndReleaseSlot() throws Exception {
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        jdbcConcurrencyLimitFilter.doFilter(new MockHttpServletRequest(), response, filterChain);
+
+        assertNotNull(filterChain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals(1, meterRegistry.get("http.server.requests.slots.available").gauge().value());
+    }
+
+    @Test
+    void doFilter_whenAllSlotsStayTaken_shouldRejectWithServiceUnavailable() throws Exception {
+
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> slowRequest = CompletableFuture.runAsync(() -> {
+
+            try {
+
+                jdbcConcurrencyLimitFilter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+
+                    entered.countDown();
+
+                    try {
+
+                        release.await(5, TimeUnit.SECONDS);
+
+                    } catch (InterruptedException e) {
+
+                        Thread.currentThread().interrupt();
+                    }
+                });
+
+            } catch (Exception e) {
+
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        jdbcConcurrencyLimitFilter.doFilter(new MockHttpServletRequest(), response, filterChain);
+
+        release.countDown();
+        slowRequest.get(5, TimeUnit.SECONDS);
+
+        assertNull(filterChain.getRequest());
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, meterRegistry.get("http.server.requests.rejected").counter().count());
+        assertEquals(1, meterRegistry.get("http.server.requests.slots.available").gauge().value());
+    }
+}